@@ -967,6 +967,14 @@ begin
 end
 $$;
 
+-- latest waveform summary end time per channel, maintained as raw station data frames are stored
+create table if not exists channel_latest_sample_time
+(
+	channel_name varchar(255) not null,
+	end_time timestamp not null,
+	primary key (channel_name)
+);
+
 create sequence if not exists smvs_sequence increment by 100 minvalue 1 no maxvalue start with 1 no cycle;
 
 create sequence if not exists station_soh_sequence increment by 10 minvalue 1 no maxvalue start with 1 no cycle;
@@ -1793,6 +1801,7 @@ alter table workspace_layout owner to gms_admin;
 alter table audible_notification owner to gms_admin;
 alter table workspace_layout_supported_ui_modes owner to gms_admin;
 alter table waveform_summary owner to gms_admin;
+alter table channel_latest_sample_time owner to gms_admin;
 alter table channel_soh owner to gms_admin;
 alter table channel_soh_monitor_value_status owner to gms_admin;
 alter table station_soh_monitor_value_status owner to gms_admin;
@@ -1,7 +1,11 @@
 package gms.dataacquisition.stationreceiver.cd11.common.gaps;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
@@ -9,23 +13,50 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Utility to persist and load {@link Cd11GapList}s from disk
+ * <p>
+ * Each station's gap list is stored as a snapshot file holding the full gap list, and a journal file next to it that
+ * gets one line appended per persist, holding only the gaps changed since the previous persist. Once the journal
+ * holds {@link #COMPACTION_JOURNAL_ENTRIES} entries, the next persist writes a new snapshot and empties the journal.
+ * Loading reads the snapshot and replays the journal over it.
+ * <p>
+ * Each snapshot is written with a generation one higher than the snapshot it replaces, and each journal entry with
+ * the generation of the snapshot it follows. Loading skips journal entries older than the snapshot, which are left
+ * behind if a crash comes between writing a snapshot and emptying the journal, and are already part of the snapshot.
+ * Snapshots and entries written without a generation are of generation 0.
  */
 public class Cd11GapListUtility {
 
   private static final Logger logger = LoggerFactory.getLogger(Cd11GapListUtility.class);
 
+  static final String JOURNAL_EXTENSION = ".journal";
+  static final int COMPACTION_JOURNAL_ENTRIES = 100;
+  static final String GENERATION = "generation";
+
   private final String gapStoragePath;
   private final String fileExtension;
   private final ObjectMapper objectMapper;
 
+  // Number of entries in each station's journal
+  private final Map<String, Integer> journalEntriesByStation = new ConcurrentHashMap<>();
+  // Generation of each station's snapshot
+  private final Map<String, Long> generationByStation = new ConcurrentHashMap<>();
+
   @VisibleForTesting
   Cd11GapListUtility(String gapStoragePath, String fileExtension, ObjectMapper objectMapper) {
 
@@ -68,20 +99,59 @@ public class Cd11GapListUtility {
    * @return The deserialzied {@link Cd11GapList} from disk
    */
   public Cd11GapList loadGapState(String stationName) {
-    var path = Paths.get(this.gapStoragePath + stationName + this.fileExtension);
+    var path = snapshotPath(stationName);
+    journalEntriesByStation.put(stationName, 0);
+    generationByStation.remove(stationName);
+
     if (Files.exists(path)) {
+      GapList gapList;
+      long generation;
       try {
-        var contents = new String(Files.readAllBytes(path));
-        return new Cd11GapList(objectMapper.readValue(contents, GapList.class));
+        var snapshot = objectMapper.readTree(Files.readAllBytes(path));
+        generation = removeGeneration(snapshot);
+        gapList = objectMapper.treeToValue(snapshot, GapList.class);
       } catch (IOException e) {
         logger.error("Error deserializing GapList", e);
         return new Cd11GapList();
       }
+
+      generationByStation.put(stationName, generation);
+      replayJournal(stationName, gapList, generation);
+      gapList.drainChanges();
+      gapList.markSnapshotWritten();
+      return new Cd11GapList(gapList);
     } else {
       return new Cd11GapList();
     }
   }
 
+  private void replayJournal(String stationName, GapList gapList, long snapshotGeneration) {
+    var journalPath = journalPath(stationName);
+    if (Files.notExists(journalPath)) {
+      return;
+    }
+
+    var entries = 0;
+    try {
+      for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+        if (line.isBlank()) {
+          continue;
+        }
+        var entry = objectMapper.readTree(line);
+        if (removeGeneration(entry) >= snapshotGeneration) {
+          gapList.applyChanges(objectMapper.treeToValue(entry, GapListChanges.class));
+        }
+        entries++;
+      }
+      journalEntriesByStation.put(stationName, entries);
+    } catch (IOException e) {
+      // An incomplete entry is left by a failure while appending it, compact on the next persist so entries
+      // appended after it are not lost
+      logger.warn("Stopped replaying the gap list journal for station {} after {} entries", stationName, entries, e);
+      journalEntriesByStation.put(stationName, COMPACTION_JOURNAL_ENTRIES);
+    }
+  }
+
   /**
    * Saves the gap list for a particular station to disk
    *
@@ -89,18 +159,74 @@ public class Cd11GapListUtility {
    * @param gapList the {@link GapList} to persist
    */
   public Mono<Void> persistGapState(String stationName, GapList gapList) {
-    String path = this.gapStoragePath + stationName + this.fileExtension;
-
     return Mono.fromRunnable(() -> {
-      var filePath = Paths.get(path);
       try {
-        objectMapper.writeValue(Files.newOutputStream(filePath), gapList);
+        if (gapList.snapshotRequired()
+          || journalEntriesByStation.getOrDefault(stationName, 0) >= COMPACTION_JOURNAL_ENTRIES) {
+          writeSnapshot(stationName, gapList);
+        } else {
+          appendJournal(stationName, gapList);
+        }
       } catch (IOException e) {
         throw new IllegalStateException("Gap persistence I/O failure", e);
       }
     });
+  }
 
+  /**
+   * Writes the full gap list to a temporary file that replaces the snapshot, then empties the journal. Changes made
+   * while the snapshot is written are also journaled by the next persist, replaying them again is harmless.
+   * <p>
+   * The snapshot's generation is one higher than the one it replaces, so entries of the journal it replaces are
+   * skipped on load even if a crash keeps the journal from being emptied.
+   * <p>
+   * The temporary file is synced before it is moved, and the directory after, so that a crash cannot leave a renamed
+   * but empty or truncated snapshot, or a deleted journal next to the previous snapshot.
+   */
+  private void writeSnapshot(String stationName, GapList gapList) throws IOException {
+    gapList.drainChanges();
+
+    var snapshotPath = snapshotPath(stationName);
+    var tempPath = Paths.get(snapshotPath + ".tmp");
+    var generation = generationByStation.computeIfAbsent(stationName, this::readSnapshotGeneration) + 1;
+    var buffer = ByteBuffer.wrap(objectMapper.writeValueAsBytes(new Snapshot(generation, gapList)));
+
+    try (var channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
 
+    Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    syncDirectory(snapshotPath.toAbsolutePath().getParent());
+    generationByStation.put(stationName, generation);
+
+    Files.deleteIfExists(journalPath(stationName));
+    journalEntriesByStation.put(stationName, 0);
+    gapList.markSnapshotWritten();
+  }
+
+  /**
+   * Appends the changes since the previous persist to the journal
+   */
+  private void appendJournal(String stationName, GapList gapList) throws IOException {
+    if (!gapList.hasChanges()) {
+      return;
+    }
+    var changes = gapList.drainChanges();
+
+    try {
+      var entry = new JournalEntry(generationByStation.getOrDefault(stationName, 0L), changes);
+      Files.writeString(journalPath(stationName), objectMapper.writeValueAsString(entry) + System.lineSeparator(),
+        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+      journalEntriesByStation.merge(stationName, 1, Integer::sum);
+    } catch (IOException e) {
+      // The drained changes are not journaled, the next persist has to write a snapshot
+      journalEntriesByStation.put(stationName, COMPACTION_JOURNAL_ENTRIES);
+      throw e;
+    }
   }
 
   /**
@@ -109,15 +235,117 @@ public class Cd11GapListUtility {
    * @param stationName The stationName associated with the gap List file
    */
   public Mono<Void> clearGapState(String stationName) {
-    var path = Paths.get(this.gapStoragePath + stationName + this.fileExtension);
+    var path = snapshotPath(stationName);
+    var journalPath = journalPath(stationName);
 
     return Mono.fromRunnable(() -> {
       try {
         Files.deleteIfExists(path);
+        Files.deleteIfExists(journalPath);
+        journalEntriesByStation.remove(stationName);
+        generationByStation.remove(stationName);
       } catch (IOException e) {
         throw new IllegalStateException("Gap clear I/O failure", e);
       }
     });
   }
 
+  /**
+   * Reads the generation of a station's snapshot written by an earlier process, when it was not loaded by this one.
+   */
+  private long readSnapshotGeneration(String stationName) {
+    var path = snapshotPath(stationName);
+    if (Files.notExists(path)) {
+      return 0;
+    }
+
+    try {
+      return removeGeneration(objectMapper.readTree(Files.readAllBytes(path)));
+    } catch (IOException e) {
+      logger.warn("Could not read the generation of the gap list snapshot for station {}", stationName, e);
+      return 0;
+    }
+  }
+
+  /**
+   * Removes the generation from a snapshot or journal entry, leaving the gap list or changes it was written with
+   *
+   * @return the generation, 0 if it was written without one
+   */
+  private static long removeGeneration(JsonNode node) {
+    var generation = node.path(GENERATION).asLong(0);
+    if (node instanceof ObjectNode) {
+      ((ObjectNode) node).remove(GENERATION);
+    }
+    return generation;
+  }
+
+  /**
+   * A gap list as written to its snapshot file
+   */
+  static final class Snapshot {
+
+    private final long generation;
+    private final GapList gapList;
+
+    Snapshot(long generation, GapList gapList) {
+      this.generation = generation;
+      this.gapList = gapList;
+    }
+
+    @JsonProperty(GENERATION)
+    public long getGeneration() {
+      return generation;
+    }
+
+    @JsonUnwrapped
+    public GapList getGapList() {
+      return gapList;
+    }
+  }
+
+  /**
+   * Gap list changes as written to a journal line
+   */
+  static final class JournalEntry {
+
+    private final long generation;
+    private final GapListChanges changes;
+
+    JournalEntry(long generation, GapListChanges changes) {
+      this.generation = generation;
+      this.changes = changes;
+    }
+
+    @JsonProperty(GENERATION)
+    public long getGeneration() {
+      return generation;
+    }
+
+    @JsonUnwrapped
+    public GapListChanges getChanges() {
+      return changes;
+    }
+  }
+
+  /**
+   * Syncs a directory so that renames and deletions in it are durable. Not every platform allows opening a directory,
+   * in which case the rename is left to the file system.
+   */
+  private static void syncDirectory(Path directory) {
+    try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      logger.debug("Could not sync gap storage directory {}", directory, e);
+    }
+  }
+
+  private Path snapshotPath(String stationName) {
+    return Paths.get(this.gapStoragePath + stationName + this.fileExtension);
+  }
+
+  private Path journalPath(String stationName) {
+    return Paths.get(this.gapStoragePath + stationName + this.fileExtension + JOURNAL_EXTENSION);
+  }
+
 }
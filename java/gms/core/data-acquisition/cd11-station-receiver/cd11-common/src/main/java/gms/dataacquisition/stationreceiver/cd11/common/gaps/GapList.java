@@ -9,30 +9,47 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Tracks the gaps in a range of unsigned sequence numbers as values are received.
+ * <p>
+ * Gaps are held in a map keyed by their (unsigned) start value, so finding the gap containing a value, and filling or
+ * splitting it, is O(log n) in the number of gaps. Gaps are replaced rather than modified while they are in the map.
+ * <p>
+ * The gap list also records which gaps changed since the last call to {@link #drainChanges()}, so that the
+ * {@link Cd11GapListUtility} can journal the changes instead of rewriting the whole gap list.
+ */
 public class GapList {
 
   private final AtomicLong min = new AtomicLong();
   private final AtomicLong max = new AtomicLong();
-  private final SortedSet<Gap> gapsList = new TreeSet<>();
+  private final NavigableMap<Long, Gap> gapsByStart = new TreeMap<>(Long::compareUnsigned);
   private boolean firstSeqNum = true;
 
+  // Change tracking since the last drain, all guarded by gapsByStart
+  private final Set<Long> addedStarts = new HashSet<>();
+  private final Set<Long> changedStarts = new HashSet<>();
+  private final Set<Long> removedStarts = new HashSet<>();
+  private long drainedMin;
+  private long drainedMax;
+  private boolean snapshotRequired = true;
+
   /**
    * Constructs the object, and sets the initial min and max range values.
    *
    * @param min initial minimum range value of sequence numbers from received frames
    * @param max initial maximum range value of sequence numbers from received frames
    */
-  @JsonCreator
-  public GapList(
-    @JsonProperty("min") long min,
-    @JsonProperty("max") long max) {
+  public GapList(long min, long max) {
     Validate.isTrue(
       Long.compareUnsigned(min, max) <= 0,
       "Minimum value must be less than or equal to the maximum value; min: "
@@ -43,11 +60,36 @@ public class GapList {
     this.max.set(max);
 
     // Create the first gap.
-    synchronized (gapsList) {
-      this.gapsList.add(new Gap(min, max));
+    synchronized (gapsByStart) {
+      putGap(new Gap(min, max));
     }
   }
 
+  /**
+   * Creates a gap list from its serialized form.
+   *
+   * @param min minimum range value of sequence numbers from received frames
+   * @param max maximum range value of sequence numbers from received frames
+   * @param gaps the gaps, or null for a single gap covering the full range
+   * @return the gap list
+   */
+  @JsonCreator
+  static GapList from(
+    @JsonProperty("min") long min,
+    @JsonProperty("max") long max,
+    @JsonProperty("gapsList") Collection<Gap> gaps) {
+
+    var gapList = new GapList(min, max);
+    if (gaps != null) {
+      synchronized (gapList.gapsByStart) {
+        gapList.gapsByStart.clear();
+        gapList.addedStarts.clear();
+        gaps.forEach(gap -> gapList.putGap(gap));
+      }
+    }
+    return gapList;
+  }
+
   /**
    * Fills in the gap list with the given value.
    *
@@ -55,9 +97,9 @@ public class GapList {
    * @return If a gap was found and filled
    */
   boolean addValue(long value) {
-    synchronized (gapsList) {
+    synchronized (gapsByStart) {
       // Check if there are no gaps.
-      if (this.gapsList.isEmpty()) {
+      if (this.gapsByStart.isEmpty()) {
         return false;
       }
 
@@ -75,56 +117,42 @@ public class GapList {
           this.max.set(value);
         }
       }
-      // Check if the value falls within a gap.
-      Optional<Gap> matchedGap = this.gapsList.stream().filter(x -> x.contains(value)).findFirst();
-      matchedGap.ifPresent(gap -> fillGap(gap, value));
-      return matchedGap.isPresent();
+      // Check if the value falls within a gap, which can only be the gap starting closest below it.
+      var candidate = this.gapsByStart.floorEntry(value);
+      if (candidate == null || !candidate.getValue().contains(value)) {
+        return false;
+      }
+
+      fillGap(candidate.getValue(), value);
+      return true;
     }
   }
 
   private void fillGap(Gap gap, long value) {
+    var now = Instant.now();
 
-    synchronized (gapsList) {
-      // SCENARIO 1: Check if the gap was simply eliminated.
-      if ((Long.compareUnsigned(gap.getStart(), value) == 0) && (
-        Long.compareUnsigned(gap.getEnd(), value)
-          == 0)) {
-        // Remove the gap from the gapsList.
-        this.gapsList.remove(gap);
-      }
-
-      // SCENARIO 2: Check if the gap's lower limit needs to be incremented.
-      else if (Long.compareUnsigned(gap.getStart(), value) == 0) {
-        gap.setStart(gap.getStart() + 1);
-
-        // Update the gap's "modified" time.
-        gap.setModifiedTime(Instant.now());
-      }
-
-      // SCENARIO 3: Check if the gap's upper limit needs to be decremented.
-      else if (Long.compareUnsigned(gap.getEnd(), value) == 0) {
-        gap.setEnd(gap.getEnd() - 1);
-
-        // Update the gap's "modified" time.
-        gap.setModifiedTime(Instant.now());
-      }
-
-      // SCENARIO 4: Check if the gap needs to be split into two gaps.
-      else {
-        var now = Instant.now();
-
-        // Store the current end value of the gap.
-        long oldEnd = gap.getEnd();
+    // SCENARIO 1: Check if the gap was simply eliminated.
+    if ((Long.compareUnsigned(gap.getStart(), value) == 0) && (
+      Long.compareUnsigned(gap.getEnd(), value)
+        == 0)) {
+      removeGap(gap.getStart());
+    }
 
-        // Modify the existing gap to span the range of the lower split.
-        gap.setEnd(value - 1);
+    // SCENARIO 2: Check if the gap's lower limit needs to be incremented.
+    else if (Long.compareUnsigned(gap.getStart(), value) == 0) {
+      removeGap(gap.getStart());
+      putGap(new Gap(value + 1, gap.getEnd(), now));
+    }
 
-        // Update the existing gap's "modified" time.
-        gap.setModifiedTime(now);
+    // SCENARIO 3: Check if the gap's upper limit needs to be decremented.
+    else if (Long.compareUnsigned(gap.getEnd(), value) == 0) {
+      putGap(new Gap(gap.getStart(), value - 1, now));
+    }
 
-        // Add a new gap to span the range of the upper split.
-        this.gapsList.add(new Gap(value + 1, oldEnd, now));
-      }
+    // SCENARIO 4: Split the gap into two gaps.
+    else {
+      putGap(new Gap(gap.getStart(), value - 1, now));
+      putGap(new Gap(value + 1, gap.getEnd(), now));
     }
   }
 
@@ -144,17 +172,20 @@ public class GapList {
     Validate.isTrue(Long.compareUnsigned(endValue, this.max.get()) <= 0,
       "End value must be less than or equal to the current maximum.");
 
-    synchronized (gapsList) {
+    synchronized (gapsByStart) {
       // Check if there are no gaps.
-      if (this.gapsList.isEmpty()) {
+      if (this.gapsByStart.isEmpty()) {
         return;
       }
 
-      // Modify or remove existing gaps that fall within the specified range.
+      // Modify or remove existing gaps that fall within the specified range, starting from the gap that could
+      // contain the start value.
       var now = Instant.now();
       List<Gap> removeList = new ArrayList<>();
       List<Gap> adjustList = new ArrayList<>();
-      for (Gap gap : this.gapsList) {
+      var firstStart = this.gapsByStart.floorKey(startValue);
+      var candidates = firstStart == null ? this.gapsByStart : this.gapsByStart.tailMap(firstStart, true);
+      for (Gap gap : candidates.values()) {
         if (Long.compareUnsigned(gap.getEnd(), startValue) < 0) {
           // Leave these gaps along, since they occur before the specified range.
         } else if (Long.compareUnsigned(gap.getStart(), endValue) > 0) {
@@ -182,8 +213,8 @@ public class GapList {
           adjustList.add(new Gap(endValue + 1, gap.getEnd(), now));
         }
       }
-      removeList.forEach(this.gapsList::remove);
-      this.gapsList.addAll(adjustList);
+      removeList.forEach(gap -> removeGap(gap.getStart()));
+      adjustList.forEach(this::putGap);
     }
   }
 
@@ -211,8 +242,8 @@ public class GapList {
    * @return Immutable copy of the currently used gapList
    */
   public SortedSet<Gap> getGapsList() {
-    synchronized (gapsList) {
-      return ImmutableSortedSet.copyOfSorted(this.gapsList);
+    synchronized (gapsByStart) {
+      return ImmutableSortedSet.copyOf(this.gapsByStart.values());
     }
   }
 
@@ -223,8 +254,8 @@ public class GapList {
    */
   @JsonIgnore
   public int getTotalGaps() {
-    synchronized (gapsList) {
-      return this.gapsList.size();
+    synchronized (gapsByStart) {
+      return this.gapsByStart.size();
     }
   }
 
@@ -234,9 +265,12 @@ public class GapList {
    * @param expiration expiration time
    */
   void removeGapsModifiedBefore(Instant expiration) {
-    synchronized (gapsList) {
-      this.gapsList.removeIf(x ->
-        x.getModifiedTime().isBefore(expiration));
+    synchronized (gapsByStart) {
+      List<Long> expiredStarts = new ArrayList<>();
+      this.gapsByStart.values().stream()
+        .filter(x -> x.getModifiedTime().isBefore(expiration))
+        .forEach(x -> expiredStarts.add(x.getStart()));
+      expiredStarts.forEach(this::removeGap);
     }
   }
 
@@ -258,9 +292,9 @@ public class GapList {
    */
   ArrayList<ImmutablePair<Long, Long>> getGaps(
     boolean exclusiveStart, boolean exclusiveEnd) {
-    synchronized (gapsList) {
+    synchronized (gapsByStart) {
       ArrayList<ImmutablePair<Long, Long>> gapRanges = new ArrayList<>();
-      for (Gap gap : this.gapsList) {
+      for (Gap gap : this.gapsByStart.values()) {
         long lower = (exclusiveStart) ? gap.getStart() - 1 : gap.getStart();
         long upper;
         //If upper is Max unsigned, leave it
@@ -277,6 +311,96 @@ public class GapList {
     }
   }
 
+  /**
+   * @return true if the range changed, or a gap was added, changed or removed, since changes were last drained
+   */
+  boolean hasChanges() {
+    synchronized (gapsByStart) {
+      return !addedStarts.isEmpty() || !changedStarts.isEmpty() || !removedStarts.isEmpty()
+        || min.get() != drainedMin || max.get() != drainedMax;
+    }
+  }
+
+  /**
+   * Returns the gaps added, changed or removed since the previous call, and starts recording changes again.
+   *
+   * @return the changes since the previous call
+   */
+  GapListChanges drainChanges() {
+    synchronized (gapsByStart) {
+      List<Gap> upserts = new ArrayList<>();
+      addedStarts.forEach(start -> upserts.add(gapsByStart.get(start)));
+      changedStarts.forEach(start -> upserts.add(gapsByStart.get(start)));
+
+      var changes = new GapListChanges(min.get(), max.get(), upserts, new ArrayList<>(removedStarts));
+      addedStarts.clear();
+      changedStarts.clear();
+      removedStarts.clear();
+      drainedMin = changes.getMin();
+      drainedMax = changes.getMax();
+      return changes;
+    }
+  }
+
+  /**
+   * Applies changes drained from another gap list, e.g. when replaying them from a journal. Applying changes is
+   * idempotent, so changes already reflected in this gap list can be applied again.
+   *
+   * @param changes the changes to apply
+   */
+  void applyChanges(GapListChanges changes) {
+    synchronized (gapsByStart) {
+      this.min.set(changes.getMin());
+      this.max.set(changes.getMax());
+      changes.getRemovedStarts().forEach(this::removeGap);
+      changes.getUpserts().forEach(this::putGap);
+    }
+  }
+
+  /**
+   * @return true until {@link #markSnapshotWritten()} is called, the changes of a gap list that was not read from
+   * storage can not be journaled
+   */
+  boolean snapshotRequired() {
+    synchronized (gapsByStart) {
+      return snapshotRequired;
+    }
+  }
+
+  /**
+   * Records that the full gap list was written to storage, so later changes can be journaled
+   */
+  void markSnapshotWritten() {
+    synchronized (gapsByStart) {
+      snapshotRequired = false;
+    }
+  }
+
+  // Must be called holding the gapsByStart lock
+  private void putGap(Gap gap) {
+    var start = gap.getStart();
+    if (removedStarts.remove(start) || gapsByStart.containsKey(start)) {
+      if (!addedStarts.contains(start)) {
+        changedStarts.add(start);
+      }
+    } else {
+      addedStarts.add(start);
+    }
+    gapsByStart.put(start, gap);
+  }
+
+  // Must be called holding the gapsByStart lock
+  private void removeGap(long start) {
+    if (gapsByStart.remove(start) == null) {
+      return;
+    }
+
+    changedStarts.remove(start);
+    if (!addedStarts.remove(start)) {
+      removedStarts.add(start);
+    }
+  }
+
   /*
     Check if max is -1 (unsigned max)
    */
@@ -295,12 +419,12 @@ public class GapList {
     var gapList = (GapList) o;
     return min.get() == gapList.min.get() &&
       max.get() == gapList.max.get() &&
-      Objects.equals(gapsList, gapList.gapsList);
+      Objects.equals(gapsByStart, gapList.gapsByStart);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(min.get(), max.get(), gapsList);
+    return Objects.hash(min.get(), max.get(), gapsByStart);
   }
 
   @Override
@@ -308,7 +432,7 @@ public class GapList {
     return "GapList{" +
       "min=" + min.get() +
       ", max=" + max.get() +
-      ", gapsList=" + gapsList +
+      ", gapsList=" + gapsByStart.values() +
       '}';
   }
 }
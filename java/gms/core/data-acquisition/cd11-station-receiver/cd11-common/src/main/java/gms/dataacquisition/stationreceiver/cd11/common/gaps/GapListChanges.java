@@ -0,0 +1,78 @@
+package gms.dataacquisition.stationreceiver.cd11.common.gaps;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Changes to a {@link GapList} since the changes were last drained, written as one entry of the gap list journal.
+ * Holds the current range of the gap list, the current value of every gap added or changed, and the start of every
+ * removed gap, so replaying an entry does not depend on when it is replayed.
+ */
+class GapListChanges {
+
+  private final long min;
+  private final long max;
+  private final List<Gap> upserts;
+  private final List<Long> removedStarts;
+
+  @JsonCreator
+  GapListChanges(
+    @JsonProperty("min") long min,
+    @JsonProperty("max") long max,
+    @JsonProperty("upserts") List<Gap> upserts,
+    @JsonProperty("removedStarts") List<Long> removedStarts) {
+    this.min = min;
+    this.max = max;
+    this.upserts = upserts == null ? List.of() : List.copyOf(upserts);
+    this.removedStarts = removedStarts == null ? List.of() : List.copyOf(removedStarts);
+  }
+
+  public long getMin() {
+    return min;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public List<Gap> getUpserts() {
+    return upserts;
+  }
+
+  public List<Long> getRemovedStarts() {
+    return removedStarts;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    var that = (GapListChanges) o;
+    return min == that.min &&
+      max == that.max &&
+      upserts.equals(that.upserts) &&
+      removedStarts.equals(that.removedStarts);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(min, max, upserts, removedStarts);
+  }
+
+  @Override
+  public String toString() {
+    return "GapListChanges{" +
+      "min=" + min +
+      ", max=" + max +
+      ", upserts=" + upserts +
+      ", removedStarts=" + removedStarts +
+      '}';
+  }
+}
@@ -10,10 +10,10 @@ import org.mockito.Mockito;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -102,11 +102,106 @@ class Cd11GapListUtilityTest {
     Assertions.assertTrue(Files.exists(path));
   }
 
+  @Test
+  void testPersistGapStateJournalsChanges(@TempDir Path tempDir) throws IOException {
+    var gapListUtility = Cd11GapListUtility.create(tempDir.toString(), ".json");
+    var cd11GapList = gapListUtility.loadGapState("journal");
+    var gapList = cd11GapList.getGapList();
+    var snapshotPath = Paths.get(tempDir + "journal.json");
+    var journalPath = Paths.get(tempDir + "journal.json" + Cd11GapListUtility.JOURNAL_EXTENSION);
+
+    // The first persist writes a snapshot
+    gapList.addValue(10);
+    gapList.addValue(20);
+    StepVerifier.create(gapListUtility.persistGapState("journal", gapList)).verifyComplete();
+    assertTrue(Files.exists(snapshotPath));
+    var snapshot = Files.readString(snapshotPath);
+
+    // Later persists append to the journal, and only when something changed
+    gapList.addValue(15);
+    StepVerifier.create(gapListUtility.persistGapState("journal", gapList)).verifyComplete();
+    StepVerifier.create(gapListUtility.persistGapState("journal", gapList)).verifyComplete();
+    gapList.addValue(5);
+    StepVerifier.create(gapListUtility.persistGapState("journal", gapList)).verifyComplete();
+
+    assertEquals(snapshot, Files.readString(snapshotPath));
+    assertEquals(2, Files.readAllLines(journalPath).size());
+
+    var loaded = Cd11GapListUtility.create(tempDir.toString(), ".json").loadGapState("journal");
+    assertEquals(gapList, loaded.getGapList());
+
+    // An incomplete last entry is skipped
+    Files.writeString(journalPath, "{\"min\":5,\"max\"", StandardOpenOption.APPEND);
+    loaded = Cd11GapListUtility.create(tempDir.toString(), ".json").loadGapState("journal");
+    assertEquals(gapList, loaded.getGapList());
+
+    StepVerifier.create(gapListUtility.clearGapState("journal")).verifyComplete();
+    assertFalse(Files.exists(snapshotPath));
+    assertFalse(Files.exists(journalPath));
+  }
+
+  @Test
+  void testPersistGapStateCompactsJournal(@TempDir Path tempDir) throws IOException {
+    var gapListUtility = Cd11GapListUtility.create(tempDir.toString(), ".json");
+    var gapList = gapListUtility.loadGapState("compact").getGapList();
+    var journalPath = Paths.get(tempDir + "compact.json" + Cd11GapListUtility.JOURNAL_EXTENSION);
+
+    for (var i = 0; i <= Cd11GapListUtility.COMPACTION_JOURNAL_ENTRIES; i++) {
+      gapList.addValue(i * 2L);
+      StepVerifier.create(gapListUtility.persistGapState("compact", gapList)).verifyComplete();
+    }
+    assertEquals(Cd11GapListUtility.COMPACTION_JOURNAL_ENTRIES, Files.readAllLines(journalPath).size());
+
+    gapList.addValue(1);
+    StepVerifier.create(gapListUtility.persistGapState("compact", gapList)).verifyComplete();
+    assertFalse(Files.exists(journalPath));
+    assertEquals(gapList, gapListUtility.loadGapState("compact").getGapList());
+  }
+
+  @Test
+  void testLoadGapStateSkipsJournalOfReplacedSnapshot(@TempDir Path tempDir) throws IOException {
+    var gapListUtility = Cd11GapListUtility.create(tempDir.toString(), ".json");
+    var gapList = gapListUtility.loadGapState("crash").getGapList();
+    var journalPath = Paths.get(tempDir + "crash.json" + Cd11GapListUtility.JOURNAL_EXTENSION);
+
+    gapList.addValue(0);
+    gapList.addValue(100);
+    StepVerifier.create(gapListUtility.persistGapState("crash", gapList)).verifyComplete();
+    gapList.addValue(50);
+    StepVerifier.create(gapListUtility.persistGapState("crash", gapList)).verifyComplete();
+    var replacedJournal = Files.readAllBytes(journalPath);
+
+    // Fill every gap, and write the result as a new snapshot
+    for (var value = 1L; value < 100; value++) {
+      gapList.addValue(value);
+    }
+    var filledGapList = GapList.from(gapList.getMin(), gapList.getMax(), gapList.getGapsList());
+    StepVerifier.create(gapListUtility.persistGapState("crash", filledGapList)).verifyComplete();
+    assertFalse(Files.exists(journalPath));
+
+    // A crash between moving the snapshot into place and deleting the journal leaves the replaced journal behind,
+    // whose gaps must not be brought back
+    Files.write(journalPath, replacedJournal);
+    var loaded = Cd11GapListUtility.create(tempDir.toString(), ".json").loadGapState("crash");
+    assertEquals(filledGapList, loaded.getGapList());
+
+    // Entries journaled after the new snapshot are still replayed
+    var loadedGapList = loaded.getGapList();
+    Files.delete(journalPath);
+    loadedGapList.addValue(200);
+    var reloadingUtility = Cd11GapListUtility.create(tempDir.toString(), ".json");
+    reloadingUtility.loadGapState("crash");
+    StepVerifier.create(reloadingUtility.persistGapState("crash", loadedGapList)).verifyComplete();
+    assertTrue(Files.exists(journalPath));
+    assertEquals(loadedGapList, Cd11GapListUtility.create(tempDir.toString(), ".json").loadGapState("crash")
+      .getGapList());
+  }
+
   @Test
   void testPersistGapStateFailPropagatesException(@TempDir Path tempDir) throws IOException {
     var mockObjectMapper = Mockito.mock(ObjectMapper.class);
     var nope = new JsonGenerationException("NOPE", mock(JsonGenerator.class));
-    willThrow(nope).given(mockObjectMapper).writeValue(any(OutputStream.class), any());
+    willThrow(nope).given(mockObjectMapper).writeValueAsBytes(any());
     var gapListUtility = new Cd11GapListUtility(tempDir.toString(), ".json", mockObjectMapper);
 
     GapList gp = new GapList(0, 100);
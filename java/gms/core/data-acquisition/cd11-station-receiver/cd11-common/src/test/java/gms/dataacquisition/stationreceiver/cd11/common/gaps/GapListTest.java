@@ -16,6 +16,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -338,6 +339,57 @@ class GapListTest {
 
   }
 
+  @Test
+  void testManyGaps() {
+    GapList gp = new GapList(0, 200_000);
+
+    // Every other value leaves 100,000 single value gaps, then fill them in reverse
+    for (long i = 0; i <= 200_000; i += 2) {
+      assertTrue(gp.addValue(i));
+    }
+    assertEquals(100_000, gp.getTotalGaps());
+
+    for (long i = 199_999; i > 0; i -= 2) {
+      assertTrue(gp.addValue(i));
+    }
+    assertEquals(0, gp.getTotalGaps());
+    assertFalse(gp.addValue(1));
+  }
+
+  @Test
+  void testDrainAndApplyChanges() {
+    GapList gp = new GapList(0, 100);
+    GapList replica = new GapList(0, 100);
+    replica.applyChanges(gp.drainChanges());
+    assertFalse(gp.hasChanges());
+
+    gp.addValue(50);
+    gp.addValue(0);
+    gp.addValueRange(20, 30);
+    assertTrue(gp.hasChanges());
+
+    var changes = gp.drainChanges();
+    assertTrue(changes.getRemovedStarts().contains(0L));
+    replica.applyChanges(changes);
+    assertEquals(gp.getGapsList(), replica.getGapsList());
+
+    // Gaps that are added and removed again between drains are not part of the changes
+    gp.addValue(75);
+    gp.addValue(76);
+    gp.addValue(77);
+    changes = gp.drainChanges();
+    assertTrue(changes.getRemovedStarts().isEmpty());
+    assertEquals(2, changes.getUpserts().size());
+
+    // Changes can be applied again
+    replica.applyChanges(changes);
+    replica.applyChanges(changes);
+    assertEquals(gp.getGapsList(), replica.getGapsList());
+    assertEquals(gp.getMin(), replica.getMin());
+    assertEquals(gp.getMax(), replica.getMax());
+    assertFalse(gp.hasChanges());
+  }
+
   @Test
     // this test passes -1 which as an unsigned long is larger than 100
     // -1 is the maximum unsigned long value
@@ -0,0 +1,56 @@
+package gms.utilities.waveformreader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading fixed width values from a {@link BitInputStream}, at the widths used by the E1, S3 and
+ * Canadian compressed readers. Throughput is in values per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitInputStreamBenchmark {
+
+  private static final int VALUE_COUNT = 100_000;
+
+  @Param({"4", "9", "12", "24", "32"})
+  private int bits;
+
+  private byte[] bytes;
+
+  @Setup
+  public void setUp() {
+    bytes = new byte[(VALUE_COUNT * bits + Byte.SIZE - 1) / Byte.SIZE];
+    new Random(bits).nextBytes(bytes);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public int readSigned() throws IOException {
+    var input = new BitInputStream(new ByteArrayInputStream(bytes), 8192);
+    var sum = 0;
+    for (var i = 0; i < VALUE_COUNT; i++) {
+      sum += input.read(bits, true);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,354 @@
+package gms.utilities.waveformreader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Generates synthetic digitizer samples and encodes them in the formats read by {@link WaveformReader}, so the
+ * benchmarks do not depend on recorded .w files.
+ */
+final class SyntheticWaveforms {
+
+  /**
+   * Number of samples in each E1 record
+   */
+  private static final int E1_RECORD_SAMPLES = 1000;
+
+  /**
+   * Number of times E1 records are differenced
+   */
+  private static final int E1_DIFFERENCES = 2;
+
+  /**
+   * Characters encoding each 6 bit CM6 value
+   */
+  private static final char[] CM6_CHARS =
+    "+-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+  private static final int CM6_LINE_LENGTH = 80;
+
+  /**
+   * Bit lengths for the Canadian compressed sample codes, per length code
+   */
+  private static final int[][] CC_BIT_LENGTHS = {
+    {4, 6, 8, 10, 12, 14, 16, 18},
+    {4, 8, 12, 16, 20, 24, 28, 32}};
+
+  private static final int CC_GROUPS_IN_BLOCK = 5;
+  private static final int CC_SAMPLES_IN_GROUP = 4;
+  private static final int CC_SAMPLES_IN_BLOCK = CC_GROUPS_IN_BLOCK * CC_SAMPLES_IN_GROUP;
+
+  private SyntheticWaveforms() {
+  }
+
+  /**
+   * Creates samples resembling a short-period seismometer recording: microseism and signal sinusoids with
+   * background noise, in counts well within 24 bits.
+   *
+   * @param sampleCount number of samples to create
+   * @param seed seed for the background noise
+   * @return the samples
+   */
+  static int[] samples(int sampleCount, long seed) {
+    var random = new Random(seed);
+    var samples = new int[sampleCount];
+    for (var i = 0; i < sampleCount; i++) {
+      samples[i] = (int) Math.round(2000 * Math.sin(2 * Math.PI * i / 160.0)
+        + 300 * Math.sin(2 * Math.PI * i / 13.0)
+        + 50 * random.nextGaussian());
+    }
+    return samples;
+  }
+
+  /**
+   * Encodes samples in the given CSS 3.0 format.
+   *
+   * @param format the format code, e.g. 's4' or 'cm6'
+   * @param samples the samples to encode
+   * @return the encoded samples
+   * @throws IllegalArgumentException if the format is not supported
+   */
+  static byte[] encode(String format, int[] samples) {
+    var fc = FormatCode.fcFromString(format);
+    if (fc == null) {
+      throw new IllegalArgumentException("Unsupported format: " + format);
+    }
+
+    switch (fc) {
+      case S4:
+        return writeInts(samples, false);
+      case I4:
+        return writeInts(samples, true);
+      case S3:
+        return encodeS3(samples);
+      case T4:
+        return writeFloats(samples, false);
+      case F4:
+        return writeFloats(samples, true);
+      case E1:
+        return encodeE1(samples);
+      case CM6:
+        return encodeCm6(samples);
+      case CC:
+      case CD:
+        return encodeCanadianCompressed(samples);
+      default:
+        throw new IllegalArgumentException("Unsupported format: " + format);
+    }
+  }
+
+  private static byte[] writeInts(int[] samples, boolean littleEndian) {
+    var bytes = new ByteArrayOutputStream(samples.length * Integer.BYTES);
+    try (var output = new DataOutputStream(bytes)) {
+      for (int sample : samples) {
+        output.writeInt(littleEndian ? Integer.reverseBytes(sample) : sample);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] encodeS3(int[] samples) {
+    var bytes = new byte[samples.length * 3];
+    for (var i = 0; i < samples.length; i++) {
+      bytes[3 * i] = (byte) (samples[i] >> 16);
+      bytes[3 * i + 1] = (byte) (samples[i] >> 8);
+      bytes[3 * i + 2] = (byte) samples[i];
+    }
+    return bytes;
+  }
+
+  private static byte[] writeFloats(int[] samples, boolean vax) {
+    var bytes = new ByteArrayOutputStream(samples.length * Float.BYTES);
+    try (var output = new DataOutputStream(bytes)) {
+      for (int sample : samples) {
+        var bits = Float.floatToRawIntBits(sample);
+        output.writeInt(vax ? toVax(bits) : bits);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Inverse of {@link Float4FormatWaveformReader#vax2float(float)}.
+   */
+  private static int toVax(int ieeeBits) {
+    int sign = ieeeBits >>> 31;
+    int exp = ((ieeeBits >> 23) & 0xFF) + 2;
+    int mantissa1 = (ieeeBits >> 16) & 0x7F;
+    int mantissa2 = ieeeBits & 0xFFFF;
+
+    return Integer.reverseBytes((mantissa2 << 16) | (sign << 15) | (exp << 7) | mantissa1);
+  }
+
+  private static byte[] encodeE1(int[] samples) {
+    var output = new BitOutput(samples.length * 2);
+
+    for (var start = 0; start < samples.length; start += E1_RECORD_SAMPLES) {
+      var numSamp = Math.min(E1_RECORD_SAMPLES, samples.length - start);
+      var differences = new int[numSamp];
+      System.arraycopy(samples, start, differences, 0, numSamp);
+      for (var d = 0; d < E1_DIFFERENCES; d++) {
+        difference(differences);
+      }
+
+      var record = new BitOutput(numSamp * 2);
+      var words = 0;
+      for (var j = 0; j < numSamp; ) {
+        var remaining = numSamp - j;
+        if (fits(differences, j, 4, 7, remaining)) {
+          record.write(0b1100, 4);
+          j = writeSamples(record, differences, j, 4, 7);
+          words++;
+        } else if (fits(differences, j, 7, 9, remaining)) {
+          record.write(0, 1);
+          j = writeSamples(record, differences, j, 7, 9);
+          words += 2;
+        } else if (fits(differences, j, 3, 10, remaining)) {
+          record.write(0b10, 2);
+          j = writeSamples(record, differences, j, 3, 10);
+          words++;
+        } else if (fits(differences, j, 5, 12, remaining)) {
+          record.write(0b1101, 4);
+          j = writeSamples(record, differences, j, 5, 12);
+          words += 2;
+        } else if (fits(differences, j, 4, 15, remaining)) {
+          record.write(0b1110, 4);
+          j = writeSamples(record, differences, j, 4, 15);
+          words += 2;
+        } else {
+          record.write(0b1111, 4);
+          j = writeSamples(record, differences, j, 1, 28);
+          words++;
+        }
+      }
+
+      output.write((words + 2) * 4, 16);
+      output.write(numSamp, 16);
+      output.write(E1_DIFFERENCES, 8);
+      output.write(samples[start + numSamp - 1], 24);
+      output.write(record.toByteArray());
+    }
+
+    return output.toByteArray();
+  }
+
+  private static byte[] encodeCm6(int[] samples) {
+    var second = new int[samples.length];
+    for (var i = 0; i < samples.length; i++) {
+      second[i] = samples[i] - (i > 0 ? 2 * samples[i - 1] : 0) + (i > 1 ? samples[i - 2] : 0);
+    }
+
+    var text = new StringBuilder(samples.length * 3);
+    var lineLength = 0;
+    for (int value : second) {
+      var magnitude = Math.abs(value);
+      var chars = 1;
+      while (chars < 7 && magnitude >= 1 << (4 + 5 * (chars - 1))) {
+        chars++;
+      }
+
+      for (var k = 0; k < chars; k++) {
+        var shift = 5 * (chars - 1 - k);
+        var code = k == 0
+          ? ((magnitude >> shift) & 0xF) | (value < 0 ? 0x10 : 0)
+          : (magnitude >> shift) & 0x1F;
+        if (k < chars - 1) {
+          code |= 0x20;
+        }
+        text.append(CM6_CHARS[code]);
+        if (++lineLength == CM6_LINE_LENGTH) {
+          text.append('\n');
+          lineLength = 0;
+        }
+      }
+    }
+
+    return text.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static byte[] encodeCanadianCompressed(int[] samples) {
+    // The reader restores the first sample and integrates the data blocks twice, shifting by one sample
+    var differences = new int[samples.length];
+    for (var k = 0; k + 1 < samples.length; k++) {
+      differences[k] = samples[k + 1] - samples[k];
+    }
+    difference(differences);
+
+    var numBlocks = (samples.length + CC_SAMPLES_IN_BLOCK - 1) / CC_SAMPLES_IN_BLOCK;
+    var lengthCodes = new int[numBlocks];
+    var bitCodes = new int[numBlocks][CC_GROUPS_IN_BLOCK];
+    for (var block = 0; block < numBlocks; block++) {
+      var bestBits = Integer.MAX_VALUE;
+      for (var lengthCode = 0; lengthCode < CC_BIT_LENGTHS.length; lengthCode++) {
+        var blockBits = 0;
+        var codes = new int[CC_GROUPS_IN_BLOCK];
+        for (var group = 0; group < CC_GROUPS_IN_BLOCK; group++) {
+          var start = block * CC_SAMPLES_IN_BLOCK + group * CC_SAMPLES_IN_GROUP;
+          var count = Math.max(0, Math.min(CC_SAMPLES_IN_GROUP, samples.length - start));
+          var code = 0;
+          while (code < CC_BIT_LENGTHS[lengthCode].length - 1
+            && !fits(differences, start, count, CC_BIT_LENGTHS[lengthCode][code], count)) {
+            code++;
+          }
+          codes[group] = code;
+          blockBits += count * CC_BIT_LENGTHS[lengthCode][code];
+        }
+        if (blockBits < bestBits) {
+          bestBits = blockBits;
+          lengthCodes[block] = lengthCode;
+          bitCodes[block] = codes;
+        }
+      }
+    }
+
+    var output = new BitOutput(samples.length * 2);
+    for (var block = 0; block < numBlocks; block++) {
+      output.write(lengthCodes[block], 1);
+      for (var group = 0; group < CC_GROUPS_IN_BLOCK; group++) {
+        output.write(bitCodes[block][group], 3);
+      }
+    }
+    output.write(samples.length > 0 ? samples[0] : 0, 32);
+    for (var n = 0; n < samples.length; n++) {
+      var block = n / CC_SAMPLES_IN_BLOCK;
+      var group = (n % CC_SAMPLES_IN_BLOCK) / CC_SAMPLES_IN_GROUP;
+      output.write(differences[n], CC_BIT_LENGTHS[lengthCodes[block]][bitCodes[block][group]]);
+    }
+
+    return output.toByteArray();
+  }
+
+  /**
+   * Replaces the values with their first differences, in place, keeping the first value.
+   */
+  private static void difference(int[] values) {
+    for (var i = values.length - 1; i > 0; i--) {
+      values[i] -= values[i - 1];
+    }
+  }
+
+  private static boolean fits(int[] values, int start, int count, int bits, int remaining) {
+    if (count > remaining) {
+      return false;
+    }
+    var min = -(1L << (bits - 1));
+    var max = (1L << (bits - 1)) - 1;
+    for (var i = start; i < start + count; i++) {
+      if (values[i] < min || values[i] > max) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int writeSamples(BitOutput output, int[] values, int start, int count, int bits) {
+    for (var i = start; i < start + count; i++) {
+      output.write(values[i], bits);
+    }
+    return start + count;
+  }
+
+  /**
+   * Writes the low bits of integers most significant bit first, the inverse of {@link BitInputStream}.
+   */
+  private static final class BitOutput {
+
+    private final ByteArrayOutputStream bytes;
+    private long buffer;
+    private int bufferedBits;
+
+    private BitOutput(int expectedBytes) {
+      bytes = new ByteArrayOutputStream(expectedBytes);
+    }
+
+    private void write(int value, int bits) {
+      buffer = (buffer << bits) | (value & ((1L << bits) - 1));
+      bufferedBits += bits;
+      while (bufferedBits >= Byte.SIZE) {
+        bufferedBits -= Byte.SIZE;
+        bytes.write((int) (buffer >> bufferedBits));
+      }
+    }
+
+    private void write(byte[] whole) {
+      for (byte b : whole) {
+        write(b, Byte.SIZE);
+      }
+    }
+
+    private byte[] toByteArray() {
+      if (bufferedBits > 0) {
+        write(0, Byte.SIZE - bufferedBits);
+      }
+      return bytes.toByteArray();
+    }
+  }
+}
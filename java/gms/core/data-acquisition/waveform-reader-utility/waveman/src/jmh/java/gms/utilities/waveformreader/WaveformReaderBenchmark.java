@@ -0,0 +1,127 @@
+package gms.utilities.waveformreader;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link WaveformReader#readSamples(java.io.InputStream, String, int, long, int)} over synthetic .w
+ * files for each supported format, reading whole files, reading the second half of files and reading whole files
+ * then applying the calibration as {@code ChannelSegmentConvertImpl} does.
+ * <p>
+ * Besides calls per second, each benchmark reports the samples requested per second as its {@code samples}
+ * counter. Run with {@code -Pjmh.profilers=gc} for allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaveformReaderBenchmark {
+
+  private static final double CALIBRATION = 0.253;
+
+  /**
+   * A synthetic .w file in one format. 1 minute, 1 hour and 1 day at 40 samples per second by default.
+   */
+  @State(Scope.Benchmark)
+  public static class WaveformFile {
+
+    @Param({"s4", "s3", "i4", "t4", "f4", "e1", "cm6", "cc"})
+    String format;
+
+    @Param({"2400", "144000", "3456000"})
+    int sampleCount;
+
+    Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      var samples = SyntheticWaveforms.samples(sampleCount, sampleCount);
+      file = Files.createTempFile("waveform-" + format, ".w");
+      Files.write(file, SyntheticWaveforms.encode(format, samples));
+
+      // Guard against an encoder that does not match its reader
+      double[] read;
+      try (var input = new FileInputStream(file.toFile())) {
+        read = WaveformReader.readSamples(input, format, sampleCount, 0, 0);
+      }
+      for (var i = 0; i < sampleCount; i++) {
+        if (read[i] != samples[i]) {
+          throw new IllegalStateException(String.format("Synthetic %s sample %d read as %f, expected %d",
+            format, i, read[i], samples[i]));
+        }
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Counts the samples requested from the readers, reported per second alongside the calls per second.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Samples {
+
+    public long samples;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      samples = 0;
+    }
+  }
+
+  @Benchmark
+  public double[] read(WaveformFile waveformFile, Samples counter) throws IOException {
+    try (var input = new FileInputStream(waveformFile.file.toFile())) {
+      counter.samples += waveformFile.sampleCount;
+      return WaveformReader.readSamples(input, waveformFile.format, waveformFile.sampleCount, 0, 0);
+    }
+  }
+
+  /**
+   * Reads the second half of the file. CM6 readers cannot skip, so CM6 reads the whole file.
+   */
+  @Benchmark
+  public double[] readAfterSkip(WaveformFile waveformFile, Samples counter) throws IOException {
+    var skip = FormatCode.CM6.getCode().equals(waveformFile.format) ? 0 : waveformFile.sampleCount / 2;
+    var samplesToRead = waveformFile.sampleCount - skip;
+    try (var input = new FileInputStream(waveformFile.file.toFile())) {
+      counter.samples += samplesToRead;
+      return WaveformReader.readSamples(input, waveformFile.format, samplesToRead, 0, skip);
+    }
+  }
+
+  @Benchmark
+  public double[] readAndCalibrate(WaveformFile waveformFile, Samples counter) throws IOException {
+    try (var input = new FileInputStream(waveformFile.file.toFile())) {
+      counter.samples += waveformFile.sampleCount;
+      double[] data = WaveformReader.readSamples(input, waveformFile.format, waveformFile.sampleCount, 0, 0);
+      for (var i = 0; i < data.length; i++) {
+        data[i] *= CALIBRATION;
+      }
+      return data;
+    }
+  }
+}
@@ -103,10 +103,10 @@ public class StationSohControl implements StationSohControlInterface {
 
   private final OsdRepositoryInterface sohRepository;
 
-  // Used in the monitor method to benchmark various items.
+  // Used in the monitor method to benchmark various items, also exported as metrics histograms.
   private final SumStatsAccumulator<MonitorBenchmarks> monitorStatsAccumulator =
     new SumStatsAccumulator<>(new EnumMap<>(
-      MonitorBenchmarks.class));
+      MonitorBenchmarks.class), "stationSohControl");
 
   private final Duration monitorLoggingPeriod;
 
@@ -0,0 +1,603 @@
+package gms.core.performancemonitoring.soh.control.kafka;
+
+import com.google.common.collect.ImmutableMap;
+import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue;
+import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue.AcquiredChannelEnvironmentIssueType;
+import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssueBoolean;
+import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame.AuthenticationStatus;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFramePayloadFormat;
+import gms.shared.frameworks.osd.coi.waveforms.WaveformSummary;
+import gms.shared.metrics.CustomMetric;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory-bounded cache of {@link AcquiredStationSohExtract}s, keyed by station.
+ * <p>
+ * Rather than retaining the extract object graphs for the whole caching duration of a station,
+ * only the fields used by the SOH calculations are kept, in primitive, time-indexed columns: one
+ * frame table per station (epoch-nanosecond payload start, end and reception times) and, per
+ * channel, the frame membership and waveform summary times plus the boolean environment issues.
+ * Analog environment issues are not used by the SOH calculations and are dropped.
+ * <p>
+ * Extracts are rehydrated from a copy of the columns by {@link #toExtracts()} on each processing
+ * interval, outside the lock taken by {@link #add}, so that the objects handed to the calculations
+ * are short-lived instead of being tenured for the caching duration and ingest is not blocked while
+ * they are built. Entries are evicted by payload end time, using the same per-station caching
+ * durations as the cache this replaces. The estimated heap use of each station's columns is
+ * published as a JMX metric by {@link #updateHeapMetrics()}.
+ */
+class CompactSohExtractCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(CompactSohExtractCache.class);
+
+  private static final String HEAP_METRIC_NAME_FORMAT =
+    "soh_extract_cache_heap_bytes:type=Value,station=%s";
+
+  //
+  // Metrics are registered with the platform MBean server, which only accepts one registration
+  // per name, so they are shared between cache instances (the cache is recreated on configuration
+  // updates).
+  //
+  private static final Map<String, CustomMetric<Long, Long>> heapBytesMetricByStation =
+    new ConcurrentHashMap<>();
+
+  private final Map<String, Duration> stationCachingDurations;
+
+  private final Map<String, StationColumns> columnsByStation = new HashMap<>();
+
+  /**
+   * Constructor
+   *
+   * @param stationCachingDurations Map of station name to how long to keep data for the station
+   */
+  CompactSohExtractCache(Map<String, Duration> stationCachingDurations) {
+    this.stationCachingDurations = stationCachingDurations;
+  }
+
+  /**
+   * Add an extract to the cache, given that it is newer than (now - stationduration), where
+   * stationduration is the cache duration for the station that the extract is associated with.
+   *
+   * @param extract the extract to add
+   * @param now the callers concept of "now" (so that tests can be consistent)
+   * @return true if the extract was added, false if it was too old or its station is not configured
+   */
+  synchronized boolean add(AcquiredStationSohExtract extract, Instant now) {
+
+    var metadata = extract.getAcquisitionMetadata()
+      .get(0); // ASSUMPTION! There is only a single RSDF metadata object in the extract.
+
+    var stationName = metadata.getStationName();
+    var cachingDuration = stationCachingDurations.get(stationName);
+
+    if (cachingDuration == null) {
+      logger.debug("add was called with a station that is not configured: {}", stationName);
+      return false;
+    }
+
+    if (!metadata.getPayloadEndTime().isAfter(now.minus(cachingDuration))) {
+      return false;
+    }
+
+    columnsByStation.computeIfAbsent(stationName, key -> new StationColumns())
+      .add(metadata, extract.getAcquiredChannelEnvironmentIssues());
+
+    return true;
+  }
+
+  /**
+   * Remove everything whose payload end time is before (now - stationduration). Stations that are
+   * no longer configured are removed entirely.
+   *
+   * @param now the callers concept of "now"
+   */
+  synchronized void evict(Instant now) {
+
+    columnsByStation.entrySet().removeIf(entry -> {
+      var cachingDuration = stationCachingDurations.get(entry.getKey());
+
+      if (cachingDuration == null) {
+        return true;
+      }
+
+      entry.getValue().evictBefore(toEpochNanos(now.minus(cachingDuration)));
+      return entry.getValue().isEmpty();
+    });
+  }
+
+  /**
+   * Rehydrate the cached extracts. Only copying the columns holds the cache lock; the extracts are
+   * built from the copies afterwards, so that {@link #add} is not blocked while the object graphs
+   * are allocated.
+   *
+   * @return a new set containing an extract for every cached frame
+   */
+  Set<AcquiredStationSohExtract> toExtracts() {
+    return snapshot().toExtracts();
+  }
+
+  /**
+   * Copy the columns of every station, for callers that hold the cache lock over other updates and
+   * must release it before the extracts are rebuilt with {@link Snapshot#toExtracts()}.
+   *
+   * @return a copy of the cached columns, unaffected by later changes to the cache
+   */
+  synchronized Snapshot snapshot() {
+
+    var columnsCopy = new HashMap<String, StationColumns>(columnsByStation.size());
+
+    columnsByStation.forEach((stationName, columns) -> columnsCopy.put(stationName, columns.copy()));
+
+    return new Snapshot(columnsCopy);
+  }
+
+  /**
+   * @return the number of frames currently cached, over all stations
+   */
+  synchronized int size() {
+    return columnsByStation.values().stream()
+      .mapToInt(columns -> columns.frameCount)
+      .sum();
+  }
+
+  /**
+   * Estimate the heap used by the columns of a single station.
+   *
+   * @param stationName name of the station
+   * @return the estimated number of bytes, or zero if nothing is cached for the station
+   */
+  synchronized long estimatedHeapBytes(String stationName) {
+    var columns = columnsByStation.get(stationName);
+    return columns == null ? 0 : columns.estimatedHeapBytes();
+  }
+
+  /**
+   * Publish the estimated heap use of every configured station to its metric.
+   */
+  void updateHeapMetrics() {
+    stationCachingDurations.keySet().forEach(stationName ->
+      heapBytesMetricByStation.computeIfAbsent(stationName,
+        key -> CustomMetric.create(CustomMetric::updateTimingData,
+          String.format(HEAP_METRIC_NAME_FORMAT, key), 0L)
+      ).updateMetric(estimatedHeapBytes(stationName)));
+  }
+
+  private static long toEpochNanos(Instant instant) {
+    return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L),
+      instant.getNano());
+  }
+
+  private static Instant fromEpochNanos(long epochNanos) {
+    return Instant.ofEpochSecond(
+      Math.floorDiv(epochNanos, 1_000_000_000L),
+      Math.floorMod(epochNanos, 1_000_000_000L));
+  }
+
+  private static int grow(int capacity) {
+    return Math.max(8, capacity + (capacity >> 1));
+  }
+
+  private static boolean shouldShrink(int capacity, int count) {
+    return capacity > 16 && count < capacity / 4;
+  }
+
+  /**
+   * Columns for a single station. Frames are identified by a sequence number that increases with
+   * insertion order, so the frame table stays sorted by sequence number and channel rows can find
+   * their frame with a binary search.
+   */
+  private static final class StationColumns {
+
+    private static final AcquiredChannelEnvironmentIssueType[] ISSUE_TYPES =
+      AcquiredChannelEnvironmentIssueType.values();
+    private static final RawStationDataFramePayloadFormat[] PAYLOAD_FORMATS =
+      RawStationDataFramePayloadFormat.values();
+    private static final AuthenticationStatus[] AUTHENTICATION_STATUSES =
+      AuthenticationStatus.values();
+
+    private long nextSequence;
+    private int frameCount;
+    private long minPayloadEnd = Long.MAX_VALUE;
+
+    private long[] frameSequences = new long[0];
+    private long[] payloadStarts = new long[0];
+    private long[] payloadEnds = new long[0];
+    private long[] receptionTimes = new long[0];
+    private byte[] payloadFormats = new byte[0];
+    private byte[] authenticationStatuses = new byte[0];
+
+    private final Map<String, ChannelColumns> channelsByName = new HashMap<>();
+
+    void add(
+      RawStationDataFrameMetadata metadata,
+      List<AcquiredChannelEnvironmentIssue<?>> issues
+    ) {
+
+      if (frameCount == frameSequences.length) {
+        resizeFrames(grow(frameCount));
+      }
+
+      var sequence = nextSequence++;
+      var payloadEnd = toEpochNanos(metadata.getPayloadEndTime());
+
+      frameSequences[frameCount] = sequence;
+      payloadStarts[frameCount] = toEpochNanos(metadata.getPayloadStartTime());
+      payloadEnds[frameCount] = payloadEnd;
+      receptionTimes[frameCount] = toEpochNanos(metadata.getReceptionTime());
+      payloadFormats[frameCount] = (byte) metadata.getPayloadFormat().ordinal();
+      authenticationStatuses[frameCount] = (byte) metadata.getAuthenticationStatus().ordinal();
+      frameCount++;
+
+      minPayloadEnd = Math.min(minPayloadEnd, payloadEnd);
+
+      var waveformSummaries = metadata.getWaveformSummaries();
+
+      metadata.getChannelNames().forEach(channelName ->
+        channel(channelName).addMember(sequence, true, waveformSummaries.get(channelName)));
+
+      waveformSummaries.forEach((channelName, waveformSummary) -> {
+        if (!metadata.getChannelNames().contains(channelName)) {
+          channel(channelName).addMember(sequence, false, waveformSummary);
+        }
+      });
+
+      issues.stream()
+        .filter(AcquiredChannelEnvironmentIssueBoolean.class::isInstance)
+        .map(AcquiredChannelEnvironmentIssueBoolean.class::cast)
+        .forEach(issue -> channel(issue.getChannelName()).addIssue(sequence, issue));
+    }
+
+    void evictBefore(long cutoffNanos) {
+
+      if (minPayloadEnd >= cutoffNanos) {
+        return;
+      }
+
+      var kept = 0;
+      minPayloadEnd = Long.MAX_VALUE;
+
+      for (var i = 0; i < frameCount; i++) {
+        if (payloadEnds[i] >= cutoffNanos) {
+          frameSequences[kept] = frameSequences[i];
+          payloadStarts[kept] = payloadStarts[i];
+          payloadEnds[kept] = payloadEnds[i];
+          receptionTimes[kept] = receptionTimes[i];
+          payloadFormats[kept] = payloadFormats[i];
+          authenticationStatuses[kept] = authenticationStatuses[i];
+          minPayloadEnd = Math.min(minPayloadEnd, payloadEnds[i]);
+          kept++;
+        }
+      }
+
+      frameCount = kept;
+
+      if (shouldShrink(frameSequences.length, frameCount)) {
+        resizeFrames(frameCount);
+      }
+
+      channelsByName.values().removeIf(channel -> {
+        channel.retainFrames(frameSequences, frameCount);
+        return channel.isEmpty();
+      });
+    }
+
+    boolean isEmpty() {
+      return frameCount == 0;
+    }
+
+    /**
+     * @return a copy of these columns, with the arrays trimmed to their row counts
+     */
+    StationColumns copy() {
+
+      var copy = new StationColumns();
+
+      copy.nextSequence = nextSequence;
+      copy.frameCount = frameCount;
+      copy.minPayloadEnd = minPayloadEnd;
+      copy.frameSequences = Arrays.copyOf(frameSequences, frameCount);
+      copy.payloadStarts = Arrays.copyOf(payloadStarts, frameCount);
+      copy.payloadEnds = Arrays.copyOf(payloadEnds, frameCount);
+      copy.receptionTimes = Arrays.copyOf(receptionTimes, frameCount);
+      copy.payloadFormats = Arrays.copyOf(payloadFormats, frameCount);
+      copy.authenticationStatuses = Arrays.copyOf(authenticationStatuses, frameCount);
+
+      channelsByName.forEach((channelName, channel) ->
+        copy.channelsByName.put(channelName, channel.copy()));
+
+      return copy;
+    }
+
+    void toExtracts(String stationName, Set<AcquiredStationSohExtract> extracts) {
+
+      var frames = new FrameBuilder[frameCount];
+
+      for (var i = 0; i < frameCount; i++) {
+        frames[i] = new FrameBuilder();
+      }
+
+      channelsByName.forEach((channelName, channel) -> {
+        for (var i = 0; i < channel.memberCount; i++) {
+          var frame = frames[frameIndex(channel.memberSequences[i])];
+
+          if (channel.memberListed[i]) {
+            frame.channelNames.add(channelName);
+          }
+
+          if (channel.summaryStarts[i] != ChannelColumns.NO_SUMMARY) {
+            frame.waveformSummaries.put(channelName, WaveformSummary.from(
+              channelName,
+              fromEpochNanos(channel.summaryStarts[i]),
+              fromEpochNanos(channel.summaryEnds[i])));
+          }
+        }
+
+        for (var i = 0; i < channel.issueCount; i++) {
+          frames[frameIndex(channel.issueSequences[i])].issues.add(
+            AcquiredChannelEnvironmentIssueBoolean.from(
+              channelName,
+              ISSUE_TYPES[channel.issueTypes[i]],
+              fromEpochNanos(channel.issueStarts[i]),
+              fromEpochNanos(channel.issueEnds[i]),
+              channel.issueStatuses[i]));
+        }
+      });
+
+      for (var i = 0; i < frameCount; i++) {
+        var metadata = RawStationDataFrameMetadata.builder()
+          .setStationName(stationName)
+          .setChannelNames(frames[i].channelNames)
+          .setPayloadStartTime(fromEpochNanos(payloadStarts[i]))
+          .setPayloadEndTime(fromEpochNanos(payloadEnds[i]))
+          .setReceptionTime(fromEpochNanos(receptionTimes[i]))
+          .setPayloadFormat(PAYLOAD_FORMATS[payloadFormats[i]])
+          .setAuthenticationStatus(AUTHENTICATION_STATUSES[authenticationStatuses[i]])
+          .setWaveformSummaries(frames[i].waveformSummaries.build())
+          .build();
+
+        extracts.add(AcquiredStationSohExtract.create(List.of(metadata), frames[i].issues));
+      }
+    }
+
+    long estimatedHeapBytes() {
+
+      // Object headers and references for this object and its frame arrays
+      var bytes = 64L + 6 * 16L;
+
+      bytes += frameSequences.length * (4L * Long.BYTES + 2L);
+
+      for (var channel : channelsByName.values()) {
+        bytes += channel.estimatedHeapBytes();
+      }
+
+      return bytes;
+    }
+
+    private ChannelColumns channel(String channelName) {
+      return channelsByName.computeIfAbsent(channelName, key -> new ChannelColumns());
+    }
+
+    private int frameIndex(long sequence) {
+      var index = Arrays.binarySearch(frameSequences, 0, frameCount, sequence);
+
+      if (index < 0) {
+        throw new IllegalStateException("Channel row references a frame that is not cached");
+      }
+
+      return index;
+    }
+
+    private void resizeFrames(int capacity) {
+      frameSequences = Arrays.copyOf(frameSequences, capacity);
+      payloadStarts = Arrays.copyOf(payloadStarts, capacity);
+      payloadEnds = Arrays.copyOf(payloadEnds, capacity);
+      receptionTimes = Arrays.copyOf(receptionTimes, capacity);
+      payloadFormats = Arrays.copyOf(payloadFormats, capacity);
+      authenticationStatuses = Arrays.copyOf(authenticationStatuses, capacity);
+    }
+  }
+
+  /**
+   * Columns for a single channel: one row per frame the channel appears in (listed as a channel of
+   * the frame and/or carrying a waveform summary), and one row per boolean environment issue.
+   */
+  private static final class ChannelColumns {
+
+    private static final long NO_SUMMARY = Long.MIN_VALUE;
+
+    private int memberCount;
+    private long[] memberSequences = new long[0];
+    private boolean[] memberListed = new boolean[0];
+    private long[] summaryStarts = new long[0];
+    private long[] summaryEnds = new long[0];
+
+    private int issueCount;
+    private long[] issueSequences = new long[0];
+    private long[] issueStarts = new long[0];
+    private long[] issueEnds = new long[0];
+    private byte[] issueTypes = new byte[0];
+    private boolean[] issueStatuses = new boolean[0];
+
+    void addMember(long sequence, boolean listed, WaveformSummary waveformSummary) {
+
+      if (memberCount == memberSequences.length) {
+        resizeMembers(grow(memberCount));
+      }
+
+      memberSequences[memberCount] = sequence;
+      memberListed[memberCount] = listed;
+
+      if (waveformSummary == null) {
+        summaryStarts[memberCount] = NO_SUMMARY;
+        summaryEnds[memberCount] = NO_SUMMARY;
+      } else {
+        summaryStarts[memberCount] = toEpochNanos(waveformSummary.getStartTime());
+        summaryEnds[memberCount] = toEpochNanos(waveformSummary.getEndTime());
+      }
+
+      memberCount++;
+    }
+
+    void addIssue(long sequence, AcquiredChannelEnvironmentIssueBoolean issue) {
+
+      if (issueCount == issueSequences.length) {
+        resizeIssues(grow(issueCount));
+      }
+
+      issueSequences[issueCount] = sequence;
+      issueStarts[issueCount] = toEpochNanos(issue.getStartTime());
+      issueEnds[issueCount] = toEpochNanos(issue.getEndTime());
+      issueTypes[issueCount] = (byte) issue.getType().ordinal();
+      issueStatuses[issueCount] = issue.getStatus();
+      issueCount++;
+    }
+
+    /**
+     * Remove the rows for frames whose sequence numbers are not in the given sorted array.
+     */
+    void retainFrames(long[] sortedSequences, int sequenceCount) {
+
+      var kept = 0;
+
+      for (var i = 0; i < memberCount; i++) {
+        if (Arrays.binarySearch(sortedSequences, 0, sequenceCount, memberSequences[i]) >= 0) {
+          memberSequences[kept] = memberSequences[i];
+          memberListed[kept] = memberListed[i];
+          summaryStarts[kept] = summaryStarts[i];
+          summaryEnds[kept] = summaryEnds[i];
+          kept++;
+        }
+      }
+
+      memberCount = kept;
+
+      if (shouldShrink(memberSequences.length, memberCount)) {
+        resizeMembers(memberCount);
+      }
+
+      kept = 0;
+
+      for (var i = 0; i < issueCount; i++) {
+        if (Arrays.binarySearch(sortedSequences, 0, sequenceCount, issueSequences[i]) >= 0) {
+          issueSequences[kept] = issueSequences[i];
+          issueStarts[kept] = issueStarts[i];
+          issueEnds[kept] = issueEnds[i];
+          issueTypes[kept] = issueTypes[i];
+          issueStatuses[kept] = issueStatuses[i];
+          kept++;
+        }
+      }
+
+      issueCount = kept;
+
+      if (shouldShrink(issueSequences.length, issueCount)) {
+        resizeIssues(issueCount);
+      }
+    }
+
+    boolean isEmpty() {
+      return memberCount == 0 && issueCount == 0;
+    }
+
+    /**
+     * @return a copy of these columns, with the arrays trimmed to their row counts
+     */
+    ChannelColumns copy() {
+
+      var copy = new ChannelColumns();
+
+      copy.memberCount = memberCount;
+      copy.memberSequences = Arrays.copyOf(memberSequences, memberCount);
+      copy.memberListed = Arrays.copyOf(memberListed, memberCount);
+      copy.summaryStarts = Arrays.copyOf(summaryStarts, memberCount);
+      copy.summaryEnds = Arrays.copyOf(summaryEnds, memberCount);
+
+      copy.issueCount = issueCount;
+      copy.issueSequences = Arrays.copyOf(issueSequences, issueCount);
+      copy.issueStarts = Arrays.copyOf(issueStarts, issueCount);
+      copy.issueEnds = Arrays.copyOf(issueEnds, issueCount);
+      copy.issueTypes = Arrays.copyOf(issueTypes, issueCount);
+      copy.issueStatuses = Arrays.copyOf(issueStatuses, issueCount);
+
+      return copy;
+    }
+
+    long estimatedHeapBytes() {
+
+      // Object header, fields and map entry, plus headers of the ten arrays
+      var bytes = 96L + 10 * 16L;
+
+      bytes += memberSequences.length * (3L * Long.BYTES + 1L);
+      bytes += issueSequences.length * (3L * Long.BYTES + 2L);
+
+      return bytes;
+    }
+
+    private void resizeMembers(int capacity) {
+      memberSequences = Arrays.copyOf(memberSequences, capacity);
+      memberListed = Arrays.copyOf(memberListed, capacity);
+      summaryStarts = Arrays.copyOf(summaryStarts, capacity);
+      summaryEnds = Arrays.copyOf(summaryEnds, capacity);
+    }
+
+    private void resizeIssues(int capacity) {
+      issueSequences = Arrays.copyOf(issueSequences, capacity);
+      issueStarts = Arrays.copyOf(issueStarts, capacity);
+      issueEnds = Arrays.copyOf(issueEnds, capacity);
+      issueTypes = Arrays.copyOf(issueTypes, capacity);
+      issueStatuses = Arrays.copyOf(issueStatuses, capacity);
+    }
+  }
+
+  /**
+   * Copy of the cached columns, taken under the cache lock by {@link #snapshot()}.
+   */
+  static final class Snapshot {
+
+    private final Map<String, StationColumns> columnsByStation;
+
+    private Snapshot(Map<String, StationColumns> columnsByStation) {
+      this.columnsByStation = columnsByStation;
+    }
+
+    /**
+     * Rehydrate the copied extracts. Takes no lock.
+     *
+     * @return a new set containing an extract for every copied frame
+     */
+    Set<AcquiredStationSohExtract> toExtracts() {
+
+      var extracts = new HashSet<AcquiredStationSohExtract>();
+
+      columnsByStation.forEach((stationName, columns) -> columns.toExtracts(stationName, extracts));
+
+      return extracts;
+    }
+  }
+
+  /**
+   * Scratch space for reassembling a single frame during {@link StationColumns#toExtracts}.
+   */
+  private static final class FrameBuilder {
+
+    private final Set<String> channelNames = new LinkedHashSet<>();
+    private final ImmutableMap.Builder<String, WaveformSummary> waveformSummaries =
+      ImmutableMap.builder();
+    private final List<AcquiredChannelEnvironmentIssue<?>> issues = new ArrayList<>();
+  }
+}
@@ -21,18 +21,11 @@ import reactor.util.retry.Retry;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of {@link SohExtractReceiver} that consumes {@link AcquiredStationSohExtract}
@@ -43,17 +36,15 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
 
   private static final Logger logger = LoggerFactory.getLogger(ReactorKafkaSohExtractReceiver.class);
 
-  private final Map<String, Duration> stationCachingDurations;
-
   private final KafkaReceiver<String, String> asseKafkaReceiver;
 
   //
   // Cache of extracts.
   //
   // Keyed by station name, so that the per-station cache duration can be applied when cleaning out
-  // the cache
+  // the cache. Only the fields used by the SOH calculations are retained.
   //
-  private final Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>> extractCacheByStation = new ConcurrentHashMap<>();
+  private final CompactSohExtractCache extractCache;
 
   private final Map<TopicPartition, ReceiverOffset> offsetMap = new HashMap<>();
 
@@ -78,7 +69,7 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
     Map<String, Duration> stationCachingDurations
   ) {
 
-    this.stationCachingDurations = stationCachingDurations;
+    this.extractCache = new CompactSohExtractCache(stationCachingDurations);
 
     Map<String, Object> properties = Map.of(
       ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
@@ -108,7 +99,7 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
     KafkaReceiver<String, String> mockKafkaReceiver,
     Map<String, Duration> stationCachingDurations
   ) {
-    this.stationCachingDurations = stationCachingDurations;
+    this.extractCache = new CompactSohExtractCache(stationCachingDurations);
     this.asseKafkaReceiver = mockKafkaReceiver;
   }
 
@@ -183,22 +174,25 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
             acquiredStationSohExtractList.size()
           );
 
-          synchronized (extractCacheByStation) {
+          CompactSohExtractCache.Snapshot snapshot;
+
+          synchronized (extractCache) {
 
             acquiredStationSohExtractList.forEach(this::addToCache);
 
-            extractCacheByStation.forEach((stationName, subCache) ->
-              subCache.headMap(Instant.now().minus(stationCachingDurations.get(stationName)))
-                .clear());
+            extractCache.evict(Instant.now());
+            extractCache.updateHeapMetrics();
 
             offsetMap.values().forEach(ReceiverOffset::commit);
 
-            return extractCacheByStation.values()
-              .stream().map(Map::values)
-              .flatMap(Collection::stream)
-              .flatMap(Collection::stream)
-              .collect(Collectors.toSet());
+            snapshot = extractCache.snapshot();
           }
+
+          //
+          // Rebuild the extracts after releasing the lock, so that caching extracts is not
+          // blocked while their object graphs are allocated
+          //
+          return snapshot.toExtracts();
         }
       )
       .subscribe(sohExtractKafkaConsumer);
@@ -233,13 +227,7 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
   }
 
   private void addToCache(AcquiredStationSohExtract extract) {
-
-    addToCache(
-      extract,
-      Instant.now(),
-      stationCachingDurations,
-      extractCacheByStation
-    );
+    extractCache.add(extract, Instant.now());
   }
 
   /**
@@ -282,51 +270,4 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
       .filter(Optional::isPresent)
       .map(Optional::get);
   }
-
-  private static Instant payloadEndTime(AcquiredStationSohExtract extract) {
-    return extract.getAcquisitionMetadata()
-      .get(0) // ASSUMPTION! There is only a single RSDF metadata object in the extract.
-      .getPayloadEndTime();
-  }
-
-  /**
-   * Add an extract to a given cache, given that it is newer than then (now - stationduration)
-   * where stationduration is the cache duration for the station tha the extract is associated with.
-   * <p>
-   * This is package-private so that it can be tested.
-   *
-   * @param extract the extract to add
-   * @param now the callers concept of "now" (so that tests can be consisitent)
-   * @param stationCachingDurations Map od station name to station cache duration
-   * @param extractCacheByStation the cache to add to
-   */
-  static void addToCache(
-    AcquiredStationSohExtract extract,
-    Instant now,
-    Map<String, Duration> stationCachingDurations,
-    Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>> extractCacheByStation
-  ) {
-
-    var stationName = extract.getAcquisitionMetadata()
-      .get(0) // ASSUMPTION! There is only a single RSDF metadata object in the extract.
-      .getStationName();
-
-    if (stationCachingDurations.containsKey(stationName)) {
-      var payloadEndTimeLimit = now.minus(stationCachingDurations.get(stationName));
-      var possibleEnd = payloadEndTime(extract);
-
-      if (possibleEnd.isAfter(payloadEndTimeLimit)) {
-        extractCacheByStation
-          .computeIfAbsent(
-            stationName, dummyKey -> new ConcurrentSkipListMap<>()
-          )
-          .computeIfAbsent(
-            possibleEnd, instant -> new HashSet<>()
-          ).add(extract);
-      }
-    } else {
-      logger.debug("addToCache was called with a station that is not configured: {}", stationName);
-    }
-
-  }
 }
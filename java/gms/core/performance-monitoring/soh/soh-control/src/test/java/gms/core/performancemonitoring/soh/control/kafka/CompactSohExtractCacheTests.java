@@ -0,0 +1,300 @@
+package gms.core.performancemonitoring.soh.control.kafka;
+
+import gms.core.performancemonitoring.soh.control.TestFixture;
+import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssueBoolean;
+import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class CompactSohExtractCacheTests {
+
+  @Test
+  void testRoundTripKeepsCalculationFields() throws IOException {
+
+    var extracts = TestFixture.loadExtracts();
+    var cache = new CompactSohExtractCache(createDumbDurationsMap(extracts));
+    var now = Instant.now();
+
+    extracts.forEach(extract -> Assertions.assertTrue(cache.add(extract, now)));
+
+    var rehydrated = cache.toExtracts();
+
+    Assertions.assertEquals(extracts.size(), rehydrated.size());
+    Assertions.assertEquals(extracts.size(), cache.size());
+
+    Assertions.assertEquals(
+      metadataOf(extracts),
+      metadataOf(rehydrated)
+    );
+
+    Assertions.assertEquals(
+      booleanIssuesOf(extracts),
+      booleanIssuesOf(rehydrated)
+    );
+
+    // Analog issues are not used by the calculations, so they are not retained
+    Assertions.assertTrue(rehydrated.stream()
+      .map(AcquiredStationSohExtract::getAcquiredChannelEnvironmentIssues)
+      .flatMap(Collection::stream)
+      .allMatch(AcquiredChannelEnvironmentIssueBoolean.class::isInstance));
+  }
+
+  @Test
+  void testEvictRemovesOldFramesAndTheirChannelRows() throws IOException {
+
+    var now = Instant.now();
+
+    var extracts = modifyPayloadTimes(
+      TestFixture.loadExtracts(),
+      List.of(
+        now.minusSeconds(60),  //LBTB
+        now.minusSeconds(61),  //ZALV
+        now.minusSeconds(120), //PLCA 1st
+        now.minusSeconds(80),  //PLCA 2nd
+        now.minusSeconds(50)   //I37NO
+      )
+    );
+
+    var cache = new CompactSohExtractCache(Map.of(
+      "LBTB", Duration.ofSeconds(300),
+      "ZALV", Duration.ofSeconds(300),
+      "PLCA", Duration.ofSeconds(300),
+      "I37NO", Duration.ofSeconds(300)
+    ));
+
+    extracts.forEach(extract -> cache.add(extract, now));
+
+    var plcaBytesBefore = cache.estimatedHeapBytes("PLCA");
+    Assertions.assertTrue(plcaBytesBefore > 0);
+
+    // Evicting at (now + 200s) drops everything with a payload end before (now - 100s), which is
+    // only the first PLCA frame.
+    cache.evict(now.plusSeconds(200));
+
+    Assertions.assertEquals(
+      metadataOf(List.of(extracts.get(0), extracts.get(1), extracts.get(3), extracts.get(4))),
+      metadataOf(cache.toExtracts())
+    );
+
+    Assertions.assertEquals(
+      booleanIssuesOf(List.of(extracts.get(0), extracts.get(1), extracts.get(3), extracts.get(4))),
+      booleanIssuesOf(cache.toExtracts())
+    );
+
+    // Evicting far enough in the future removes the stations entirely
+    cache.evict(now.plusSeconds(1000));
+
+    Assertions.assertTrue(cache.toExtracts().isEmpty());
+    Assertions.assertEquals(0, cache.estimatedHeapBytes("PLCA"));
+  }
+
+  @Test
+  void testSnapshotRebuildsWithoutTheCacheLock() throws Exception {
+
+    var extracts = TestFixture.loadExtracts();
+    var cache = new CompactSohExtractCache(createDumbDurationsMap(extracts));
+    var now = Instant.now();
+
+    extracts.forEach(extract -> cache.add(extract, now));
+
+    var snapshot = cache.snapshot();
+
+    // Later changes to the cache do not reach the snapshot
+    cache.evict(now.plus(Duration.ofDays(30000)));
+    Assertions.assertEquals(0, cache.size());
+
+    var lockHeld = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var lockHolder = new Thread(() -> {
+      synchronized (cache) {
+        lockHeld.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    lockHolder.start();
+
+    try {
+      Assertions.assertTrue(lockHeld.await(10, TimeUnit.SECONDS));
+
+      // Rebuilding completes while another thread holds the cache lock
+      var rehydrated = CompletableFuture.supplyAsync(snapshot::toExtracts)
+        .get(10, TimeUnit.SECONDS);
+
+      Assertions.assertEquals(metadataOf(extracts), metadataOf(rehydrated));
+    } finally {
+      release.countDown();
+      lockHolder.join();
+    }
+  }
+
+  @Test
+  void testUnconfiguredStationIsIgnored() throws IOException {
+
+    var extracts = TestFixture.loadExtracts();
+    var cache = new CompactSohExtractCache(Map.of("LBTB", Duration.ofDays(20000)));
+
+    var added = extracts.stream()
+      .filter(extract -> cache.add(extract, Instant.now()))
+      .count();
+
+    Assertions.assertEquals(1, added);
+    Assertions.assertEquals(0, cache.estimatedHeapBytes("ZALV"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("addToCacheTestSource")
+  void testAdd(
+    AcquiredStationSohExtract extract,
+    Instant now,
+    Map<String, Duration> stationCachingDurations,
+    List<AcquiredStationSohExtract> originalExtracts,
+    List<AcquiredStationSohExtract> expectedExtracts
+  ) {
+
+    var cache = new CompactSohExtractCache(stationCachingDurations);
+
+    originalExtracts.forEach(original -> cache.add(original, now.minusSeconds(1)));
+
+    cache.add(extract, now);
+
+    Assertions.assertEquals(
+      metadataOf(expectedExtracts),
+      metadataOf(cache.toExtracts())
+    );
+  }
+
+  private static Stream<Arguments> addToCacheTestSource() throws IOException {
+
+    var now = Instant.now();
+
+    var extracts = modifyPayloadTimes(
+      TestFixture.loadExtracts(),
+      List.of(
+        now.minusSeconds(60),  //LBTB
+        now.minusSeconds(61),  //ZALV
+        now.minusSeconds(120), //PLCA 1st
+        now.minusSeconds(80),  //PLCA 2nd
+        now.minusSeconds(50)   //I37NO
+      )
+    );
+
+    return Stream.of(
+      Arguments.arguments(
+        extracts.get(3), now,
+        Map.of(
+          "LBTB", Duration.ofSeconds(61),
+          "ZALV", Duration.ofSeconds(62),
+          "PLCA", Duration.ofSeconds(121),
+          "I37NO", Duration.ofSeconds(51)
+        ),
+        List.of(extracts.get(0), extracts.get(1), extracts.get(2), extracts.get(4)),
+        List.of(extracts.get(0), extracts.get(1), extracts.get(2), extracts.get(3),
+          extracts.get(4))
+      ),
+
+      Arguments.arguments(
+        extracts.get(2), now,
+        Map.of(
+          "LBTB", Duration.ofSeconds(61),
+          "ZALV", Duration.ofSeconds(62),
+          "PLCA", Duration.ofSeconds(119),
+          "I37NO", Duration.ofSeconds(51)
+        ),
+        List.of(extracts.get(0), extracts.get(1), extracts.get(3), extracts.get(4)),
+        List.of(extracts.get(0), extracts.get(1), extracts.get(3), extracts.get(4))
+      ),
+
+      Arguments.arguments(
+        extracts.get(0), now,
+        Map.of(
+          "LBTB", Duration.ofSeconds(59),
+          "ZALV", Duration.ofSeconds(62),
+          "PLCA", Duration.ofSeconds(121),
+          "I37NO", Duration.ofSeconds(51)
+        ),
+        List.of(extracts.get(1), extracts.get(2), extracts.get(3), extracts.get(4)),
+        List.of(extracts.get(1), extracts.get(2), extracts.get(3), extracts.get(4))
+      )
+    );
+  }
+
+  private static Set<RawStationDataFrameMetadata> metadataOf(
+    Collection<AcquiredStationSohExtract> extracts
+  ) {
+    return extracts.stream()
+      .map(AcquiredStationSohExtract::getAcquisitionMetadata)
+      .flatMap(Collection::stream)
+      .collect(Collectors.toSet());
+  }
+
+  private static Set<AcquiredChannelEnvironmentIssueBoolean> booleanIssuesOf(
+    Collection<AcquiredStationSohExtract> extracts
+  ) {
+    return extracts.stream()
+      .map(AcquiredStationSohExtract::getAcquiredChannelEnvironmentIssues)
+      .flatMap(Collection::stream)
+      .filter(AcquiredChannelEnvironmentIssueBoolean.class::isInstance)
+      .map(AcquiredChannelEnvironmentIssueBoolean.class::cast)
+      .collect(Collectors.toSet());
+  }
+
+  private static Map<String, Duration> createDumbDurationsMap(
+    List<AcquiredStationSohExtract> extractList
+  ) {
+
+    return extractList.stream()
+      .map(extract -> extract.getAcquisitionMetadata().get(0).getStationName())
+      .distinct()
+      .collect(Collectors.toMap(Function.identity(), stationName -> Duration.ofDays(20000)));
+  }
+
+  private static List<AcquiredStationSohExtract> modifyPayloadTimes(
+    List<AcquiredStationSohExtract> extractList,
+    List<Instant> newPayloadTimes
+  ) {
+
+    var newExtractList = new ArrayList<AcquiredStationSohExtract>();
+
+    IntStream.range(0, extractList.size()).forEach(i -> {
+
+      var oldRsdf = extractList.get(i)
+        .getAcquisitionMetadata()
+        .get(0);
+
+      var newRsdf = oldRsdf.toBuilder()
+        .setPayloadEndTime(newPayloadTimes.get(i))
+        .build();
+
+      newExtractList.add(AcquiredStationSohExtract.create(
+        List.of(newRsdf),
+        extractList.get(i).getAcquiredChannelEnvironmentIssues()
+      ));
+    });
+
+    return newExtractList;
+  }
+}
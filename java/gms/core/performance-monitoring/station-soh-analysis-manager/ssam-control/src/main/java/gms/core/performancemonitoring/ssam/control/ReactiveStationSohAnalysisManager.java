@@ -143,6 +143,10 @@ public class ReactiveStationSohAnalysisManager implements StationSohAnalysisMana
   /**
    * Private helper method intended to be used inside the decimate call. Method
    * will return a Map of SohMonitorType to HistoricalStationSoh
+   * <p>
+   * The request carries no target point count: {@link DecimationUtility} averages each channel's values and reports
+   * the percentage of points sent against the stored ones, so it needs every stored value rather than the
+   * repository's decimated series.
    *
    * @param decimationRequestParams the decimationRequestParams
    *
@@ -281,6 +281,7 @@ public class SsamReactiveKafkaUtility {
       .create(sohQuietAndUnacknowledgedCacheManager,
         processingConfig.resolveDisplayParameters(),
         stationGroups,
+        processingConfig.materializedViewFullSnapshotPeriod(),
         systemMessageSink
       );
 
@@ -15,6 +15,7 @@ import gms.shared.frameworks.osd.coi.signaldetection.StationGroup;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -81,6 +82,23 @@ public class StationSohAnalysisManagerConfiguration {
         .get("reprocessingPeriod")));
   }
 
+  /**
+   * Returns how often the UI materialized view publishes every station, rather than only the
+   * stations that changed since the previous calculation interval. Zero (the default when not
+   * configured) publishes every station on every interval.
+   *
+   * @return materializedViewFullSnapshotPeriod
+   */
+  public Duration materializedViewFullSnapshotPeriod() {
+
+    return Optional.ofNullable(configurationConsumerUtility
+        .resolve(STATION_SOH_PREFIX, List.of())
+        .get("materializedViewFullSnapshotPeriod"))
+      .map(String::valueOf)
+      .map(Duration::parse)
+      .orElse(Duration.ZERO);
+  }
+
   /**
    * Returns a list of StationGroups
    *
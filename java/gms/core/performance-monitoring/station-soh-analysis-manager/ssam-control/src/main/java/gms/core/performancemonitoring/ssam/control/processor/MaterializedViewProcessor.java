@@ -4,12 +4,14 @@ import gms.core.performancemonitoring.ssam.control.SohPackage;
 import gms.core.performancemonitoring.ssam.control.config.StationSohMonitoringUiClientParameters;
 import gms.core.performancemonitoring.uimaterializedview.SohQuietAndUnacknowledgedCacheManager;
 import gms.core.performancemonitoring.uimaterializedview.UIStationAndStationGroupsChanges;
+import gms.core.performancemonitoring.uimaterializedview.UiStationAndStationGroupDeltaGenerator;
 import gms.core.performancemonitoring.uimaterializedview.UiStationAndStationGroupGenerator;
 import gms.core.performancemonitoring.uimaterializedview.UiStationAndStationGroups;
 import gms.shared.frameworks.osd.coi.signaldetection.StationGroup;
 import gms.shared.frameworks.osd.coi.systemmessages.SystemMessage;
 import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.function.Function;
 
@@ -54,4 +56,47 @@ public interface MaterializedViewProcessor
     };
 
   }
+
+  /**
+   * Create a processor that only publishes the stations whose inputs changed since the previous
+   * SohPackage, publishing every station once per full snapshot period.
+   *
+   * @param quietAndUnackListsManager manager of the quieted and unacknowledged changes
+   * @param stationSohConfig the UI client parameters
+   * @param stationGroups the station groups from configuration
+   * @param fullSnapshotPeriod how often every station is published
+   * @param systemMessageFluxSink sink for created SystemMessages
+   * @return the MaterializedViewProcessor
+   */
+  static MaterializedViewProcessor create(
+    SohQuietAndUnacknowledgedCacheManager quietAndUnackListsManager,
+    StationSohMonitoringUiClientParameters stationSohConfig,
+    List<StationGroup> stationGroups,
+    Duration fullSnapshotPeriod,
+    Sinks.Many<SystemMessage> systemMessageFluxSink) {
+
+    var deltaGenerator = UiStationAndStationGroupDeltaGenerator.create(
+      stationSohConfig,
+      stationGroups,
+      fullSnapshotPeriod,
+      systemMessageFluxSink
+    );
+
+    return sohPackage -> {
+
+      var uiStationAndStationGroupsChangesData = UIStationAndStationGroupsChanges.builder()
+        .setUnacknowledgedStatusChanges(quietAndUnackListsManager.getUnacknowledgedList())
+        .setQuietedSohStatusChanges(quietAndUnackListsManager.getQuietedSohStatusChanges())
+        .build();
+
+      //update the unacknowledgedList
+      quietAndUnackListsManager.updateUnacknowledgedSet(sohPackage.getStationSohs());
+
+      return deltaGenerator.generate(
+        sohPackage.getStationSohs(),
+        uiStationAndStationGroupsChangesData,
+        sohPackage.getCapabilitySohRollups()
+      );
+    };
+  }
 }
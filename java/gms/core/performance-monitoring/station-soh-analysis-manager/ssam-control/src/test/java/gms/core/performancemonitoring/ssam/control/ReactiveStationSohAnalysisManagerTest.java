@@ -115,6 +115,12 @@ class ReactiveStationSohAnalysisManagerTest {
       historicalStationSoh.getMonitorValues().stream().filter(
         historicalSohMonitorValues ->
           "CHANNEL2".equals(historicalSohMonitorValues.getChannelName())).findFirst().orElse(null));
+
+    // the repository returns every value, so the channel averages and the percentage sent are
+    // computed from the full series
+    Mockito.verify(osdRepositoryInterface).retrieveHistoricalStationSoh(
+      HistoricalStationSohRequest.create("MY_COOL_STATION", startTime, endTime,
+        SohMonitorType.MISSING));
   }
 
   @Test
@@ -58,6 +58,10 @@ class StationSohAnalysisManagerConfigurationTest {
     Assertions.assertEquals(Duration.ofSeconds(20),
       stationSohAnalysisManagerConfiguration.reprocessingPeriod());
 
+    // Not configured, every station is published on every interval
+    Assertions.assertEquals(Duration.ZERO,
+      stationSohAnalysisManagerConfiguration.materializedViewFullSnapshotPeriod());
+
     Assertions.assertEquals(stationSohAnalysisManagerConfiguration.getSohRepositoryInterface(),
       osdRepositoryInterface);
 
@@ -1,7 +1,8 @@
 package gms.core.performancemonitoring.uimaterializedview;
 
 import com.google.common.base.Functions;
-import com.google.common.collect.TreeBasedTable;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
 import gms.core.performancemonitoring.soh.control.configuration.StationSohDefinition;
 import gms.core.performancemonitoring.ssam.control.config.StationSohMonitoringUiClientParameters;
 import gms.shared.frameworks.osd.coi.soh.ChannelSoh;
@@ -20,23 +21,23 @@ import gms.shared.frameworks.osd.coi.systemmessages.util.ChannelMonitorTypeStatu
 import gms.shared.frameworks.osd.coi.systemmessages.util.ChannelMonitorTypeStatusChangedBuilder;
 import gms.shared.frameworks.osd.coi.systemmessages.util.StationSohStatusChangedBuilder;
 import gms.shared.utilities.reactor.EmitFailureHandlerUtility;
-import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -52,14 +53,19 @@ public class SohQuietAndUnacknowledgedCacheManager {
   /* StationSoh set used to create previous UiStationSoh entries
      used in tracking unacknowledged changes */
   private Set<StationSoh> lastStationSohs;
+  /* Statuses of lastStationSohs keyed by station, then channel and monitor type, so that a new
+     StationSoh is diffed against the previous one without searching the previous set */
+  private Map<String, LastStationStatus> lastStatusByStation;
   private final Map<String, UiUnacknowledgedSohStatusChange> unackSohStatusChangesMap;
   private long ackQuietDuration = 300000; //default value
   //systemMessageFluxSink for publishing to Kafka topic.
   private final Sinks.Many<SystemMessage> systemMessageSink;
   private final Sinks.Many<UnacknowledgedSohStatusChange> unacknowledgedSohStatusChangeSink;
   private final Sinks.Many<QuietedSohStatusChangeUpdate> quietedSohStatusChangeUpdateSink;
-  private final TreeBasedTable<String, Instant, QuietedSohStatusChangeUpdate>
-    quietedChangesByExpirationAndStation = TreeBasedTable.create();
+  /* Latest quiet entry keyed by "channel.monitorType". Updated with per-key atomic operations so
+     that acknowledge and quiet requests do not block the SOH stream reading the quieted list */
+  private final ConcurrentNavigableMap<String, QuietedSohStatusChangeUpdate>
+    quietedChangesByChannelAndMonitorType = new ConcurrentSkipListMap<>();
   private Map<String, StationSohDefinition> sohDefinitions = null;
 
   public SohQuietAndUnacknowledgedCacheManager(
@@ -102,14 +108,15 @@ public class SohQuietAndUnacknowledgedCacheManager {
     this.quietedSohStatusChangeUpdateSink = quietedSohStatusChangeUpdateSink;
     // Set the latest Station Soh retrieved on startup
     this.lastStationSohs = new HashSet<>(lastStationSoh);
+    this.lastStatusByStation = indexByStation(this.lastStationSohs);
 
     // Iterate through the unacknowledgedChanges adding to the unackSohStatusChangesMap map
-    this.unackSohStatusChangesMap = unacknowledgedChanges.stream().collect(
+    this.unackSohStatusChangesMap = new ConcurrentHashMap<>(unacknowledgedChanges.stream().collect(
       Collectors.toMap(
         UnacknowledgedSohStatusChange::getStation,
         UiUnacknowledgedSohStatusChange::new
       )
-    );
+    ));
 
     // Initialize Quieted Change Map with each entry
     quietedSohStatusChangeUpdates.forEach(quietedChange ->
@@ -157,18 +164,17 @@ public class SohQuietAndUnacknowledgedCacheManager {
   public void updateUnacknowledgedSet(
     Set<StationSoh> newStationSohSet
   ) {
+    var newStatusByStation = indexByStation(newStationSohSet);
+
     // Walk through the new station sohs
     newStationSohSet.forEach(newStationSoh -> {
       // Find the corresponding entry in the previously sent station soh list
-      Optional<StationSoh> oldStationSohOpt = this.lastStationSohs.stream()
-        .filter(oldStation ->
-          oldStation.getStationName().equals(newStationSoh.getStationName())
-        )
-        .findFirst();
+      Optional<LastStationStatus> oldStationStatusOpt = Optional.ofNullable(
+        this.lastStatusByStation.get(newStationSoh.getStationName()));
 
-      oldStationSohOpt.ifPresent(oldStationSoh -> {
+      oldStationStatusOpt.ifPresent(oldStationStatus -> {
         // Add status changed system message.
-        var previous = oldStationSoh.getSohStatusRollup();
+        var previous = oldStationStatus.getSohStatusRollup();
         var current = newStationSoh.getSohStatusRollup();
 
         if (!previous.equals(current)) {
@@ -188,7 +194,7 @@ public class SohQuietAndUnacknowledgedCacheManager {
         // Add any un-acknowledge changes
         this.addStatusChangesForStation(
           newStationSoh,
-          oldStationSoh,
+          oldStationStatus,
           this.unackSohStatusChangesMap.get(newStationSoh.getStationName())
         );
 
@@ -204,6 +210,21 @@ public class SohQuietAndUnacknowledgedCacheManager {
 
     // new stations soh list is now the old after updating the unack list
     this.lastStationSohs = newStationSohSet;
+    this.lastStatusByStation = newStatusByStation;
+  }
+
+  /**
+   * Index the statuses of the StationSohs by station name. Where a station (or a channel's
+   * monitor type) appears more than once the first one wins, as when searching the set.
+   *
+   * @param stationSohs the {@link StationSoh}s to index.
+   * @return the statuses by station name
+   */
+  private static Map<String, LastStationStatus> indexByStation(Set<StationSoh> stationSohs) {
+    Map<String, LastStationStatus> statusByStation = new HashMap<>();
+    stationSohs.forEach(stationSoh -> statusByStation.computeIfAbsent(stationSoh.getStationName(),
+      stationName -> LastStationStatus.from(stationSoh)));
+    return statusByStation;
   }
 
   /**
@@ -233,25 +254,22 @@ public class SohQuietAndUnacknowledgedCacheManager {
    * per channel/monitor type.
    *
    * @param newStationSoh the current {@link StationSoh}.
-   * @param oldStationSoh the previous {@link StationSoh}.
+   * @param oldStationStatus the statuses of the previous {@link StationSoh}.
    * @param uiUnacknowledgedSohStatusChange tracks channel/monitor changes for a station
    */
   private void addStatusChangesForStation(
     StationSoh newStationSoh,
-    StationSoh oldStationSoh,
+    LastStationStatus oldStationStatus,
     UiUnacknowledgedSohStatusChange uiUnacknowledgedSohStatusChange
   ) {
 
     // if station matches, compare channels. Check monitorTypes.
     newStationSoh.getChannelSohs().forEach(newChannelSoh -> {
-      Optional<ChannelSoh> oldFoundChannelSoh = oldStationSoh.getChannelSohs().stream()
-        .filter(oldChan ->
-          oldChan.getChannelName().equals(newChannelSoh.getChannelName())
-        )
-        .findFirst();
-
-      oldFoundChannelSoh.ifPresent(
-        channelSoh -> newChannelSoh.getAllSohMonitorValueAndStatuses().forEach(newSohMVS -> {
+      Optional<Map<SohMonitorType, SohMonitorValueAndStatus<?>>> oldFoundChannelStatuses =
+        oldStationStatus.getStatusesForChannel(newChannelSoh.getChannelName());
+
+      oldFoundChannelStatuses.ifPresent(
+        channelStatuses -> newChannelSoh.getAllSohMonitorValueAndStatuses().forEach(newSohMVS -> {
           // Find out if this is a contributing channel/monitor type for this station
           // else there is nothing to do
           if (StationSohContributingUtility.getInstance().isChannelMonitorContributing(
@@ -262,10 +280,7 @@ public class SohQuietAndUnacknowledgedCacheManager {
 
             // compare new sohmvs against old sohmvs
             Optional<SohMonitorValueAndStatus<?>> oldSohMVS =
-              getSohMVS(
-                newSohMVS.getMonitorType(),
-                channelSoh.getAllSohMonitorValueAndStatuses()
-              );
+              Optional.ofNullable(channelStatuses.get(newSohMVS.getMonitorType()));
 
 
             if (comparePreviousAndNewMvs(newSohMVS, oldSohMVS)) {
@@ -372,13 +387,11 @@ public class SohQuietAndUnacknowledgedCacheManager {
    */
   public boolean addQuietSohStatusChange(QuietedSohStatusChangeUpdate quietedChange) {
     String key = quietedChange.getChannelName() + "." + quietedChange.getSohMonitorType();
-    synchronized (quietedChangesByExpirationAndStation) {
-      //add the system message in for the quietedChange
-      addChannelMonitorTypeQuietedMessages(quietedChange);
-      quietedChangesByExpirationAndStation.row(key).clear();
-      // Always set the latest quiet status, even if there was one later expiration
-      quietedChangesByExpirationAndStation.put(key, quietedChange.getQuietUntil(), quietedChange);
-    }
+
+    //add the system message in for the quietedChange
+    addChannelMonitorTypeQuietedMessages(quietedChange);
+    // Always set the latest quiet status, even if there was one later expiration
+    quietedChangesByChannelAndMonitorType.put(key, quietedChange);
 
     return true;
   }
@@ -413,55 +426,47 @@ public class SohQuietAndUnacknowledgedCacheManager {
    */
   public boolean addAcknowledgedStationToQuietList(AcknowledgedSohStatusChange ackSohStatusChange) {
     var quietedListUpdated = false;
-    synchronized (quietedChangesByExpirationAndStation) {
-      for (SohStatusChange sohStatusChange : ackSohStatusChange.getAcknowledgedChanges()) {
-        // Find quiet entry in map
-        String key =
-          sohStatusChange.getChangedChannel() + "." + sohStatusChange.getSohMonitorType();
-
-        var update = QuietedSohStatusChangeUpdate.create(
-          Instant.ofEpochMilli(
-            ackSohStatusChange.getAcknowledgedAt().toEpochMilli() + this.ackQuietDuration),
-          Duration.ofMillis(this.ackQuietDuration),
-          sohStatusChange.getSohMonitorType(),
-          sohStatusChange.getChangedChannel(),
-          ackSohStatusChange.getComment(),
-          ackSohStatusChange.getAcknowledgedStation(),
-          ackSohStatusChange.getAcknowledgedBy());
-
-        if (Objects.nonNull(quietedSohStatusChangeUpdateSink)) {
-          quietedSohStatusChangeUpdateSink.emitNext(update, EmitFailureHandlerUtility.getInstance());
-        }
 
-        QuietedSohStatusChangeUpdate previousUpdate = quietedChangesByExpirationAndStation
-          .put(key, update.getQuietUntil(), update);
-        if (previousUpdate == null || previousUpdate.getQuietUntil().isBefore(
-          ackSohStatusChange.getAcknowledgedAt().plus(ackQuietDuration, ChronoUnit.MILLIS))) {
-          addChannelMonitorTypeStatusChangedAcknowledgedSystemMessage(ackSohStatusChange,
-            sohStatusChange);
-          quietedListUpdated = true;
-        }
-
-        // Get the latest QuietedSohStatusChangeUpdates for the station.  This size should always be
-        // 1 or 2 if we are maintaining the cache correctly, but part of doing that is assuming it
-        // could have more than 1 item (i.e., we're not maintaining it correctly)
-
-        SortedMap<Instant, QuietedSohStatusChangeUpdate> existingUpdates =
-          quietedChangesByExpirationAndStation.row(key);
+    for (SohStatusChange sohStatusChange : ackSohStatusChange.getAcknowledgedChanges()) {
+      // Find quiet entry in map
+      String key =
+        sohStatusChange.getChangedChannel() + "." + sohStatusChange.getSohMonitorType();
+
+      var update = QuietedSohStatusChangeUpdate.create(
+        Instant.ofEpochMilli(
+          ackSohStatusChange.getAcknowledgedAt().toEpochMilli() + this.ackQuietDuration),
+        Duration.ofMillis(this.ackQuietDuration),
+        sohStatusChange.getSohMonitorType(),
+        sohStatusChange.getChangedChannel(),
+        ackSohStatusChange.getComment(),
+        ackSohStatusChange.getAcknowledgedStation(),
+        ackSohStatusChange.getAcknowledgedBy());
+
+      if (Objects.nonNull(quietedSohStatusChangeUpdateSink)) {
+        quietedSohStatusChangeUpdateSink.emitNext(update, EmitFailureHandlerUtility.getInstance());
+      }
 
-        // Get all but the last update and delete - copying into a list to avoid concurrent
-        // modification exceptions, since backing maps of TreeBasedTable does allow itself to be
-        // modified via its row maps.
-        List<Instant> colKeysToRemove = new ArrayList<>(
-          existingUpdates.subMap(existingUpdates.firstKey(), existingUpdates.lastKey())
-            .keySet());
+      // Keep whichever quiet entry expires last. The quiet list only changed (and the UI needs
+      // an update) if there was no entry expiring at exactly the same time. The remapping
+      // function may be retried, so the flag is set by the attempt that wins.
+      var changed = new AtomicBoolean();
+      quietedChangesByChannelAndMonitorType.compute(key, (ignored, existing) -> {
+        changed.set(existing == null || !existing.getQuietUntil().equals(update.getQuietUntil()));
+        return existing == null || !update.getQuietUntil().isBefore(existing.getQuietUntil())
+          ? update
+          : existing;
+      });
 
-        colKeysToRemove.forEach(colKey -> quietedChangesByExpirationAndStation.remove(key, colKey));
+      if (changed.get()) {
+        addChannelMonitorTypeStatusChangedAcknowledgedSystemMessage(ackSohStatusChange,
+          sohStatusChange);
+        quietedListUpdated = true;
       }
-      // Clear the unacknowledged changes for the station
-      this.clearUnacknowledgedStation(ackSohStatusChange.getAcknowledgedStation());
-
     }
+
+    // Clear the unacknowledged changes for the station
+    this.clearUnacknowledgedStation(ackSohStatusChange.getAcknowledgedStation());
+
     return quietedListUpdated;
   }
 
@@ -491,35 +496,25 @@ public class SohQuietAndUnacknowledgedCacheManager {
    * @return cloned list minus expired entries
    */
   public List<QuietedSohStatusChangeUpdate> getQuietedSohStatusChanges() {
-    synchronized (quietedChangesByExpirationAndStation) {
-      var now = Instant.now();
-
-      // Clean out the quieted cache and send system messages for anything that expired or was
-      // cancelled
-      List<Pair<String, Instant>> keysToRemove = quietedChangesByExpirationAndStation.rowKeySet()
-        .stream()
-        .map(quietedChangesByExpirationAndStation::row)
-        .map(updatesByTime -> updatesByTime.headMap(now))
-        .map(SortedMap::values)
-        .flatMap(Collection::stream)
-        .map(update -> {
-          if (update.getQuietDuration().isZero()) {
-            addStationQuietCanceledSystemMessage(update, systemMessageSink);
-          } else {
-            addStationQuietExpiredSystemMessage(update, systemMessageSink);
-          }
-          return Pair.of(update.getChannelName() + "." + update.getSohMonitorType(),
-            update.getQuietUntil());
-        })
-        .collect(Collectors.toList());
-
-      keysToRemove.forEach(
-        keys -> quietedChangesByExpirationAndStation.remove(keys.getKey(), keys.getValue()));
+    var now = Instant.now();
+
+    // Clean out the quieted cache and send system messages for anything that expired or was
+    // cancelled. Entries are only removed if they were not replaced in the meantime.
+    quietedChangesByChannelAndMonitorType.forEach((key, update) -> {
+      if (update.getQuietUntil().isBefore(now)
+        && quietedChangesByChannelAndMonitorType.remove(key, update)) {
+
+        if (update.getQuietDuration().isZero()) {
+          addStationQuietCanceledSystemMessage(update, systemMessageSink);
+        } else {
+          addStationQuietExpiredSystemMessage(update, systemMessageSink);
+        }
+      }
+    });
 
-      // return a copy of the values to ensure that future cache updates don't affect downstream
-      // processing
-      return List.copyOf(quietedChangesByExpirationAndStation.values());
-    }
+    // return a copy of the values to ensure that future cache updates don't affect downstream
+    // processing
+    return List.copyOf(quietedChangesByChannelAndMonitorType.values());
   }
 
   /**
@@ -577,15 +572,52 @@ public class SohQuietAndUnacknowledgedCacheManager {
   }
 
   /**
-   * Helper method to find the MonitorValueAndStatus entry
-   *
-   * @param monitorType the monitor type.
-   * @param setMVS the Set of {@link SohMonitorValueAndStatus}s.
-   * @return Optional<SohMonitorValueAndStatus < ?>>
+   * The statuses of a previously processed {@link StationSoh}: its rollup and the
+   * {@link SohMonitorValueAndStatus} of each channel and monitor type.
    */
-  private Optional<SohMonitorValueAndStatus<?>> getSohMVS(
-    SohMonitorType monitorType, Set<SohMonitorValueAndStatus<?>> setMVS
-  ) {
-    return setMVS.stream().filter(mvs -> mvs.getMonitorType().equals(monitorType)).findFirst();
+  private static final class LastStationStatus {
+
+    private final SohStatus sohStatusRollup;
+    private final Table<String, SohMonitorType, SohMonitorValueAndStatus<?>> statusesByChannel;
+
+    private LastStationStatus(SohStatus sohStatusRollup,
+      Table<String, SohMonitorType, SohMonitorValueAndStatus<?>> statusesByChannel) {
+      this.sohStatusRollup = sohStatusRollup;
+      this.statusesByChannel = statusesByChannel;
+    }
+
+    static LastStationStatus from(StationSoh stationSoh) {
+      Table<String, SohMonitorType, SohMonitorValueAndStatus<?>> statusesByChannel =
+        HashBasedTable.create();
+
+      stationSoh.getChannelSohs().forEach(channelSoh -> {
+        if (statusesByChannel.containsRow(channelSoh.getChannelName())) {
+          return;
+        }
+
+        channelSoh.getAllSohMonitorValueAndStatuses().forEach(mvs -> {
+          if (!statusesByChannel.contains(channelSoh.getChannelName(), mvs.getMonitorType())) {
+            statusesByChannel.put(channelSoh.getChannelName(), mvs.getMonitorType(), mvs);
+          }
+        });
+      });
+
+      return new LastStationStatus(stationSoh.getSohStatusRollup(), statusesByChannel);
+    }
+
+    SohStatus getSohStatusRollup() {
+      return sohStatusRollup;
+    }
+
+    /**
+     * @return the statuses by monitor type of the channel, or empty if the station did not have
+     * the channel
+     */
+    Optional<Map<SohMonitorType, SohMonitorValueAndStatus<?>>> getStatusesForChannel(
+      String channelName) {
+      return statusesByChannel.containsRow(channelName)
+        ? Optional.of(statusesByChannel.row(channelName))
+        : Optional.empty();
+    }
   }
-}
\ No newline at end of file
+}
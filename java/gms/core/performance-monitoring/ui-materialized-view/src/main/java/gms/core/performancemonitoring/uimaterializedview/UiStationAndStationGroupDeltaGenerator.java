@@ -0,0 +1,257 @@
+package gms.core.performancemonitoring.uimaterializedview;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Table;
+import gms.core.performancemonitoring.soh.control.configuration.StationSohDefinition;
+import gms.core.performancemonitoring.ssam.control.config.StationSohMonitoringUiClientParameters;
+import gms.shared.frameworks.osd.coi.signaldetection.StationGroup;
+import gms.shared.frameworks.osd.coi.soh.CapabilitySohRollup;
+import gms.shared.frameworks.osd.coi.soh.ChannelSoh;
+import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
+import gms.shared.frameworks.osd.coi.soh.SohMonitorValueAndStatus;
+import gms.shared.frameworks.osd.coi.soh.SohStatus;
+import gms.shared.frameworks.osd.coi.soh.StationAggregate;
+import gms.shared.frameworks.osd.coi.soh.StationSoh;
+import gms.shared.frameworks.osd.coi.soh.quieting.UnacknowledgedSohStatusChange;
+import gms.shared.frameworks.osd.coi.systemmessages.SystemMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Stateful counterpart of {@link UiStationAndStationGroupGenerator} for the periodic SOH
+ * calculation results. Remembers the inputs each {@link UiStationSoh} was last built from and
+ * only rebuilds (and publishes) the stations whose inputs changed since the previous calculation
+ * interval. The UI merges the published stations into its current view by station, so a message
+ * only holding the changed stations is a valid update.
+ * <p>
+ * Every full snapshot period all stations are published, so that a UI which missed a message (or
+ * just connected) converges and no station is shown as stale because it did not change. The
+ * period is capped at half of the configured station stale duration for the same reason. A zero
+ * full snapshot period publishes every station on every interval.
+ */
+public class UiStationAndStationGroupDeltaGenerator {
+
+  private static final Logger logger = LoggerFactory
+    .getLogger(UiStationAndStationGroupDeltaGenerator.class);
+
+  private final StationSohMonitoringUiClientParameters stationSohConfig;
+  private final List<StationGroup> stationGroups;
+  private final Sinks.Many<SystemMessage> systemMessageFluxSink;
+  private final Duration fullSnapshotPeriod;
+  private final Map<String, StationSohDefinition> definitionsByStationName;
+
+  private final Map<String, StationInputs> previousInputsByStation = new HashMap<>();
+  private final Map<String, UiStationSoh> previousUiStationSohByStation = new HashMap<>();
+  private Instant lastFullSnapshotTime;
+
+  private UiStationAndStationGroupDeltaGenerator(
+    StationSohMonitoringUiClientParameters stationSohConfig,
+    List<StationGroup> stationGroups,
+    Duration fullSnapshotPeriod,
+    Sinks.Many<SystemMessage> systemMessageFluxSink) {
+
+    this.stationSohConfig = stationSohConfig;
+    this.stationGroups = stationGroups;
+    this.systemMessageFluxSink = systemMessageFluxSink;
+    this.definitionsByStationName = UiStationGenerator.definitionsByStationName(stationSohConfig);
+
+    var staleDuration = stationSohConfig.getStationSohMonitoringDisplayParameters()
+      .getSohStationStaleDuration();
+
+    this.fullSnapshotPeriod = staleDuration == null || staleDuration.isZero()
+      ? fullSnapshotPeriod
+      : min(fullSnapshotPeriod, staleDuration.dividedBy(2));
+  }
+
+  /**
+   * Create a new delta generator.
+   *
+   * @param stationSohConfig - The soh configuration parameters used for thresholds, station groups,
+   * etc.
+   * @param stationGroups a collection of station groups.
+   * @param fullSnapshotPeriod how often all stations are published, regardless of changes.
+   * @param systemMessageFluxSink sink for the system messages created while generating.
+   * @return a new UiStationAndStationGroupDeltaGenerator
+   */
+  public static UiStationAndStationGroupDeltaGenerator create(
+    StationSohMonitoringUiClientParameters stationSohConfig,
+    List<StationGroup> stationGroups,
+    Duration fullSnapshotPeriod,
+    Sinks.Many<SystemMessage> systemMessageFluxSink) {
+
+    Objects.requireNonNull(stationSohConfig);
+    Objects.requireNonNull(stationGroups);
+    Objects.requireNonNull(fullSnapshotPeriod);
+    Objects.requireNonNull(systemMessageFluxSink);
+    Preconditions.checkArgument(!fullSnapshotPeriod.isNegative(),
+      "Full snapshot period must not be negative");
+
+    return new UiStationAndStationGroupDeltaGenerator(stationSohConfig, stationGroups,
+      fullSnapshotPeriod, systemMessageFluxSink);
+  }
+
+  /**
+   * Generates the UiStationAndStationGroups for one calculation interval. The station groups are
+   * always included; the station list only holds the stations that changed, unless this interval
+   * is a full snapshot.
+   *
+   * @param stationSohs a collection of {@link StationSoh}s.
+   * @param uiStationAndStationGroupsChanges - Current unacknowledged and quieted changes wrapper
+   * @param latestCapabilitySohRollups a collection of {@link CapabilitySohRollup}s.
+   * @return uiStationAndStationGroupsList the collection sent to the UI.
+   */
+  public List<UiStationAndStationGroups> generate(
+    Set<StationSoh> stationSohs,
+    UIStationAndStationGroupsChanges uiStationAndStationGroupsChanges,
+    Set<CapabilitySohRollup> latestCapabilitySohRollups) {
+
+    Objects.requireNonNull(stationSohs);
+    Preconditions.checkState(!stationSohs.isEmpty());
+    Objects.requireNonNull(uiStationAndStationGroupsChanges.getUnacknowledgedStatusChanges());
+    Objects.requireNonNull(uiStationAndStationGroupsChanges.getQuietedSohStatusChanges());
+    Objects.requireNonNull(latestCapabilitySohRollups);
+
+    // The station generators keep static state (needs attention, previous capability statuses)
+    // that is shared with the acknowledge and quiet updates.
+    synchronized (UiStationAndStationGroupGenerator.class) {
+
+      var inputIndex = UiStationSohInputIndex.create(
+        uiStationAndStationGroupsChanges.getUnacknowledgedStatusChanges(),
+        uiStationAndStationGroupsChanges.getQuietedSohStatusChanges(),
+        latestCapabilitySohRollups,
+        stationGroups
+      );
+
+      var calculationTime = stationSohs.stream()
+        .map(StationSoh::getTime)
+        .max(Comparator.naturalOrder())
+        .orElseThrow();
+
+      var fullSnapshot = lastFullSnapshotTime == null
+        || !calculationTime.isBefore(lastFullSnapshotTime.plus(fullSnapshotPeriod));
+
+      var rebuiltStations = new ArrayList<UiStationSoh>();
+      var publishedStations = new ArrayList<UiStationSoh>();
+
+      for (StationSoh stationSoh : stationSohs) {
+        var stationName = stationSoh.getStationName();
+        var inputs = StationInputs.from(stationSoh, inputIndex);
+        var previousUiStationSoh = previousUiStationSohByStation.get(stationName);
+
+        if (previousUiStationSoh != null && inputs.equals(previousInputsByStation.get(stationName))) {
+          if (fullSnapshot) {
+            var retimed = retime(previousUiStationSoh, stationSoh);
+            previousUiStationSohByStation.put(stationName, retimed);
+            publishedStations.add(retimed);
+          }
+        } else {
+          UiStationGenerator.buildUiStationSoh(
+            stationSoh,
+            definitionsByStationName,
+            inputIndex,
+            systemMessageFluxSink
+          ).ifPresent(uiStationSoh -> {
+            previousInputsByStation.put(stationName, inputs);
+            previousUiStationSohByStation.put(stationName, uiStationSoh);
+            rebuiltStations.add(uiStationSoh);
+            publishedStations.add(uiStationSoh);
+          });
+        }
+      }
+
+      UiStationGenerator.addUnknownQuietedEntries(rebuiltStations, inputIndex);
+
+      if (fullSnapshot) {
+        lastFullSnapshotTime = calculationTime;
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug("Publishing {} of {} UiStationSoh (rebuilt {}, full snapshot {})",
+          publishedStations.size(), stationSohs.size(), rebuiltStations.size(), fullSnapshot);
+      }
+
+      var uiStationGroups = UiStationAndStationGroupGenerator.getUiStationGroupMessage(
+        publishedStations,
+        latestCapabilitySohRollups,
+        stationSohConfig.getStationSohControlConfiguration().getDisplayedStationGroups(),
+        false,
+        systemMessageFluxSink
+      );
+
+      return UiStationAndStationGroupGenerator.makeGroupsMessage(uiStationGroups);
+    }
+  }
+
+  /**
+   * Copy of a previously built UiStationSoh carrying the id and time of the latest StationSoh, so
+   * the UI does not consider an unchanged station stale.
+   */
+  private static UiStationSoh retime(UiStationSoh previous, StationSoh stationSoh) {
+    return UiStationSoh.from(
+      previous.getId(),
+      stationSoh.getId(),
+      previous.getSohStatusSummary(),
+      previous.getNeedsAcknowledgement(),
+      previous.getNeedsAttention(),
+      previous.getStatusContributors(),
+      previous.getStationGroups(),
+      stationSoh.getTime().toEpochMilli(),
+      previous.getStationName(),
+      previous.getChannelSohs(),
+      previous.getAllStationAggregates()
+    );
+  }
+
+  private static Duration min(Duration first, Duration second) {
+    return first.compareTo(second) <= 0 ? first : second;
+  }
+
+  /**
+   * Everything a {@link UiStationSoh} is built from, other than configuration and the id and time
+   * of the {@link StationSoh}.
+   */
+  @AutoValue
+  abstract static class StationInputs {
+
+    abstract SohStatus getSohStatusRollup();
+
+    abstract ImmutableSet<SohMonitorValueAndStatus<?>> getSohMonitorValueAndStatuses();
+
+    abstract ImmutableSet<ChannelSoh> getChannelSohs();
+
+    abstract ImmutableSet<StationAggregate<?>> getAllStationAggregates();
+
+    abstract List<UnacknowledgedSohStatusChange> getUnacknowledgedStatusChanges();
+
+    abstract Table<String, SohMonitorType, QuietedSohStatusChangeUpdate> getQuietedStatusChanges();
+
+    abstract Map<String, SohStatus> getCapabilityStatuses();
+
+    static StationInputs from(StationSoh stationSoh, UiStationSohInputIndex inputIndex) {
+      var stationName = stationSoh.getStationName();
+
+      return new AutoValue_UiStationAndStationGroupDeltaGenerator_StationInputs(
+        stationSoh.getSohStatusRollup(),
+        stationSoh.getSohMonitorValueAndStatuses(),
+        stationSoh.getChannelSohs(),
+        stationSoh.getAllStationAggregates(),
+        inputIndex.unacknowledgedForStation(stationName),
+        inputIndex.quietedForStation(stationName),
+        inputIndex.capabilityStatusesForStation(stationName)
+      );
+    }
+  }
+}
@@ -1,14 +1,12 @@
 package gms.core.performancemonitoring.uimaterializedview;
 
 import com.google.common.base.Functions;
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
 import gms.core.performancemonitoring.soh.control.configuration.ChannelSohDefinition;
 import gms.core.performancemonitoring.soh.control.configuration.DurationSohMonitorStatusThresholdDefinition;
 import gms.core.performancemonitoring.soh.control.configuration.SohMonitorStatusThresholdDefinition;
 import gms.core.performancemonitoring.soh.control.configuration.StationSohDefinition;
 import gms.core.performancemonitoring.ssam.control.config.StationSohMonitoringUiClientParameters;
-import gms.shared.frameworks.osd.coi.signaldetection.Station;
 import gms.shared.frameworks.osd.coi.signaldetection.StationGroup;
 import gms.shared.frameworks.osd.coi.soh.CapabilitySohRollup;
 import gms.shared.frameworks.osd.coi.soh.ChannelSoh;
@@ -16,7 +14,6 @@ import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType.SohValueType;
 import gms.shared.frameworks.osd.coi.soh.SohStatus;
 import gms.shared.frameworks.osd.coi.soh.StationSoh;
-import gms.shared.frameworks.osd.coi.soh.quieting.SohStatusChange;
 import gms.shared.frameworks.osd.coi.soh.quieting.UnacknowledgedSohStatusChange;
 import gms.shared.frameworks.osd.coi.systemmessages.SystemMessage;
 import gms.shared.frameworks.osd.coi.systemmessages.util.StationCapabilityStatusChangedBuilder;
@@ -26,13 +23,13 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 /**
@@ -73,72 +70,131 @@ public class UiStationGenerator {
     Sinks.Many<SystemMessage> systemMessageFluxSink) {
 
     // Build a StationSohDefinition map to find the StationSohDefinition
-    Map<String, StationSohDefinition> definitionsByStationName = stationSohConfig
+    Map<String, StationSohDefinition> definitionsByStationName =
+      definitionsByStationName(stationSohConfig);
+
+    // Index the unacknowledged, quieted and capability inputs once for all stations
+    var inputIndex = UiStationSohInputIndex.create(
+      unacknowledgedStatusChanges,
+      quietedSohStatusChanges,
+      latestCapabilitySohRollups,
+      stationGroups
+    );
+
+    // Walk thru the Station SOH creating the equivalent UI Station SOH
+    var uiStationSoh = stationSohs.stream()
+      .map(stationSoh -> buildUiStationSoh(
+        stationSoh,
+        definitionsByStationName,
+        inputIndex,
+        systemMessageFluxSink))
+      .flatMap(Optional::stream)
+      .collect(Collectors.toList());
+
+    addUnknownQuietedEntries(uiStationSoh, inputIndex);
+
+    return uiStationSoh;
+  }
+
+  /**
+   * Build a StationSohDefinition map to find the StationSohDefinition for a station
+   *
+   * @param stationSohConfig the StationSohMonitoringUiClientParameters.
+   * @return StationSohDefinitions by station name
+   */
+  static Map<String, StationSohDefinition> definitionsByStationName(
+    StationSohMonitoringUiClientParameters stationSohConfig) {
+
+    return stationSohConfig
       .getStationSohControlConfiguration()
       .getStationSohDefinitions()
       .stream()
       .collect(Collectors.toMap(StationSohDefinition::getStationName, Functions.identity()));
+  }
 
-    // Walk thru the Station SOH creating the equivalent UI Station SOH
-    var uiStationSoh = stationSohs.stream()
-      .map(stationSoh -> {
-
-        // Find the StationSohDefinition
-        var stationSohDefinition =
-          definitionsByStationName.get(stationSoh.getStationName());
-
-        // Log warning missing StationSohDefinition
-        if (stationSohDefinition == null) {
-          logger.warn(
-            "Missing configuration entry Station SOH Definition for station {}",
-            stationSoh.getStationName());
-          return Optional.<UiStationSoh>empty();
-        }
+  /**
+   * Converts a single StationSoh to a UiStationSoh. Quieted entries for monitor types the station
+   * did not report are not added, see {@link #addUnknownQuietedEntries(Collection,
+   * UiStationSohInputIndex)}.
+   *
+   * @param stationSoh the {@link StationSoh}.
+   * @param definitionsByStationName StationSohDefinitions by station name.
+   * @param inputIndex the indexed unacknowledged, quieted and capability inputs.
+   * @param systemMessageFluxSink a systemMessageFluxSink of system messages.
+   * @return the UiStationSoh, or empty if the station is not configured
+   */
+  static Optional<UiStationSoh> buildUiStationSoh(
+    StationSoh stationSoh,
+    Map<String, StationSohDefinition> definitionsByStationName,
+    UiStationSohInputIndex inputIndex,
+    Sinks.Many<SystemMessage> systemMessageFluxSink) {
+
+    // Find the StationSohDefinition
+    var stationSohDefinition =
+      definitionsByStationName.get(stationSoh.getStationName());
 
-        // Build UiChannelSoh set
-        Set<UiChannelSoh> channelSohs = convertChannelSohs(
+    // Log warning missing StationSohDefinition
+    if (stationSohDefinition == null) {
+      logger.warn(
+        "Missing configuration entry Station SOH Definition for station {}",
+        stationSoh.getStationName());
+      return Optional.empty();
+    }
+
+    // Build UiChannelSoh set
+    Set<UiChannelSoh> channelSohs = convertChannelSohs(
+      stationSoh.getStationName(),
+      stationSoh.getChannelSohs(),
+      inputIndex,
+      stationSohDefinition.getChannelSohDefinitions()
+    );
+
+    // Return the UiStationSoh created
+    return Optional.of(
+      UiStationSoh.create(
+        stationSoh,
+        needsAcknowledgement(stationSoh.getStationName(), inputIndex),
+        needsAttention(
           stationSoh.getStationName(),
-          stationSoh.getChannelSohs(),
-          unacknowledgedStatusChanges,
-          quietedSohStatusChanges,
-          stationSohDefinition.getChannelSohDefinitions()
-        );
+          inputIndex,
+          systemMessageFluxSink
+        ),
+        statusContributors(stationSoh, stationSohDefinition),
+        getCapabilityRollupForStation(
+          stationSoh.getStationName(),
+          inputIndex,
+          systemMessageFluxSink),
+        channelSohs
+      )
+    );
+  }
 
-        // Return the UiStationSoh created
-        return Optional.of(
-          UiStationSoh.create(
-            stationSoh,
-            needsAcknowledgement(stationSoh.getStationName(), unacknowledgedStatusChanges),
-            needsAttention(
-              stationSoh.getStationName(),
-              unacknowledgedStatusChanges,
-              quietedSohStatusChanges, systemMessageFluxSink
-            ),
-            statusContributors(stationSoh, stationSohDefinition),
-            getCapabilityRollupForStation(
-              stationSoh.getStationName(),
-              latestCapabilitySohRollups,
-              stationGroups,
-              systemMessageFluxSink),
-            channelSohs
-          )
-        );
+  /**
+   * Add quieted Soh Status Changes that exist for any unknown values, so that the quieted
+   * information is sent to the UI even if the channel did not report the monitor type.
+   *
+   * @param uiStationSohs the UiStationSohs to add the entries to.
+   * @param inputIndex the indexed unacknowledged, quieted and capability inputs.
+   */
+  static void addUnknownQuietedEntries(
+    Collection<UiStationSoh> uiStationSohs,
+    UiStationSohInputIndex inputIndex) {
 
-      })
-      .flatMap(Optional::stream)
-      .collect(Collectors.toList());
+    // Like the lookup by station name this replaces, only the first UiStationSoh of a station gets
+    // the entries
+    var updatedStationNames = new HashSet<String>();
+
+    uiStationSohs.forEach(station -> {
+      var quietedByChannel = inputIndex.quietedForStation(station.getStationName());
+
+      if (quietedByChannel.isEmpty() || !updatedStationNames.add(station.getStationName())) {
+        return;
+      }
+
+      station.getChannelSohs().forEach(channel ->
+        quietedByChannel.row(channel.getChannelName()).values().forEach(quieted ->
 
-    // add quieted Soh Status Changes that exist for any unknown values
-    quietedSohStatusChanges.forEach(quieted -> {
-      var channelOptional = uiStationSoh.stream()
-        .filter(station -> station.getStationName().equals(quieted.getStationName())).findFirst()
-        .flatMap(station -> station.getChannelSohs().stream()
-          .filter(channel -> channel.getChannelName().equals(quieted.getChannelName())).findFirst());
-
-      // determine if quieted status already exists, if not found add an empty entry
-      // so that the quieted information is sent to the UI
-      channelOptional.ifPresent(
-        channel ->
+          // determine if quieted status already exists, if not found add an empty entry
           channel.getAllSohMonitorValueAndStatuses().stream()
             .filter(s -> s.getMonitorType().equals(quieted.getSohMonitorType())).findFirst()
             .ifPresentOrElse(s -> {
@@ -155,44 +211,33 @@ public class UiStationGenerator {
                   quieted.getQuietDuration().toMillis(),
                   false))
             )
-
-      );
+        ));
     });
-
-    return uiStationSoh;
   }
 
   /**
    * Create the UI Capability Rollup Status structure used by the UI
    *
    * @param stationName the station name.
-   * @param latestCapabilitySohRollups a collection of current {@link CapabilitySohRollup}s.
-   * @param stationGroups a collection of station groups.
+   * @param inputIndex the indexed unacknowledged, quieted and capability inputs.
    * @param systemMessageFluxSink a FluxSink of system messages.
    * @return List<UiStationSohCapabilityStatus>
    */
   private static List<UiStationSohCapabilityStatus> getCapabilityRollupForStation(
     String stationName,
-    Set<CapabilitySohRollup> latestCapabilitySohRollups,
-    List<StationGroup> stationGroups,
+    UiStationSohInputIndex inputIndex,
     Sinks.Many<SystemMessage> systemMessageFluxSink) {
 
-    addStationCapabilityStatusChangedSystemMessage(stationName, latestCapabilitySohRollups,
-      systemMessageFluxSink);
+    addStationCapabilityStatusChangedSystemMessage(stationName,
+      inputIndex.getCapabilitySohRollups(), systemMessageFluxSink);
 
-    Map<String, CapabilitySohRollup> rollupsByGroup = latestCapabilitySohRollups.stream()
-      .collect(Collectors.toMap(CapabilitySohRollup::getForStationGroup, Functions.identity()));
-
-    return stationGroups.stream()
-      .filter(stationGroup -> stationGroup.getStations().stream().map(Station::getName)
-        .collect(Collectors.toList()).contains(stationName))
+    return inputIndex.stationGroupsForStation(stationName).stream()
       .map(stationGroup ->
         UiStationSohCapabilityStatus.create(stationGroup.getName(),
           stationName,
-          rollupsByGroup.containsKey(stationGroup.getName()) ?
-            UiSohStatus.from(rollupsByGroup.get(stationGroup.getName())
-              .getRollupSohStatusByStation().get(stationName)) :
-            UiSohStatus.NONE))
+          inputIndex.rollupForGroup(stationGroup.getName())
+            .map(rollup -> UiSohStatus.from(rollup.getRollupSohStatusByStation().get(stationName)))
+            .orElse(UiSohStatus.NONE)))
       .collect(Collectors.toList());
 
   }
@@ -255,16 +300,15 @@ public class UiStationGenerator {
    * Determine if station needs to be acknowledgement (dirty dots on UI)
    *
    * @param stationName the station name.
-   * @param unacknowledgedStatusChanges a collection of unacknowledged status changes.
+   * @param inputIndex the indexed unacknowledged, quieted and capability inputs.
    * @return boolean (needs acknowledgement for this station)
    */
   private static boolean needsAcknowledgement(
     String stationName,
-    List<UnacknowledgedSohStatusChange> unacknowledgedStatusChanges) {
+    UiStationSohInputIndex inputIndex) {
 
-    return unacknowledgedStatusChanges
+    return inputIndex.unacknowledgedForStation(stationName)
       .stream()
-      .filter(unack -> unack.getStation().equals(stationName))
       .findFirst()
       .map(unack -> !unack.getSohStatusChanges().isEmpty())
       .orElse(false);
@@ -274,36 +318,23 @@ public class UiStationGenerator {
    * Determine if station needs attention in UI
    *
    * @param stationName the station name.
-   * @param quietedSohStatusChanges a collection of quieted status changes.
-   * @param unacknowledgedStatusChanges a collection unacknowledged status changes.
+   * @param inputIndex the indexed unacknowledged, quieted and capability inputs.
    * @param systemMessageFluxSink a Map of system messages.
    * @return boolean (needs attention for this station)
    */
   private static boolean needsAttention(
     String stationName,
-    List<UnacknowledgedSohStatusChange> unacknowledgedStatusChanges,
-    List<QuietedSohStatusChangeUpdate> quietedSohStatusChanges,
+    UiStationSohInputIndex inputIndex,
     Sinks.Many<SystemMessage> systemMessageFluxSink
   ) {
 
-    boolean attention = unacknowledgedStatusChanges.stream()
-      .filter(unack -> unack.getStation().equals(stationName))
-      .anyMatch(unack -> {
-        Table<String, SohMonitorType, QuietedSohStatusChangeUpdate> quietedByChannel =
-          quietedSohStatusChanges.stream()
-            .filter(quieted -> quieted.getStationName().equals(stationName))
-            .collect(Collector.of(HashBasedTable::create,
-              (table, change) -> table.put(change.getChannelName(),
-                change.getSohMonitorType(), change),
-              (table1, table2) -> {
-                table1.putAll(table2);
-                return table1;
-              },
-              Functions.identity()));
-        return unack.getSohStatusChanges().stream()
-          .anyMatch(change -> !quietedByChannel.contains(change.getChangedChannel(),
-            change.getSohMonitorType()));
-      });
+    Table<String, SohMonitorType, QuietedSohStatusChangeUpdate> quietedByChannel =
+      inputIndex.quietedForStation(stationName);
+
+    boolean attention = inputIndex.unacknowledgedForStation(stationName).stream()
+      .anyMatch(unack -> unack.getSohStatusChanges().stream()
+        .anyMatch(change -> !quietedByChannel.contains(change.getChangedChannel(),
+          change.getSohMonitorType())));
 
     // If the station needs attention test if it moved to needs attention bin and send a SystemMessage.
     if (attention) {
@@ -391,22 +422,15 @@ public class UiStationGenerator {
    *
    * @param stationName the station name.
    * @param channelSohs a collection of {@link ChannelSoh}s.
-   * @param unacknowledgedStatusChanges a collection of unacknowledged status changes.
-   * @param quietedSohStatusChanges a collection of quieted status changes.
+   * @param inputIndex the indexed unacknowledged, quieted and capability inputs.
    * @return Set<UiChannelSoh>
    */
   private static Set<UiChannelSoh> convertChannelSohs(
     String stationName,
     Set<ChannelSoh> channelSohs,
-    List<UnacknowledgedSohStatusChange> unacknowledgedStatusChanges,
-    List<QuietedSohStatusChangeUpdate> quietedSohStatusChanges,
+    UiStationSohInputIndex inputIndex,
     Set<ChannelSohDefinition> setChanSohDef) {
 
-    List<UnacknowledgedSohStatusChange> stationUnacknowledgedStatusChanges =
-      unacknowledgedStatusChanges.stream()
-        .filter(unack -> unack.getStation().equals(stationName))
-        .collect(Collectors.toList());
-
     Map<String, ChannelSohDefinition> channelSohDefinitionsByName = setChanSohDef.stream()
       .collect(Collectors.toMap(ChannelSohDefinition::getChannelName, Functions.identity()));
 
@@ -414,8 +438,7 @@ public class UiStationGenerator {
       .filter(channelSoh -> channelSohDefinitionsByName.containsKey(channelSoh.getChannelName()))
       .map(channelSoh -> createUiChannelSoh(
         channelSoh,
-        stationUnacknowledgedStatusChanges,
-        quietedSohStatusChanges,
+        inputIndex,
         channelSohDefinitionsByName.get(channelSoh.getChannelName()),
         stationName))
       .collect(Collectors.toSet());
@@ -426,14 +449,12 @@ public class UiStationGenerator {
    * Creates a new Channel SOH Object
    *
    * @param channelSoh
-   * @param unacknowledgedStatusChanges
-   * @param quietedSohStatusChanges
+   * @param inputIndex
    * @return AutoValue_UiChannelSoh
    */
   private static UiChannelSoh createUiChannelSoh(
     ChannelSoh channelSoh,
-    List<UnacknowledgedSohStatusChange> unacknowledgedStatusChanges,
-    List<QuietedSohStatusChangeUpdate> quietedSohStatusChanges,
+    UiStationSohInputIndex inputIndex,
     ChannelSohDefinition chanSohDef,
     String stationName) {
 
@@ -458,15 +479,13 @@ public class UiStationGenerator {
 
         return UiSohMonitorValueAndStatus.from(
           smvs,
-          findQuietEntry(
+          inputIndex.findQuietEntry(
             channelSoh.getChannelName(),
-            smvs.getMonitorType(),
-            quietedSohStatusChanges
+            smvs.getMonitorType()
           ),
-          hasUnacknowledgedChanges(
+          inputIndex.hasUnacknowledgedChanges(
             channelSoh.getChannelName(),
-            smvs.getMonitorType(),
-            unacknowledgedStatusChanges
+            smvs.getMonitorType()
           ),
           marginalThreshold,
           badThreshold,
@@ -486,56 +505,6 @@ public class UiStationGenerator {
   }
 
 
-  /**
-   * Determine if channel needs to be acknowledgement (dirty dots on UI)
-   *
-   * @param channelName
-   * @param type monitor type
-   * @param unacknowledgedStatusChanges
-   * @return boolean (needs acknowledgement for this channel)
-   */
-  private static boolean hasUnacknowledgedChanges(
-    String channelName,
-    SohMonitorType type,
-    List<UnacknowledgedSohStatusChange> unacknowledgedStatusChanges) {
-
-    // Look through the unacknowledged list to see if any apply to station
-    for (UnacknowledgedSohStatusChange unack : unacknowledgedStatusChanges) {
-      for (SohStatusChange sohStatusChange : unack.getSohStatusChanges()) {
-        if (sohStatusChange != null &&
-          sohStatusChange.getChangedChannel() != null &&
-          sohStatusChange.getChangedChannel().equals(channelName) &&
-          sohStatusChange.getSohMonitorType().equals(type)) {
-          return true;
-        }
-      }
-    }
-    return false;
-  }
-
-  /**
-   * Returns quiet entry for channel or null
-   *
-   * @param channelName
-   * @param type monitor type
-   * @param quietedSohStatusChanges
-   * @return QuietedSohStatusChange or null
-   */
-  private static Optional<QuietedSohStatusChangeUpdate> findQuietEntry(
-    String channelName,
-    SohMonitorType type,
-    List<QuietedSohStatusChangeUpdate> quietedSohStatusChanges) {
-
-    // Look through the quieted list to see if any apply to station
-    for (QuietedSohStatusChangeUpdate quietEntry : quietedSohStatusChanges) {
-      if (quietEntry.getChannelName().equals(channelName) &&
-        quietEntry.getSohMonitorType().equals(type)) {
-        return Optional.of(quietEntry);
-      }
-    }
-    return Optional.empty();
-  }
-
   /**
    * Clear all of the previous values. Used for testing for now, so making package-private.
    */
@@ -0,0 +1,167 @@
+package gms.core.performancemonitoring.uimaterializedview;
+
+import com.google.common.base.Functions;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
+import gms.shared.frameworks.osd.coi.signaldetection.Station;
+import gms.shared.frameworks.osd.coi.signaldetection.StationGroup;
+import gms.shared.frameworks.osd.coi.soh.CapabilitySohRollup;
+import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
+import gms.shared.frameworks.osd.coi.soh.SohStatus;
+import gms.shared.frameworks.osd.coi.soh.quieting.SohStatusChange;
+import gms.shared.frameworks.osd.coi.soh.quieting.UnacknowledgedSohStatusChange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Unacknowledged, quieted and capability rollup inputs to the {@link UiStationGenerator}, indexed
+ * by station, channel and monitor type so that building a single {@link UiStationSoh} does not
+ * need to scan the full input lists. Lookups keep the semantics of the list scans they replace
+ * (first match wins where the scans used findFirst).
+ */
+final class UiStationSohInputIndex {
+
+  private final Map<String, List<UnacknowledgedSohStatusChange>> unacknowledgedByStation;
+  private final Table<String, SohMonitorType, Boolean> unacknowledgedChannelMonitorTypes;
+  private final Map<String, Table<String, SohMonitorType, QuietedSohStatusChangeUpdate>> quietedByStation;
+  private final Table<String, SohMonitorType, QuietedSohStatusChangeUpdate> quietedByChannel;
+  private final Set<CapabilitySohRollup> capabilitySohRollups;
+  private final Map<String, CapabilitySohRollup> rollupsByGroup;
+  private final Map<String, Map<String, SohStatus>> capabilityStatusesByStation;
+  private final Map<String, List<StationGroup>> stationGroupsByStation;
+
+  private UiStationSohInputIndex(
+    List<UnacknowledgedSohStatusChange> unacknowledgedStatusChanges,
+    List<QuietedSohStatusChangeUpdate> quietedSohStatusChanges,
+    Set<CapabilitySohRollup> capabilitySohRollups,
+    List<StationGroup> stationGroups) {
+
+    this.unacknowledgedByStation = new HashMap<>();
+    this.unacknowledgedChannelMonitorTypes = HashBasedTable.create();
+
+    for (UnacknowledgedSohStatusChange unack : unacknowledgedStatusChanges) {
+      unacknowledgedByStation
+        .computeIfAbsent(unack.getStation(), key -> new ArrayList<>())
+        .add(unack);
+
+      for (SohStatusChange sohStatusChange : unack.getSohStatusChanges()) {
+        if (sohStatusChange != null && sohStatusChange.getChangedChannel() != null) {
+          unacknowledgedChannelMonitorTypes.put(sohStatusChange.getChangedChannel(),
+            sohStatusChange.getSohMonitorType(), Boolean.TRUE);
+        }
+      }
+    }
+
+    this.quietedByStation = new HashMap<>();
+    this.quietedByChannel = HashBasedTable.create();
+
+    for (QuietedSohStatusChangeUpdate quieted : quietedSohStatusChanges) {
+      quietedByStation
+        .computeIfAbsent(quieted.getStationName(), key -> HashBasedTable.create())
+        .put(quieted.getChannelName(), quieted.getSohMonitorType(), quieted);
+
+      if (!quietedByChannel.contains(quieted.getChannelName(), quieted.getSohMonitorType())) {
+        quietedByChannel.put(quieted.getChannelName(), quieted.getSohMonitorType(), quieted);
+      }
+    }
+
+    this.capabilitySohRollups = capabilitySohRollups;
+    this.rollupsByGroup = capabilitySohRollups.stream()
+      .collect(Collectors.toMap(CapabilitySohRollup::getForStationGroup, Functions.identity()));
+
+    this.capabilityStatusesByStation = new HashMap<>();
+    capabilitySohRollups.forEach(rollup -> rollup.getRollupSohStatusByStation()
+      .forEach((stationName, sohStatus) -> capabilityStatusesByStation
+        .computeIfAbsent(stationName, key -> new HashMap<>())
+        .put(rollup.getForStationGroup(), sohStatus)));
+
+    // Keep the configured group order, it is the order the UI shows the capability statuses in
+    this.stationGroupsByStation = new LinkedHashMap<>();
+    stationGroups.forEach(stationGroup -> stationGroup.getStations().stream()
+      .map(Station::getName)
+      .distinct()
+      .forEach(stationName -> stationGroupsByStation
+        .computeIfAbsent(stationName, key -> new ArrayList<>())
+        .add(stationGroup)));
+  }
+
+  /**
+   * Index the inputs of a UI materialized view calculation.
+   *
+   * @param unacknowledgedStatusChanges a collection of unacknowledged status changes.
+   * @param quietedSohStatusChanges a collection of quieted status changes.
+   * @param capabilitySohRollups a collection of {@link CapabilitySohRollup}s.
+   * @param stationGroups a collection of station groups.
+   * @return the index
+   */
+  static UiStationSohInputIndex create(
+    List<UnacknowledgedSohStatusChange> unacknowledgedStatusChanges,
+    List<QuietedSohStatusChangeUpdate> quietedSohStatusChanges,
+    Set<CapabilitySohRollup> capabilitySohRollups,
+    List<StationGroup> stationGroups) {
+
+    return new UiStationSohInputIndex(unacknowledgedStatusChanges, quietedSohStatusChanges,
+      capabilitySohRollups, stationGroups);
+  }
+
+  /**
+   * @return the unacknowledged status changes for the station, in input order
+   */
+  List<UnacknowledgedSohStatusChange> unacknowledgedForStation(String stationName) {
+    return unacknowledgedByStation.getOrDefault(stationName, List.of());
+  }
+
+  /**
+   * @return true if any unacknowledged status change is for the channel and monitor type
+   */
+  boolean hasUnacknowledgedChanges(String channelName, SohMonitorType type) {
+    return unacknowledgedChannelMonitorTypes.contains(channelName, type);
+  }
+
+  /**
+   * @return the quieted status changes for the station, by channel and monitor type
+   */
+  Table<String, SohMonitorType, QuietedSohStatusChangeUpdate> quietedForStation(
+    String stationName) {
+
+    return Optional.ofNullable(quietedByStation.get(stationName))
+      .orElseGet(HashBasedTable::create);
+  }
+
+  /**
+   * @return the first quieted status change for the channel and monitor type
+   */
+  Optional<QuietedSohStatusChangeUpdate> findQuietEntry(String channelName, SohMonitorType type) {
+    return Optional.ofNullable(quietedByChannel.get(channelName, type));
+  }
+
+  Set<CapabilitySohRollup> getCapabilitySohRollups() {
+    return capabilitySohRollups;
+  }
+
+  Optional<CapabilitySohRollup> rollupForGroup(String stationGroupName) {
+    return Optional.ofNullable(rollupsByGroup.get(stationGroupName));
+  }
+
+  /**
+   * @return the capability rollup status of the station, by station group name, across all
+   * capability rollups
+   */
+  Map<String, SohStatus> capabilityStatusesForStation(String stationName) {
+    return capabilityStatusesByStation.getOrDefault(stationName, Map.of());
+  }
+
+  /**
+   * @return the configured station groups containing the station
+   */
+  List<StationGroup> stationGroupsForStation(String stationName) {
+    return stationGroupsByStation.getOrDefault(stationName, List.of());
+  }
+}
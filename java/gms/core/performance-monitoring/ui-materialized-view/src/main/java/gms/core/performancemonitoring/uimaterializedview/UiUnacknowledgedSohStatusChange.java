@@ -3,16 +3,17 @@ package gms.core.performancemonitoring.uimaterializedview;
 import gms.shared.frameworks.osd.coi.soh.quieting.SohStatusChange;
 import gms.shared.frameworks.osd.coi.soh.quieting.UnacknowledgedSohStatusChange;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Ui Wrapper class to protect against duplicate SohStatusChanges for an Unacknowledged Station
  */
 class UiUnacknowledgedSohStatusChange {
 
-  // Map where the channel and soh monitor type make a unique key
+  // Map where the channel and soh monitor type make a unique key. Concurrent since it is
+  // cleared by acknowledgements while the SOH stream adds to it.
   private final Map<String, SohStatusChange> statusChangeMap;
   private final String station;
 
@@ -21,7 +22,7 @@ class UiUnacknowledgedSohStatusChange {
    */
   public UiUnacknowledgedSohStatusChange(String station) {
     this.station = station;
-    this.statusChangeMap = new HashMap<>();
+    this.statusChangeMap = new ConcurrentHashMap<>();
   }
 
   /**
@@ -32,7 +33,7 @@ class UiUnacknowledgedSohStatusChange {
    */
   public UiUnacknowledgedSohStatusChange(UnacknowledgedSohStatusChange unackSohChanges) {
     this.station = unackSohChanges.getStation();
-    this.statusChangeMap = new HashMap<>();
+    this.statusChangeMap = new ConcurrentHashMap<>();
     unackSohChanges.getSohStatusChanges().forEach(this::addSohStatusChange);
   }
 
@@ -48,15 +49,8 @@ class UiUnacknowledgedSohStatusChange {
   public boolean addSohStatusChange(SohStatusChange statusChange) {
     String key = statusChange.getChangedChannel() + "." + statusChange.getSohMonitorType();
 
-    boolean added = false;
-
-    // If not already in the map add it
-    if (!this.statusChangeMap.containsKey(key)) {
-      this.statusChangeMap.put(key, statusChange);
-      added = true;
-    }
-
-    return added;
+    // If not already in the map add it. Acknowledgements clear the map concurrently.
+    return this.statusChangeMap.putIfAbsent(key, statusChange) == null;
   }
 
   public void clearSohStatusChanges() {
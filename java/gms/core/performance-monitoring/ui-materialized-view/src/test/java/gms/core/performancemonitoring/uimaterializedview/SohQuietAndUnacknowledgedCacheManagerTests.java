@@ -22,6 +22,7 @@ import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -240,6 +241,61 @@ class SohQuietAndUnacknowledgedCacheManagerTests {
     Mockito.verify(mockSystemMessageSink, times(2)).emitNext(any(), any());
   }
 
+  @Test
+  void testAcknowledgeKeepsLatestQuietExpiration() {
+
+    var cacheManager = new SohQuietAndUnacknowledgedCacheManager(
+      Set.of(),
+      Set.of(),
+      Set.of(),
+      createUiClientParameters()
+    );
+
+    var acknowledgedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    var longQuiet = QuietedSohStatusChangeUpdate.create(
+      acknowledgedAt.plus(Duration.ofHours(1)),
+      Duration.ofHours(1),
+      SohMonitorType.ENV_CLIPPED,
+      "AAAA.AAA.AAA",
+      Optional.empty(),
+      "AAAA",
+      "a"
+    );
+
+    cacheManager.addQuietSohStatusChange(longQuiet);
+
+    var acknowlegedStatusChange = AcknowledgedSohStatusChange.from(
+      UUID.randomUUID(),
+      "a",
+      acknowledgedAt,
+      Optional.empty(),
+      List.of(SohStatusChange.from(acknowledgedAt, SohMonitorType.ENV_CLIPPED, "AAAA.AAA.AAA")),
+      "AAAA"
+    );
+
+    // The acknowledgement quiets for less time than the existing entry, which is kept
+    Assertions.assertTrue(cacheManager.addAcknowledgedStationToQuietList(acknowlegedStatusChange));
+    Assertions.assertEquals(List.of(longQuiet), cacheManager.getQuietedSohStatusChanges());
+
+    cacheManager.addQuietSohStatusChange(QuietedSohStatusChangeUpdate.create(
+      acknowledgedAt.plusSeconds(1),
+      Duration.ofSeconds(1),
+      SohMonitorType.ENV_CLIPPED,
+      "AAAA.AAA.AAA",
+      Optional.empty(),
+      "AAAA",
+      "a"
+    ));
+
+    // The acknowledgement now quiets for longer, acknowledging again at the same time does not
+    // change the quiet list
+    Assertions.assertTrue(cacheManager.addAcknowledgedStationToQuietList(acknowlegedStatusChange));
+    Assertions.assertFalse(cacheManager.addAcknowledgedStationToQuietList(acknowlegedStatusChange));
+    Assertions.assertEquals(1, cacheManager.getQuietedSohStatusChanges().size());
+    Assertions.assertEquals(acknowledgedAt.plusSeconds(10),
+      cacheManager.getQuietedSohStatusChanges().get(0).getQuietUntil());
+  }
+
   private UnacknowledgedSohStatusChange createUnacknowledgedStatusChange(String station,
     Set<String> channels) {
 
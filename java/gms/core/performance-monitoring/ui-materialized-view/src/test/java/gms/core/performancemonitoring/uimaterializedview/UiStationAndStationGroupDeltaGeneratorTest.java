@@ -0,0 +1,183 @@
+package gms.core.performancemonitoring.uimaterializedview;
+
+import gms.shared.frameworks.osd.coi.soh.SohStatus;
+import gms.shared.frameworks.osd.coi.soh.StationSoh;
+import gms.shared.frameworks.osd.coi.soh.quieting.UnacknowledgedSohStatusChange;
+import gms.shared.frameworks.osd.coi.systemmessages.SystemMessage;
+import gms.shared.frameworks.osd.coi.test.utils.UtilsTestFixtures;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static gms.core.performancemonitoring.uimaterializedview.utils.MaterializedViewTestFixtures.QUIETED_CHANGE_1;
+import static gms.core.performancemonitoring.uimaterializedview.utils.MaterializedViewTestFixtures.STATION_SOH_PARAMETERS;
+import static gms.core.performancemonitoring.uimaterializedview.utils.MaterializedViewTestFixtures.UNACK_CHANGE_1;
+import static gms.shared.frameworks.osd.coi.SohTestFixtures.MARGINAL_STATION_GROUP_AND_STATION_CAPABILITY_ROLLUP;
+import static gms.shared.frameworks.osd.coi.SohTestFixtures.MARGINAL_STATION_SOH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UiStationAndStationGroupDeltaGeneratorTest {
+
+  private static final Instant START = Instant.parse("2021-01-01T00:00:00Z");
+
+  private Sinks.Many<SystemMessage> systemMessageSink;
+
+  @BeforeAll
+  static void initializeContributingMap() {
+    // Initialize the StationSohContributingUtility before creating a channel soh
+    StationSohContributingUtility.getInstance().initialize(STATION_SOH_PARAMETERS);
+  }
+
+  @BeforeEach
+  void setUp() {
+    UiStationAndStationGroupGenerator.clearPrevious();
+    systemMessageSink = Sinks.many().multicast().onBackpressureBuffer();
+  }
+
+  @Test
+  void testCreateValidation() {
+    var stationGroups = List.of(UtilsTestFixtures.STATION_GROUP);
+    var negativePeriod = Duration.ofSeconds(-1);
+
+    assertThrows(NullPointerException.class, () -> UiStationAndStationGroupDeltaGenerator
+      .create(STATION_SOH_PARAMETERS, stationGroups, null, systemMessageSink));
+    assertThrows(IllegalArgumentException.class, () -> UiStationAndStationGroupDeltaGenerator
+      .create(STATION_SOH_PARAMETERS, stationGroups, negativePeriod, systemMessageSink));
+  }
+
+  @Test
+  void testUnchangedStationOnlyPublishedOnFullSnapshot() {
+    var generator = UiStationAndStationGroupDeltaGenerator.create(
+      STATION_SOH_PARAMETERS,
+      List.of(UtilsTestFixtures.STATION_GROUP),
+      Duration.ofMinutes(1),
+      systemMessageSink
+    );
+
+    var first = generate(generator, stationSohAt(START), List.of());
+    assertEquals(1, first.getStationSoh().size());
+    assertEquals(1, first.getStationGroups().size());
+
+    // Same inputs at a new calculation time, inside the full snapshot period
+    var second = generate(generator, stationSohAt(START.plusSeconds(20)), List.of());
+    assertTrue(second.getStationSoh().isEmpty());
+    assertEquals(1, second.getStationGroups().size());
+
+    // Full snapshot period elapsed, the unchanged station is published with the latest time
+    var latest = stationSohAt(START.plusSeconds(60));
+    var third = generate(generator, latest, List.of());
+    assertEquals(1, third.getStationSoh().size());
+
+    var retimed = third.getStationSoh().get(0);
+    assertEquals(latest.getTime().toEpochMilli(), retimed.getTime());
+    assertEquals(latest.getId(), retimed.getUuid());
+    assertTrue(EqualsBuilder.reflectionEquals(first.getStationSoh().get(0), retimed,
+      "uuid", "time"));
+  }
+
+  @Test
+  void testChangedInputsArePublished() {
+    var generator = UiStationAndStationGroupDeltaGenerator.create(
+      STATION_SOH_PARAMETERS,
+      List.of(UtilsTestFixtures.STATION_GROUP),
+      Duration.ofMinutes(1),
+      systemMessageSink
+    );
+
+    var first = generate(generator, stationSohAt(START), List.of());
+    assertFalse(first.getStationSoh().get(0).getNeedsAcknowledgement());
+
+    var second = generate(generator, stationSohAt(START.plusSeconds(20)), List.of(UNACK_CHANGE_1));
+    assertEquals(1, second.getStationSoh().size());
+    assertTrue(second.getStationSoh().get(0).getNeedsAcknowledgement());
+
+    var changedRollup = stationSohAt(START.plusSeconds(40)).toBuilder()
+      .setSohStatusRollup(
+        MARGINAL_STATION_SOH.getSohStatusRollup() == SohStatus.GOOD
+          ? SohStatus.BAD
+          : SohStatus.GOOD)
+      .build();
+    var third = generate(generator, changedRollup, List.of(UNACK_CHANGE_1));
+    assertEquals(1, third.getStationSoh().size());
+    assertNotEquals(second.getStationSoh().get(0).getSohStatusSummary(),
+      third.getStationSoh().get(0).getSohStatusSummary());
+  }
+
+  @Test
+  void testZeroPeriodMatchesFullGenerator() {
+    var generator = UiStationAndStationGroupDeltaGenerator.create(
+      STATION_SOH_PARAMETERS,
+      List.of(UtilsTestFixtures.STATION_GROUP),
+      Duration.ZERO,
+      systemMessageSink
+    );
+
+    var changes = UIStationAndStationGroupsChanges.builder()
+      .setQuietedSohStatusChanges(List.of(QUIETED_CHANGE_1))
+      .setUnacknowledgedStatusChanges(List.of(UNACK_CHANGE_1))
+      .build();
+
+    var expected = UiStationAndStationGroupGenerator.generateUiStationAndStationGroups(
+      Set.of(MARGINAL_STATION_SOH),
+      changes,
+      Set.of(MARGINAL_STATION_GROUP_AND_STATION_CAPABILITY_ROLLUP),
+      STATION_SOH_PARAMETERS,
+      List.of(UtilsTestFixtures.STATION_GROUP),
+      false,
+      systemMessageSink
+    ).get(0);
+
+    for (var i = 0; i < 2; i++) {
+      var actual = generator.generate(
+        Set.of(MARGINAL_STATION_SOH),
+        changes,
+        Set.of(MARGINAL_STATION_GROUP_AND_STATION_CAPABILITY_ROLLUP)
+      ).get(0);
+
+      assertEquals(expected.getStationSoh().size(), actual.getStationSoh().size());
+      // Channel sets are compared after rehashing, the quieted entries are added to the channels
+      // after they were put in the set
+      assertTrue(EqualsBuilder.reflectionEquals(expected.getStationSoh().get(0),
+        actual.getStationSoh().get(0), "channelSohs"));
+      assertEquals(new HashSet<>(expected.getStationSoh().get(0).getChannelSohs()),
+        new HashSet<>(actual.getStationSoh().get(0).getChannelSohs()));
+    }
+  }
+
+  private UiStationAndStationGroups generate(UiStationAndStationGroupDeltaGenerator generator,
+    StationSoh stationSoh,
+    List<UnacknowledgedSohStatusChange> unacks) {
+
+    var messages = generator.generate(
+      Set.of(stationSoh),
+      UIStationAndStationGroupsChanges.builder()
+        .setQuietedSohStatusChanges(List.of())
+        .setUnacknowledgedStatusChanges(unacks)
+        .build(),
+      Set.of(MARGINAL_STATION_GROUP_AND_STATION_CAPABILITY_ROLLUP)
+    );
+
+    assertEquals(1, messages.size());
+    return messages.get(0);
+  }
+
+  private static StationSoh stationSohAt(Instant time) {
+    return MARGINAL_STATION_SOH.toBuilder()
+      .setId(UUID.randomUUID())
+      .setTime(time)
+      .build();
+  }
+}
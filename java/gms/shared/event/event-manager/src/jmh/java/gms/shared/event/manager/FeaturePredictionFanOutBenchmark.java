@@ -0,0 +1,224 @@
+package gms.shared.event.manager;
+
+import gms.shared.common.coi.types.PhaseType;
+import gms.shared.event.api.PredictFeaturesForLocationSolutionRequest;
+import gms.shared.event.coi.EventLocation;
+import gms.shared.event.coi.EventTestFixtures;
+import gms.shared.event.coi.LocationSolution;
+import gms.shared.event.coi.featureprediction.FeaturePredictionContainer;
+import gms.shared.event.manager.config.EventManagerConfiguration;
+import gms.shared.event.manager.config.FeaturePredictionsDefinitions;
+import gms.shared.frameworks.configuration.RetryConfig;
+import gms.shared.frameworks.configuration.repository.FileConfigurationRepository;
+import gms.shared.frameworks.configuration.repository.client.ConfigurationConsumerUtility;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.channel.Location;
+import gms.shared.utilities.javautilities.objectmapper.ObjectMapperFactory;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static gms.shared.stationdefinition.testfixtures.UtilsTestFixtures.CHANNEL;
+
+/**
+ * Predicts features for a location solution, for {@code channelCount} channels spread around the globe and three
+ * phases, through {@link EventManager#predictFeaturesForLocationSolution} against a local stand-in feature prediction
+ * service that takes {@link #SERVICE_LATENCY} to answer each request. The benchmark configuration gives each phase its
+ * own definitions, and P near and far from the source different ones, so each prediction is three service requests.
+ * <p>
+ * {@code maxConcurrentRequests} of 1 sends those requests one after another, as EventManager did before. With
+ * {@code planner} {@code request} each prediction gets a new EventManager, so the definitions are resolved from
+ * configuration for every channel and phase, as they were before; with {@code shared} one EventManager predicts
+ * throughout, as the service does, and reuses the definitions it resolved. Besides the time per prediction, each
+ * benchmark reports the definitions resolved from configuration and the requests made to the service per prediction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeaturePredictionFanOutBenchmark {
+
+  private static final Duration SERVICE_LATENCY = Duration.ofMillis(20);
+  private static final EventLocation SOURCE_LOCATION = EventLocation.from(10.0, 10.0, 0.0,
+    Instant.parse("2010-05-20T12:00:00Z"));
+  private static final List<PhaseType> PHASES = List.of(PhaseType.P, PhaseType.S, PhaseType.PKP);
+
+  @Param({"1", "4"})
+  int maxConcurrentRequests;
+
+  @Param({"request", "shared"})
+  String planner;
+
+  @Param({"30", "120"})
+  int channelCount;
+
+  private StandInFeaturePredictorService service;
+  private CountingConfiguration eventManagerConfiguration;
+  private WebRequests webRequests;
+  private EventManager sharedEventManager;
+  private PredictFeaturesForLocationSolutionRequest request;
+
+  /**
+   * Definitions resolved from configuration, and requests made to the stand-in service.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PredictionLoad {
+
+    public long definitionResolutions;
+    public long serviceRequests;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    service = new StandInFeaturePredictorService(SERVICE_LATENCY);
+
+    var configurationRoot = Objects.requireNonNull(
+      Thread.currentThread().getContextClassLoader().getResource("benchmark-configuration-base")
+    ).getPath();
+    eventManagerConfiguration = new CountingConfiguration(
+      ConfigurationConsumerUtility
+        .builder(FileConfigurationRepository.create(new File(configurationRoot).toPath()))
+        .retryConfiguration(RetryConfig.create(1, 2, ChronoUnit.SECONDS, 1))
+        .build(),
+      URI.create(service.getUrl() + StandInFeaturePredictorService.PREDICT_FOR_LOCATION_SOLUTION_AND_CHANNEL_PATH),
+      maxConcurrentRequests);
+
+    var objectMapper = ObjectMapperFactory.getJsonObjectMapper();
+    webRequests = new WebRequests(eventManagerConfiguration, WebClient.builder()
+      .codecs(codecs -> {
+        codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_JSON));
+        codecs.defaultCodecs().maxInMemorySize(10 * 1024 * 1024);
+      }));
+    sharedEventManager = newEventManager();
+
+    // channels spread over latitude and longitude, so some are within the regional P definitions' distance of the
+    // source
+    List<Channel> channels = IntStream.range(0, channelCount)
+      .mapToObj(i -> CHANNEL.toBuilder()
+        .setName(String.format("ASAR.AS%03d.SHZ", i))
+        .setData(CHANNEL.getData().orElseThrow().toBuilder()
+          .setLocation(Location.from(-70.0 + 140.0 * i / channelCount, (37.0 * i) % 360.0 - 180.0, 0.0, 0.0))
+          .build())
+        .build())
+      .collect(Collectors.toList());
+    request = PredictFeaturesForLocationSolutionRequest.from(
+      LocationSolution.builder()
+        .setId(UUID.randomUUID())
+        .setData(EventTestFixtures.LOCATION_SOLUTION_DATA.toBuilder()
+          .setFeaturePredictions(FeaturePredictionContainer.of())
+          .setLocationBehaviors(List.of())
+          .setLocation(SOURCE_LOCATION)
+          .build())
+        .build(),
+      channels,
+      PHASES);
+
+    var response = sharedEventManager.predictFeaturesForLocationSolution(request);
+    if (response.getStatusCode() != HttpStatus.OK) {
+      throw new IllegalStateException("Prediction failed: " + response.getBody());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    service.close();
+  }
+
+  @Benchmark
+  public Object predictFeaturesForLocationSolution(PredictionLoad load) {
+    long resolutionsBefore = eventManagerConfiguration.getResolutions();
+    long requestsBefore = service.getRequests();
+
+    var eventManager = "shared".equals(planner) ? sharedEventManager : newEventManager();
+    var response = eventManager.predictFeaturesForLocationSolution(request).getBody();
+
+    load.definitionResolutions += eventManagerConfiguration.getResolutions() - resolutionsBefore;
+    load.serviceRequests += service.getRequests() - requestsBefore;
+    return response;
+  }
+
+  private EventManager newEventManager() {
+    // the prediction endpoints use neither the event accessor nor the system event publisher
+    return new EventManager(eventManagerConfiguration, null, null, webRequests);
+  }
+
+  /**
+   * Resolves definitions from the benchmark configuration, counting the resolutions, and sends requests to the
+   * stand-in service.
+   */
+  private static final class CountingConfiguration extends EventManagerConfiguration {
+
+    private final URI predictForLocationSolutionAndChannelUrl;
+    private final int maxConcurrentRequests;
+    private final AtomicLong resolutions = new AtomicLong();
+
+    private CountingConfiguration(ConfigurationConsumerUtility configurationConsumerUtility,
+      URI predictForLocationSolutionAndChannelUrl, int maxConcurrentRequests) {
+      super(configurationConsumerUtility);
+      this.predictForLocationSolutionAndChannelUrl = predictForLocationSolutionAndChannelUrl;
+      this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    long getResolutions() {
+      return resolutions.get();
+    }
+
+    @Override
+    public URI predictForLocationUrl() {
+      return predictForLocationSolutionAndChannelUrl;
+    }
+
+    @Override
+    public URI predictForLocationSolutionAndChannelUrl() {
+      return predictForLocationSolutionAndChannelUrl;
+    }
+
+    @Override
+    public int getMaxConcurrentFeaturePredictionRequests() {
+      return maxConcurrentRequests;
+    }
+
+    @Override
+    public double getPredictionDefinitionDistanceBucketKm() {
+      return 1.0;
+    }
+
+    @Override
+    public List<FeaturePredictionsDefinitions> getPredictionDefinitions(String stationName, String channelName,
+      PhaseType phaseType, double distance) {
+      resolutions.incrementAndGet();
+      return super.getPredictionDefinitions(stationName, channelName, phaseType, distance);
+    }
+  }
+}
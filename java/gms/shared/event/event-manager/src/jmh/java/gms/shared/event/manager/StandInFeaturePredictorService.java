@@ -0,0 +1,135 @@
+package gms.shared.event.manager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import gms.shared.common.coi.types.PhaseType;
+import gms.shared.event.coi.EventLocation;
+import gms.shared.event.coi.LocationSolution;
+import gms.shared.event.coi.featureprediction.FeaturePrediction;
+import gms.shared.event.coi.featureprediction.FeaturePredictionContainer;
+import gms.shared.event.coi.featureprediction.type.FeaturePredictionType;
+import gms.shared.event.coi.featureprediction.value.ArrivalTimeFeaturePredictionValue;
+import gms.shared.featureprediction.request.PredictForLocationSolutionAndChannelRequest;
+import gms.shared.signaldetection.coi.types.FeatureMeasurementTypes;
+import gms.shared.signaldetection.coi.values.ArrivalTimeMeasurementValue;
+import gms.shared.signaldetection.coi.values.DurationValue;
+import gms.shared.signaldetection.coi.values.InstantValue;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.utilities.javautilities.objectmapper.ObjectMapperFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for the feature prediction service's location solution and channel endpoint. Takes a fixed time to
+ * answer each request, as the service does computing its predictions, then returns the source location solution with
+ * an arrival time prediction added for each requested channel and phase, when arrival times were requested.
+ */
+final class StandInFeaturePredictorService implements AutoCloseable {
+
+  static final String PREDICT_FOR_LOCATION_SOLUTION_AND_CHANNEL_PATH =
+    "/feature/predict-for-location-solution-and-channel";
+
+  private final ObjectMapper jsonMapper = ObjectMapperFactory.getJsonObjectMapper();
+  private final Duration latency;
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+  private final AtomicLong requests = new AtomicLong();
+
+  StandInFeaturePredictorService(Duration latency) throws IOException {
+    this.latency = latency;
+    // as the real services' servlet containers do; otherwise small responses stall on delayed acknowledgements
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(PREDICT_FOR_LOCATION_SOLUTION_AND_CHANNEL_PATH, this::predictForLocationSolutionAndChannel);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  String getUrl() {
+    return String.format("http://%s:%d", server.getAddress().getHostString(), server.getAddress().getPort());
+  }
+
+  long getRequests() {
+    return requests.get();
+  }
+
+  private void predictForLocationSolutionAndChannel(HttpExchange exchange) throws IOException {
+    PredictForLocationSolutionAndChannelRequest request;
+    try (var body = exchange.getRequestBody()) {
+      request = jsonMapper.readValue(body, PredictForLocationSolutionAndChannelRequest.class);
+    }
+    LockSupport.parkNanos(latency.toNanos());
+    requests.incrementAndGet();
+
+    byte[] response = jsonMapper.writeValueAsBytes(predict(request));
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, response.length);
+    try (var responseBody = exchange.getResponseBody()) {
+      responseBody.write(response);
+    }
+  }
+
+  private static LocationSolution predict(PredictForLocationSolutionAndChannelRequest request) {
+    var locationSolution = request.getSourceLocationSolution();
+    if (!request.getPredictionTypes().contains(FeaturePredictionType.ARRIVAL_TIME_PREDICTION_TYPE)) {
+      return locationSolution;
+    }
+
+    var data = locationSolution.getData().orElseThrow();
+    Set<FeaturePrediction<?>> featurePredictions = data.getFeaturePredictions().map(Function.identity())
+      .collect(Collectors.toCollection(HashSet::new));
+    for (var phaseType : request.getPhases()) {
+      for (var channel : request.getReceivingChannels()) {
+        featurePredictions.add(arrivalTime(data.getLocation(), channel, phaseType));
+      }
+    }
+    return locationSolution.toBuilder()
+      .setData(data.toBuilder()
+        .setFeaturePredictions(FeaturePredictionContainer.create(featurePredictions))
+        .build())
+      .build();
+  }
+
+  private static FeaturePrediction<ArrivalTimeFeaturePredictionValue> arrivalTime(EventLocation sourceLocation,
+    Channel channel, PhaseType phaseType) {
+    return FeaturePrediction.<ArrivalTimeFeaturePredictionValue>builder()
+      .setPredictionValue(
+        ArrivalTimeFeaturePredictionValue.from(
+          FeatureMeasurementTypes.ARRIVAL_TIME,
+          ArrivalTimeMeasurementValue.from(
+            InstantValue.from(sourceLocation.getTime().plusSeconds(60), Duration.ofSeconds(1)),
+            Optional.of(DurationValue.from(Duration.ofSeconds(60), Duration.ZERO))
+          ),
+          Map.of(),
+          Set.of()
+        )
+      )
+      .setPredictionType(FeaturePredictionType.ARRIVAL_TIME_PREDICTION_TYPE)
+      .setPhase(phaseType)
+      .setExtrapolated(false)
+      .setSourceLocation(sourceLocation)
+      .setReceiverLocation(channel.getLocation())
+      .setChannel(Optional.of(channel))
+      .setPredictionChannelSegment(Optional.empty())
+      .build();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdown();
+  }
+}
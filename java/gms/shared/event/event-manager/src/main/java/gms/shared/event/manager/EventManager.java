@@ -17,12 +17,13 @@ import gms.shared.event.coi.Event;
 import gms.shared.event.coi.EventStatus;
 import gms.shared.event.coi.EventStatusInfo;
 import gms.shared.event.coi.LocationSolution;
+import gms.shared.event.coi.featureprediction.FeaturePrediction;
 import gms.shared.event.coi.featureprediction.FeaturePredictionContainer;
+import gms.shared.event.coi.featureprediction.type.FeaturePredictionType;
 import gms.shared.event.manager.config.EventManagerConfiguration;
 import gms.shared.event.manager.config.FeaturePredictionsDefinitions;
 import gms.shared.featureprediction.request.PredictForLocationRequest;
 import gms.shared.featureprediction.request.PredictForLocationSolutionAndChannelRequest;
-import gms.shared.featureprediction.utilities.math.GeoMath;
 import gms.shared.frameworks.service.InvalidInputException;
 import gms.shared.common.coi.types.PhaseType;
 import gms.shared.stationdefinition.coi.channel.Channel;
@@ -49,9 +50,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
@@ -73,8 +77,8 @@ public class EventManager {
   private static final Logger logger = LoggerFactory.getLogger(EventManager.class);
   private final EventAccessorInterface eventAccessor;
   private final SystemEventPublisher systemEventPublisher;
-  private final EventManagerConfiguration eventManagerConfiguration;
   private final WebRequests webRequests;
+  private final FeaturePredictionPlanner featurePredictionPlanner;
   private static final String FP_ERROR = "Error occurred when reaching out to Feature Prediction service";
 
   @Autowired
@@ -83,10 +87,10 @@ public class EventManager {
     EventAccessorInterface eventAccessor,
     SystemEventPublisher systemEventPublisher,
     WebRequests webRequests) {
-    this.eventManagerConfiguration = eventManagerConfiguration;
     this.eventAccessor = eventAccessor;
     this.systemEventPublisher = systemEventPublisher;
     this.webRequests = webRequests;
+    this.featurePredictionPlanner = new FeaturePredictionPlanner(eventManagerConfiguration);
   }
 
   /**
@@ -185,44 +189,16 @@ public class EventManager {
     @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "The location solution, channels, and phases to provide to the Feature Predictor Service. Encapsulated as a PredictFeaturesForLocationSolutionRequest request")
     @RequestBody PredictFeaturesForLocationSolutionRequest eventPredictionRequest) {
 
-    // Organize channels and phases according to shared definitions
-    var predictionDefinitionsToChannelsAndPhaseTypes = new HashMap<FeaturePredictionsDefinitions, Pair<List<Channel>, List<PhaseType>>>();
-
     var locationSolution = eventPredictionRequest.getLocationSolution();
     var locationSolutionData = locationSolution.getData().orElseThrow(() -> new EventRequestException("Provided LocationSolution has no data"));
-    for (var ph : eventPredictionRequest.getPhases()) {
-      for (var ch : eventPredictionRequest.getChannels()) {
-        // resolve a FeaturePredictionsDefinitions for each channel and phase combination
-        var distance = GeoMath.degToKm(
-          GeoMath.greatCircleAngularSeparation(
-            locationSolutionData.getLocation().getLatitudeDegrees(),
-            locationSolutionData.getLocation().getLongitudeDegrees(),
-            ch.getLocation().getLatitudeDegrees(),
-            ch.getLocation().getLongitudeDegrees()
-          )
-        );
-        var predictionForLocationSolutionDefinitions = eventManagerConfiguration.getPredictionDefinitions(
-          ch.getStation().getName(),
-          ch.getName(),
-          ph,
-          distance
-        );
-        for (var def : predictionForLocationSolutionDefinitions) {
-          // for each definition, if there are any other channels/phases that use this definition, organize them
-          // so the calls to FeaturePredictorService can be combined for these channels/phases
-          var channelsAndPhaseTypes = predictionDefinitionsToChannelsAndPhaseTypes
-            .computeIfAbsent(def, d -> Pair.of(new ArrayList<>(), new ArrayList<>()));
-          var channels = channelsAndPhaseTypes.getLeft();
-          if (!channels.contains(ch)) {
-            channels.add(ch);
-          }
-          var phaseTypes = channelsAndPhaseTypes.getRight();
-          if (!phaseTypes.contains(ph)) {
-            phaseTypes.add(ph);
-          }
-        }
-      }
-    }
+
+    // Organize channels and phases according to shared definitions, so the calls to FeaturePredictorService can be
+    // combined for the channels/phases of each definition
+    var predictionDefinitionsToChannelsAndPhaseTypes = featurePredictionPlanner.planForChannels(
+      locationSolutionData.getLocation(),
+      eventPredictionRequest.getChannels(),
+      eventPredictionRequest.getPhases()
+    );
     return getLocationResponseEntity(predictionDefinitionsToChannelsAndPhaseTypes, locationSolution);
 
   }
@@ -258,23 +234,29 @@ public class EventManager {
       Map<String, FeaturePredictionContainer> receiverNameMapResponse = new HashMap<>();
       eventPredictionRequest.getReceivers().stream().flatMap(r -> r.getReceiverLocationsByName().keySet().stream())
         .forEach(locationName -> receiverNameMapResponse.put(locationName, FeaturePredictionContainer.create(new ArrayList<>())));
+      var predictForLocationRequests = new ArrayList<PredictForLocationRequest>();
       for (var predictionDefinitionAndPhaseTypesToReceiverNameAndLocation : predictionDefinitionsAndPhasetypesToReceiverNamesAndLocations.entrySet()) {
         var def = predictionDefinitionAndPhaseTypesToReceiverNameAndLocation.getKey().getLeft();
         var locs = predictionDefinitionAndPhaseTypesToReceiverNameAndLocation.getValue().stream().map(Pair::getRight).collect(Collectors.toList());
         var phases = predictionDefinitionAndPhaseTypesToReceiverNameAndLocation.getKey().getRight();
-        var predictForLocationRequest = PredictForLocationRequest.from(
+        predictForLocationRequests.add(PredictForLocationRequest.from(
           def.getPredictionTypes(),
           eventPredictionRequest.getSourceLocation(),
           locs,
           new ArrayList<>(phases),
           def.getEarthModel(),
           def.getCorrectionDefinitions()
-        );
+        ));
+      }
 
-        var featurePredictionContainer = webRequests.fpsWebRequestPredictForLocation(predictForLocationRequest);
+      // call FeaturePredictorService for all definitions at once, then parse the responses in definition order
+      var featurePredictionContainers = featurePredictionPlanner.sendAll(predictForLocationRequests,
+        webRequests::fpsWebRequestPredictForLocation);
+      var responseIndex = 0;
+      for (var receiverNamesAndLocations : predictionDefinitionsAndPhasetypesToReceiverNamesAndLocations.values()) {
         var receiverNamesToLocationsForThisRequest = ArrayListMultimap.<Location, String>create();
-        predictionDefinitionAndPhaseTypesToReceiverNameAndLocation.getValue().forEach(nameAndLocationPair -> receiverNamesToLocationsForThisRequest.put(nameAndLocationPair.getRight(), nameAndLocationPair.getLeft()));
-        parseFeaturePredictionsIntoReceivers(receiverNamesToLocationsForThisRequest, receiverNameMapResponse, featurePredictionContainer);
+        receiverNamesAndLocations.forEach(nameAndLocationPair -> receiverNamesToLocationsForThisRequest.put(nameAndLocationPair.getRight(), nameAndLocationPair.getLeft()));
+        parseFeaturePredictionsIntoReceivers(receiverNamesToLocationsForThisRequest, receiverNameMapResponse, featurePredictionContainers.get(responseIndex++));
       }
       verifyPredictionsPopulated(receiverNameMapResponse);
       return ResponseEntity.ok().body(FeaturePredictionsByReceiverName.from(receiverNameMapResponse));
@@ -292,36 +274,89 @@ public class EventManager {
   }
 
   private ResponseEntity<Object> getLocationResponseEntity(
-    HashMap<FeaturePredictionsDefinitions, Pair<List<Channel>, List<PhaseType>>> predictionDefinitionsToChannelsAndPhaseTypes,
+    Map<FeaturePredictionsDefinitions, Pair<Set<Channel>, Set<PhaseType>>> predictionDefinitionsToChannelsAndPhaseTypes,
     LocationSolution locationSolution) {
-    for (var definitionToChannelsAndPhaseTypes : predictionDefinitionsToChannelsAndPhaseTypes.entrySet()) {
-      // call FeaturePredictorService for each combined definition, collection of channels, and collection of phaseTypes
-      var predictionsForLocationSolutionDefinition = definitionToChannelsAndPhaseTypes.getKey();
-      var channels = new ArrayList<>(definitionToChannelsAndPhaseTypes.getValue().getLeft());
-      var phaseTypes = new ArrayList<>(definitionToChannelsAndPhaseTypes.getValue().getRight());
-      try {
-        locationSolution = callFeaturePredictorServiceForPredictionDefinition(predictionsForLocationSolutionDefinition, channels, locationSolution, phaseTypes);
-      }
-      catch (FeaturePredictionException e) {
-        logger.error(FP_ERROR, e);
-        return ResponseEntity.badRequest()
-          .body(Map.of(EventManagerExceptionHandler.ERROR_MSG_KEY, e.getMessage()));
+
+    // call FeaturePredictorService for each combined definition, collection of channels, and collection of phaseTypes
+    var predictForLocationSolutionAndChannelRequests = predictionDefinitionsToChannelsAndPhaseTypes.entrySet().stream()
+      .map(definitionToChannelsAndPhaseTypes -> PredictForLocationSolutionAndChannelRequest.from(
+        definitionToChannelsAndPhaseTypes.getKey().getPredictionTypes(),
+        locationSolution,
+        new ArrayList<>(definitionToChannelsAndPhaseTypes.getValue().getLeft()),
+        new ArrayList<>(definitionToChannelsAndPhaseTypes.getValue().getRight()),
+        definitionToChannelsAndPhaseTypes.getKey().getEarthModel(),
+        definitionToChannelsAndPhaseTypes.getKey().getCorrectionDefinitions()))
+      .collect(Collectors.toList());
+
+    try {
+      var predictionOutcomes = featurePredictionPlanner.sendEach(predictForLocationSolutionAndChannelRequests,
+        webRequests::fpsWebRequestPredictForLocationSolutionAndChannel);
+      return ResponseEntity.ok().body(mergeFeaturePredictions(locationSolution,
+        predictForLocationSolutionAndChannelRequests, predictionOutcomes));
+    }
+    catch (FeaturePredictionException e) {
+      logger.error(FP_ERROR, e);
+      return ResponseEntity.badRequest()
+        .body(Map.of(EventManagerExceptionHandler.ERROR_MSG_KEY, e.getMessage()));
+    }
+  }
+
+  /**
+   * Merges the {@link FeaturePrediction}s of each predicted {@link LocationSolution}, in definition order, into the
+   * source {@link LocationSolution}, as though each definition had been predicted for from the
+   * {@link LocationSolution} the definitions before it returned: FeaturePredictorService does not predict a prediction
+   * type for a channel the provided {@link LocationSolution} already has a prediction of that type for, so those
+   * predictions are not merged. For the same reason, a request whose prediction types the definitions before it
+   * already predicted for all of its channels would not have been predicted for at all, and its failure is ignored.
+   *
+   * @throws FeaturePredictionException the failure of the first request, in definition order, that is not ignored
+   */
+  private static LocationSolution mergeFeaturePredictions(LocationSolution locationSolution,
+    List<PredictForLocationSolutionAndChannelRequest> requests,
+    List<FeaturePredictionPlanner.Outcome<LocationSolution>> predictionOutcomes) throws FeaturePredictionException {
+
+    var data = locationSolution.getData().orElseThrow();
+    var sourceFeaturePredictions = data.getFeaturePredictions();
+    var featurePredictions = sourceFeaturePredictions.map(Function.identity())
+      .collect(Collectors.<FeaturePrediction<?>, Set<FeaturePrediction<?>>>toCollection(LinkedHashSet::new));
+    var predictedTypesAndChannels = new HashSet<Pair<FeaturePredictionType<?>, Optional<Channel>>>();
+    featurePredictions.forEach(featurePrediction -> predictedTypesAndChannels.add(typeAndChannel(featurePrediction)));
+
+    var sourceFeaturePredictionCount = featurePredictions.size();
+    for (var i = 0; i < requests.size(); i++) {
+      var predictionOutcome = predictionOutcomes.get(i);
+      if (predictionOutcome.isFailure() && allPredicted(requests.get(i), predictedTypesAndChannels)) {
+        continue;
       }
+
+      var newFeaturePredictions = predictionOutcome.get().getData()
+        .map(predictedData -> predictedData.getFeaturePredictions().map(Function.identity()))
+        .orElseGet(Stream::empty)
+        .filter(featurePrediction -> !sourceFeaturePredictions.contains(featurePrediction))
+        .filter(featurePrediction -> !predictedTypesAndChannels.contains(typeAndChannel(featurePrediction)))
+        .collect(Collectors.toList());
+      featurePredictions.addAll(newFeaturePredictions);
+      newFeaturePredictions.forEach(featurePrediction -> predictedTypesAndChannels.add(typeAndChannel(featurePrediction)));
     }
 
-    return ResponseEntity.ok().body(locationSolution);
+    if (featurePredictions.size() == sourceFeaturePredictionCount) {
+      return locationSolution;
+    }
+    return locationSolution.toBuilder()
+      .setData(data.toBuilder().setFeaturePredictions(FeaturePredictionContainer.create(featurePredictions)).build())
+      .build();
   }
 
-  private LocationSolution callFeaturePredictorServiceForPredictionDefinition(
-    FeaturePredictionsDefinitions featurePredictionsDefinitions,
-    List<Channel> channels,
-    LocationSolution locationSolution,
-    List<PhaseType> phaseTypes) throws FeaturePredictionException {
+  private static boolean allPredicted(PredictForLocationSolutionAndChannelRequest request,
+    Set<Pair<FeaturePredictionType<?>, Optional<Channel>>> predictedTypesAndChannels) {
 
-    var predictForLocationSolutionAndChannelRequest = PredictForLocationSolutionAndChannelRequest
-      .from(featurePredictionsDefinitions.getPredictionTypes(), locationSolution, channels, phaseTypes, featurePredictionsDefinitions.getEarthModel(), featurePredictionsDefinitions.getCorrectionDefinitions());
+    return request.getPredictionTypes().stream()
+      .allMatch(predictionType -> request.getReceivingChannels().stream()
+        .allMatch(channel -> predictedTypesAndChannels.contains(Pair.of(predictionType, Optional.of(channel)))));
+  }
 
-    return webRequests.fpsWebRequestPredictForLocationSolutionAndChannel(predictForLocationSolutionAndChannelRequest);
+  private static Pair<FeaturePredictionType<?>, Optional<Channel>> typeAndChannel(FeaturePrediction<?> featurePrediction) {
+    return Pair.of(featurePrediction.getPredictionType(), featurePrediction.getChannel());
   }
 
   /**
@@ -424,24 +459,20 @@ public class EventManager {
   }
 
   private Map<Pair<FeaturePredictionsDefinitions, Set<PhaseType>>, Set<Pair<String, Location>>> buildPredictionDefinitionsToReceiverNameAndLocationMultimap(PredictFeaturesForEventLocationRequest predictFeaturesForEventLocationRequest) {
-    var definitionAndPhasesToReceivers = new HashMap<Pair<FeaturePredictionsDefinitions, Set<PhaseType>>, Set<Pair<String, Location>>>();
+    var definitionAndPhasesToReceivers = new LinkedHashMap<Pair<FeaturePredictionsDefinitions, Set<PhaseType>>, Set<Pair<String, Location>>>();
     var receiverLocationsAndTypesList = predictFeaturesForEventLocationRequest.getReceivers();
 
     for (var receiverLocationAndTypes : receiverLocationsAndTypesList) {
       var receiverDataType = receiverLocationAndTypes.getReceiverDataType();
       var receiverBandType = receiverLocationAndTypes.getReceiverBandType();
       for (var nameToLocationEntry : receiverLocationAndTypes.getReceiverLocationsByName().entrySet()) {
-        var definitionToReceiversAndPhases = new HashMap<FeaturePredictionsDefinitions, Pair<Set<Pair<String, Location>>, Set<PhaseType>>>();
+        var definitionToReceiversAndPhases = new LinkedHashMap<FeaturePredictionsDefinitions, Pair<Set<Pair<String, Location>>, Set<PhaseType>>>();
         for (var ph : predictFeaturesForEventLocationRequest.getPhases()) {
-          var distance = GeoMath.degToKm(
-            GeoMath.greatCircleAngularSeparation(
-              predictFeaturesForEventLocationRequest.getSourceLocation().getLatitudeDegrees(),
-              predictFeaturesForEventLocationRequest.getSourceLocation().getLongitudeDegrees(),
-              nameToLocationEntry.getValue().getLatitudeDegrees(),
-              nameToLocationEntry.getValue().getLongitudeDegrees()
-            )
+          var distance = FeaturePredictionPlanner.distanceKm(
+            predictFeaturesForEventLocationRequest.getSourceLocation(),
+            nameToLocationEntry.getValue()
           );
-          var featurePredictionDefinitionsList = eventManagerConfiguration.getPredictionDefinitions(
+          var featurePredictionDefinitionsList = featurePredictionPlanner.definitionsForReceiver(
             ph,
             distance,
             receiverDataType,
@@ -449,13 +480,13 @@ public class EventManager {
           );
           logger.info("Resolved FeaturePredictionDefinitions from config for location {}: {}", nameToLocationEntry.getValue(), featurePredictionDefinitionsList);
           for (var featurePredictionDefinitions : featurePredictionDefinitionsList) {
-            definitionToReceiversAndPhases.computeIfAbsent(featurePredictionDefinitions, k -> Pair.of(new HashSet<>(), new HashSet<>()));
+            definitionToReceiversAndPhases.computeIfAbsent(featurePredictionDefinitions, k -> Pair.of(new LinkedHashSet<>(), new LinkedHashSet<>()));
             definitionToReceiversAndPhases.get(featurePredictionDefinitions).getLeft().add(Pair.of(nameToLocationEntry.getKey(), nameToLocationEntry.getValue()));
             definitionToReceiversAndPhases.get(featurePredictionDefinitions).getRight().add(ph);
           }
         }
         definitionToReceiversAndPhases.forEach((def, receiversAndPhases) -> {
-          definitionAndPhasesToReceivers.computeIfAbsent(Pair.of(def, receiversAndPhases.getRight()), k -> new HashSet<>());
+          definitionAndPhasesToReceivers.computeIfAbsent(Pair.of(def, receiversAndPhases.getRight()), k -> new LinkedHashSet<>());
           definitionAndPhasesToReceivers.get(Pair.of(def, receiversAndPhases.getRight())).addAll(receiversAndPhases.getLeft());
         });
       }
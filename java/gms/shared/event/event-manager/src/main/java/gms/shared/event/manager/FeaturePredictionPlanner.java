@@ -0,0 +1,279 @@
+package gms.shared.event.manager;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import gms.shared.common.coi.types.PhaseType;
+import gms.shared.event.coi.EventLocation;
+import gms.shared.event.manager.config.EventManagerConfiguration;
+import gms.shared.event.manager.config.FeaturePredictionsDefinitions;
+import gms.shared.featureprediction.utilities.math.GeoMath;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.channel.ChannelBandType;
+import gms.shared.stationdefinition.coi.channel.ChannelDataType;
+import gms.shared.stationdefinition.coi.channel.Location;
+import org.apache.commons.lang3.tuple.Pair;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Plans and sends the Feature Prediction service requests of the {@link EventManager} prediction endpoints.
+ * <p>
+ * The {@link FeaturePredictionsDefinitions} of each receiver and phase are resolved from configuration once per
+ * source to receiver distance and then reused, so a receiver predicted for again from the same location does not
+ * resolve configuration again. With a nonzero
+ * {@link EventManagerConfiguration#getPredictionDefinitionDistanceBucketKm()}, definitions resolved for one distance
+ * are reused for the rest of its bucket instead. Configured distance bounds are then only honored to within the bucket
+ * width, and which definitions a distance near a bound gets depends on which distance in its bucket was resolved
+ * first. Resolved definitions expire a day after they were resolved, as configuration's own selector cache does, so
+ * configuration changes are picked up.
+ * <p>
+ * Planned requests are sent concurrently, up to
+ * {@link EventManagerConfiguration#getMaxConcurrentFeaturePredictionRequests()} at a time, and their results are
+ * returned in plan order, however the requests complete.
+ */
+class FeaturePredictionPlanner {
+
+  private static final long MAX_RESOLVED_DEFINITIONS = 50_000;
+  private static final Duration RESOLVED_DEFINITIONS_EXPIRATION = Duration.ofDays(1);
+
+  private final EventManagerConfiguration eventManagerConfiguration;
+  private final double distanceBucketKm;
+  private final int maxConcurrentRequests;
+  private final Cache<ChannelDefinitionsKey, List<FeaturePredictionsDefinitions>> channelDefinitions;
+  private final Cache<ReceiverDefinitionsKey, List<FeaturePredictionsDefinitions>> receiverDefinitions;
+
+  FeaturePredictionPlanner(EventManagerConfiguration eventManagerConfiguration) {
+    this(eventManagerConfiguration, eventManagerConfiguration.getPredictionDefinitionDistanceBucketKm(),
+      eventManagerConfiguration.getMaxConcurrentFeaturePredictionRequests());
+  }
+
+  FeaturePredictionPlanner(EventManagerConfiguration eventManagerConfiguration, double distanceBucketKm,
+    int maxConcurrentRequests) {
+    this.eventManagerConfiguration = eventManagerConfiguration;
+    this.distanceBucketKm = Math.max(0.0, distanceBucketKm);
+    this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+    this.channelDefinitions = CacheBuilder.newBuilder()
+      .maximumSize(MAX_RESOLVED_DEFINITIONS)
+      .expireAfterWrite(RESOLVED_DEFINITIONS_EXPIRATION)
+      .build();
+    this.receiverDefinitions = CacheBuilder.newBuilder()
+      .maximumSize(MAX_RESOLVED_DEFINITIONS)
+      .expireAfterWrite(RESOLVED_DEFINITIONS_EXPIRATION)
+      .build();
+  }
+
+  /**
+   * A request to the Feature Prediction service
+   *
+   * @param <T> request type
+   * @param <R> response type
+   */
+  @FunctionalInterface
+  interface FeaturePredictionRequest<T, R> {
+
+    R send(T request) throws FeaturePredictionException;
+  }
+
+  /**
+   * Groups the provided channels and phases by the {@link FeaturePredictionsDefinitions} configured for them, so each
+   * definition is predicted for in one request.
+   *
+   * @param sourceLocation location predicted from
+   * @param channels channels to predict for
+   * @param phaseTypes phases to predict for
+   * @return the channels and phases of each definition, in the order the definitions, channels and phases were first
+   * planned
+   */
+  Map<FeaturePredictionsDefinitions, Pair<Set<Channel>, Set<PhaseType>>> planForChannels(
+    EventLocation sourceLocation, List<Channel> channels, List<PhaseType> phaseTypes) {
+
+    var channelsAndPhaseTypesByDefinition =
+      new LinkedHashMap<FeaturePredictionsDefinitions, Pair<Set<Channel>, Set<PhaseType>>>();
+    for (var phaseType : phaseTypes) {
+      for (var channel : channels) {
+        var distance = distanceKm(sourceLocation, channel.getLocation());
+        for (var definitions : definitionsForChannel(channel, phaseType, distance)) {
+          var channelsAndPhaseTypes = channelsAndPhaseTypesByDefinition
+            .computeIfAbsent(definitions, d -> Pair.of(new LinkedHashSet<>(), new LinkedHashSet<>()));
+          channelsAndPhaseTypes.getLeft().add(channel);
+          channelsAndPhaseTypes.getRight().add(phaseType);
+        }
+      }
+    }
+    return channelsAndPhaseTypesByDefinition;
+  }
+
+  /**
+   * Resolves the {@link FeaturePredictionsDefinitions} configured for a channel and phase, at a source to receiver
+   * distance, unless they were resolved for the channel and phase at the same distance, or in the same distance
+   * bucket, before.
+   */
+  List<FeaturePredictionsDefinitions> definitionsForChannel(Channel channel, PhaseType phaseType, double distance) {
+    var stationName = channel.getStation().getName();
+    var channelName = channel.getName();
+    return channelDefinitions.asMap().computeIfAbsent(
+      ChannelDefinitionsKey.create(stationName, channelName, phaseType, distanceKey(distance)),
+      key -> eventManagerConfiguration.getPredictionDefinitions(stationName, channelName, phaseType, distance));
+  }
+
+  /**
+   * Resolves the {@link FeaturePredictionsDefinitions} configured for a phase and receiver types, at a source to
+   * receiver distance, unless they were resolved for the phase and receiver types at the same distance, or in the
+   * same distance bucket, before.
+   */
+  List<FeaturePredictionsDefinitions> definitionsForReceiver(PhaseType phaseType, double distance,
+    Optional<ChannelDataType> receiverDataType, Optional<ChannelBandType> receiverBandType) {
+
+    return receiverDefinitions.asMap().computeIfAbsent(
+      ReceiverDefinitionsKey.create(phaseType, distanceKey(distance), receiverDataType, receiverBandType),
+      key -> eventManagerConfiguration.getPredictionDefinitions(phaseType, distance, receiverDataType,
+        receiverBandType));
+  }
+
+  /**
+   * Sends the provided requests, up to the configured number at a time.
+   *
+   * @return the response to each request, in request order
+   * @throws FeaturePredictionException the exception of the first failed request, in request order
+   */
+  <T, R> List<R> sendAll(List<T> requests, FeaturePredictionRequest<T, R> featurePredictionRequest)
+    throws FeaturePredictionException {
+
+    var outcomes = sendEach(requests, featurePredictionRequest);
+    List<R> responses = new ArrayList<>(requests.size());
+    for (var outcome : outcomes) {
+      responses.add(outcome.get());
+    }
+    return responses;
+  }
+
+  /**
+   * Sends the provided requests, up to the configured number at a time, leaving it to the caller to decide which
+   * failures to report.
+   *
+   * @return the outcome of each request, in request order
+   */
+  <T, R> List<Outcome<R>> sendEach(List<T> requests, FeaturePredictionRequest<T, R> featurePredictionRequest) {
+    List<Outcome<R>> outcomes;
+    if (requests.size() <= 1 || maxConcurrentRequests == 1) {
+      outcomes = new ArrayList<>(requests.size());
+      for (var request : requests) {
+        outcomes.add(Outcome.of(featurePredictionRequest, request));
+      }
+    } else {
+      outcomes = Flux.fromIterable(requests)
+        .flatMapSequential(request -> Mono.fromCallable(() -> Outcome.of(featurePredictionRequest, request))
+          .subscribeOn(Schedulers.boundedElastic()), maxConcurrentRequests)
+        .collectList()
+        .block();
+    }
+    return outcomes;
+  }
+
+  static double distanceKm(EventLocation sourceLocation, Location receiverLocation) {
+    return GeoMath.degToKm(
+      GeoMath.greatCircleAngularSeparation(
+        sourceLocation.getLatitudeDegrees(),
+        sourceLocation.getLongitudeDegrees(),
+        receiverLocation.getLatitudeDegrees(),
+        receiverLocation.getLongitudeDegrees()
+      )
+    );
+  }
+
+  /**
+   * @return the distance itself, or the index of its distance bucket when distances are bucketed
+   */
+  private double distanceKey(double distance) {
+    return distanceBucketKm > 0.0 ? Math.floor(distance / distanceBucketKm) : distance;
+  }
+
+  /**
+   * Identifies the definitions resolved for a channel and phase
+   */
+  @AutoValue
+  abstract static class ChannelDefinitionsKey {
+
+    abstract String getStationName();
+
+    abstract String getChannelName();
+
+    abstract PhaseType getPhaseType();
+
+    abstract double getDistanceKey();
+
+    static ChannelDefinitionsKey create(String stationName, String channelName, PhaseType phaseType,
+      double distanceKey) {
+      return new AutoValue_FeaturePredictionPlanner_ChannelDefinitionsKey(stationName, channelName, phaseType,
+        distanceKey);
+    }
+  }
+
+  /**
+   * Identifies the definitions resolved for a phase and receiver types
+   */
+  @AutoValue
+  abstract static class ReceiverDefinitionsKey {
+
+    abstract PhaseType getPhaseType();
+
+    abstract double getDistanceKey();
+
+    abstract Optional<ChannelDataType> getReceiverDataType();
+
+    abstract Optional<ChannelBandType> getReceiverBandType();
+
+    static ReceiverDefinitionsKey create(PhaseType phaseType, double distanceKey,
+      Optional<ChannelDataType> receiverDataType, Optional<ChannelBandType> receiverBandType) {
+      return new AutoValue_FeaturePredictionPlanner_ReceiverDefinitionsKey(phaseType, distanceKey, receiverDataType,
+        receiverBandType);
+    }
+  }
+
+  /**
+   * The response to a request, or what it failed with, held until every request has completed
+   */
+  static final class Outcome<R> {
+
+    private final R response;
+    private final Exception failure;
+
+    private Outcome(R response, Exception failure) {
+      this.response = response;
+      this.failure = failure;
+    }
+
+    private static <T, R> Outcome<R> of(FeaturePredictionRequest<T, R> featurePredictionRequest, T request) {
+      try {
+        return new Outcome<>(featurePredictionRequest.send(request), null);
+      } catch (FeaturePredictionException | RuntimeException e) {
+        return new Outcome<>(null, e);
+      }
+    }
+
+    boolean isFailure() {
+      return failure != null;
+    }
+
+    R get() throws FeaturePredictionException {
+      if (failure instanceof FeaturePredictionException) {
+        throw (FeaturePredictionException) failure;
+      }
+      if (failure != null) {
+        throw (RuntimeException) failure;
+      }
+      return response;
+    }
+  }
+}
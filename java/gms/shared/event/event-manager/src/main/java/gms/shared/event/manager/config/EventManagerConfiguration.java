@@ -40,6 +40,12 @@ public class EventManagerConfiguration {
   @Value("${featurePredictorService.urlPaths.predictForLocationSolutionAndChannel}")
   private String predictForLocationSolutionAndChannelUrlPath;
 
+  @Value("${featurePredictorService.maxConcurrentRequests:4}")
+  private int maxConcurrentFeaturePredictionRequests;
+
+  @Value("${featurePredictorService.definitionDistanceBucketKm:0.0}")
+  private double predictionDefinitionDistanceBucketKm;
+
   private final ConfigurationConsumerUtility configurationConsumerUtility;
 
   private static final String PREDICTIONS_FOR_LOCATION_SOLUTION_DEFINITION = "event-manager.predictions-for-location-solution-definition";
@@ -70,6 +76,23 @@ public class EventManagerConfiguration {
     }
   }
 
+  /**
+   * @return the most Feature Prediction service requests one prediction request may have in flight at once
+   */
+  public int getMaxConcurrentFeaturePredictionRequests() {
+    return maxConcurrentFeaturePredictionRequests;
+  }
+
+  /**
+   * @return the width, in kilometers, of the source to receiver distance buckets resolved
+   * {@link FeaturePredictionsDefinitions} are reused across; zero, the default, to reuse them only for the same
+   * distance. A nonzero width honors configured distance bounds only to within the width, and which definitions a
+   * distance near a bound gets then depends on which distance in its bucket was resolved first.
+   */
+  public double getPredictionDefinitionDistanceBucketKm() {
+    return predictionDefinitionDistanceBucketKm;
+  }
+
   public List<FeaturePredictionsDefinitions> getPredictionDefinitions() {
 
     return configurationConsumerUtility.resolve(
@@ -147,6 +147,101 @@ class EventManagerTest {
       );
   }
 
+  @Test
+  void testPredictFeaturesForLocationSolution_MergesPredictionsInDefinitionOrder() throws FeaturePredictionException {
+    var eventLocation = EventLocation.from(0.0, 0.0, 0.0, Instant.EPOCH);
+    var locationSolution = createTestLocationSolution(eventLocation);
+    var channelOne = createTestChannel("stationOne.channelOne", Location.from(0.0, 0.0, 0.0, 0.0));
+    var channelTwo = createTestChannel("stationOne.channelTwo", Location.from(1.0, 1.0, 0.0, 0.0));
+
+    // The SLOWNESS definition (phase P) is planned before the ARRIVAL_TIME definition (phase S). FeaturePredictorService
+    // would not have predicted ARRIVAL_TIME for channelOne again from the LocationSolution the first call returned.
+    var firstPrediction = createArrivalTimePrediction(eventLocation, channelOne, PhaseType.P);
+    var skippedPrediction = createArrivalTimePrediction(eventLocation, channelOne, PhaseType.S);
+    var secondPrediction = createArrivalTimePrediction(eventLocation, channelTwo, PhaseType.S);
+    when(webRequests.fpsWebRequestPredictForLocationSolutionAndChannel(ArgumentMatchers.any()))
+      .thenAnswer(invocation -> {
+        var request = invocation.getArgument(0, PredictForLocationSolutionAndChannelRequest.class);
+        return request.getPredictionTypes().contains(FeaturePredictionType.SLOWNESS_PREDICTION_TYPE)
+          ? withFeaturePredictions(request.getSourceLocationSolution(), FeaturePredictionContainer.of(firstPrediction))
+          : withFeaturePredictions(request.getSourceLocationSolution(),
+          FeaturePredictionContainer.of(skippedPrediction, secondPrediction));
+      });
+
+    var responseEntity = eventManager.predictFeaturesForLocationSolution(PredictFeaturesForLocationSolutionRequest.from(
+      locationSolution,
+      List.of(channelOne, channelTwo),
+      List.of(PhaseType.P, PhaseType.S)
+    ));
+    assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+
+    var returnedLocationSolution = (LocationSolution) responseEntity.getBody();
+    assertEquals(withFeaturePredictions(locationSolution, FeaturePredictionContainer.of(firstPrediction, secondPrediction)),
+      returnedLocationSolution);
+    verify(webRequests, times(2)).fpsWebRequestPredictForLocationSolutionAndChannel(any());
+  }
+
+  @Test
+  void testPredictFeaturesForLocationSolution_IgnoresFailureOfAlreadyPredictedDefinition()
+    throws FeaturePredictionException {
+    var eventLocation = EventLocation.from(0.0, 0.0, 0.0, Instant.EPOCH);
+    var locationSolution = createTestLocationSolution(eventLocation);
+    var channelOne = createTestChannel("stationOne.channelOne", Location.from(0.0, 0.0, 0.0, 0.0));
+    var channelTwo = createTestChannel("stationOne.channelTwo", Location.from(1.0, 1.0, 0.0, 0.0));
+
+    // The SLOWNESS definition (phase P) already predicts ARRIVAL_TIME for both channels, so FeaturePredictorService
+    // would have returned the ARRIVAL_TIME definition's (phase S) request without predicting, rather than failing it.
+    var channelOnePrediction = createArrivalTimePrediction(eventLocation, channelOne, PhaseType.P);
+    var channelTwoPrediction = createArrivalTimePrediction(eventLocation, channelTwo, PhaseType.P);
+    when(webRequests.fpsWebRequestPredictForLocationSolutionAndChannel(ArgumentMatchers.any()))
+      .thenAnswer(invocation -> {
+        var request = invocation.getArgument(0, PredictForLocationSolutionAndChannelRequest.class);
+        if (request.getPredictionTypes().contains(FeaturePredictionType.SLOWNESS_PREDICTION_TYPE)) {
+          return withFeaturePredictions(request.getSourceLocationSolution(),
+            FeaturePredictionContainer.of(channelOnePrediction, channelTwoPrediction));
+        }
+        throw new FeaturePredictionException("FeaturePredictionService failed with Client Error");
+      });
+
+    var responseEntity = eventManager.predictFeaturesForLocationSolution(PredictFeaturesForLocationSolutionRequest.from(
+      locationSolution,
+      List.of(channelOne, channelTwo),
+      List.of(PhaseType.P, PhaseType.S)
+    ));
+    assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+    assertEquals(withFeaturePredictions(locationSolution,
+        FeaturePredictionContainer.of(channelOnePrediction, channelTwoPrediction)),
+      responseEntity.getBody());
+  }
+
+  @Test
+  void testPredictFeaturesForLocationSolution_ReportsFailureOfPartlyPredictedDefinition()
+    throws FeaturePredictionException {
+    var eventLocation = EventLocation.from(0.0, 0.0, 0.0, Instant.EPOCH);
+    var locationSolution = createTestLocationSolution(eventLocation);
+    var channelOne = createTestChannel("stationOne.channelOne", Location.from(0.0, 0.0, 0.0, 0.0));
+    var channelTwo = createTestChannel("stationOne.channelTwo", Location.from(1.0, 1.0, 0.0, 0.0));
+
+    // ARRIVAL_TIME is only predicted for channelOne before the ARRIVAL_TIME definition, so its failure stands
+    var channelOnePrediction = createArrivalTimePrediction(eventLocation, channelOne, PhaseType.P);
+    when(webRequests.fpsWebRequestPredictForLocationSolutionAndChannel(ArgumentMatchers.any()))
+      .thenAnswer(invocation -> {
+        var request = invocation.getArgument(0, PredictForLocationSolutionAndChannelRequest.class);
+        if (request.getPredictionTypes().contains(FeaturePredictionType.SLOWNESS_PREDICTION_TYPE)) {
+          return withFeaturePredictions(request.getSourceLocationSolution(),
+            FeaturePredictionContainer.of(channelOnePrediction));
+        }
+        throw new FeaturePredictionException("FeaturePredictionService failed with Client Error");
+      });
+
+    var responseEntity = eventManager.predictFeaturesForLocationSolution(PredictFeaturesForLocationSolutionRequest.from(
+      locationSolution,
+      List.of(channelOne, channelTwo),
+      List.of(PhaseType.P, PhaseType.S)
+    ));
+    assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+  }
+
   @Test
   void testPredictFeaturesForEventLocation_IncorrectInput() throws FeaturePredictionException {
     var eventLocation = EventLocation.from(0.0, 0.0, 0.0, Instant.EPOCH);
@@ -275,6 +370,39 @@ class EventManagerTest {
       .build();
   }
 
+  private LocationSolution withFeaturePredictions(LocationSolution locationSolution,
+    FeaturePredictionContainer featurePredictions) {
+    return locationSolution.toBuilder()
+      .setData(locationSolution.getData().orElseThrow().toBuilder()
+        .setFeaturePredictions(featurePredictions)
+        .build())
+      .build();
+  }
+
+  private FeaturePrediction<ArrivalTimeFeaturePredictionValue> createArrivalTimePrediction(EventLocation eventLocation,
+    Channel channel, PhaseType phaseType) {
+    return FeaturePrediction.<ArrivalTimeFeaturePredictionValue>builder()
+      .setPredictionValue(
+        ArrivalTimeFeaturePredictionValue.from(
+          FeatureMeasurementTypes.ARRIVAL_TIME,
+          ArrivalTimeMeasurementValue.from(
+            InstantValue.from(Instant.ofEpochSecond(1), Duration.ofHours(1)),
+            Optional.of(DurationValue.from(Duration.ofDays(1), Duration.ZERO))
+          ),
+          Map.of(),
+          Set.of()
+        )
+      )
+      .setPredictionType(FeaturePredictionType.ARRIVAL_TIME_PREDICTION_TYPE)
+      .setPhase(phaseType)
+      .setExtrapolated(false)
+      .setSourceLocation(eventLocation)
+      .setReceiverLocation(channel.getLocation())
+      .setChannel(Optional.of(channel))
+      .setPredictionChannelSegment(Optional.empty())
+      .build();
+  }
+
   // Creates a test Channel with the provided channelName at the provided Location
   private Channel createTestChannel(String channelName, Location channelLocation) {
     return UtilsTestFixtures.CHANNEL.toBuilder()
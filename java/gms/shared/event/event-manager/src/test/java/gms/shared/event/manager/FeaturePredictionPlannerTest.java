@@ -0,0 +1,155 @@
+package gms.shared.event.manager;
+
+import gms.shared.common.coi.types.PhaseType;
+import gms.shared.event.coi.EventLocation;
+import gms.shared.event.manager.config.EventManagerConfiguration;
+import gms.shared.event.manager.config.FeaturePredictionsDefinitions;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.channel.Location;
+import gms.shared.stationdefinition.testfixtures.UtilsTestFixtures;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FeaturePredictionPlannerTest {
+
+  private static final FeaturePredictionsDefinitions IASPEI_DEFINITIONS = FeaturePredictionsDefinitions.create(
+    "Iaspei", List.of(), List.of());
+  private static final FeaturePredictionsDefinitions AK135_DEFINITIONS = FeaturePredictionsDefinitions.create(
+    "Ak135", List.of(), List.of());
+
+  @Mock
+  private EventManagerConfiguration eventManagerConfiguration;
+
+  @Test
+  void testDefinitionsForChannelResolvedOncePerDistanceBucket() {
+    var channel = createTestChannel("channelOne", Location.from(0.0, 0.0, 0.0, 0.0));
+    when(eventManagerConfiguration.getPredictionDefinitions(eq(channel.getStation().getName()), eq("channelOne"),
+      eq(PhaseType.P), anyDouble())).thenReturn(List.of(IASPEI_DEFINITIONS));
+
+    var planner = new FeaturePredictionPlanner(eventManagerConfiguration, 1.0, 1);
+    assertEquals(List.of(IASPEI_DEFINITIONS), planner.definitionsForChannel(channel, PhaseType.P, 100.2));
+    assertEquals(List.of(IASPEI_DEFINITIONS), planner.definitionsForChannel(channel, PhaseType.P, 100.7));
+    assertEquals(List.of(IASPEI_DEFINITIONS), planner.definitionsForChannel(channel, PhaseType.P, 101.1));
+
+    verify(eventManagerConfiguration).getPredictionDefinitions(channel.getStation().getName(), "channelOne",
+      PhaseType.P, 100.2);
+    verify(eventManagerConfiguration).getPredictionDefinitions(channel.getStation().getName(), "channelOne",
+      PhaseType.P, 101.1);
+    verify(eventManagerConfiguration, times(2)).getPredictionDefinitions(eq(channel.getStation().getName()),
+      eq("channelOne"), eq(PhaseType.P), anyDouble());
+  }
+
+  @Test
+  void testDefinitionsForReceiverResolvedOncePerExactDistanceWithoutBuckets() {
+    when(eventManagerConfiguration.getPredictionDefinitions(eq(PhaseType.S), anyDouble(), eq(Optional.empty()),
+      eq(Optional.empty()))).thenReturn(List.of(AK135_DEFINITIONS));
+
+    var planner = new FeaturePredictionPlanner(eventManagerConfiguration, 0.0, 1);
+    planner.definitionsForReceiver(PhaseType.S, 100.2, Optional.empty(), Optional.empty());
+    planner.definitionsForReceiver(PhaseType.S, 100.2, Optional.empty(), Optional.empty());
+    planner.definitionsForReceiver(PhaseType.S, 100.7, Optional.empty(), Optional.empty());
+
+    verify(eventManagerConfiguration, times(2)).getPredictionDefinitions(eq(PhaseType.S), anyDouble(),
+      eq(Optional.empty()), eq(Optional.empty()));
+  }
+
+  @Test
+  void testPlanForChannelsGroupsByDefinitionInPlanOrder() {
+    var channelOne = createTestChannel("channelOne", Location.from(0.0, 0.0, 0.0, 0.0));
+    var channelTwo = createTestChannel("channelTwo", Location.from(10.0, 10.0, 0.0, 0.0));
+    when(eventManagerConfiguration.getPredictionDefinitions(eq(channelOne.getStation().getName()), eq("channelOne"),
+      eq(PhaseType.P), anyDouble())).thenReturn(List.of(AK135_DEFINITIONS, IASPEI_DEFINITIONS));
+    when(eventManagerConfiguration.getPredictionDefinitions(eq(channelTwo.getStation().getName()), eq("channelTwo"),
+      eq(PhaseType.P), anyDouble())).thenReturn(List.of(IASPEI_DEFINITIONS));
+    when(eventManagerConfiguration.getPredictionDefinitions(eq(channelOne.getStation().getName()), eq("channelOne"),
+      eq(PhaseType.S), anyDouble())).thenReturn(List.of(IASPEI_DEFINITIONS));
+    when(eventManagerConfiguration.getPredictionDefinitions(eq(channelTwo.getStation().getName()), eq("channelTwo"),
+      eq(PhaseType.S), anyDouble())).thenReturn(List.of(IASPEI_DEFINITIONS));
+
+    var plan = new FeaturePredictionPlanner(eventManagerConfiguration, 1.0, 1).planForChannels(
+      EventLocation.from(0.0, 0.0, 0.0, Instant.EPOCH),
+      List.of(channelOne, channelTwo),
+      List.of(PhaseType.P, PhaseType.S));
+
+    assertEquals(List.of(AK135_DEFINITIONS, IASPEI_DEFINITIONS), List.copyOf(plan.keySet()));
+    assertEquals(Pair.of(List.of(channelOne), List.of(PhaseType.P)), asLists(plan.get(AK135_DEFINITIONS)));
+    assertEquals(Pair.of(List.of(channelOne, channelTwo), List.of(PhaseType.P, PhaseType.S)),
+      asLists(plan.get(IASPEI_DEFINITIONS)));
+  }
+
+  @Test
+  void testSendAllReturnsResponsesInRequestOrder() throws FeaturePredictionException {
+    var requests = IntStream.range(0, 16).boxed().collect(Collectors.toList());
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+
+    var responses = new FeaturePredictionPlanner(eventManagerConfiguration, 1.0, 4).sendAll(requests, request -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      // later requests complete first
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2L * (requests.size() - request)));
+      inFlight.decrementAndGet();
+      return "response" + request;
+    });
+
+    assertEquals(requests.stream().map(request -> "response" + request).collect(Collectors.toList()), responses);
+    assertTrue(maxInFlight.get() <= 4, "At most 4 requests should be in flight, but " + maxInFlight.get() + " were");
+  }
+
+  @Test
+  void testSendAllThrowsFirstFailureInRequestOrder() {
+    var firstFailure = new FeaturePredictionException("request 2 failed");
+    var requests = IntStream.range(0, 8).boxed().collect(Collectors.toList());
+
+    var planner = new FeaturePredictionPlanner(eventManagerConfiguration, 1.0, 4);
+    var thrown = assertThrows(FeaturePredictionException.class, () -> planner.sendAll(requests, request -> {
+      if (request == 2) {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+        throw firstFailure;
+      }
+      if (request == 5) {
+        throw new FeaturePredictionException("request 5 failed");
+      }
+      return request;
+    }));
+    assertSame(firstFailure, thrown);
+  }
+
+  private static Pair<List<Channel>, List<PhaseType>> asLists(Pair<Set<Channel>, Set<PhaseType>> channelsAndPhases) {
+    return Pair.of(List.copyOf(channelsAndPhases.getLeft()), List.copyOf(channelsAndPhases.getRight()));
+  }
+
+  private static Channel createTestChannel(String channelName, Location channelLocation) {
+    return UtilsTestFixtures.CHANNEL.toBuilder()
+      .setName(channelName)
+      .setData(
+        UtilsTestFixtures.CHANNEL.getData().orElseThrow().toBuilder()
+          .setLocation(channelLocation)
+          .build()
+      )
+      .build();
+  }
+}
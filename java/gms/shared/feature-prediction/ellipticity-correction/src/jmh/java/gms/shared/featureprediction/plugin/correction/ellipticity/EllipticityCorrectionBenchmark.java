@@ -0,0 +1,134 @@
+package gms.shared.featureprediction.plugin.correction.ellipticity;
+
+import com.google.common.primitives.ImmutableDoubleArray;
+import gms.shared.featureprediction.utilities.math.EarthModelUtility;
+import gms.shared.featureprediction.utilities.math.GeoMath;
+import org.apache.commons.lang3.tuple.Triple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks ellipticity corrections for one event and many receivers, converting the boxed tau tables
+ * for every correction (as {@link DziewonskiGilbertEllipticityCorrector} used to) against a
+ * {@link DziewonskiGilbertEllipticityInterpolator} built once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EllipticityCorrectionBenchmark {
+
+  private static final double[] DEPTHS_KM = {0, 100, 200, 300, 500, 700};
+  private static final double SOURCE_LATITUDE = 35.0;
+  private static final double SOURCE_LONGITUDE = 140.0;
+  private static final double SOURCE_DEPTH_KM = 50.0;
+
+  @Param({"1", "100", "1000"})
+  private int receiverCount;
+
+  private ImmutableDoubleArray distances;
+  private ImmutableDoubleArray depths;
+  private Triple<List<List<Double>>, List<List<Double>>, List<List<Double>>> tauTables;
+  private DziewonskiGilbertEllipticityInterpolator interpolator;
+
+  private double[] sourceLatitudes;
+  private double[] sourceLongitudes;
+  private double[] sourceDepths;
+  private double[] receiverLatitudes;
+  private double[] receiverLongitudes;
+
+  @Setup
+  public void setUp() {
+    var random = new Random(receiverCount);
+
+    var distanceBuilder = ImmutableDoubleArray.builder();
+    for (var distance = 0; distance <= 180; distance += 5) {
+      distanceBuilder.add(distance);
+    }
+    distances = distanceBuilder.build();
+    depths = ImmutableDoubleArray.copyOf(DEPTHS_KM);
+    tauTables = Triple.of(randomTable(random), randomTable(random), randomTable(random));
+    interpolator = DziewonskiGilbertEllipticityInterpolator.from(distances, depths, tauTables);
+
+    sourceLatitudes = new double[receiverCount];
+    sourceLongitudes = new double[receiverCount];
+    sourceDepths = new double[receiverCount];
+    receiverLatitudes = new double[receiverCount];
+    receiverLongitudes = new double[receiverCount];
+    for (var i = 0; i < receiverCount; i++) {
+      sourceLatitudes[i] = SOURCE_LATITUDE;
+      sourceLongitudes[i] = SOURCE_LONGITUDE;
+      sourceDepths[i] = SOURCE_DEPTH_KM;
+      receiverLatitudes[i] = random.nextDouble() * 160 - 80;
+      receiverLongitudes[i] = random.nextDouble() * 360 - 180;
+    }
+  }
+
+  @Benchmark
+  public double[] convertTablesPerCorrection() {
+    var corrections = new double[receiverCount];
+    for (var i = 0; i < receiverCount; i++) {
+      var finalI = i;
+      var taus = List.of(tauTables.getLeft(), tauTables.getMiddle(), tauTables.getRight()).stream()
+        .map(tauTable -> tauTable.stream().map(row -> row.stream().mapToDouble(Double::valueOf).toArray())
+          .toArray(double[][]::new))
+        .mapToDouble(table -> new EarthModelUtility(distances.toArray(), depths.toArray(), table, true)
+          .interpolateEarthModel(distanceTo(finalI), SOURCE_DEPTH_KM)[0])
+        .toArray();
+      corrections[i] = taus[0] + taus[1] + taus[2];
+    }
+    return corrections;
+  }
+
+  @Benchmark
+  public double[] precomputedInterpolator() {
+    var corrections = new double[receiverCount];
+    for (var i = 0; i < receiverCount; i++) {
+      corrections[i] = interpolator.correct(SOURCE_LATITUDE, SOURCE_LONGITUDE, SOURCE_DEPTH_KM,
+        receiverLatitudes[i], receiverLongitudes[i]);
+    }
+    return corrections;
+  }
+
+  @Benchmark
+  public double[] precomputedInterpolatorBatch() {
+    return interpolator.correct(sourceLatitudes, sourceLongitudes, sourceDepths, receiverLatitudes,
+      receiverLongitudes);
+  }
+
+  private double distanceTo(int receiver) {
+    return GeoMath.greatCircleAngularSeparation(
+      receiverLatitudes[receiver], receiverLongitudes[receiver], SOURCE_LATITUDE, SOURCE_LONGITUDE);
+  }
+
+  /**
+   * Creates a table with a row of values at each depth for every distance.
+   */
+  private List<List<Double>> randomTable(Random random) {
+    List<List<Double>> table = new ArrayList<>(distances.length());
+    for (var distance = 0; distance < distances.length(); distance++) {
+      List<Double> row = new ArrayList<>(DEPTHS_KM.length);
+      for (var depth = 0; depth < DEPTHS_KM.length; depth++) {
+        row.add(random.nextDouble() - 0.5);
+      }
+      table.add(row);
+    }
+    return table;
+  }
+}
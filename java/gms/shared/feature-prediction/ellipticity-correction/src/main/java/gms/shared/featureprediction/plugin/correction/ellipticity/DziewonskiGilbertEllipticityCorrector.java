@@ -1,12 +1,11 @@
 package gms.shared.featureprediction.plugin.correction.ellipticity;
 
+import com.google.common.base.Preconditions;
 import gms.shared.event.coi.EventLocation;
 import gms.shared.event.coi.featureprediction.FeaturePredictionComponent;
 import gms.shared.event.coi.featureprediction.FeaturePredictionComponentType;
 import gms.shared.featureprediction.plugin.api.correction.ellipticity.EllipticityCorrectorPlugin;
 import gms.shared.featureprediction.plugin.api.lookuptable.DziewonskiGilbertEllipticityCorrectionLookupTablePlugin;
-import gms.shared.featureprediction.utilities.math.EarthModelUtility;
-import gms.shared.featureprediction.utilities.math.GeoMath;
 import gms.shared.plugin.PluginRegistry;
 import gms.shared.common.coi.types.PhaseType;
 import gms.shared.signaldetection.coi.values.DurationValue;
@@ -16,9 +15,14 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Generate correction to travel time using Gziewonsiki Gilber model.
@@ -31,6 +35,9 @@ public class DziewonskiGilbertEllipticityCorrector implements EllipticityCorrect
 
   private PluginRegistry registry;
 
+  private volatile Map<String, Map<PhaseType, DziewonskiGilbertEllipticityInterpolator>> interpolatorsByModel =
+    Map.of();
+
   @Autowired
   @Lazy
   public void setPluginRegistry(PluginRegistry registry) {
@@ -49,103 +56,131 @@ public class DziewonskiGilbertEllipticityCorrector implements EllipticityCorrect
   public Optional<FeaturePredictionComponent<DurationValue>> correct(String earthModel, EventLocation sourceLocation,
     Location receiverLocation, PhaseType phaseType) {
 
+    return findInterpolator(earthModel, phaseType)
+      .map(interpolator -> interpolator.correct(
+        sourceLocation.getLatitudeDegrees(),
+        sourceLocation.getLongitudeDegrees(),
+        sourceLocation.getDepthKm(),
+        receiverLocation.getLatitudeDegrees(),
+        receiverLocation.getLongitudeDegrees()
+      )).map(DziewonskiGilbertEllipticityCorrector::toFeaturePredictionComponent);
+  }
+
+  /**
+   * Calculate corrections for pairs of sources and receivers, looking up the model and phase once
+   * @param earthModel earth model to use
+   * @param sourceLocations locations of sources
+   * @param receiverLocations locations of receivers, paired with the source at the same index
+   * @param phaseType phase to calculate for
+   * @return FeaturePredictionComponent containing the correction for each pair, or empty if corrections could not be
+   * made
+   * @throws IllegalArgumentException if there are not as many receivers as sources
+   */
+  @Override
+  public List<Optional<FeaturePredictionComponent<DurationValue>>> correctAll(String earthModel,
+    EventLocation[] sourceLocations, Location[] receiverLocations, PhaseType phaseType) {
+
+    Preconditions.checkArgument(sourceLocations.length == receiverLocations.length,
+      "Must have as many receiver locations as source locations");
+
+    var interpolator = findInterpolator(earthModel, phaseType);
+    if (interpolator.isEmpty()) {
+      return Collections.nCopies(sourceLocations.length, Optional.empty());
+    }
+
+    var count = sourceLocations.length;
+    var sourceLatitudes = new double[count];
+    var sourceLongitudes = new double[count];
+    var sourceDepths = new double[count];
+    var receiverLatitudes = new double[count];
+    var receiverLongitudes = new double[count];
+    for (var i = 0; i < count; i++) {
+      sourceLatitudes[i] = sourceLocations[i].getLatitudeDegrees();
+      sourceLongitudes[i] = sourceLocations[i].getLongitudeDegrees();
+      sourceDepths[i] = sourceLocations[i].getDepthKm();
+      receiverLatitudes[i] = receiverLocations[i].getLatitudeDegrees();
+      receiverLongitudes[i] = receiverLocations[i].getLongitudeDegrees();
+    }
+
+    return Arrays.stream(interpolator.get()
+        .correct(sourceLatitudes, sourceLongitudes, sourceDepths, receiverLatitudes, receiverLongitudes))
+      .mapToObj(DziewonskiGilbertEllipticityCorrector::toFeaturePredictionComponent)
+      .map(Optional::of)
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public void initialize() {
+    var pluginNameByModelName = this.configuration.getCurrentDziewonskiGilbertEllipticityCorrectorDefinition()
+      .getCorrectionModelPluginNameByModelNameMap();
+
+    Map<String, Optional<DziewonskiGilbertEllipticityCorrectionLookupTablePlugin>> pluginsByName = new HashMap<>();
+    pluginNameByModelName.values()
+      .stream().distinct()
+      .forEach(pluginName -> {
+        var plugin = registry.getPlugin(pluginName, DziewonskiGilbertEllipticityCorrectionLookupTablePlugin.class);
+        plugin.ifPresent(DziewonskiGilbertEllipticityCorrectionLookupTablePlugin::initialize);
+        pluginsByName.put(pluginName, plugin);
+      });
+
+    //
+    // Convert the tables of every model and phase once, rather than on every correction
+    //
+    Map<String, Map<PhaseType, DziewonskiGilbertEllipticityInterpolator>> interpolators = new HashMap<>();
+    pluginNameByModelName.forEach((earthModel, pluginName) -> pluginsByName.get(pluginName)
+      .ifPresent(plugin -> interpolators.put(earthModel, createInterpolators(plugin))));
+
+    this.interpolatorsByModel = Map.copyOf(interpolators);
+  }
+
+  /**
+   * Finds the interpolator for a model and phase, creating it from the model's lookup table plugin if
+   * {@link #initialize()} has not created it.
+   */
+  private Optional<DziewonskiGilbertEllipticityInterpolator> findInterpolator(String earthModel, PhaseType phaseType) {
+    var phaseInterpolators = interpolatorsByModel.get(earthModel);
+    if (phaseInterpolators != null) {
+      return Optional.ofNullable(phaseInterpolators.get(phaseType));
+    }
+
     var pluginName = configuration.getCurrentDziewonskiGilbertEllipticityCorrectorDefinition()
       .getCorrectionModelPluginNameByModelNameMap().get(earthModel);
 
-    var tablePlugin = registry.getPlugin(pluginName, DziewonskiGilbertEllipticityCorrectionLookupTablePlugin.class);
-
-    return tablePlugin
+    return registry.getPlugin(pluginName, DziewonskiGilbertEllipticityCorrectionLookupTablePlugin.class)
       //
       // If our plugin doesnt support supplied phase, do nothing and return Optional.empty
       //
       .filter(plugin -> plugin.getAvailablePhaseTypes().contains(phaseType))
-      //
-      // Do the calculation
-      //
-      .map(plugin -> {
-        var distances = plugin.getDistancesDegForData(phaseType);
-        var depths = plugin.getDepthsKmForData(phaseType);
-        var tauTableTriple = plugin.getValues(phaseType);
-
-        double distance = GeoMath.greatCircleAngularSeparation(
-          receiverLocation.getLatitudeDegrees(),
-          receiverLocation.getLongitudeDegrees(),
-          sourceLocation.getLatitudeDegrees(),
-          sourceLocation.getLongitudeDegrees()
-        );
-
-        return Stream.of(
-            tauTableTriple.getLeft(),
-            tauTableTriple.getMiddle(),
-            tauTableTriple.getRight()
-          ).map(tauTable -> tauTable.stream().map(subList ->
-            subList.stream().mapToDouble(Double::valueOf).toArray()).toArray(double[][]::new))
-          .map(array -> {
-            var earthModelUtility = new EarthModelUtility(
-              distances.toArray(), depths.toArray(), array, true);
-
-            return earthModelUtility.interpolateEarthModel(distance, sourceLocation.getDepthKm())[0];
-
-          }).collect(Collectors.toList());
-      }).map(tauInterpolations -> {
-
-        double colatitude = GeoMath.toColatitudeDeg(GeoMath.normalizeLatitude(sourceLocation.getLatitudeDegrees()));
-
-        double azimuth = GeoMath.azimuth(
-          sourceLocation.getLatitudeDegrees(),
-          sourceLocation.getLongitudeDegrees(),
-          receiverLocation.getLatitudeDegrees(),
-          receiverLocation.getLongitudeDegrees()
-        );
-
-        return travelTimeEllipticityCorrection(
-          colatitude,
-          azimuth,
-          tauInterpolations.get(0),
-          tauInterpolations.get(1),
-          tauInterpolations.get(2)
-        );
-      }).map(correction -> FeaturePredictionComponent.from(
-        DurationValue.from(
-          Duration.ofNanos((long) (correction * 1_000_000_000)),
-          Duration.ZERO
-        ),
-        true,
-        FeaturePredictionComponentType.ELLIPTICITY_CORRECTION
-      ));
+      .map(plugin -> createInterpolator(plugin, phaseType));
   }
 
-  @Override
-  public void initialize() {
-    this.configuration.getCurrentDziewonskiGilbertEllipticityCorrectorDefinition()
-      .getCorrectionModelPluginNameByModelNameMap().values()
-      .stream().distinct()
-      .forEach(pluginName -> registry.getPlugin(pluginName,DziewonskiGilbertEllipticityCorrectionLookupTablePlugin.class)
-        .ifPresent(DziewonskiGilbertEllipticityCorrectionLookupTablePlugin::initialize));
+  private static Map<PhaseType, DziewonskiGilbertEllipticityInterpolator> createInterpolators(
+    DziewonskiGilbertEllipticityCorrectionLookupTablePlugin plugin) {
+
+    Map<PhaseType, DziewonskiGilbertEllipticityInterpolator> interpolators = new EnumMap<>(PhaseType.class);
+    plugin.getAvailablePhaseTypes()
+      .forEach(phaseType -> interpolators.put(phaseType, createInterpolator(plugin, phaseType)));
+    return Collections.unmodifiableMap(interpolators);
   }
 
-  /**
-   * Calculate travel time correction given tau values, colatitude and azimuth
-   *
-   * @param colatitudeDegrees colatitude in degrees
-   * @param azimuthDegrees azimuth in degrees
-   * @param tau0 first value in correction table
-   * @param tau1 second value in correction table
-   * @param tau2 third value in correction table
-   * @return value to add to predicted travel time
-   */
-  private static double travelTimeEllipticityCorrection(double colatitudeDegrees,
-    double azimuthDegrees, double tau0,
-    double tau1, double tau2) {
-    double colatitudeRadians = Math.toRadians(colatitudeDegrees);
-    double azimuthRadians = Math.toRadians(azimuthDegrees);
-
-    double sqrt3over2 = Math.sqrt(0.75);
-    double sinColat = Math.sin(colatitudeRadians);
-
-    return 0.25 * (1.0 + 3.0 * Math.cos(2.0 * colatitudeRadians)) * tau0
-      + sqrt3over2 * Math.sin(2.0 * colatitudeRadians) * Math.cos(azimuthRadians) * tau1
-      + sqrt3over2 * sinColat * sinColat * Math.cos(2.0 * azimuthRadians) * tau2;
+  private static DziewonskiGilbertEllipticityInterpolator createInterpolator(
+    DziewonskiGilbertEllipticityCorrectionLookupTablePlugin plugin, PhaseType phaseType) {
+
+    return DziewonskiGilbertEllipticityInterpolator.from(
+      plugin.getDistancesDegForData(phaseType),
+      plugin.getDepthsKmForData(phaseType),
+      plugin.getValues(phaseType));
+  }
+
+  private static FeaturePredictionComponent<DurationValue> toFeaturePredictionComponent(double correction) {
+    return FeaturePredictionComponent.from(
+      DurationValue.from(
+        Duration.ofNanos((long) (correction * 1_000_000_000)),
+        Duration.ZERO
+      ),
+      true,
+      FeaturePredictionComponentType.ELLIPTICITY_CORRECTION
+    );
   }
 
 }
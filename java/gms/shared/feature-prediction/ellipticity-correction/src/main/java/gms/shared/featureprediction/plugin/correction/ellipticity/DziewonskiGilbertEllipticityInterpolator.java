@@ -0,0 +1,128 @@
+package gms.shared.featureprediction.plugin.correction.ellipticity;
+
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.ImmutableDoubleArray;
+import gms.shared.featureprediction.utilities.math.EarthModelUtility;
+import gms.shared.featureprediction.utilities.math.GeoMath;
+import org.apache.commons.lang3.tuple.Triple;
+
+import java.util.List;
+
+/**
+ * Dziewonski-Gilbert ellipticity correction for one earth model and phase, with the three tau tables
+ * converted to primitive arrays once rather than on every correction.
+ * <p>
+ * Instances are immutable and thread safe. {@link EarthModelUtility} keeps the state of the interpolation it is
+ * doing, so a correction creates one per tau table over the shared arrays.
+ */
+public final class DziewonskiGilbertEllipticityInterpolator {
+
+  private static final double SQRT_3_OVER_2 = Math.sqrt(0.75);
+
+  private final double[] distancesDeg;
+  private final double[] depthsKm;
+  private final double[][] tau0;
+  private final double[][] tau1;
+  private final double[][] tau2;
+
+  private DziewonskiGilbertEllipticityInterpolator(double[] distancesDeg, double[] depthsKm,
+    double[][] tau0, double[][] tau1, double[][] tau2) {
+    this.distancesDeg = distancesDeg;
+    this.depthsKm = depthsKm;
+    this.tau0 = tau0;
+    this.tau1 = tau1;
+    this.tau2 = tau2;
+  }
+
+  /**
+   * Creates an interpolator from the data of a
+   * {@link gms.shared.featureprediction.plugin.api.lookuptable.DziewonskiGilbertEllipticityCorrectionLookupTablePlugin}
+   * for one phase.
+   *
+   * @param distancesDeg the distances of the tau tables, in degrees
+   * @param depthsKm the depths of the tau tables, in kilometers
+   * @param tauTables the tau0, tau1 and tau2 tables
+   * @return the interpolator
+   */
+  public static DziewonskiGilbertEllipticityInterpolator from(ImmutableDoubleArray distancesDeg,
+    ImmutableDoubleArray depthsKm, Triple<List<List<Double>>, List<List<Double>>, List<List<Double>>> tauTables) {
+
+    return new DziewonskiGilbertEllipticityInterpolator(
+      distancesDeg.toArray(),
+      depthsKm.toArray(),
+      toArray(tauTables.getLeft()),
+      toArray(tauTables.getMiddle()),
+      toArray(tauTables.getRight()));
+  }
+
+  /**
+   * Calculates the travel time ellipticity correction for a source and receiver.
+   *
+   * @param sourceLatitudeDeg latitude of the source, in degrees
+   * @param sourceLongitudeDeg longitude of the source, in degrees
+   * @param sourceDepthKm depth of the source, in kilometers
+   * @param receiverLatitudeDeg latitude of the receiver, in degrees
+   * @param receiverLongitudeDeg longitude of the receiver, in degrees
+   * @return value to add to the predicted travel time, in seconds
+   */
+  public double correct(double sourceLatitudeDeg, double sourceLongitudeDeg, double sourceDepthKm,
+    double receiverLatitudeDeg, double receiverLongitudeDeg) {
+
+    double distance = GeoMath.greatCircleAngularSeparation(
+      receiverLatitudeDeg, receiverLongitudeDeg, sourceLatitudeDeg, sourceLongitudeDeg);
+
+    double colatitudeRadians = Math.toRadians(
+      GeoMath.toColatitudeDeg(GeoMath.normalizeLatitude(sourceLatitudeDeg)));
+    double azimuthRadians = Math.toRadians(GeoMath.azimuth(
+      sourceLatitudeDeg, sourceLongitudeDeg, receiverLatitudeDeg, receiverLongitudeDeg));
+
+    double sinColat = Math.sin(colatitudeRadians);
+
+    return 0.25 * (1.0 + 3.0 * Math.cos(2.0 * colatitudeRadians)) * interpolate(tau0, distance, sourceDepthKm)
+      + SQRT_3_OVER_2 * Math.sin(2.0 * colatitudeRadians) * Math.cos(azimuthRadians)
+      * interpolate(tau1, distance, sourceDepthKm)
+      + SQRT_3_OVER_2 * sinColat * sinColat * Math.cos(2.0 * azimuthRadians)
+      * interpolate(tau2, distance, sourceDepthKm);
+  }
+
+  /**
+   * Calculates the travel time ellipticity corrections for pairs of sources and receivers, where the source at
+   * each index is paired with the receiver at the same index.
+   *
+   * @param sourceLatitudesDeg latitudes of the sources, in degrees
+   * @param sourceLongitudesDeg longitudes of the sources, in degrees
+   * @param sourceDepthsKm depths of the sources, in kilometers
+   * @param receiverLatitudesDeg latitudes of the receivers, in degrees
+   * @param receiverLongitudesDeg longitudes of the receivers, in degrees
+   * @return the correction for each pair, in seconds
+   * @throws IllegalArgumentException if the arrays are not all the same length
+   */
+  public double[] correct(double[] sourceLatitudesDeg, double[] sourceLongitudesDeg, double[] sourceDepthsKm,
+    double[] receiverLatitudesDeg, double[] receiverLongitudesDeg) {
+
+    var count = sourceLatitudesDeg.length;
+    Preconditions.checkArgument(sourceLongitudesDeg.length == count && sourceDepthsKm.length == count
+        && receiverLatitudesDeg.length == count && receiverLongitudesDeg.length == count,
+      "Source and receiver coordinate arrays must all have the same length");
+
+    var corrections = new double[count];
+    for (var i = 0; i < count; i++) {
+      corrections[i] = correct(sourceLatitudesDeg[i], sourceLongitudesDeg[i], sourceDepthsKm[i],
+        receiverLatitudesDeg[i], receiverLongitudesDeg[i]);
+    }
+    return corrections;
+  }
+
+  private double interpolate(double[][] tauTable, double distance, double depthKm) {
+    return new EarthModelUtility(distancesDeg, depthsKm, tauTable, true)
+      .interpolateEarthModel(distance, depthKm)[0];
+  }
+
+  private static double[][] toArray(List<List<Double>> table) {
+    var array = new double[table.size()][];
+    for (var i = 0; i < array.length; i++) {
+      array[i] = table.get(i).stream().mapToDouble(Double::doubleValue).toArray();
+    }
+    return array;
+  }
+}
@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -193,6 +194,99 @@ class DziewonskiGilbertEllipticityCorrectorTest {
     verify(mockLookupTable).initialize();
 
   }
+  @Test
+  void testInitializePrecomputesInterpolators() {
+    stubLinearTable();
+    when(pluginRegistry.getPlugin("MyBeautifulPlugin", DziewonskiGilbertEllipticityCorrectionLookupTablePlugin.class))
+      .thenReturn(Optional.of(mockLookupTable));
+
+    dziewonskiGilbertEllipticityCorrector.initialize();
+
+    var sourceLocation = EventLocation.from(10, 10, 3, Instant.EPOCH);
+    var receiverLocation = Location.from(13, 10, 3, 3);
+    for (var i = 0; i < 3; i++) {
+      var result = dziewonskiGilbertEllipticityCorrector.correct(
+        "MyAmazinglyAccurateEarthModel", sourceLocation, receiverLocation, PhaseType.P);
+      Assertions.assertTrue(result.isPresent());
+      Assertions.assertEquals(expectedCorrection(sourceLocation, receiverLocation, 3),
+        (double) result.get().getValue().getValue().toNanos() / 1_000_000_000, 10e-9);
+    }
+
+    Assertions.assertTrue(dziewonskiGilbertEllipticityCorrector.correct(
+      "MyAmazinglyAccurateEarthModel", sourceLocation, receiverLocation, PhaseType.Lg).isEmpty());
+
+    // the tables are read when initializing, not when correcting
+    verify(pluginRegistry, times(1))
+      .getPlugin("MyBeautifulPlugin", DziewonskiGilbertEllipticityCorrectionLookupTablePlugin.class);
+    verify(mockLookupTable, times(1)).getValues(PhaseType.P);
+  }
+
+  @Test
+  void testCorrectBatch() {
+    stubLinearTable();
+    when(pluginRegistry.getPlugin("MyBeautifulPlugin", DziewonskiGilbertEllipticityCorrectionLookupTablePlugin.class))
+      .thenReturn(Optional.of(mockLookupTable));
+
+    dziewonskiGilbertEllipticityCorrector.initialize();
+
+    // distances of 2, 3 and 4 degrees at depths of 2, 3 and 4 km
+    EventLocation[] sourceLocations = {
+      EventLocation.from(10, 10, 2, Instant.EPOCH),
+      EventLocation.from(10, 10, 3, Instant.EPOCH),
+      EventLocation.from(-20, 40, 4, Instant.EPOCH)
+    };
+    Location[] receiverLocations = {
+      Location.from(12, 10, 3, 3),
+      Location.from(13, 10, 3, 3),
+      Location.from(-24, 40, 0, 0)
+    };
+
+    var results = dziewonskiGilbertEllipticityCorrector.correctAll(
+      "MyAmazinglyAccurateEarthModel", sourceLocations, receiverLocations, PhaseType.P);
+
+    Assertions.assertEquals(3, results.size());
+    for (var i = 0; i < results.size(); i++) {
+      var single = dziewonskiGilbertEllipticityCorrector.correct(
+        "MyAmazinglyAccurateEarthModel", sourceLocations[i], receiverLocations[i], PhaseType.P);
+      Assertions.assertEquals(single, results.get(i));
+    }
+    Assertions.assertEquals(expectedCorrection(sourceLocations[1], receiverLocations[1], 3),
+      (double) results.get(1).orElseThrow().getValue().getValue().toNanos() / 1_000_000_000, 10e-9);
+
+    Assertions.assertEquals(List.of(Optional.empty(), Optional.empty(), Optional.empty()),
+      dziewonskiGilbertEllipticityCorrector.correctAll(
+        "MyAmazinglyAccurateEarthModel", sourceLocations, receiverLocations, PhaseType.Lg));
+
+    var mismatchedReceivers = new Location[]{receiverLocations[0]};
+    Assertions.assertThrows(IllegalArgumentException.class, () -> dziewonskiGilbertEllipticityCorrector.correctAll(
+      "MyAmazinglyAccurateEarthModel", sourceLocations, mismatchedReceivers, PhaseType.P));
+  }
+
+  /**
+   * Stubs a table for P that returns (n, n, n) when the distance is n and the depth is n.
+   */
+  private void stubLinearTable() {
+    var row = List.of(1.0, 2.0, 3.0, 4.0, 5.0, 6.0);
+    var table = List.of(row, row, row, row, row, row);
+    when(mockLookupTable.getDepthsKmForData(PhaseType.P)).thenReturn(ImmutableDoubleArray.of(1, 2, 3, 4, 5, 6));
+    when(mockLookupTable.getDistancesDegForData(PhaseType.P)).thenReturn(ImmutableDoubleArray.of(1, 2, 3, 4, 5, 6));
+    when(mockLookupTable.getValues(PhaseType.P)).thenReturn(Triple.of(table, table, table));
+    when(mockLookupTable.getAvailablePhaseTypes()).thenReturn(Set.of(PhaseType.P));
+  }
+
+  private static double expectedCorrection(EventLocation sourceLocation, Location receiverLocation, double tau) {
+    double colatitude = GeoMath.toColatitudeDeg(GeoMath.normalizeLatitude(sourceLocation.getLatitudeDegrees()));
+
+    double azimuth = GeoMath.azimuth(
+      sourceLocation.getLatitudeDegrees(),
+      sourceLocation.getLongitudeDegrees(),
+      receiverLocation.getLatitudeDegrees(),
+      receiverLocation.getLongitudeDegrees()
+    );
+
+    return travelTimeEllipticityCorrection(colatitude, azimuth, tau, tau, tau);
+  }
+
   // Copying this intentionally. The output should match what the one in DziewonskiGilbertEllipticityCorrector.
   private static double travelTimeEllipticityCorrection(double colatitudeDegrees,
     double azimuthDegrees, double tau0,
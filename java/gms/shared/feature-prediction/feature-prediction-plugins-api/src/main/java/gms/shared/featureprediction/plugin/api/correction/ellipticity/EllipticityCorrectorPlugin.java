@@ -7,6 +7,8 @@ import gms.shared.common.coi.types.PhaseType;
 import gms.shared.signaldetection.coi.values.DurationValue;
 import gms.shared.stationdefinition.coi.channel.Location;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public interface EllipticityCorrectorPlugin extends Plugin {
@@ -18,5 +20,34 @@ public interface EllipticityCorrectorPlugin extends Plugin {
     PhaseType phaseType
   );
 
+  /**
+   * Calculates corrections for pairs of sources and receivers, where the source at each index is paired
+   * with the receiver at the same index. Implementations that can look up their tables once for the
+   * whole batch should override this.
+   *
+   * @param earthModel earth model to use
+   * @param sourceLocations locations of sources
+   * @param receiverLocations locations of receivers
+   * @param phaseType phase to calculate for
+   * @return the correction for each pair, or empty where a correction could not be made
+   * @throws IllegalArgumentException if there are not as many receivers as sources
+   */
+  default List<Optional<FeaturePredictionComponent<DurationValue>>> correctAll(
+    String earthModel,
+    EventLocation[] sourceLocations,
+    Location[] receiverLocations,
+    PhaseType phaseType
+  ) {
+    if (sourceLocations.length != receiverLocations.length) {
+      throw new IllegalArgumentException("Must have as many receiver locations as source locations");
+    }
+
+    List<Optional<FeaturePredictionComponent<DurationValue>>> corrections = new ArrayList<>(sourceLocations.length);
+    for (var i = 0; i < sourceLocations.length; i++) {
+      corrections.add(correct(earthModel, sourceLocations[i], receiverLocations[i], phaseType));
+    }
+    return corrections;
+  }
+
 }
 
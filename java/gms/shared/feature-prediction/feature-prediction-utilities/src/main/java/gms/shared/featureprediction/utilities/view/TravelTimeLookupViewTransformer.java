@@ -1,6 +1,5 @@
 package gms.shared.featureprediction.utilities.view;
 
-import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gms.shared.utilities.filestore.FileTransformer;
 import gms.shared.utilities.javautilities.objectmapper.ObjectMapperFactory;
@@ -16,14 +15,9 @@ public class TravelTimeLookupViewTransformer implements FileTransformer<TravelTi
 
   private static final ObjectMapper JSON_OBJECT_MAPPER = ObjectMapperFactory.getJsonObjectMapper();
 
-  @JsonUnwrapped
-  TravelTimeLookupView decodedTable = null;
-
   @Override
   public TravelTimeLookupView transform(InputStream rawDataStream) throws IOException {
 
-    decodedTable = JSON_OBJECT_MAPPER.readValue(rawDataStream, TravelTimeLookupView.class);
-
-    return decodedTable;
+    return JSON_OBJECT_MAPPER.readValue(rawDataStream, TravelTimeLookupView.class);
   }
 }
@@ -0,0 +1,137 @@
+package gms.shared.fk.control;
+
+import com.google.common.collect.Range;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.utils.CoiObjectMapperFactory;
+import gms.shared.waveform.api.util.ChannelTimeRangeRequest;
+import gms.shared.waveform.coi.ChannelSegment;
+import gms.shared.waveform.coi.Waveform;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static gms.shared.fk.control.FkControl.CHANNEL_SEGMENT_FACETING_DEFINITION;
+import static gms.shared.stationdefinition.testfixtures.UtilsTestFixtures.CHANNEL;
+
+/**
+ * Replays an analyst's FK session on one arrival against a local stand-in waveform service: the FK is recomputed
+ * with each combination of window lead, window length and start time, and again for a second frequency band, as
+ * {@link FkControl#handleRequest} would retrieve waveforms for it.
+ * <p>
+ * {@code direct} retrieves the whole range for every FK, as FkControl did before the cache; {@code cached} replays
+ * the session through a new {@link WaveformCache}. Besides the time per session, each benchmark reports the
+ * requests made to and samples sent by the service per session.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FkSessionBenchmark {
+
+  private static final Instant ARRIVAL = Instant.parse("2010-05-20T12:00:00Z");
+  private static final Duration SPECTRA_SPAN = Duration.ofSeconds(30);
+  private static final List<Duration> LEADS = List.of(Duration.ofSeconds(1), Duration.ofSeconds(2));
+  private static final List<Duration> LENGTHS = List.of(Duration.ofSeconds(4), Duration.ofSeconds(6));
+  private static final List<Duration> START_OFFSETS = List.of(Duration.ofSeconds(-10), Duration.ofSeconds(-5));
+  private static final int FREQUENCY_BANDS = 2;
+
+  @Param({"direct", "cached"})
+  String retrieval;
+
+  @Param({"10", "25"})
+  int channelCount;
+
+  private StandInWaveformService service;
+  private WebRequests webRequests;
+  private Set<Channel> channels;
+  private List<Range<Instant>> session;
+
+  /**
+   * Requests made to, and samples sent by, the stand-in service.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class ServiceLoad {
+
+    public long serviceRequests;
+    public long serviceSamples;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    List<Channel> populatedChannels = IntStream.rangeClosed(1, channelCount)
+      .mapToObj(i -> CHANNEL.toBuilder().setName(String.format("ASAR.AS%02d.SHZ", i)).build())
+      .collect(Collectors.toList());
+    service = new StandInWaveformService(populatedChannels);
+    webRequests = WebRequests.create(service.getUrl(), service.getUrl(), CoiObjectMapperFactory.getJsonObjectMapper());
+    channels = populatedChannels.stream().map(Channel::createVersionReference).collect(Collectors.toSet());
+
+    session = new ArrayList<>();
+    for (var band = 0; band < FREQUENCY_BANDS; band++) {
+      for (Duration startOffset : START_OFFSETS) {
+        for (Duration lead : LEADS) {
+          for (Duration length : LENGTHS) {
+            // the range FkControl requests for an FK over SPECTRA_SPAN
+            var start = ARRIVAL.plus(startOffset);
+            session.add(Range.closed(start.minus(lead), start.plus(SPECTRA_SPAN).plus(length.minus(lead))));
+          }
+        }
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    service.close();
+  }
+
+  @Benchmark
+  public long replaySession(ServiceLoad load) throws IOException {
+    long requestsBefore = service.getRequests();
+    long samplesBefore = service.getSamplesServed();
+
+    var waveformCache = WaveformCache.create(webRequests, CHANNEL_SEGMENT_FACETING_DEFINITION);
+    long samples = 0;
+    for (Range<Instant> range : session) {
+      List<ChannelSegment<Waveform>> channelSegments = "cached".equals(retrieval)
+        ? waveformCache.channelSegments(channels, range)
+        : webRequests.waveformRequest(ChannelTimeRangeRequest.builder()
+          .setChannels(channels)
+          .setStartTime(range.lowerEndpoint())
+          .setEndTime(range.upperEndpoint())
+          .setFacetingDefinition(Optional.of(CHANNEL_SEGMENT_FACETING_DEFINITION))
+          .build());
+      samples += channelSegments.stream()
+        .flatMap(channelSegment -> channelSegment.getTimeseries().stream())
+        .mapToLong(Waveform::getSampleCount)
+        .sum();
+    }
+
+    load.serviceRequests += service.getRequests() - requestsBefore;
+    load.serviceSamples += service.getSamplesServed() - samplesBefore;
+    return samples;
+  }
+}
@@ -0,0 +1,107 @@
+package gms.shared.fk.control;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.utils.CoiObjectMapperFactory;
+import gms.shared.stationdefinition.coi.utils.Units;
+import gms.shared.waveform.api.util.ChannelTimeRangeRequest;
+import gms.shared.waveform.coi.ChannelSegment;
+import gms.shared.waveform.coi.Waveform;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+/**
+ * Local stand-in for the waveform manager's channel time range query. Answers each requested channel with one
+ * waveform at a fixed sample rate covering the requested range, in JSON or msgpack as the request accepts.
+ */
+final class StandInWaveformService implements AutoCloseable {
+
+  static final double SAMPLE_RATE = 40.0;
+
+  private static final Instant EPOCH = Instant.parse("2010-05-20T00:00:00Z");
+  private static final double NANOS_PER_SECOND = 1E9;
+
+  private final ObjectMapper jsonMapper = CoiObjectMapperFactory.getJsonObjectMapper();
+  private final ObjectMapper msgpackMapper = CoiObjectMapperFactory.configureObjectMapper(
+    new ObjectMapper(new MessagePackFactory()));
+  private final Map<String, Channel> channelsByName;
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong samplesServed = new AtomicLong();
+
+  StandInWaveformService(List<Channel> channels) throws IOException {
+    this.channelsByName = channels.stream().collect(Collectors.toMap(Channel::getName, Function.identity()));
+    // as the real services' servlet containers do; otherwise small responses stall on delayed acknowledgements
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/channel-segment/query/channel-timerange", this::channelTimeRange);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  String getUrl() {
+    return String.format("http://%s:%d", server.getAddress().getHostString(), server.getAddress().getPort());
+  }
+
+  long getRequests() {
+    return requests.get();
+  }
+
+  long getSamplesServed() {
+    return samplesServed.get();
+  }
+
+  private void channelTimeRange(HttpExchange exchange) throws IOException {
+    ChannelTimeRangeRequest request;
+    try (var body = exchange.getRequestBody()) {
+      request = jsonMapper.readValue(body, ChannelTimeRangeRequest.class);
+    }
+
+    List<ChannelSegment<Waveform>> channelSegments = request.getChannels().stream()
+      .map(channel -> segment(channelsByName.get(channel.getName()), request.getStartTime(), request.getEndTime()))
+      .collect(Collectors.toList());
+    requests.incrementAndGet();
+
+    var msgpack = "application/msgpack".equals(exchange.getRequestHeaders().getFirst("Accept"));
+    byte[] response = (msgpack ? msgpackMapper : jsonMapper).writeValueAsBytes(channelSegments);
+    exchange.getResponseHeaders().set("Content-Type", msgpack ? "application/msgpack" : "application/json");
+    exchange.sendResponseHeaders(200, response.length);
+    try (var responseBody = exchange.getResponseBody()) {
+      responseBody.write(response);
+    }
+  }
+
+  private ChannelSegment<Waveform> segment(Channel channel, Instant start, Instant end) {
+    long first = (long) Math.ceil(Duration.between(EPOCH, start).toNanos() * SAMPLE_RATE / NANOS_PER_SECOND);
+    long last = (long) Math.floor(Duration.between(EPOCH, end).toNanos() * SAMPLE_RATE / NANOS_PER_SECOND);
+    var samples = new double[(int) (last - first + 1)];
+    for (var i = 0; i < samples.length; i++) {
+      samples[i] = Math.sin((first + i) / SAMPLE_RATE) * 1000;
+    }
+    samplesServed.addAndGet(samples.length);
+
+    var waveform = Waveform.create(EPOCH.plusNanos((long) (first * NANOS_PER_SECOND / SAMPLE_RATE)), SAMPLE_RATE,
+      samples);
+    return ChannelSegment.from(channel, Units.NANOMETERS, List.of(waveform), waveform.getStartTime(), List.of());
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,94 @@
+package gms.shared.fk.control;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gms.shared.stationdefinition.coi.utils.CoiObjectMapperFactory;
+import gms.shared.stationdefinition.coi.utils.Units;
+import gms.shared.waveform.coi.ChannelSegment;
+import gms.shared.waveform.coi.Waveform;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static gms.shared.stationdefinition.testfixtures.UtilsTestFixtures.CHANNEL;
+
+/**
+ * Benchmarks decoding the channel segments of one FK request, 10 channels of 40 seconds at 40 samples per second by
+ * default, from each transfer format the waveform service offers. Each benchmark reports the size of the response
+ * it decoded as its {@code responseBytes} counter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaveformTransferBenchmark {
+
+  private static final Instant START = Instant.parse("2010-05-20T12:00:00Z");
+
+  @Param({"json", "msgpack"})
+  String format;
+
+  @Param({"1600"})
+  int samplesPerChannel;
+
+  private ObjectMapper mapper;
+  private JavaType channelSegmentListType;
+  private byte[] response;
+
+  /**
+   * Size of the responses decoded.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Response {
+
+    public long responseBytes;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    mapper = "msgpack".equals(format)
+      ? CoiObjectMapperFactory.configureObjectMapper(new ObjectMapper(new MessagePackFactory()))
+      : CoiObjectMapperFactory.getJsonObjectMapper();
+    var typeFactory = mapper.getTypeFactory();
+    channelSegmentListType = typeFactory.constructCollectionType(List.class,
+      typeFactory.constructParametricType(ChannelSegment.class, Waveform.class));
+
+    List<ChannelSegment<Waveform>> channelSegments = IntStream.rangeClosed(1, 10)
+      .mapToObj(i -> {
+        var samples = IntStream.range(0, samplesPerChannel)
+          .mapToDouble(sample -> Math.sin(sample / StandInWaveformService.SAMPLE_RATE) * 1000)
+          .toArray();
+        var waveform = Waveform.create(START, StandInWaveformService.SAMPLE_RATE, samples);
+        return ChannelSegment.from(CHANNEL.toBuilder().setName(String.format("ASAR.AS%02d.SHZ", i)).build(),
+          Units.NANOMETERS, List.of(waveform), START, List.of());
+      })
+      .collect(Collectors.toList());
+    response = mapper.writeValueAsBytes(channelSegments);
+  }
+
+  @Benchmark
+  public List<ChannelSegment<Waveform>> decode(Response counters) throws IOException {
+    counters.responseBytes += response.length;
+    return mapper.readValue(response, channelSegmentListType);
+  }
+}
@@ -22,7 +22,6 @@ import gms.shared.stationdefinition.coi.station.Station;
 import gms.shared.stationdefinition.coi.utils.CoiObjectMapperFactory;
 import gms.shared.stationdefinition.coi.utils.Units;
 import gms.shared.stationdefinition.facet.FacetingTypes;
-import gms.shared.waveform.api.util.ChannelTimeRangeRequest;
 import gms.shared.waveform.coi.ChannelSegment;
 import gms.shared.waveform.coi.ChannelSegmentDescriptor;
 import gms.shared.waveform.coi.FkSpectra;
@@ -37,7 +36,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -63,6 +61,7 @@ public class FkControl implements FkControlInterface {
   
   private final PluginRegistry pluginRegistry;
   private final WebRequests webRequests;
+  private final WaveformCache waveformCache;
   private FkConfiguration fkConfiguration;
 
   /**
@@ -77,6 +76,7 @@ public class FkControl implements FkControlInterface {
     this.pluginRegistry = pluginRegistry;
     this.fkConfiguration = fkConfiguration;
     this.webRequests = webRequests;
+    this.waveformCache = WaveformCache.create(webRequests, CHANNEL_SEGMENT_FACETING_DEFINITION);
   }
 
   @VisibleForTesting
@@ -126,12 +126,7 @@ public class FkControl implements FkControlInterface {
 
     Collection<ChannelSegment<Waveform>> channelSegments;
     try {
-      channelSegments = webRequests.waveformRequest(ChannelTimeRangeRequest.builder()
-        .setChannels(Set.copyOf(request.getChannels()))
-        .setStartTime(waveformRange.lowerEndpoint())
-        .setEndTime(waveformRange.upperEndpoint())
-        .setFacetingDefinition(Optional.of(CHANNEL_SEGMENT_FACETING_DEFINITION))
-        .build());
+      channelSegments = waveformCache.channelSegments(Set.copyOf(request.getChannels()), waveformRange);
     } catch (IOException ex) {
       logger.error("Error retrieving waveforms", ex);
       throw new FkControlException("Error retrieving waveforms", ex);
@@ -0,0 +1,409 @@
+package gms.shared.fk.control;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.facets.FacetingDefinition;
+import gms.shared.stationdefinition.coi.utils.Units;
+import gms.shared.waveform.api.util.ChannelTimeRangeRequest;
+import gms.shared.waveform.coi.ChannelSegment;
+import gms.shared.waveform.coi.Waveform;
+import gms.shared.waveform.processingmask.coi.ProcessingMask;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of the waveforms retrieved for FK requests, keyed by channel version.
+ * <p>
+ * Analysts usually recompute FK on the same arrival many times with a shifted lead, length or frequency band. The
+ * cache remembers which time ranges of each channel the waveform service has already returned data for, from the
+ * first to the last sample of each stretch of data it returned, so an overlapping request only retrieves the
+ * sub-ranges it has not seen. Ranges without data, including gaps between the returned data, are not remembered, so
+ * data arriving late is picked up by the next request. Entries are dropped least recently
+ * used first once the cache holds more than its sample limit, and are refetched once their last fill is older than
+ * the time to live so that revised data is picked up.
+ * <p>
+ * Each request works on a copy of its channels' entries taken before it fetches anything, and builds its response from
+ * that copy and its own fetches only. Evictions and concurrent requests therefore never drop a channel from a
+ * response, and only the copy and the store of fetched data hold the cache lock. Concurrent requests missing the same
+ * range each fetch it; the duplicate data is merged when stored.
+ * <p>
+ * A response holds one channel segment per channel, built from the waveforms of every service segment that overlaps
+ * the requested range. It has the latest creation time and every processing mask of those service segments.
+ */
+class WaveformCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(WaveformCache.class);
+
+  static final long DEFAULT_MAX_SAMPLES = 10_000_000L;
+  static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+  private static final double NANOS_PER_SECOND = 1E9;
+
+  private final WebRequests webRequests;
+  private final FacetingDefinition facetingDefinition;
+  private final long maxSamples;
+  private final Duration timeToLive;
+  private final Clock clock;
+
+  private final LinkedHashMap<Channel, CachedChannel> cachedChannels = new LinkedHashMap<>(16, 0.75F, true);
+  private long cachedSamples;
+
+  private WaveformCache(WebRequests webRequests, FacetingDefinition facetingDefinition, long maxSamples,
+    Duration timeToLive, Clock clock) {
+
+    this.webRequests = webRequests;
+    this.facetingDefinition = facetingDefinition;
+    this.maxSamples = maxSamples;
+    this.timeToLive = timeToLive;
+    this.clock = clock;
+  }
+
+  static WaveformCache create(WebRequests webRequests, FacetingDefinition facetingDefinition) {
+    return create(webRequests, facetingDefinition, DEFAULT_MAX_SAMPLES, DEFAULT_TIME_TO_LIVE, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  static WaveformCache create(WebRequests webRequests, FacetingDefinition facetingDefinition, long maxSamples,
+    Duration timeToLive, Clock clock) {
+
+    Objects.requireNonNull(webRequests, "Cannot create WaveformCache from null WebRequests");
+    Objects.requireNonNull(facetingDefinition, "Cannot create WaveformCache from null FacetingDefinition");
+    Preconditions.checkArgument(maxSamples > 0, "Cannot create WaveformCache with non-positive maxSamples");
+    Preconditions.checkArgument(!timeToLive.isNegative() && !timeToLive.isZero(),
+      "Cannot create WaveformCache with non-positive timeToLive");
+
+    return new WaveformCache(webRequests, facetingDefinition, maxSamples, timeToLive, clock);
+  }
+
+  /**
+   * Retrieves the waveforms of the provided channels over a time range, requesting from the waveform service only
+   * the parts of the range not already cached.
+   *
+   * @param channels channels to retrieve, all from the same station
+   * @param timeRange closed time range to retrieve
+   * @return one channel segment for each channel with data in the range
+   * @throws IOException if a request to the waveform service fails
+   */
+  List<ChannelSegment<Waveform>> channelSegments(Set<Channel> channels, Range<Instant> timeRange)
+    throws IOException {
+
+    Map<Channel, CachedChannel> snapshots = snapshot(channels);
+
+    Map<Range<Instant>, Set<Channel>> channelsByMissingRange = new LinkedHashMap<>();
+    snapshots.forEach((channel, snapshot) -> {
+      for (Range<Instant> missingRange : snapshot.missingRanges(timeRange)) {
+        channelsByMissingRange.computeIfAbsent(missingRange, range -> new HashSet<>()).add(channel);
+      }
+    });
+
+    var fullRange = Range.closed(timeRange.lowerEndpoint(), timeRange.upperEndpoint());
+    if (channels.equals(channelsByMissingRange.get(fullRange))) {
+      // nothing cached for any channel: the service's answer is exactly what was asked for
+      List<ChannelSegment<Waveform>> channelSegments = request(channels, fullRange);
+      store(channels, fullRange, channelSegments);
+      return channelSegments;
+    }
+
+    for (Map.Entry<Range<Instant>, Set<Channel>> missing : channelsByMissingRange.entrySet()) {
+      var missingChannels = missing.getValue();
+      var missingRange = missing.getKey();
+      List<ChannelSegment<Waveform>> channelSegments = request(missingChannels, missingRange);
+
+      var segmentsByName = segmentsByName(channelSegments);
+      for (Channel channel : missingChannels) {
+        snapshots.get(channel).fill(missingRange,
+          segmentsByName.getOrDefault(channel.getName(), List.of()), clock.instant());
+      }
+
+      store(missingChannels, missingRange, channelSegments);
+    }
+
+    logger.debug("Retrieved {} missing ranges for {} channels", channelsByMissingRange.size(), channels.size());
+
+    return snapshots.values().stream()
+      .map(snapshot -> snapshot.assemble(timeRange))
+      .flatMap(Optional::stream)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Number of samples currently cached, across all channels.
+   */
+  synchronized long getCachedSamples() {
+    return cachedSamples;
+  }
+
+  private List<ChannelSegment<Waveform>> request(Set<Channel> channels, Range<Instant> range) throws IOException {
+    return webRequests.waveformRequest(ChannelTimeRangeRequest.builder()
+      .setChannels(channels)
+      .setStartTime(range.lowerEndpoint())
+      .setEndTime(range.upperEndpoint())
+      .setFacetingDefinition(Optional.of(facetingDefinition))
+      .build());
+  }
+
+  /**
+   * Copies the cache entries of the channels, dropping expired entries first. Channels without an entry get an empty
+   * copy.
+   */
+  private synchronized Map<Channel, CachedChannel> snapshot(Set<Channel> channels) {
+    Map<Channel, CachedChannel> snapshots = new LinkedHashMap<>();
+    var now = clock.instant();
+
+    for (Channel channel : channels) {
+      var key = key(channel);
+      var cachedChannel = cachedChannels.get(key);
+      if (cachedChannel != null && cachedChannel.isExpired(now, timeToLive)) {
+        remove(key);
+        cachedChannel = null;
+      }
+
+      snapshots.put(channel, cachedChannel == null ? new CachedChannel() : cachedChannel.copy());
+    }
+
+    return snapshots;
+  }
+
+  private synchronized void store(Set<Channel> channels, Range<Instant> range,
+    Collection<ChannelSegment<Waveform>> channelSegments) {
+
+    var segmentsByName = segmentsByName(channelSegments);
+    var now = clock.instant();
+
+    for (Channel channel : channels) {
+      var segments = segmentsByName.getOrDefault(channel.getName(), List.of());
+      if (segments.isEmpty()) {
+        continue;
+      }
+
+      var cachedChannel = cachedChannels.computeIfAbsent(key(channel), key -> new CachedChannel());
+      cachedSamples -= cachedChannel.sampleCount();
+      cachedChannel.fill(range, segments, now);
+      cachedSamples += cachedChannel.sampleCount();
+    }
+
+    var eldest = cachedChannels.values().iterator();
+    while (cachedSamples > maxSamples && eldest.hasNext()) {
+      cachedSamples -= eldest.next().sampleCount();
+      eldest.remove();
+    }
+  }
+
+  private void remove(Channel key) {
+    var cachedChannel = cachedChannels.remove(key);
+    if (cachedChannel != null) {
+      cachedSamples -= cachedChannel.sampleCount();
+    }
+  }
+
+  private static Map<String, List<ChannelSegment<Waveform>>> segmentsByName(
+    Collection<ChannelSegment<Waveform>> channelSegments) {
+
+    return channelSegments.stream()
+      .collect(Collectors.groupingBy(channelSegment -> channelSegment.getId().getChannel().getName()));
+  }
+
+  private static Channel key(Channel channel) {
+    return channel.getEffectiveAt().isPresent()
+      ? Channel.createVersionReference(channel)
+      : channel.toEntityReference();
+  }
+
+  /**
+   * Concatenates waveforms, sorted by start time, that continue one another at the same sample rate, dropping any
+   * samples of the later waveform that the earlier already has.
+   */
+  @VisibleForTesting
+  static List<Waveform> merge(List<Waveform> sortedWaveforms) {
+    List<Waveform> merged = new ArrayList<>();
+    for (Waveform waveform : sortedWaveforms) {
+      var last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+      if (last != null && continues(last, waveform)) {
+        merged.set(merged.size() - 1, concatenate(last, waveform));
+      } else {
+        merged.add(waveform);
+      }
+    }
+    return merged;
+  }
+
+  private static boolean continues(Waveform first, Waveform second) {
+    if (Double.compare(first.getSampleRateHz(), second.getSampleRateHz()) != 0) {
+      return false;
+    }
+
+    long maxGapNanos = (long) (1.5 * NANOS_PER_SECOND / first.getSampleRateHz());
+    return !second.getStartTime().isAfter(first.getEndTime().plusNanos(maxGapNanos));
+  }
+
+  private static Waveform concatenate(Waveform first, Waveform second) {
+    var overlapSamples = 0;
+    if (!second.getStartTime().isAfter(first.getEndTime())) {
+      double overlapSeconds = Duration.between(second.getStartTime(), first.getEndTime()).toNanos() / NANOS_PER_SECOND;
+      overlapSamples = (int) Math.round(overlapSeconds * first.getSampleRateHz()) + 1;
+    }
+
+    if (overlapSamples >= second.getSampleCount()) {
+      return first;
+    }
+
+    var firstSamples = first.getSamples();
+    var secondSamples = second.getSamples();
+    var samples = new double[firstSamples.length + secondSamples.length - overlapSamples];
+    System.arraycopy(firstSamples, 0, samples, 0, firstSamples.length);
+    System.arraycopy(secondSamples, overlapSamples, samples, firstSamples.length,
+      secondSamples.length - overlapSamples);
+
+    return Waveform.create(first.getStartTime(), first.getSampleRateHz(), samples);
+  }
+
+  /**
+   * What is known of one channel version: the time ranges the service returned data for, the data, and the metadata
+   * of the service segments holding it.
+   */
+  private static final class CachedChannel {
+
+    private Instant filledAt = Instant.MIN;
+    private final RangeSet<Instant> covered = TreeRangeSet.create();
+    private Channel channel;
+    private Units units;
+    private final List<SegmentMetadata> segmentMetadata = new ArrayList<>();
+    private List<Waveform> waveforms = List.of();
+
+    private boolean isExpired(Instant now, Duration timeToLive) {
+      return !now.isBefore(filledAt.plus(timeToLive));
+    }
+
+    private CachedChannel copy() {
+      var copy = new CachedChannel();
+      copy.filledAt = filledAt;
+      copy.covered.addAll(covered);
+      copy.channel = channel;
+      copy.units = units;
+      copy.segmentMetadata.addAll(segmentMetadata);
+      copy.waveforms = waveforms;
+      return copy;
+    }
+
+    private List<Range<Instant>> missingRanges(Range<Instant> timeRange) {
+      RangeSet<Instant> missing = TreeRangeSet.create();
+      missing.add(timeRange);
+      missing.removeAll(covered);
+
+      return missing.asRanges().stream()
+        .map(range -> Range.closed(range.lowerEndpoint(), range.upperEndpoint()))
+        .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds the service's answer for a requested range, covering only the parts of the range the returned waveforms
+     * span.
+     */
+    private void fill(Range<Instant> range, List<ChannelSegment<Waveform>> channelSegments, Instant now) {
+      if (channelSegments.isEmpty()) {
+        return;
+      }
+
+      List<Waveform> returned = new ArrayList<>();
+      for (ChannelSegment<Waveform> channelSegment : channelSegments) {
+        var id = channelSegment.getId();
+        channel = id.getChannel();
+        units = channelSegment.getUnits();
+        segmentMetadata.add(new SegmentMetadata(Range.closed(id.getStartTime(), id.getEndTime()),
+          id.getCreationTime(), channelSegment.getData().map(ChannelSegment.Data::getMaskedBy).orElse(List.of())));
+        returned.addAll(channelSegment.getTimeseries());
+      }
+      returned.sort(null);
+
+      List<Waveform> sorted = new ArrayList<>(waveforms);
+      sorted.addAll(returned);
+      sorted.sort(null);
+      waveforms = merge(sorted);
+
+      for (Waveform waveform : merge(returned)) {
+        // no sample can be missing between the range start and a first sample less than a sample period after it
+        var samplePeriodNanos = NANOS_PER_SECOND / waveform.getSampleRateHz();
+        var start = Duration.between(range.lowerEndpoint(), waveform.getStartTime()).toNanos() < samplePeriodNanos
+          ? range.lowerEndpoint()
+          : waveform.getStartTime();
+        var end = waveform.getEndTime().isBefore(range.upperEndpoint())
+          ? waveform.getEndTime()
+          : range.upperEndpoint();
+        if (!end.isBefore(start)) {
+          covered.add(Range.closed(start, end));
+        }
+      }
+      filledAt = now;
+    }
+
+    private Optional<ChannelSegment<Waveform>> assemble(Range<Instant> timeRange) {
+      if (channel == null) {
+        return Optional.empty();
+      }
+
+      List<Waveform> trimmed = waveforms.stream()
+        .filter(waveform -> waveform.computeTimeRange().isConnected(timeRange))
+        .map(waveform -> waveform.trim(timeRange.lowerEndpoint(), timeRange.upperEndpoint()))
+        .collect(Collectors.toList());
+
+      if (trimmed.isEmpty()) {
+        return Optional.empty();
+      }
+
+      // dated like the waveform service dates its segments, unless a service segment in the range says otherwise
+      var creationTime = trimmed.get(0).getStartTime();
+      var creationTimeFound = false;
+      Set<ProcessingMask> maskedBy = new LinkedHashSet<>();
+      for (SegmentMetadata metadata : segmentMetadata) {
+        if (metadata.span.isConnected(timeRange)) {
+          if (!creationTimeFound || metadata.creationTime.isAfter(creationTime)) {
+            creationTime = metadata.creationTime;
+            creationTimeFound = true;
+          }
+          maskedBy.addAll(metadata.maskedBy);
+        }
+      }
+
+      return Optional.of(ChannelSegment.from(channel, units, trimmed, creationTime, maskedBy));
+    }
+
+    private long sampleCount() {
+      return waveforms.stream().mapToLong(Waveform::getSampleCount).sum();
+    }
+  }
+
+  /**
+   * Metadata of one channel segment returned by the waveform service, kept alongside its merged waveforms.
+   */
+  private static final class SegmentMetadata {
+
+    private final Range<Instant> span;
+    private final Instant creationTime;
+    private final Collection<ProcessingMask> maskedBy;
+
+    private SegmentMetadata(Range<Instant> span, Instant creationTime, Collection<ProcessingMask> maskedBy) {
+      this.span = span;
+      this.creationTime = creationTime;
+      this.maskedBy = maskedBy;
+    }
+  }
+}
@@ -2,9 +2,11 @@ package gms.shared.fk.control;
 
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import gms.shared.stationdefinition.api.station.util.StationsTimeFacetRequest;
 import gms.shared.stationdefinition.coi.station.Station;
+import gms.shared.stationdefinition.coi.utils.CoiObjectMapperFactory;
 import gms.shared.waveform.api.util.ChannelTimeRangeRequest;
 import gms.shared.waveform.coi.ChannelSegment;
 import gms.shared.waveform.coi.Waveform;
@@ -16,50 +18,82 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 
 /**
- * Utility for managing web requests needed for the FK Control
+ * Utility for managing web requests needed for the FK Control. Requests share one pooled client so connections to
+ * the station definition and waveform services are kept alive between requests, and waveforms are transferred as
+ * msgpack rather than JSON.
  */
 public class WebRequests {
 
   private static final String APPLICATION_JSON = "application/json";
+  private static final String APPLICATION_MSGPACK = "application/msgpack";
   private static final String CONTENT_TYPE_HEADER = "Content-Type";
   private static final String ACCEPT_HEADER = "Accept";
   private static final int STATUS_OK = 200;
+  private static final int MAX_CONNECTIONS = 20;
 
   private final String stationUrl;
   private final String waveformUrl;
   private final ObjectMapper objectMapper;
+  private final ObjectMapper msgpackMapper;
+  private final CloseableHttpClient client;
 
-  private WebRequests(String stationUrl, String waveformUrl, ObjectMapper objectMapper) {
+  private WebRequests(String stationUrl, String waveformUrl, ObjectMapper objectMapper,
+    CloseableHttpClient client) {
     this.stationUrl = stationUrl;
     this.waveformUrl = waveformUrl;
     this.objectMapper = objectMapper;
+    this.msgpackMapper = CoiObjectMapperFactory.configureObjectMapper(new ObjectMapper(new MessagePackFactory()));
+    this.client = client;
   }
 
   public static WebRequests create(String stationUrl, String waveformUrl, ObjectMapper objectMapper) {
+    validate(stationUrl, waveformUrl, objectMapper);
+
+    var connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(MAX_CONNECTIONS);
+    connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+
+    return new WebRequests(stationUrl, waveformUrl, objectMapper, HttpClients.custom()
+      .setConnectionManager(connectionManager)
+      .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+      .build());
+  }
+
+  @VisibleForTesting
+  static WebRequests create(String stationUrl, String waveformUrl, ObjectMapper objectMapper,
+    CloseableHttpClient client) {
+    validate(stationUrl, waveformUrl, objectMapper);
+    Objects.requireNonNull(client, "Cannot create WebRequests from null client");
+
+    return new WebRequests(stationUrl, waveformUrl, objectMapper, client);
+  }
+
+  private static void validate(String stationUrl, String waveformUrl, ObjectMapper objectMapper) {
     Objects.requireNonNull(stationUrl, "Cannot create WebRequests from null stationUrl");
     Objects.requireNonNull(waveformUrl, "Cannot create WebRequests from null waveformUrl");
     Objects.requireNonNull(objectMapper, "Cannot create WebRequests from null objectMapper");
     Preconditions.checkArgument(!stationUrl.isBlank(), "Cannot create WebRequests from blank stationUrl");
     Preconditions.checkArgument(!waveformUrl.isBlank(), "Cannot create WebRequests from blank waveformUrl");
-
-    return new WebRequests(stationUrl, waveformUrl, objectMapper);
   }
 
   public List<Station> stationDefinitionStationRequest(StationsTimeFacetRequest request) throws IOException {
     Objects.requireNonNull(request, "Cannot request stations from null StationTimeFacetRequest");
 
-    try ( CloseableHttpClient client = HttpClients.createDefault()) {
-      var post = new HttpPost(stationUrl.concat("/stations/query/names"));
-      post.setHeader(ACCEPT_HEADER, APPLICATION_JSON);
-      post.setHeader(CONTENT_TYPE_HEADER, APPLICATION_JSON);
+    var post = new HttpPost(stationUrl.concat("/stations/query/names"));
+    post.setHeader(ACCEPT_HEADER, APPLICATION_JSON);
+    post.setHeader(CONTENT_TYPE_HEADER, APPLICATION_JSON);
 
-      var jsonRequest = objectMapper.writeValueAsString(request);
-      post.setEntity(new StringEntity(jsonRequest));
+    var jsonRequest = objectMapper.writeValueAsString(request);
+    post.setEntity(new StringEntity(jsonRequest));
 
-      CloseableHttpResponse response = client.execute(post);
+    // closing the response returns its connection to the pool
+    try (CloseableHttpResponse response = client.execute(post)) {
       if (response.getStatusLine().getStatusCode() == STATUS_OK) {
         var typeFactory = objectMapper.getTypeFactory();
         JavaType stationListType = typeFactory.constructCollectionType(List.class, Station.class);
@@ -75,21 +109,20 @@ public class WebRequests {
   public List<ChannelSegment<Waveform>> waveformRequest(ChannelTimeRangeRequest request) throws IOException {
     Objects.requireNonNull(request, "Cannot request channel segments from null ChannelTImeRangeRequest");
 
-    try ( CloseableHttpClient client = HttpClients.createDefault()) {
-      var post = new HttpPost(waveformUrl.concat("/channel-segment/query/channel-timerange"));
-      post.setHeader(ACCEPT_HEADER, APPLICATION_JSON);
-      post.setHeader(CONTENT_TYPE_HEADER, APPLICATION_JSON);
+    var post = new HttpPost(waveformUrl.concat("/channel-segment/query/channel-timerange"));
+    post.setHeader(ACCEPT_HEADER, APPLICATION_MSGPACK);
+    post.setHeader(CONTENT_TYPE_HEADER, APPLICATION_JSON);
 
-      var jsonRequest = objectMapper.writeValueAsString(request);
-      post.setEntity(new StringEntity(jsonRequest));
+    var jsonRequest = objectMapper.writeValueAsString(request);
+    post.setEntity(new StringEntity(jsonRequest));
 
-      CloseableHttpResponse response = client.execute(post);
+    try (CloseableHttpResponse response = client.execute(post)) {
       if (response.getStatusLine().getStatusCode() == STATUS_OK) {
-        var typeFactory = objectMapper.getTypeFactory();
+        var typeFactory = msgpackMapper.getTypeFactory();
         JavaType channelSegmentType = typeFactory.constructParametricType(ChannelSegment.class, Waveform.class);
         JavaType channelSegmentListType = typeFactory.constructCollectionType(List.class, channelSegmentType);
         try (var content = response.getEntity().getContent()) {
-          return objectMapper.readValue(content, channelSegmentListType);
+          return msgpackMapper.readValue(content, channelSegmentListType);
         }
       } else {
         throw new HttpResponseException(response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase());
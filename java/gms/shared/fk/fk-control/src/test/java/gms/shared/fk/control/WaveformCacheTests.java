@@ -0,0 +1,315 @@
+package gms.shared.fk.control;
+
+import com.google.common.collect.Range;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.utils.Units;
+import gms.shared.waveform.api.util.ChannelTimeRangeRequest;
+import gms.shared.waveform.coi.ChannelSegment;
+import gms.shared.waveform.coi.Waveform;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static gms.shared.fk.control.FkControl.CHANNEL_SEGMENT_FACETING_DEFINITION;
+import static gms.shared.stationdefinition.testfixtures.UtilsTestFixtures.CHANNEL;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WaveformCacheTests {
+
+  private static final double SAMPLE_RATE = 40.0;
+  private static final Instant START = Instant.parse("2010-05-20T22:30:00Z");
+  private static final Set<Channel> CHANNELS = Set.of(Channel.createVersionReference(CHANNEL));
+
+  @Mock
+  private WebRequests webRequests;
+
+  private MutableClock clock;
+  private WaveformCache waveformCache;
+
+  @BeforeEach
+  void setup() {
+    clock = new MutableClock(Instant.EPOCH);
+    waveformCache = WaveformCache.create(webRequests, CHANNEL_SEGMENT_FACETING_DEFINITION, 100_000,
+      Duration.ofMinutes(10), clock);
+  }
+
+  @Test
+  void testCreateValidation() {
+    assertThrows(NullPointerException.class,
+      () -> WaveformCache.create(null, CHANNEL_SEGMENT_FACETING_DEFINITION));
+    assertThrows(IllegalArgumentException.class,
+      () -> WaveformCache.create(webRequests, CHANNEL_SEGMENT_FACETING_DEFINITION, 0, Duration.ofMinutes(1), clock));
+    assertThrows(IllegalArgumentException.class,
+      () -> WaveformCache.create(webRequests, CHANNEL_SEGMENT_FACETING_DEFINITION, 1, Duration.ZERO, clock));
+  }
+
+  @Test
+  void testColdRequestPassesServiceResponseThrough() throws IOException {
+    var range = range(0, 60);
+    List<ChannelSegment<Waveform>> serviceSegments = List.of(segment(range));
+    when(webRequests.waveformRequest(request(range))).thenReturn(serviceSegments);
+
+    assertEquals(serviceSegments, waveformCache.channelSegments(CHANNELS, range));
+    assertEquals(serviceSegments.get(0).getTimeseries().get(0).getSampleCount(), waveformCache.getCachedSamples());
+  }
+
+  @Test
+  void testOverlappingRequestFetchesOnlyMissingRange() throws IOException {
+    mockService();
+
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    List<ChannelSegment<Waveform>> channelSegments = waveformCache.channelSegments(CHANNELS, range(30, 90));
+
+    verify(webRequests, times(1)).waveformRequest(request(range(0, 60)));
+    verify(webRequests, times(1)).waveformRequest(request(range(60, 90)));
+    verifyNoMoreInteractions(webRequests);
+
+    // dated by the latest service segment it is built from
+    assertEquals(List.of(segment(range(30, 90), seconds(60))), channelSegments);
+  }
+
+  @Test
+  void testContainedRequestIsServedFromCache() throws IOException {
+    mockService();
+
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    List<ChannelSegment<Waveform>> channelSegments = waveformCache.channelSegments(CHANNELS, range(10, 20));
+
+    verify(webRequests, times(1)).waveformRequest(any());
+    assertEquals(List.of(segment(range(10, 20), seconds(0))), channelSegments);
+  }
+
+  @Test
+  void testRequestBetweenCachedRangesFetchesGap() throws IOException {
+    mockService();
+
+    waveformCache.channelSegments(CHANNELS, range(0, 10));
+    waveformCache.channelSegments(CHANNELS, range(20, 30));
+    List<ChannelSegment<Waveform>> channelSegments = waveformCache.channelSegments(CHANNELS, range(5, 25));
+
+    verify(webRequests, times(1)).waveformRequest(request(range(10, 20)));
+    assertEquals(List.of(segment(range(5, 25), seconds(20))), channelSegments);
+  }
+
+  @Test
+  void testExpiredEntryIsRefetched() throws IOException {
+    mockService();
+
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    clock.advance(Duration.ofMinutes(10));
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+
+    verify(webRequests, times(2)).waveformRequest(request(range(0, 60)));
+  }
+
+  @Test
+  void testCacheIsBoundedBySampleCount() throws IOException {
+    mockService();
+    waveformCache = WaveformCache.create(webRequests, CHANNEL_SEGMENT_FACETING_DEFINITION, 1000,
+      Duration.ofMinutes(10), clock);
+
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    assertTrue(waveformCache.getCachedSamples() <= 1000);
+
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    verify(webRequests, times(2)).waveformRequest(request(range(0, 60)));
+  }
+
+  @Test
+  void testRequestLargerThanCacheKeepsEveryChannel() throws IOException {
+    mockService();
+    waveformCache = WaveformCache.create(webRequests, CHANNEL_SEGMENT_FACETING_DEFINITION, 1000,
+      Duration.ofMinutes(10), clock);
+
+    waveformCache.channelSegments(CHANNELS, range(0, 10));
+    List<ChannelSegment<Waveform>> channelSegments = waveformCache.channelSegments(CHANNELS, range(0, 60));
+
+    // the fetched range evicts the channel, the response is built before that
+    assertEquals(List.of(segment(range(0, 60), seconds(10))), channelSegments);
+    assertTrue(waveformCache.getCachedSamples() <= 1000);
+  }
+
+  @Test
+  void testRangesWithoutDataAreRefetched() throws IOException {
+    // the service only has data up to 30 seconds, later data has not arrived yet
+    when(webRequests.waveformRequest(any())).thenAnswer(invocation -> {
+      ChannelTimeRangeRequest request = invocation.getArgument(0);
+      if (!request.getStartTime().isBefore(seconds(30))) {
+        return List.of();
+      }
+      var end = request.getEndTime().isBefore(seconds(30)) ? request.getEndTime() : seconds(30);
+      return List.of(segment(Range.closed(request.getStartTime(), end)));
+    });
+
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    List<ChannelSegment<Waveform>> channelSegments = waveformCache.channelSegments(CHANNELS, range(0, 60));
+
+    // only the range up to the last sample returned is cached
+    verify(webRequests, times(1)).waveformRequest(request(range(0, 60)));
+    verify(webRequests, times(2)).waveformRequest(request(range(30, 60)));
+    assertEquals(List.of(segment(range(0, 30))), channelSegments);
+    verifyNoMoreInteractions(webRequests);
+  }
+
+  @Test
+  void testGapsInDataAreRefetched() throws IOException {
+    // the service has no data between 20 and 40 seconds when first asked
+    when(webRequests.waveformRequest(any())).thenAnswer(invocation -> {
+      ChannelTimeRangeRequest request = invocation.getArgument(0);
+      if (request.getStartTime().equals(seconds(0))) {
+        return List.of(segment(range(0, 20)), segment(range(40, 60)));
+      }
+      return List.of(segment(Range.closed(request.getStartTime(), request.getEndTime())));
+    });
+
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    List<ChannelSegment<Waveform>> channelSegments = waveformCache.channelSegments(CHANNELS, range(10, 50));
+
+    // only the ranges the returned data spans are cached
+    verify(webRequests, times(1)).waveformRequest(request(range(0, 60)));
+    verify(webRequests, times(1)).waveformRequest(request(range(20, 40)));
+    verifyNoMoreInteractions(webRequests);
+    assertEquals(1, channelSegments.size());
+    assertEquals(List.of(waveform(range(10, 50))), channelSegments.get(0).getTimeseries());
+  }
+
+  @Test
+  void testTimeToLiveRunsFromLastFill() throws IOException {
+    mockService();
+
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    clock.advance(Duration.ofMinutes(6));
+    waveformCache.channelSegments(CHANNELS, range(30, 90));
+    clock.advance(Duration.ofMinutes(6));
+    waveformCache.channelSegments(CHANNELS, range(0, 90));
+
+    verify(webRequests, times(1)).waveformRequest(request(range(0, 60)));
+    verify(webRequests, times(1)).waveformRequest(request(range(60, 90)));
+    verifyNoMoreInteractions(webRequests);
+  }
+
+  @Test
+  void testServiceCreationTimeIsKept() throws IOException {
+    var creationTime = seconds(3600);
+    when(webRequests.waveformRequest(any())).thenAnswer(invocation -> {
+      ChannelTimeRangeRequest request = invocation.getArgument(0);
+      var waveform = waveform(Range.closed(request.getStartTime(), request.getEndTime()));
+      return List.of(ChannelSegment.from(CHANNEL, Units.NANOMETERS, List.of(waveform), creationTime, List.of()));
+    });
+
+    waveformCache.channelSegments(CHANNELS, range(0, 60));
+    List<ChannelSegment<Waveform>> channelSegments = waveformCache.channelSegments(CHANNELS, range(30, 90));
+
+    assertEquals(1, channelSegments.size());
+    assertEquals(creationTime, channelSegments.get(0).getId().getCreationTime());
+    assertEquals(seconds(30), channelSegments.get(0).getId().getStartTime());
+  }
+
+  @Test
+  void testMerge() {
+    Waveform first = waveform(range(0, 10));
+    Waveform overlapping = waveform(range(5, 20));
+    Waveform adjacent = waveform(Range.closed(seconds(20).plusNanos(25_000_000), seconds(30)));
+    Waveform distant = waveform(range(40, 50));
+    Waveform otherRate = Waveform.create(seconds(50), SAMPLE_RATE / 2, new double[]{1, 2, 3});
+
+    List<Waveform> merged = WaveformCache.merge(List.of(first, overlapping, adjacent, distant, otherRate));
+
+    assertEquals(List.of(waveform(range(0, 30)), distant, otherRate), merged);
+    assertArrayEquals(waveform(range(0, 30)).getSamples(), merged.get(0).getSamples());
+  }
+
+  private void mockService() throws IOException {
+    when(webRequests.waveformRequest(any())).thenAnswer(invocation -> {
+      ChannelTimeRangeRequest request = invocation.getArgument(0);
+      return List.of(segment(Range.closed(request.getStartTime(), request.getEndTime())));
+    });
+  }
+
+  private static ChannelTimeRangeRequest request(Range<Instant> range) {
+    return ChannelTimeRangeRequest.builder()
+      .setChannels(CHANNELS)
+      .setStartTime(range.lowerEndpoint())
+      .setEndTime(range.upperEndpoint())
+      .setFacetingDefinition(Optional.of(CHANNEL_SEGMENT_FACETING_DEFINITION))
+      .build();
+  }
+
+  private static Instant seconds(long seconds) {
+    return START.plusSeconds(seconds);
+  }
+
+  private static Range<Instant> range(long startSeconds, long endSeconds) {
+    return Range.closed(seconds(startSeconds), seconds(endSeconds));
+  }
+
+  /**
+   * Builds the channel segment the waveform service would answer for a range: a single waveform whose samples are
+   * their index since {@link #START}.
+   */
+  private static ChannelSegment<Waveform> segment(Range<Instant> range) {
+    var waveform = waveform(range);
+    return segment(range, waveform.getStartTime());
+  }
+
+  private static ChannelSegment<Waveform> segment(Range<Instant> range, Instant creationTime) {
+    return ChannelSegment.from(CHANNEL, Units.NANOMETERS, List.of(waveform(range)), creationTime, List.of());
+  }
+
+  private static Waveform waveform(Range<Instant> range) {
+    long first = (long) Math.ceil(Duration.between(START, range.lowerEndpoint()).toNanos() * SAMPLE_RATE / 1E9);
+    long last = (long) Math.floor(Duration.between(START, range.upperEndpoint()).toNanos() * SAMPLE_RATE / 1E9);
+    double[] samples = IntStream.rangeClosed((int) first, (int) last).asDoubleStream().toArray();
+    return Waveform.create(START.plusNanos((long) (first * 1E9 / SAMPLE_RATE)), SAMPLE_RATE, samples);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant;
+
+    private MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    private void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -20,15 +20,15 @@ import org.apache.http.client.HttpResponseException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static gms.shared.fk.control.WebRequests.create;
@@ -42,7 +42,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -65,6 +65,7 @@ class WebRequestsTests {
   private HttpEntity mockEntity;
 
   private ObjectMapper objectMapper;
+  private ObjectMapper msgpackMapper;
   private WebRequests webRequests;
 
   private StationsTimeFacetRequest stationsRequest = StationsTimeFacetRequest.builder()
@@ -81,7 +82,8 @@ class WebRequestsTests {
   @BeforeEach
   void setup() {
     objectMapper = CoiObjectMapperFactory.getJsonObjectMapper();
-    webRequests = create("testStationDefinition", "testWaveform", objectMapper);
+    msgpackMapper = CoiObjectMapperFactory.configureObjectMapper(new ObjectMapper(new MessagePackFactory()));
+    webRequests = create("testStationDefinition", "testWaveform", objectMapper, mockHttpClient);
   }
 
   @ParameterizedTest
@@ -139,54 +141,42 @@ class WebRequestsTests {
 
   @Test
   void testStationDefinitionStationRequestSuccessful() throws IOException {
-    try (MockedStatic<HttpClients> mockHttpClients = mockStatic(HttpClients.class)) {
-      mockHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-      when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
-      when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
-      when(mockStatusLine.getStatusCode()).thenReturn(200);
-      when(mockHttpResponse.getEntity()).thenReturn(mockEntity);
-      when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(objectMapper.writeValueAsBytes(List.of(STATION))));
-
-      List<Station> stations = webRequests.stationDefinitionStationRequest(stationsRequest);
-      assertEquals(List.of(STATION), stations);
-      
-      mockHttpClients.verify(() -> HttpClients.createDefault(), times(1));
-      mockHttpClients.verifyNoMoreInteractions();
-
-      verify(mockHttpClient, times(1)).execute(any(HttpPost.class));
-      verify(mockHttpResponse, times(1)).getStatusLine();
-      verify(mockStatusLine, times(1)).getStatusCode();
-      verify(mockHttpResponse, times(1)).getEntity();
-      verify(mockEntity, times(1)).getContent();
-      verify(mockHttpClient, times(1)).close();
-      verifyNoMoreInteractions(mockHttpClient, mockHttpResponse, mockStatusLine, mockEntity);
-    }
+    when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+    when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
+    when(mockStatusLine.getStatusCode()).thenReturn(200);
+    when(mockHttpResponse.getEntity()).thenReturn(mockEntity);
+    when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(objectMapper.writeValueAsBytes(List.of(STATION))));
+
+    List<Station> stations = webRequests.stationDefinitionStationRequest(stationsRequest);
+    assertEquals(List.of(STATION), stations);
+    
+    verify(mockHttpClient, times(1)).execute(any(HttpPost.class));
+    verify(mockHttpResponse, times(1)).getStatusLine();
+    verify(mockStatusLine, times(1)).getStatusCode();
+    verify(mockHttpResponse, times(1)).getEntity();
+    verify(mockEntity, times(1)).getContent();
+    verify(mockHttpResponse, times(1)).close();
+    verifyNoMoreInteractions(mockHttpClient, mockHttpResponse, mockStatusLine, mockEntity);
   }
   
   @Test
   void testStationDefinitionStationRequestFailure() throws IOException {
-    try (MockedStatic<HttpClients> mockHttpClients = mockStatic(HttpClients.class)) {
-      mockHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-      when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
-      when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
-      when(mockStatusLine.getStatusCode()).thenReturn(503);
-      when(mockStatusLine.getReasonPhrase()).thenReturn("sporadic failure");
-      
-      HttpResponseException ex = assertThrows(HttpResponseException.class, () -> webRequests.stationDefinitionStationRequest(stationsRequest));
-      assertEquals("sporadic failure", ex.getReasonPhrase());
-      assertEquals(503, ex.getStatusCode());
-      
-      mockHttpClients.verify(() -> HttpClients.createDefault(), times(1));
-      mockHttpClients.verifyNoMoreInteractions();
-      
-      verify(mockHttpClient, times(1)).execute(any(HttpPost.class));
-      verify(mockHttpResponse, times(3)).getStatusLine();
-      verify(mockStatusLine, times(2)).getStatusCode();
-      verify(mockStatusLine, times(1)).getReasonPhrase();
-      verify(mockHttpClient, times(1)).close();
-      verifyNoInteractions(mockEntity);
-      verifyNoMoreInteractions(mockHttpClient, mockHttpResponse, mockStatusLine);
-    }
+    when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+    when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
+    when(mockStatusLine.getStatusCode()).thenReturn(503);
+    when(mockStatusLine.getReasonPhrase()).thenReturn("sporadic failure");
+    
+    HttpResponseException ex = assertThrows(HttpResponseException.class, () -> webRequests.stationDefinitionStationRequest(stationsRequest));
+    assertEquals("sporadic failure", ex.getReasonPhrase());
+    assertEquals(503, ex.getStatusCode());
+    
+    verify(mockHttpClient, times(1)).execute(any(HttpPost.class));
+    verify(mockHttpResponse, times(3)).getStatusLine();
+    verify(mockStatusLine, times(2)).getStatusCode();
+    verify(mockStatusLine, times(1)).getReasonPhrase();
+    verify(mockHttpResponse, times(1)).close();
+    verifyNoInteractions(mockEntity);
+    verifyNoMoreInteractions(mockHttpClient, mockHttpResponse, mockStatusLine);
   }
   
   @Test
@@ -197,53 +187,64 @@ class WebRequestsTests {
   
   @Test
   void testWaveformRequestSuccess() throws IOException {
-    try (MockedStatic<HttpClients> mockHttpClients = mockStatic(HttpClients.class)) {
-      mockHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-      when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
-      when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
-      when(mockStatusLine.getStatusCode()).thenReturn(200);
-      when(mockHttpResponse.getEntity()).thenReturn(mockEntity);
-      when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(objectMapper.writeValueAsBytes(BASE_CHANNEL_SEGMENTS)));
-      
-      List<ChannelSegment<Waveform>> channelSegments = webRequests.waveformRequest(waveformRequest);
-      assertEquals(BASE_CHANNEL_SEGMENTS, channelSegments);
-      
-      mockHttpClients.verify(() -> HttpClients.createDefault(), times(1));
-      mockHttpClients.verifyNoMoreInteractions();
-      
-      verify(mockHttpClient, times(1)).execute(any(HttpPost.class));
-      verify(mockHttpResponse, times(1)).getStatusLine();
-      verify(mockStatusLine, times(1)).getStatusCode();
-      verify(mockHttpResponse, times(1)).getEntity();
-      verify(mockEntity, times(1)).getContent();
-      verify(mockHttpClient, times(1)).close();
-      verifyNoMoreInteractions(mockHttpClient, mockHttpResponse, mockStatusLine, mockEntity);
-    }
+    when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+    when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
+    when(mockStatusLine.getStatusCode()).thenReturn(200);
+    when(mockHttpResponse.getEntity()).thenReturn(mockEntity);
+    when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(msgpackMapper.writeValueAsBytes(BASE_CHANNEL_SEGMENTS)));
+    
+    List<ChannelSegment<Waveform>> channelSegments = webRequests.waveformRequest(waveformRequest);
+    assertEquals(BASE_CHANNEL_SEGMENTS, channelSegments);
+    
+    verify(mockHttpClient, times(1)).execute(any(HttpPost.class));
+    verify(mockHttpResponse, times(1)).getStatusLine();
+    verify(mockStatusLine, times(1)).getStatusCode();
+    verify(mockHttpResponse, times(1)).getEntity();
+    verify(mockEntity, times(1)).getContent();
+    verify(mockHttpResponse, times(1)).close();
+    verifyNoMoreInteractions(mockHttpClient, mockHttpResponse, mockStatusLine, mockEntity);
   }
 
   @Test
   void testWaveformRequestFailure() throws IOException {
-    try (MockedStatic<HttpClients> mockHttpClients = mockStatic(HttpClients.class)) {
-      mockHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-      when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
-      when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
-      when(mockStatusLine.getStatusCode()).thenReturn(503);
-      when(mockStatusLine.getReasonPhrase()).thenReturn("sporadic failure");
-      
-      HttpResponseException ex = assertThrows(HttpResponseException.class, () -> webRequests.waveformRequest(waveformRequest));
-      assertEquals("sporadic failure", ex.getReasonPhrase());
-      assertEquals(503, ex.getStatusCode());
-      
-      mockHttpClients.verify(() -> HttpClients.createDefault(), times(1));
-      mockHttpClients.verifyNoMoreInteractions();
-      
-      verify(mockHttpClient, times(1)).execute(any(HttpPost.class));
-      verify(mockHttpResponse, times(3)).getStatusLine();
-      verify(mockStatusLine, times(2)).getStatusCode();
-      verify(mockStatusLine, times(1)).getReasonPhrase();
-      verify(mockHttpClient, times(1)).close();
-      verifyNoInteractions(mockEntity);
-      verifyNoMoreInteractions(mockHttpClient, mockHttpResponse, mockStatusLine);
-    }
+    when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+    when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
+    when(mockStatusLine.getStatusCode()).thenReturn(503);
+    when(mockStatusLine.getReasonPhrase()).thenReturn("sporadic failure");
+    
+    HttpResponseException ex = assertThrows(HttpResponseException.class, () -> webRequests.waveformRequest(waveformRequest));
+    assertEquals("sporadic failure", ex.getReasonPhrase());
+    assertEquals(503, ex.getStatusCode());
+    
+    verify(mockHttpClient, times(1)).execute(any(HttpPost.class));
+    verify(mockHttpResponse, times(3)).getStatusLine();
+    verify(mockStatusLine, times(2)).getStatusCode();
+    verify(mockStatusLine, times(1)).getReasonPhrase();
+    verify(mockHttpResponse, times(1)).close();
+    verifyNoInteractions(mockEntity);
+    verifyNoMoreInteractions(mockHttpClient, mockHttpResponse, mockStatusLine);
+  }
+
+  @Test
+  void testRequestsShareClient() throws IOException {
+    when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+    when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
+    when(mockStatusLine.getStatusCode()).thenReturn(200);
+    when(mockHttpResponse.getEntity()).thenReturn(mockEntity);
+    when(mockEntity.getContent())
+      .thenReturn(new ByteArrayInputStream(msgpackMapper.writeValueAsBytes(BASE_CHANNEL_SEGMENTS)))
+      .thenReturn(new ByteArrayInputStream(msgpackMapper.writeValueAsBytes(BASE_CHANNEL_SEGMENTS)));
+
+    webRequests.waveformRequest(waveformRequest);
+    webRequests.waveformRequest(waveformRequest);
+
+    ArgumentCaptor<HttpPost> posts = ArgumentCaptor.forClass(HttpPost.class);
+    verify(mockHttpClient, times(2)).execute(posts.capture());
+    posts.getAllValues().forEach(post -> {
+      assertEquals("application/msgpack", post.getFirstHeader("Accept").getValue());
+      assertEquals("application/json", post.getFirstHeader("Content-Type").getValue());
+    });
+    verify(mockHttpResponse, times(2)).close();
+    verify(mockHttpClient, never()).close();
   }
 }
@@ -20,23 +20,54 @@ import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * HTTP client abstraction using the built-in JDK HttpClient.
+ * <p>
+ * Requests are sent either synchronously through {@link #send(ServiceRequest)} or asynchronously
+ * through {@link #sendAsync(ServiceRequest)}. Asynchronous requests decode response bodies once
+ * they have been read, off the HttpClient's threads, and coalesce identical requests that are in
+ * flight at the same time into one HTTP exchange.
  */
 public class ServiceClientJdkHttp {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ServiceClientJdkHttp.class);
 
+  private static final int DECODE_THREADS = 2 * Runtime.getRuntime().availableProcessors();
+  private static final int DECODE_QUEUE_CAPACITY = 256;
+  private static final long DECODE_KEEP_ALIVE_SECONDS = 60L;
+
+  // Decodes asynchronous response bodies off the HttpClient's completion threads. Bodies are read in
+  // full by the HttpClient before they are handed over, and streaming bodies are only wrapped in a
+  // Flux that reads them when subscribed, so decoding does not wait on the network and is CPU bound.
+  // The pool is bounded; once its queue is full the completing thread decodes the response itself,
+  // which slows down the responses completing on it instead of adding threads.
+  private static final ExecutorService decodeExecutor = decodeExecutor();
+
   private final HttpClient httpClient;
 
   private final RetryConfig sendRetryConfig;
 
   private final RetryPolicy<HttpResponse<String>> upgradeRetryPolicy;
-  private boolean upgradedToHTTP2 = false;
+  private volatile boolean upgradedToHTTP2 = false;
+
+  private final ConcurrentMap<RequestKey, CompletableFuture<Object>> inFlightRequests =
+    new ConcurrentHashMap<>();
 
   private ServiceClientJdkHttp(HttpClient client, RetryConfig sendRetryConfig, RetryConfig upgradeRetryConfig) {
     this.httpClient = Objects.requireNonNull(client);
@@ -86,12 +117,116 @@ public class ServiceClientJdkHttp {
     if (!upgradedToHTTP2) {
       upgradedToHTTP2 = requestSucceeded(throwIfErrorResponse(performHTTP2Upgrade(request)));
     }
-    final RetryPolicy<T> retryPolicy = sendRetryConfig.<T>toBaseRetryPolicy()
+    return Failsafe.with(this.<T>createSendRetryPolicy(request))
+      .get(() -> sendSingleRequest(request));
+  }
+
+  /**
+   * Send a request asynchronously and gets a response, with the same retry policy as
+   * {@link #send(ServiceRequest)}. Retries are scheduled without blocking a thread, and response
+   * bodies are read by the HttpClient before they are parsed on a bounded decode pool.
+   * <p>
+   * A request that is identical to one that is already in flight (same url, body, formats,
+   * response type and timeout) does not send another HTTP request, it completes with the result of
+   * the request in flight instead, so callers coalesced together receive the same deserialized
+   * response instance. Requests with a streaming response format are never coalesced. Cancelling
+   * the returned future does not cancel the request for other callers it was coalesced with.
+   *
+   * @param request the request to send
+   * @param <T> type param of the expected response
+   * @return a future completing with the response, or exceptionally with the exceptions
+   * {@link #send(ServiceRequest)} throws
+   * @throws IllegalArgumentException if the url in the request is invalid, the requestFormat or
+   * responseFormat's in the request are unsupported, or request serialization fails.
+   */
+  public <T> CompletableFuture<T> sendAsync(ServiceRequest request) {
+    Objects.requireNonNull(request, "Cannot send null request");
+    final Object body = trySerialize(ContentProtocols.from(request.getRequestFormat()),
+      request.getBody());
+    final HttpRequest httpRequest = createHttpRequest(request, body);
+
+    if (ContentType.isStreaming(request.getResponseFormat())) {
+      return sendWithRetries(request, httpRequest);
+    }
+
+    final RequestKey key = new RequestKey(request, body);
+    final CompletableFuture<Object> pending = new CompletableFuture<>();
+    final CompletableFuture<Object> inFlight = inFlightRequests.putIfAbsent(key, pending);
+    if (inFlight != null) {
+      LOGGER.debug("Coalescing request to {} with an identical request in flight", request.getUrl());
+      return inFlight.thenApply(ServiceClientJdkHttp::cast);
+    }
+
+    sendWithRetries(request, httpRequest).whenComplete((response, error) -> {
+      inFlightRequests.remove(key, pending);
+      if (error != null) {
+        pending.completeExceptionally(error);
+      } else {
+        pending.complete(response);
+      }
+    });
+    return pending.thenApply(ServiceClientJdkHttp::cast);
+  }
+
+  private <T> CompletableFuture<T> sendWithRetries(ServiceRequest request,
+    HttpRequest httpRequest) {
+    return upgradeIfNecessaryAsync(request)
+      .thenCompose(upgraded -> Failsafe.with(this.<T>createSendRetryPolicy(request))
+        .getStageAsync(() -> sendSingleRequestAsync(request, httpRequest)));
+  }
+
+  private <T> RetryPolicy<T> createSendRetryPolicy(ServiceRequest request) {
+    return sendRetryConfig.<T>toBaseRetryPolicy()
       .handle(List.of(ConnectionFailed.class, InternalServerError.class))
       .onFailedAttempt(e -> LOGGER
         .warn("Failed service request to {} with error {}, will try again...", request.getUrl(),
           e));
-    return Failsafe.with(retryPolicy).get(() -> sendSingleRequest(request));
+  }
+
+  private CompletableFuture<Boolean> upgradeIfNecessaryAsync(ServiceRequest request) {
+    if (upgradedToHTTP2) {
+      return CompletableFuture.completedFuture(true);
+    }
+
+    final HttpRequest upgradeRequest = createUpgradeRequest(request);
+    return Failsafe.with(upgradeRetryPolicy
+        .onFailedAttempt(e -> LOGGER
+          .warn("Failed service request to {} with error {}, will try again...", request.getUrl(),
+            e)))
+      .getStageAsync(() -> httpClient.sendAsync(upgradeRequest, BodyHandlers.ofString()))
+      .handle((response, error) -> {
+        if (error != null) {
+          throw new ConnectionFailed(
+            "Could not upgrade connection to " + request.getUrl().getHost(), unwrap(error));
+        }
+        upgradedToHTTP2 = requestSucceeded(throwIfErrorResponse(response));
+        return upgradedToHTTP2;
+      });
+  }
+
+  private <T, F> CompletableFuture<T> sendSingleRequestAsync(ServiceRequest request,
+    HttpRequest httpRequest) {
+    final ResponseContentProtocol<F> responseProtocol =
+      ContentProtocols.from(request.getResponseFormat());
+    return httpClient.sendAsync(httpRequest, responseProtocol.bodyHandler())
+      .handle((response, error) -> {
+        if (error != null) {
+          throw new ConnectionFailed("Could not connect to " + httpRequest.uri(), unwrap(error));
+        }
+        return response;
+      })
+      .thenApplyAsync(response -> tryDeserialize(throwIfErrorResponse(response).body(),
+        responseProtocol, request.getResponseType()), decodeExecutor);
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+      ? error.getCause() : error;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T cast(Object response) {
+    return (T) response;
   }
 
   <T, F> T sendSingleRequest(ServiceRequest request) {
@@ -105,10 +240,15 @@ public class ServiceClientJdkHttp {
   }
 
   private HttpRequest createHttpRequest(ServiceRequest request) {
+    return createHttpRequest(request, trySerialize(
+      ContentProtocols.from(request.getRequestFormat()), request.getBody()));
+  }
+
+  private HttpRequest createHttpRequest(ServiceRequest request, Object serializedBody) {
     try {
       return HttpRequest.newBuilder().uri(request.getUrl().toURI())
         .timeout(request.getTimeout())
-        .POST(bodyProcessor(request.getBody(), request.getRequestFormat()))
+        .POST(bodyProcessor(serializedBody, request.getRequestFormat()))
         .header("Content-Type", request.getRequestFormat().toString())
         .header("Accept", request.getResponseFormat().toString())
         .build();
@@ -117,11 +257,12 @@ public class ServiceClientJdkHttp {
     }
   }
 
+  @SuppressWarnings("unchecked")
   private static <F> BodyPublisher bodyProcessor(
-    Object body, ContentType requestFormat) {
+    Object serializedBody, ContentType requestFormat) {
     final RequestContentProtocol<F> requestProtocol
       = ContentProtocols.from(requestFormat);
-    return requestProtocol.bodyEncoder().apply(trySerialize(requestProtocol, body));
+    return requestProtocol.bodyEncoder().apply((F) serializedBody);
   }
 
   private static <F> F trySerialize(
@@ -144,19 +285,22 @@ public class ServiceClientJdkHttp {
     }
   }
 
+  private static HttpRequest createUpgradeRequest(ServiceRequest request) {
+    return HttpRequest
+      .newBuilder(
+        URI.create(String.format("%s://%s/%s%s",
+          request.getUrl().getProtocol(),
+          request.getUrl().getAuthority(),
+          request.getUrl().getHost(),
+          GmsCommonRoutes.CONNECTION_UPGRADE_PATH)))
+      .GET()
+      .timeout(request.getTimeout())
+      .build();
+  }
+
   private HttpResponse<String> performHTTP2Upgrade(ServiceRequest request) {
     try {
-      HttpRequest httpRequest = HttpRequest
-        .newBuilder(
-          URI.create(String.format("%s://%s/%s%s",
-            request.getUrl().getProtocol(),
-            request.getUrl().getAuthority(),
-            request.getUrl().getHost(),
-            GmsCommonRoutes.CONNECTION_UPGRADE_PATH)))
-        .GET()
-        .timeout(request.getTimeout())
-        .build();
-
+      HttpRequest httpRequest = createUpgradeRequest(request);
 
       return Failsafe.with(upgradeRetryPolicy
           .onFailedAttempt(e -> LOGGER
@@ -214,6 +358,70 @@ public class ServiceClientJdkHttp {
     return HttpStatus.isSuccess(response.statusCode());
   }
 
+  private static ExecutorService decodeExecutor() {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(DECODE_THREADS, DECODE_THREADS,
+      DECODE_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<>(DECODE_QUEUE_CAPACITY),
+      decodeThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static ThreadFactory decodeThreadFactory() {
+    final AtomicInteger threadCount = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(runnable,
+        "service-client-decode-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Identifies requests that can share one HTTP exchange: the serialized body stands in for the
+   * request body object, so bodies that serialize identically coalesce.
+   */
+  private static final class RequestKey {
+
+    private final String url;
+    private final Object body;
+    private final ContentType requestFormat;
+    private final ContentType responseFormat;
+    private final Type responseType;
+    private final Duration timeout;
+
+    private RequestKey(ServiceRequest request, Object serializedBody) {
+      this.url = request.getUrl().toString();
+      this.body = serializedBody instanceof byte[]
+        ? ByteBuffer.wrap((byte[]) serializedBody) : serializedBody;
+      this.requestFormat = request.getRequestFormat();
+      this.responseFormat = request.getResponseFormat();
+      this.responseType = request.getResponseType();
+      this.timeout = request.getTimeout();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final RequestKey that = (RequestKey) o;
+      return url.equals(that.url)
+        && Objects.equals(body, that.body)
+        && requestFormat == that.requestFormat
+        && responseFormat == that.responseFormat
+        && responseType.equals(that.responseType)
+        && timeout.equals(that.timeout);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(url, body, requestFormat, responseFormat, responseType, timeout);
+    }
+  }
+
   /**
    * Exception for when the server has an internal error.
    */
@@ -0,0 +1,269 @@
+package gms.shared.frameworks.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import gms.shared.frameworks.client.ServiceClientJdkHttp.BadRequest;
+import gms.shared.frameworks.client.ServiceClientJdkHttp.ConnectionFailed;
+import gms.shared.frameworks.common.ContentType;
+import gms.shared.frameworks.configuration.RetryConfig;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.lang.reflect.Type;
+import java.net.MalformedURLException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link ServiceClientJdkHttp#sendAsync(ServiceRequest)} against a local reactor-netty
+ * server standing in for a GMS service.
+ */
+class ServiceClientJdkHttpAsyncTests {
+
+  private static final ObjectMapper jsonMapper = CoiObjectMapperFactory.getJsonObjectMapper();
+
+  private static final String ECHO_PATH = "/echo", SLOW_PATH = "/slow", FLAKY_PATH = "/flaky",
+    CLIENT_ERROR_PATH = "/client-error", STREAM_PATH = "/stream";
+  private static final String CLIENT_ERROR_MSG = "client error!";
+  private static final int FLAKY_FAILURES = 2;
+  private static final Duration timeout = Duration.ofSeconds(5);
+
+  private static final Type someObjectOptionalStringType;
+  private static final Type fluxOfStringsType;
+
+  static {
+    final TypeFactory typeFactory = jsonMapper.getTypeFactory();
+
+    someObjectOptionalStringType = typeFactory.constructParametricType(
+      SomeObject.class, typeFactory.constructParametricType(Optional.class, String.class));
+    fluxOfStringsType = TestUtilities
+      .getResponseType(ServiceClientJdkHttpAsyncTests.class, "declareStreamingReturnType");
+  }
+
+  private final RetryConfig sendRetryConfig = RetryConfig.create(10, 100, ChronoUnit.MILLIS, 5);
+  private final RetryConfig upgradeRetryConfig = RetryConfig.create(10, 100, ChronoUnit.MILLIS, 5);
+
+  private final AtomicInteger upgradeRequests = new AtomicInteger();
+  private final AtomicInteger slowRequests = new AtomicInteger();
+  private final AtomicInteger flakyRequests = new AtomicInteger();
+  private final AtomicInteger clientErrorRequests = new AtomicInteger();
+
+  private DisposableServer server;
+  private String baseUrl;
+  private ServiceClientJdkHttp client;
+
+  /**
+   * Dummy operation that {@link TestUtilities#getResponseType(Class, String)} can use reflection on
+   * to construct a Type corresponding to a "Flux<String>".
+   */
+  private static Flux<String> declareStreamingReturnType() {
+    return Flux.empty();
+  }
+
+  @BeforeEach
+  void setUp() {
+    server = HttpServer.create()
+      .host("localhost")
+      .port(0)
+      .route(routes -> routes
+        .get("/localhost/upgrade", (request, response) -> {
+          upgradeRequests.incrementAndGet();
+          return response.sendString(Mono.just("upgraded"));
+        })
+        .post(ECHO_PATH, ServiceClientJdkHttpAsyncTests::echo)
+        .post(SLOW_PATH, (request, response) -> {
+          slowRequests.incrementAndGet();
+          return Mono.delay(Duration.ofMillis(300)).thenEmpty(echo(request, response));
+        })
+        .post(FLAKY_PATH, (request, response) -> {
+          if (flakyRequests.incrementAndGet() <= FLAKY_FAILURES) {
+            return response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR)
+              .sendString(Mono.just("server error!"));
+          }
+          return echo(request, response);
+        })
+        .post(CLIENT_ERROR_PATH, (request, response) -> {
+          clientErrorRequests.incrementAndGet();
+          return response.status(HttpResponseStatus.BAD_REQUEST)
+            .sendString(Mono.just(CLIENT_ERROR_MSG));
+        })
+        .post(STREAM_PATH, (request, response) -> response
+          .header("Content-Type", ContentType.JSON_STREAM_NAME)
+          .sendString(Flux.just("\"one\" ", "\"two\" ", "\"three\""))))
+      .bindNow();
+    baseUrl = "http://localhost:" + server.port();
+    client = ServiceClientJdkHttp.create(sendRetryConfig, upgradeRetryConfig);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.disposeNow();
+  }
+
+  private static Publisher<Void> echo(HttpServerRequest request,
+    HttpServerResponse response) {
+    return response
+      .header("Content-Type", request.requestHeaders().get("Content-Type"))
+      .send(request.receive().aggregate().retain());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ContentType.class, names = {"JSON", "MSGPACK"})
+  void testSendAsyncDecodesResponse(ContentType format) throws Exception {
+    final SomeObject<Optional<String>> body = SomeObject.create(5.0, "foo", Optional.of("bar"));
+
+    final CompletableFuture<SomeObject<Optional<String>>> response = client.sendAsync(
+      request(ECHO_PATH, body, someObjectOptionalStringType, format));
+
+    assertEquals(body, response.get(10, TimeUnit.SECONDS));
+    assertEquals(1, upgradeRequests.get());
+  }
+
+  @Test
+  void testSendAsyncUpgradesOnce() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      client.<String>sendAsync(request(ECHO_PATH, "foo" + i, String.class, ContentType.JSON))
+        .get(10, TimeUnit.SECONDS);
+    }
+
+    assertEquals(1, upgradeRequests.get());
+  }
+
+  @Test
+  void testSendAsyncCoalescesIdenticalRequests() throws Exception {
+    final SomeObject<Optional<String>> body = SomeObject.create(1.0, "same", Optional.empty());
+    final ServiceRequest request = request(SLOW_PATH, body, someObjectOptionalStringType,
+      ContentType.JSON);
+
+    final List<CompletableFuture<Object>> responses = IntStream.range(0, 10)
+      .mapToObj(i -> client.sendAsync(request))
+      .collect(Collectors.toList());
+
+    final Object first = responses.get(0).get(10, TimeUnit.SECONDS);
+    assertEquals(body, first);
+    for (CompletableFuture<Object> response : responses) {
+      assertSame(first, response.get(10, TimeUnit.SECONDS));
+    }
+    assertEquals(1, slowRequests.get());
+
+    // completed requests are no longer in flight
+    assertEquals(body, client.sendAsync(request).get(10, TimeUnit.SECONDS));
+    assertEquals(2, slowRequests.get());
+  }
+
+  @Test
+  void testSendAsyncDoesNotCoalesceDifferentBodies() throws Exception {
+    final List<CompletableFuture<String>> responses = IntStream.range(0, 5)
+      .mapToObj(i -> client.<String>sendAsync(
+        request(SLOW_PATH, "body" + i, String.class, ContentType.JSON)))
+      .collect(Collectors.toList());
+
+    for (int i = 0; i < responses.size(); i++) {
+      assertEquals("body" + i, responses.get(i).get(10, TimeUnit.SECONDS));
+    }
+    assertEquals(responses.size(), slowRequests.get());
+  }
+
+  @Test
+  void testSendAsyncCancellingOneCallerDoesNotCancelOthers() throws Exception {
+    final ServiceRequest request = request(SLOW_PATH, "shared", String.class, ContentType.JSON);
+
+    final CompletableFuture<String> cancelled = client.sendAsync(request);
+    final CompletableFuture<String> kept = client.sendAsync(request);
+    cancelled.cancel(true);
+
+    assertEquals("shared", kept.get(10, TimeUnit.SECONDS));
+    assertEquals(1, slowRequests.get());
+  }
+
+  @Test
+  void testSendAsyncRetriesServerErrors() throws Exception {
+    final CompletableFuture<String> response = client.sendAsync(
+      request(FLAKY_PATH, "flaky", String.class, ContentType.JSON));
+
+    assertEquals("flaky", response.get(10, TimeUnit.SECONDS));
+    assertEquals(FLAKY_FAILURES + 1, flakyRequests.get());
+  }
+
+  @Test
+  void testSendAsyncDoesNotRetryClientErrors() {
+    final CompletableFuture<String> response = client.sendAsync(
+      request(CLIENT_ERROR_PATH, "foo", String.class, ContentType.JSON));
+
+    final ExecutionException ex = assertThrows(ExecutionException.class,
+      () -> response.get(10, TimeUnit.SECONDS));
+    assertTrue(ex.getCause() instanceof BadRequest);
+    assertEquals(CLIENT_ERROR_MSG, ex.getCause().getMessage());
+    assertEquals(1, clientErrorRequests.get());
+  }
+
+  @Test
+  void testSendAsyncStreamingResponse() throws Exception {
+    final CompletableFuture<Flux<String>> response = client.sendAsync(
+      request(STREAM_PATH, "foo", fluxOfStringsType, ContentType.JSON_STREAM));
+
+    assertEquals(List.of("one", "two", "three"),
+      response.get(10, TimeUnit.SECONDS).collectList().block(timeout));
+  }
+
+  @Test
+  void testSendAsyncConnectionFailed() throws Exception {
+    final int unusedPort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      unusedPort = socket.getLocalPort();
+    }
+    final ServiceRequest request = ServiceRequest.from(
+      new URL("http://localhost:" + unusedPort + ECHO_PATH), "foo", timeout,
+      String.class, ContentType.JSON, ContentType.JSON);
+
+    final CompletableFuture<String> response = client.sendAsync(request);
+
+    final ExecutionException ex = assertThrows(ExecutionException.class,
+      () -> response.get(10, TimeUnit.SECONDS));
+    assertTrue(ex.getCause() instanceof ConnectionFailed);
+  }
+
+  @Test
+  void testSendAsyncUnserializableBodyThrows() {
+    final ServiceRequest request = request(ECHO_PATH, new Object(), String.class,
+      ContentType.JSON);
+
+    assertThrows(IllegalArgumentException.class, () -> client.sendAsync(request));
+  }
+
+  private ServiceRequest request(String path, Object body, Type responseType, ContentType format) {
+    try {
+      return ServiceRequest.from(new URL(baseUrl + path), body, timeout, responseType,
+        format == ContentType.JSON_STREAM ? ContentType.JSON : format, format);
+    } catch (MalformedURLException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gms.shared.frameworks.common.ContentType;
 import gms.shared.frameworks.common.GmsCommonRoutes;
+import gms.shared.metrics.Histogram;
+import gms.shared.metrics.Metrics;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.reactivestreams.Publisher;
@@ -37,6 +39,8 @@ public class HttpService {
   private static final Logger logger = LoggerFactory.getLogger(HttpService.class);
   private static final String TEXT_PLAIN = "text/plain";
   private static final String APPLICATION_JSON = "application/json";
+  // Route paths start with a slash, which the metric name sanitization turns into an underscore
+  private static final String ROUTE_METRIC_PREFIX = "http_route";
 
   private boolean isRunning = false;
 
@@ -81,8 +85,10 @@ public class HttpService {
 
     String healthCheckEndpoint = "/" + definition.getContextRoot() + GmsCommonRoutes.HEALTHCHECK_PATH;
     String upgradeEndpoint = "/" + definition.getContextRoot() + GmsCommonRoutes.CONNECTION_UPGRADE_PATH;
+    String metricsEndpoint = "/" + definition.getContextRoot() + GmsCommonRoutes.METRICS_PATH;
     logger.info("Registering healthcheck route at {}", healthCheckEndpoint);
     logger.info("Registering upgrade route at {}", upgradeEndpoint);
+    logger.info("Registering metrics route at {}", metricsEndpoint);
     // register routes
     // start the service
     logger.info("Starting the service...");
@@ -94,10 +100,14 @@ public class HttpService {
       routes.get(upgradeEndpoint,
         (req, res) -> res.header(HttpHeaderNames.CONTENT_TYPE, TEXT_PLAIN)
           .sendString(Mono.just("Connection Upgraded to HTTP/2 at " + Instant.now())));
+      routes.get(metricsEndpoint,
+        (req, res) -> res.header(HttpHeaderNames.CONTENT_TYPE, Metrics.CONTENT_TYPE)
+          .sendString(Mono.fromSupplier(Metrics::scrape)));
       logger.info("Registering {} routes", this.definition.getRoutes().size());
       for (Route r : this.definition.getRoutes()) {
         logger.info("Registering route with path {}", r.getPath());
-        routes.post(r.getPath(), nettyRoute(r.getHandler()));
+        routes.post(r.getPath(),
+          nettyRoute(r.getHandler(), Metrics.latency(ROUTE_METRIC_PREFIX + r.getPath())));
       }
     }).bindNow();
     isRunning = true;
@@ -146,17 +156,18 @@ public class HttpService {
    * operation might be blocking, I/O bound, or otherwise slow to return.
    *
    * @param handler the request handler operation backed by application logic
+   * @param handlerLatency histogram the time spent in the request handler is recorded in
    * @return a Spark Route function that uses the provided RequestHandler and serialization objects
    */
   private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> nettyRoute(
-    RequestHandler<?> handler) {
+    RequestHandler<?> handler, Histogram handlerLatency) {
     return (nettyRequest, nettyResponse) ->
       nettyRequest.receive()
         .aggregate()
         .asByteArray()
         .publishOn(Schedulers.boundedElastic())
         .defaultIfEmpty(new ByteArrayOutputStream().toByteArray())
-        .flatMapMany(buf -> handleRequest(nettyRequest, nettyResponse, handler, buf));
+        .flatMapMany(buf -> handleRequest(nettyRequest, nettyResponse, handler, handlerLatency, buf));
   }
 
   /**
@@ -166,11 +177,12 @@ public class HttpService {
    * provided by the incoming request.
    * @param nettyResponse - {@link HttpServerResponse} created by the Netty server
    * @param handler - {@link RequestHandler} holding the callback to handle the request with
+   * @param handlerLatency - histogram the time spent in the handler is recorded in
    * @param buf - data that was aggregated by netty before invoking the handler
    * @return a {@link Mono} object that writes out the serialized HTTP response to the wire.
    */
   private Publisher<Void> handleRequest(HttpServerRequest nettyRequest,
-    HttpServerResponse nettyResponse, RequestHandler<?> handler, byte[] buf) {
+    HttpServerResponse nettyResponse, RequestHandler<?> handler, Histogram handlerLatency, byte[] buf) {
     // wrap the Request
     logger.info("Handling request: {}", nettyRequest);
     final Request request = new NettyRequest(nettyRequest, buf);
@@ -179,7 +191,10 @@ public class HttpService {
       request.clientSentMsgpack() ? this.definition.getMsgpackMapper()
         : this.definition.getJsonMapper();
     // invoke the route handler
-    return Mono.just(invokeHandler(handler, request, deserializer))
+    final long startNanos = System.nanoTime();
+    final Response<?> handlerResponse = invokeHandler(handler, request, deserializer);
+    handlerLatency.recordSince(startNanos);
+    return Mono.just(handlerResponse)
       .flatMapMany(routeResponse ->
         writeOutResponse(nettyResponse, routeResponse, request.clientAcceptsMsgpack()));
   }
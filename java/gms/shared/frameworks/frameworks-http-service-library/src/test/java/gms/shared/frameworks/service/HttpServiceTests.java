@@ -446,6 +446,21 @@ class HttpServiceTests {
     assertTrue(httpResponse.body().contains("\"aliveAt\""));
   }
 
+  @Test
+  void testMetricsRoute() throws Exception {
+    requestEchoBodyRoute("foo");
+
+    final var httpRequest = HttpRequest.newBuilder(
+        URI.create("http://localhost:" + servicePort + "/test" + GmsCommonRoutes.METRICS_PATH))
+      .GET()
+      .build();
+    final var httpResponse = HttpClient.newHttpClient()
+      .send(httpRequest, BodyHandlers.ofString());
+    assertEquals(Code.OK.getStatusCode(), httpResponse.statusCode());
+    assertTrue(httpResponse.headers().firstValue("Content-Type").orElseThrow().startsWith("text/plain"));
+    assertTrue(httpResponse.body().contains("# TYPE http_route_echoBody summary"));
+  }
+
   @Test
   void testStreamingJsonResponseRoute() throws Exception {
     final var streamingRequest = StreamingRequest.create(13, 0, true);
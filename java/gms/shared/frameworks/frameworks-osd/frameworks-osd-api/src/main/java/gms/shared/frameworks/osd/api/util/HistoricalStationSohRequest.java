@@ -7,6 +7,7 @@ import com.google.auto.value.AutoValue;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
 
 import java.time.Instant;
+import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
@@ -24,6 +25,15 @@ public abstract class HistoricalStationSohRequest {
 
   public abstract SohMonitorType getSohMonitorType();
 
+  /**
+   * @return the maximum number of values the response should hold per channel. When present the
+   * repository decimates the historical values, keeping the first, minimum, maximum and last value
+   * of each channel and time bucket at the times they were stored, instead of returning every
+   * stored value. Decimated responses are meant for plotting: averages or counts taken over them
+   * do not match those of the stored values.
+   */
+  public abstract Optional<Integer> getTargetPointCount();
+
   public static Builder builder() {
     return new AutoValue_HistoricalStationSohRequest.Builder();
   }
@@ -44,6 +54,22 @@ public abstract class HistoricalStationSohRequest {
       .build();
   }
 
+  public static HistoricalStationSohRequest create(
+    String stationName,
+    Instant startTime,
+    Instant endTime,
+    SohMonitorType sohMonitorType,
+    int targetPointCount
+  ) {
+    return builder()
+      .setStationName(stationName)
+      .setStartTime(startTime)
+      .setEndTime(endTime)
+      .setSohMonitorType(sohMonitorType)
+      .setTargetPointCount(Optional.of(targetPointCount))
+      .build();
+  }
+
   @AutoValue.Builder
   @JsonPOJOBuilder(withPrefix = "set")
   public abstract static class Builder {
@@ -56,6 +82,8 @@ public abstract class HistoricalStationSohRequest {
 
     public abstract Builder setSohMonitorType(SohMonitorType sohMonitorType);
 
+    public abstract Builder setTargetPointCount(Optional<Integer> targetPointCount);
+
     public abstract HistoricalStationSohRequest autoBuild();
 
     public HistoricalStationSohRequest build() {
@@ -63,6 +91,9 @@ public abstract class HistoricalStationSohRequest {
 
       checkArgument(isNotEmpty(historicalStationSohRequest.getStationName()),
         "HistoricalStationSohRequest requires non-null, non-empty stationName");
+      historicalStationSohRequest.getTargetPointCount().ifPresent(targetPointCount ->
+        checkArgument(targetPointCount > 0,
+          "HistoricalStationSohRequest targetPointCount must be positive"));
 
       return historicalStationSohRequest;
     }
@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class HistoricalStationSohRequestTests {
 
@@ -21,4 +22,22 @@ class HistoricalStationSohRequestTests {
     assertEquals(request,
       mapper.readValue(mapper.writeValueAsString(request), HistoricalStationSohRequest.class));
   }
-}
\ No newline at end of file
+
+  @Test
+  void testSerializationWithTargetPointCount() throws IOException {
+    HistoricalStationSohRequest request = HistoricalStationSohRequest.create("TEST",
+      Instant.EPOCH, Instant.EPOCH.plusSeconds(5),
+      SohMonitorType.LAG, 100);
+    ObjectMapper mapper = CoiObjectMapperFactory.getJsonObjectMapper();
+    assertEquals(request,
+      mapper.readValue(mapper.writeValueAsString(request), HistoricalStationSohRequest.class));
+  }
+
+  @Test
+  void testTargetPointCountMustBePositive() {
+    var start = Instant.EPOCH;
+    var end = Instant.EPOCH.plusSeconds(5);
+    assertThrows(IllegalArgumentException.class,
+      () -> HistoricalStationSohRequest.create("TEST", start, end, SohMonitorType.LAG, 0));
+  }
+}
@@ -0,0 +1,102 @@
+package gms.shared.frameworks.osd.dao.soh;
+
+/**
+ * HistoricalSohMonitorValueBucket is a POJO intended to hold one row returned from the
+ * PerformanceMonitoringRepositoryJpa decimated historical SOH query: the first, minimum, maximum
+ * and last monitor value of a single channel within a single time bucket, each with the
+ * calculation time it was stored at.
+ * <p>
+ * Values are the raw column values (duration in seconds, or percent), with missing values already
+ * replaced by the query.
+ */
+public class HistoricalSohMonitorValueBucket {
+
+  private final String channelName;
+
+  private final int bucket;
+
+  private final long firstTime;
+
+  private final double firstValue;
+
+  private final long minTime;
+
+  private final double minValue;
+
+  private final long maxTime;
+
+  private final double maxValue;
+
+  private final long lastTime;
+
+  private final double lastValue;
+
+  /**
+   * Constructor for a HistoricalSohMonitorValueBucket object
+   *
+   * @param channelName The channelName
+   * @param bucket The index of the time bucket, starting at zero for the request start time
+   * @param firstTime The epoch millis of the first value in the bucket
+   * @param firstValue The first value in the bucket
+   * @param minTime The epoch millis of the (earliest) minimum value in the bucket
+   * @param minValue The minimum value in the bucket
+   * @param maxTime The epoch millis of the (earliest) maximum value in the bucket
+   * @param maxValue The maximum value in the bucket
+   * @param lastTime The epoch millis of the last value in the bucket
+   * @param lastValue The last value in the bucket
+   */
+  public HistoricalSohMonitorValueBucket(String channelName, int bucket, long firstTime,
+    double firstValue, long minTime, double minValue, long maxTime, double maxValue,
+    long lastTime, double lastValue) {
+    this.channelName = channelName;
+    this.bucket = bucket;
+    this.firstTime = firstTime;
+    this.firstValue = firstValue;
+    this.minTime = minTime;
+    this.minValue = minValue;
+    this.maxTime = maxTime;
+    this.maxValue = maxValue;
+    this.lastTime = lastTime;
+    this.lastValue = lastValue;
+  }
+
+  public String getChannelName() {
+    return channelName;
+  }
+
+  public int getBucket() {
+    return bucket;
+  }
+
+  public long getFirstTime() {
+    return firstTime;
+  }
+
+  public double getFirstValue() {
+    return firstValue;
+  }
+
+  public long getMinTime() {
+    return minTime;
+  }
+
+  public double getMinValue() {
+    return minValue;
+  }
+
+  public long getMaxTime() {
+    return maxTime;
+  }
+
+  public double getMaxValue() {
+    return maxValue;
+  }
+
+  public long getLastTime() {
+    return lastTime;
+  }
+
+  public double getLastValue() {
+    return lastValue;
+  }
+}
@@ -0,0 +1,77 @@
+package gms.shared.frameworks.osd.dao.transferredfile;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * The latest waveform summary end time stored for a channel, maintained as raw station data frames are stored so it
+ * can be read without aggregating over the waveform summaries.
+ */
+@Entity
+@Table(name = "channel_latest_sample_time")
+public class ChannelLatestSampleTimeDao {
+
+  @Id
+  @Column(name = "channel_name", nullable = false)
+  private String channelName;
+
+  @Column(name = "end_time", nullable = false)
+  private Instant endTime;
+
+  /**
+   * Default no-arg constructor (for use by JPA)
+   */
+  public ChannelLatestSampleTimeDao() {
+  }
+
+  public ChannelLatestSampleTimeDao(String channelName, Instant endTime) {
+    this.channelName = Objects.requireNonNull(channelName);
+    this.endTime = Objects.requireNonNull(endTime);
+  }
+
+  public String getChannelName() {
+    return channelName;
+  }
+
+  public void setChannelName(String channelName) {
+    this.channelName = channelName;
+  }
+
+  public Instant getEndTime() {
+    return endTime;
+  }
+
+  public void setEndTime(Instant endTime) {
+    this.endTime = endTime;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ChannelLatestSampleTimeDao that = (ChannelLatestSampleTimeDao) o;
+    return Objects.equals(channelName, that.channelName) &&
+      Objects.equals(endTime, that.endTime);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(channelName, endTime);
+  }
+
+  @Override
+  public String toString() {
+    return "ChannelLatestSampleTimeDao{" +
+      "channelName=" + channelName +
+      ", endTime=" + endTime +
+      '}';
+  }
+}
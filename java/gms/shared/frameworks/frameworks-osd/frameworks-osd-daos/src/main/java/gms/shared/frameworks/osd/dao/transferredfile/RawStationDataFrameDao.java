@@ -20,8 +20,6 @@ import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
-import javax.persistence.NamedQueries;
-import javax.persistence.NamedQuery;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.time.Instant;
@@ -42,10 +40,6 @@ import org.apache.commons.lang3.Validate;
   name = "pgsql_enum",
   typeClass = PostgreSQLEnumType.class
 )
-@NamedQueries(
-  @NamedQuery(name = "RawStationDataFrameDao.exists",
-    query = "SELECT CASE WHEN COUNT(dao) > 0 THEN 1 ELSE 0 END FROM RawStationDataFrameDao dao WHERE dao.id = :id")
-)
 public class RawStationDataFrameDao implements Serializable {
 
 	@EmbeddedId
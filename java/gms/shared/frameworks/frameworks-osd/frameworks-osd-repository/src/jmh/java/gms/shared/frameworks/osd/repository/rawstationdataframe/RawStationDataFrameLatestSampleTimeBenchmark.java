@@ -0,0 +1,182 @@
+package gms.shared.frameworks.osd.repository.rawstationdataframe;
+
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame.AuthenticationStatus;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFramePayloadFormat;
+import gms.shared.frameworks.osd.coi.waveforms.WaveformSummary;
+import gms.shared.frameworks.osd.dao.transferredfile.WaveformSummaryDao;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.CHANNEL_NAME;
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.END_TIME;
+
+/**
+ * Benchmarks looking up the latest sample times of a station group's worth of channels, as station SOH control does
+ * when it seeds its timeliness state, from an in-memory H2 database in PostgreSQL mode, with the RSDF tables of the SOH
+ * schema, holding {@code hoursOfHistory} hours of ten second waveform summaries for each of 150 channels.
+ * <p>
+ * The history is inserted directly, then brought into the maintained latest sample times with
+ * {@link RawStationDataFrameRepositoryJpa#reconcileLatestSampleTimes}, and a last frame for each station is stored
+ * through {@link RawStationDataFrameRepositoryJpa#storeRawStationDataFrames}. {@code maintained} looks the channels up
+ * as {@link RawStationDataFrameRepositoryQueryViewJpa#retrieveLatestSampleTimeByChannel} does; {@code aggregate} takes
+ * the maximum waveform summary end time of each channel, as the repository did before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// the frame enum columns are bound as Types.OTHER, which H2 otherwise stores serialized
+@Fork(value = 1, jvmArgsAppend = "-Dh2.serializeJavaObject=false")
+@State(Scope.Benchmark)
+public class RawStationDataFrameLatestSampleTimeBenchmark {
+
+  private static final Instant START_TIME = Instant.parse("2021-06-01T00:00:00Z");
+  private static final Duration FRAME_LENGTH = Duration.ofSeconds(10);
+  private static final int STATION_COUNT = 50;
+  private static final int CHANNELS_PER_STATION = 3;
+  private static final int QUERIED_STATIONS = 10;
+
+  @Param({"maintained", "aggregate"})
+  String lookup;
+
+  @Param({"1", "6", "24"})
+  int hoursOfHistory;
+
+  private EntityManagerFactory entityManagerFactory;
+  private RawStationDataFrameRepositoryQueryViewJpa queryView;
+  private List<String> channelNames;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_rsdf_benchmark", Map.of(
+      "hibernate.connection.url", "jdbc:h2:mem:rsdf_latest_sample_time;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+        + "INIT=RUNSCRIPT FROM 'classpath:rsdf_benchmark_schema.sql'"));
+    queryView = new RawStationDataFrameRepositoryQueryViewJpa(entityManagerFactory);
+
+    var framesPerStation = (int) (Duration.ofHours(hoursOfHistory).toSeconds() / FRAME_LENGTH.toSeconds());
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      // summary X is of channel X % 150, and of the ten seconds X / 150 frames after the start time; its id is
+      // negative so it stays clear of the ids the waveform summary sequence hands out
+      entityManager.createNativeQuery("INSERT INTO waveform_summary (id, reception_time, channel_name, end_time, "
+          + "start_time) "
+          + "SELECT -1 - X, DATEADD('SECOND', 10 * (X / ?1) + 11, TIMESTAMP '2021-06-01 00:00:00'), "
+          + "'ST' || LPAD(CAST(MOD(X, ?1) / ?2 AS VARCHAR), 2, '0') || '.ST' "
+          + "|| LPAD(CAST(MOD(X, ?1) / ?2 AS VARCHAR), 2, '0') || LPAD(CAST(MOD(X, ?2) AS VARCHAR), 2, '0') "
+          + "|| '.BHZ', "
+          + "DATEADD('SECOND', 10 * (X / ?1) + 10, TIMESTAMP '2021-06-01 00:00:00'), "
+          + "DATEADD('SECOND', 10 * (X / ?1), TIMESTAMP '2021-06-01 00:00:00') "
+          + "FROM SYSTEM_RANGE(0, ?3)")
+        .setParameter(1, STATION_COUNT * CHANNELS_PER_STATION)
+        .setParameter(2, CHANNELS_PER_STATION)
+        .setParameter(3, (long) framesPerStation * STATION_COUNT * CHANNELS_PER_STATION - 1)
+        .executeUpdate();
+      entityManager.getTransaction().commit();
+    } finally {
+      entityManager.close();
+    }
+
+    var repository = new RawStationDataFrameRepositoryJpa(entityManagerFactory);
+    repository.reconcileLatestSampleTimes();
+    List<RawStationDataFrame> lastFrames = new ArrayList<>(STATION_COUNT);
+    for (var station = 0; station < STATION_COUNT; station++) {
+      lastFrames.add(frame(station, framesPerStation));
+    }
+    repository.storeRawStationDataFrames(lastFrames);
+
+    channelNames = lastFrames.stream()
+      .limit(QUERIED_STATIONS)
+      .flatMap(rsdf -> rsdf.getMetadata().getChannelNames().stream())
+      .collect(Collectors.toList());
+    if (!queryView.retrieveLatestSampleTimeByChannel(channelNames).equals(retrieveAggregate())) {
+      throw new IllegalStateException("Maintained latest sample times do not match the waveform summaries");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  @Benchmark
+  public Map<String, Instant> retrieveLatestSampleTimes() {
+    return "maintained".equals(lookup)
+      ? queryView.retrieveLatestSampleTimeByChannel(channelNames)
+      : retrieveAggregate();
+  }
+
+  private Map<String, Instant> retrieveAggregate() {
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      var builder = entityManager.getCriteriaBuilder();
+      CriteriaQuery<Tuple> latestSampleTimeQuery = builder.createTupleQuery();
+      Root<WaveformSummaryDao> fromWaveformSummary = latestSampleTimeQuery.from(WaveformSummaryDao.class);
+      latestSampleTimeQuery.multiselect(fromWaveformSummary.get(CHANNEL_NAME).alias(CHANNEL_NAME),
+          builder.max(fromWaveformSummary.get(END_TIME)).alias(END_TIME))
+        .where(fromWaveformSummary.get(CHANNEL_NAME).in(channelNames))
+        .groupBy(fromWaveformSummary.get(CHANNEL_NAME));
+
+      return entityManager.createQuery(latestSampleTimeQuery).getResultStream()
+        .collect(Collectors.toMap(tuple -> tuple.get(CHANNEL_NAME, String.class),
+          tuple -> tuple.get(END_TIME, Instant.class)));
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  private static RawStationDataFrame frame(int station, int index) {
+    var stationName = String.format("ST%02d", station);
+    var payloadStartTime = START_TIME.plus(FRAME_LENGTH.multipliedBy(index));
+    var payloadEndTime = payloadStartTime.plus(FRAME_LENGTH);
+
+    List<String> channelNames = new ArrayList<>(CHANNELS_PER_STATION);
+    Map<String, WaveformSummary> waveformSummaries = new HashMap<>();
+    for (var channel = 0; channel < CHANNELS_PER_STATION; channel++) {
+      var channelName = String.format("%s.%s%02d.BHZ", stationName, stationName, channel);
+      channelNames.add(channelName);
+      waveformSummaries.put(channelName, WaveformSummary.from(channelName, payloadStartTime, payloadEndTime));
+    }
+
+    return RawStationDataFrame.builder()
+      .setId(UUID.randomUUID())
+      .setMetadata(RawStationDataFrameMetadata.builder()
+        .setStationName(stationName)
+        .setChannelNames(channelNames)
+        .setPayloadFormat(RawStationDataFramePayloadFormat.CD11)
+        .setPayloadStartTime(payloadStartTime)
+        .setPayloadEndTime(payloadEndTime)
+        .setReceptionTime(payloadEndTime.plusSeconds(1))
+        .setAuthenticationStatus(AuthenticationStatus.AUTHENTICATION_SUCCEEDED)
+        .setWaveformSummaries(waveformSummaries)
+        .build())
+      .build();
+  }
+}
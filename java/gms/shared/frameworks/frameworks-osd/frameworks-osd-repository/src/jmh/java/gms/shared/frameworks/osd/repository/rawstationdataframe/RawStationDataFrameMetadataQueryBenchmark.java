@@ -0,0 +1,188 @@
+package gms.shared.frameworks.osd.repository.rawstationdataframe;
+
+import gms.shared.frameworks.osd.api.util.StationTimeRangeRequest;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame.AuthenticationStatus;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFramePayloadFormat;
+import gms.shared.frameworks.osd.coi.waveforms.WaveformSummary;
+import gms.shared.frameworks.osd.dao.transferredfile.RawStationDataFrameDao;
+import gms.shared.frameworks.osd.dao.transferredfile.WaveformSummaryDao;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.AUTHENTICATION_STATUS;
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.CHANNEL_NAMES;
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.ID;
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.PAYLOAD_DATA_END_TIME;
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.PAYLOAD_DATA_START_TIME;
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.PAYLOAD_FORMAT;
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.STATION_NAME;
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.SUMMARIES;
+import static gms.shared.frameworks.osd.repository.rawstationdataframe.RawStationDataFrameRepositoryQueryViewJpa.TIME;
+
+/**
+ * Benchmarks retrieving an hour of a station's frame metadata from an in-memory H2 database in PostgreSQL mode, with
+ * the RSDF tables of the SOH schema, seeded with an hour of ten second frames for each of a few stations.
+ * <p>
+ * {@code keyed} retrieves the metadata as
+ * {@link RawStationDataFrameRepositoryQueryViewJpa#retrieveRawStationDataFrameMetadataByStationAndTime} does;
+ * {@code joined} runs the single projection joining both of a frame's collections that the repository ran before,
+ * and only reads its rows. Each benchmark reports the rows its queries returned as its {@code rows} counter, over its
+ * {@code retrievals}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// the frame enum columns are bound as Types.OTHER, which H2 otherwise stores serialized
+@Fork(value = 1, jvmArgsAppend = "-Dh2.serializeJavaObject=false")
+@State(Scope.Benchmark)
+public class RawStationDataFrameMetadataQueryBenchmark {
+
+  private static final Instant START_TIME = Instant.parse("2021-06-01T00:00:00Z");
+  private static final Duration FRAME_LENGTH = Duration.ofSeconds(10);
+  private static final int FRAMES_PER_STATION = 360;
+  private static final int STATION_COUNT = 3;
+  private static final String QUERIED_STATION = "ST00";
+
+  @Param({"keyed", "joined"})
+  String query;
+
+  @Param({"3", "30"})
+  int channelsPerFrame;
+
+  private EntityManagerFactory entityManagerFactory;
+  private RawStationDataFrameRepositoryQueryViewJpa queryView;
+  private StationTimeRangeRequest request;
+
+  /**
+   * Metadata retrievals made, and the result set rows they read.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class QueryLoad {
+
+    public long retrievals;
+    public long rows;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_rsdf_benchmark", Map.of(
+      "hibernate.connection.url", "jdbc:h2:mem:rsdf_metadata_query;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+        + "INIT=RUNSCRIPT FROM 'classpath:rsdf_benchmark_schema.sql'"));
+    queryView = new RawStationDataFrameRepositoryQueryViewJpa(entityManagerFactory);
+
+    var repository = new RawStationDataFrameRepositoryJpa(entityManagerFactory);
+    for (var station = 0; station < STATION_COUNT; station++) {
+      List<RawStationDataFrame> frames = new ArrayList<>(FRAMES_PER_STATION);
+      for (var frame = 0; frame < FRAMES_PER_STATION; frame++) {
+        frames.add(frame(String.format("ST%02d", station), frame));
+      }
+      repository.storeRawStationDataFrames(frames);
+    }
+
+    request = StationTimeRangeRequest.create(QUERIED_STATION, START_TIME,
+      START_TIME.plus(FRAME_LENGTH.multipliedBy(FRAMES_PER_STATION)));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  @Benchmark
+  public void retrieveMetadata(QueryLoad load, Blackhole blackhole) {
+    load.retrievals++;
+    if ("keyed".equals(query)) {
+      List<RawStationDataFrameMetadata> metadata =
+        queryView.retrieveRawStationDataFrameMetadataByStationAndTime(request);
+      // a header row for each frame, and a row for each of its channel names and waveform summaries
+      load.rows += metadata.size() * (1L + 2L * channelsPerFrame);
+      blackhole.consume(metadata);
+    } else {
+      load.rows += retrieveJoined(blackhole);
+    }
+  }
+
+  private long retrieveJoined(Blackhole blackhole) {
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      var builder = entityManager.getCriteriaBuilder();
+      CriteriaQuery<Tuple> metadataQuery = builder.createTupleQuery();
+      Root<RawStationDataFrameDao> fromRsdf = metadataQuery.from(RawStationDataFrameDao.class);
+      metadataQuery.multiselect(fromRsdf.get(STATION_NAME).alias(STATION_NAME),
+          fromRsdf.join(CHANNEL_NAMES).alias(CHANNEL_NAMES),
+          fromRsdf.get(PAYLOAD_DATA_START_TIME).alias(PAYLOAD_DATA_START_TIME),
+          fromRsdf.get(PAYLOAD_DATA_END_TIME).alias(PAYLOAD_DATA_END_TIME),
+          fromRsdf.get(PAYLOAD_FORMAT).alias(PAYLOAD_FORMAT),
+          fromRsdf.get(AUTHENTICATION_STATUS).alias(AUTHENTICATION_STATUS),
+          fromRsdf.get(ID).get(TIME).alias(TIME),
+          fromRsdf.join(SUMMARIES).alias(SUMMARIES))
+        .where(builder.and(
+          builder.between(fromRsdf.get(PAYLOAD_DATA_END_TIME),
+            request.getTimeRange().getStartTime(), request.getTimeRange().getEndTime()),
+          builder.equal(fromRsdf.get(STATION_NAME), request.getStationName())));
+
+      return entityManager.createQuery(metadataQuery).getResultStream()
+        .peek(tuple -> blackhole.consume(tuple.get(SUMMARIES, WaveformSummaryDao.class)))
+        .count();
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  private RawStationDataFrame frame(String stationName, int index) {
+    var payloadStartTime = START_TIME.plus(FRAME_LENGTH.multipliedBy(index));
+    var payloadEndTime = payloadStartTime.plus(FRAME_LENGTH);
+
+    List<String> channelNames = new ArrayList<>(channelsPerFrame);
+    Map<String, WaveformSummary> waveformSummaries = new HashMap<>();
+    for (var channel = 0; channel < channelsPerFrame; channel++) {
+      var channelName = String.format("%s.%s%02d.BHZ", stationName, stationName, channel);
+      channelNames.add(channelName);
+      waveformSummaries.put(channelName, WaveformSummary.from(channelName, payloadStartTime, payloadEndTime));
+    }
+
+    return RawStationDataFrame.builder()
+      .setId(UUID.randomUUID())
+      .setMetadata(RawStationDataFrameMetadata.builder()
+        .setStationName(stationName)
+        .setChannelNames(channelNames)
+        .setPayloadFormat(RawStationDataFramePayloadFormat.CD11)
+        .setPayloadStartTime(payloadStartTime)
+        .setPayloadEndTime(payloadEndTime)
+        .setReceptionTime(payloadEndTime.plusSeconds(1))
+        .setAuthenticationStatus(AuthenticationStatus.AUTHENTICATION_SUCCEEDED)
+        .setWaveformSummaries(waveformSummaries)
+        .build())
+      .build();
+  }
+}
@@ -0,0 +1,147 @@
+package gms.shared.frameworks.osd.repository.rawstationdataframe;
+
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame.AuthenticationStatus;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFramePayloadFormat;
+import gms.shared.frameworks.osd.coi.waveforms.WaveformSummary;
+import gms.shared.frameworks.osd.dao.transferredfile.RawStationDataFrameDao;
+import gms.shared.frameworks.osd.dao.util.TimePartitionKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks storing batches of raw station data frames, as the RSDF storage consumer does, into an in-memory H2
+ * database in PostgreSQL mode, with the RSDF tables of the SOH schema.
+ * <p>
+ * {@code setBased} stores each batch as {@link RawStationDataFrameRepositoryJpa#storeRawStationDataFrames} does;
+ * {@code perFrame} checks whether each frame exists with a query of its own before persisting it, as the repository
+ * did before. One frame in ten of each batch was already stored by the batch before it, as when a consumer is
+ * redelivered a batch it partly stored.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// the frame enum columns are bound as Types.OTHER, which H2 otherwise stores serialized
+@Fork(value = 1, jvmArgsAppend = "-Dh2.serializeJavaObject=false")
+@State(Scope.Benchmark)
+public class RawStationDataFrameStoreBenchmark {
+
+  private static final Instant FIRST_RECEPTION_TIME = Instant.parse("2021-06-01T00:00:00Z");
+  private static final Duration FRAME_LENGTH = Duration.ofSeconds(10);
+  private static final int CHANNELS_PER_FRAME = 10;
+  private static final int REDELIVERED_FRAMES_PER_BATCH = 10;
+
+  @Param({"setBased", "perFrame"})
+  String store;
+
+  @Param({"1", "10", "100", "500"})
+  int batchSize;
+
+  private EntityManagerFactory entityManagerFactory;
+  private RawStationDataFrameRepositoryJpa repository;
+  private List<RawStationDataFrame> previousBatch;
+  private long nextFrame;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_rsdf_benchmark", Map.of(
+      "hibernate.connection.url", "jdbc:h2:mem:rsdf_store;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+        + "INIT=RUNSCRIPT FROM 'classpath:rsdf_benchmark_schema.sql'"));
+    repository = new RawStationDataFrameRepositoryJpa(entityManagerFactory);
+    previousBatch = List.of();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  /**
+   * Throughput is in batches stored; multiply by {@code batchSize} for frames.
+   */
+  @Benchmark
+  public void storeFrames() {
+    List<RawStationDataFrame> batch = new ArrayList<>(batchSize);
+    int redelivered = Math.min(previousBatch.size(), batchSize / REDELIVERED_FRAMES_PER_BATCH);
+    batch.addAll(previousBatch.subList(previousBatch.size() - redelivered, previousBatch.size()));
+    while (batch.size() < batchSize) {
+      batch.add(frame(nextFrame++));
+    }
+
+    if ("setBased".equals(store)) {
+      repository.storeRawStationDataFrames(batch);
+    } else {
+      storePerFrame(batch);
+    }
+    previousBatch = batch;
+  }
+
+  private void storePerFrame(List<RawStationDataFrame> frames) {
+    var entityManager = entityManagerFactory.createEntityManager();
+    entityManager.getTransaction().begin();
+    try {
+      var query = entityManager.createQuery("SELECT CASE WHEN COUNT(dao) > 0 THEN 1 ELSE 0 END "
+        + "FROM RawStationDataFrameDao dao WHERE dao.id = :id", Integer.class);
+      for (RawStationDataFrame rsdf : frames) {
+        query.setParameter("id", new TimePartitionKey(rsdf.getId(), rsdf.getMetadata().getReceptionTime()));
+        if (query.getSingleResult() == 0) {
+          entityManager.persist(new RawStationDataFrameDao(rsdf));
+        }
+      }
+      entityManager.getTransaction().commit();
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  private static RawStationDataFrame frame(long index) {
+    var stationName = String.format("ST%02d", index % 50);
+    var payloadEndTime = FIRST_RECEPTION_TIME.plus(FRAME_LENGTH.multipliedBy(index / 50));
+    var payloadStartTime = payloadEndTime.minus(FRAME_LENGTH);
+
+    List<String> channelNames = new ArrayList<>(CHANNELS_PER_FRAME);
+    Map<String, WaveformSummary> waveformSummaries = new HashMap<>();
+    for (var channel = 0; channel < CHANNELS_PER_FRAME; channel++) {
+      var channelName = String.format("%s.%s%02d.BHZ", stationName, stationName, channel);
+      channelNames.add(channelName);
+      waveformSummaries.put(channelName, WaveformSummary.from(channelName, payloadStartTime, payloadEndTime));
+    }
+
+    return RawStationDataFrame.builder()
+      .setId(UUID.randomUUID())
+      .setMetadata(RawStationDataFrameMetadata.builder()
+        .setStationName(stationName)
+        .setChannelNames(channelNames)
+        .setPayloadFormat(RawStationDataFramePayloadFormat.CD11)
+        .setPayloadStartTime(payloadStartTime)
+        .setPayloadEndTime(payloadEndTime)
+        .setReceptionTime(payloadEndTime.plusSeconds(1))
+        .setAuthenticationStatus(AuthenticationStatus.AUTHENTICATION_SUCCEEDED)
+        .setWaveformSummaries(waveformSummaries)
+        .build())
+      .build();
+  }
+}
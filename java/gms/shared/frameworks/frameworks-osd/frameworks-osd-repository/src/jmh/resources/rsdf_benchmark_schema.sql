@@ -0,0 +1,43 @@
+-- The RSDF tables of soh-schema.sql, without partitioning, with the enum columns as other
+create table if not exists raw_station_data_frame
+(
+	id uuid not null,
+	payload_format other,
+	authentication_status other not null,
+	payload_data_end_time timestamp not null,
+	payload_data_start_time timestamp not null,
+	reception_time timestamp not null,
+	station_name varchar(255),
+	primary key (id, reception_time)
+);
+
+create table if not exists raw_station_data_frame_channel_names
+(
+	raw_station_data_frame_id uuid not null,
+	reception_time timestamp not null,
+	channel_name varchar(255),
+	primary key (raw_station_data_frame_id, reception_time, channel_name),
+	foreign key (raw_station_data_frame_id, reception_time) references raw_station_data_frame (id, reception_time) on delete cascade
+);
+
+create sequence if not exists waveform_summary_sequence increment by 5 minvalue 1 start with 1;
+
+create table if not exists waveform_summary
+(
+	id bigint not null,
+	reception_time timestamp not null,
+	channel_name varchar(255) not null,
+	end_time timestamp not null,
+	start_time timestamp not null,
+	raw_station_data_frame_id uuid,
+	primary key(id, reception_time),
+	foreign key (raw_station_data_frame_id, reception_time) references raw_station_data_frame (id, reception_time) on delete cascade
+);
+
+create index if not exists waveform_summary_raw_station_data_frame_id_idx on waveform_summary (raw_station_data_frame_id, id, reception_time);
+
+create table if not exists channel_latest_sample_time
+(
+	channel_name varchar(255) not null primary key,
+	end_time timestamp not null
+);
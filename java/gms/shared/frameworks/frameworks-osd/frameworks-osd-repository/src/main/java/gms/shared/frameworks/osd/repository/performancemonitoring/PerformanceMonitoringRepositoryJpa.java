@@ -10,6 +10,7 @@ import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
 import gms.shared.frameworks.osd.coi.soh.StationSoh;
 import gms.shared.frameworks.osd.dao.soh.ChannelSohMonitorValueAndStatusDao;
 import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValue;
+import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValueBucket;
 import gms.shared.frameworks.osd.dao.soh.StationSohDao;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
 import gms.shared.frameworks.osd.repository.performancemonitoring.converter.StationSohDaoConverter;
@@ -59,6 +60,46 @@ public class PerformanceMonitoringRepositoryJpa implements
 
   private static final Logger logger = LoggerFactory.getLogger(PerformanceMonitoringRepositoryJpa.class);
 
+  // Each time bucket of the decimated historical query keeps up to 4 values per channel
+  private static final int MAX_POINTS_PER_BUCKET = 4;
+
+  private static final String HISTORICAL_SOH_FILTER =
+    "from {h-schema}channel_soh_monitor_value_status "
+      + "where station_name = :stationName and monitor_type = :monitorType "
+      + "and creation_time between :startTime and :endTime";
+
+  private static final String MILLIS_FROM_START =
+    "cast(extract(epoch from (%s - cast(:startTime as timestamp))) * 1000 as bigint)";
+
+  // Times are returned as millisecond offsets from the start time, so they do not depend on the
+  // time zone the timestamps are stored in. The last column is the number of distinct calculation
+  // times in the whole range, repeated on every row.
+  private static final String DECIMATED_HISTORICAL_SOH_QUERY =
+    "with samples as ("
+      + " select channel_name, creation_time, cast(%s as double precision) as value,"
+      + " least(cast(floor(extract(epoch from (creation_time - cast(:startTime as timestamp)))"
+      + " / :bucketSeconds) as integer), :lastBucket) as bucket "
+      + HISTORICAL_SOH_FILTER
+      + "), ranked as ("
+      + " select channel_name, bucket, creation_time, value,"
+      + " row_number() over (partition by channel_name, bucket order by creation_time) as first_rank,"
+      + " row_number() over (partition by channel_name, bucket order by creation_time desc) as last_rank,"
+      + " row_number() over (partition by channel_name, bucket order by value, creation_time) as min_rank,"
+      + " row_number() over (partition by channel_name, bucket order by value desc, creation_time) as max_rank"
+      + " from samples) "
+      + "select channel_name, bucket,"
+      + " " + String.format(MILLIS_FROM_START, "min(creation_time) filter (where first_rank = 1)") + ","
+      + " max(value) filter (where first_rank = 1),"
+      + " " + String.format(MILLIS_FROM_START, "min(creation_time) filter (where min_rank = 1)") + ","
+      + " max(value) filter (where min_rank = 1),"
+      + " " + String.format(MILLIS_FROM_START, "min(creation_time) filter (where max_rank = 1)") + ","
+      + " max(value) filter (where max_rank = 1),"
+      + " " + String.format(MILLIS_FROM_START, "min(creation_time) filter (where last_rank = 1)") + ","
+      + " max(value) filter (where last_rank = 1),"
+      + " (select count(distinct creation_time) from samples)"
+      + " from ranked where first_rank = 1 or last_rank = 1 or min_rank = 1 or max_rank = 1"
+      + " group by channel_name, bucket order by bucket, channel_name";
+
   private final EntityManagerFactory entityManagerFactory;
 
   private static final CustomMetric<PerformanceMonitoringRepositoryJpa, Long> performanceMonitoringRetrieveStationId =
@@ -336,7 +377,85 @@ public class PerformanceMonitoringRepositoryJpa implements
       return HistoricalStationSoh.create(request.getStationName(), new long[]{}, List.of());
     }
 
-    return queryHistoricalStationSoh(request);
+    return request.getTargetPointCount()
+      .map(targetPointCount -> queryDecimatedHistoricalStationSoh(request, targetPointCount))
+      .orElseGet(() -> queryHistoricalStationSoh(request));
+  }
+
+  /**
+   * Performs a query to the DB that decimates the historical values: the requested time range is
+   * split into buckets and only the first, minimum, maximum and last value of each channel in each
+   * bucket is returned, with the times they were calculated at, so the number of rows loaded is
+   * bounded by the target point count instead of the number of stored values. Each channel keeps
+   * at most the target point count of values: targets below four keep fewer values per bucket
+   * (see {@link HistoricalStationSohTransformer#createDecimatedHistoricalStationSoh}).
+   * <p>
+   * The query also returns the number of calculation times in the range. When that is no more
+   * than the target point count, the range is small enough to return undecimated, and the full
+   * query is run instead.
+   *
+   * @param request contains request with values to pass into query
+   * @param targetPointCount the maximum number of values to return per channel
+   * @return HistoricalStationSoh contains processed results of query
+   */
+  private HistoricalStationSoh queryDecimatedHistoricalStationSoh(
+    HistoricalStationSohRequest request, int targetPointCount) {
+
+    var pointsPerBucket = targetPointCount >= MAX_POINTS_PER_BUCKET
+      ? MAX_POINTS_PER_BUCKET
+      : Math.min(targetPointCount, 2);
+    var bucketCount = targetPointCount / pointsPerBucket;
+    var bucketSeconds = Duration.between(request.getStartTime(), request.getEndTime())
+      .toMillis() / 1000.0 / bucketCount;
+    var valueColumn =
+      request.getSohMonitorType().getSohValueType() == SohMonitorType.SohValueType.DURATION
+        ? "coalesce(duration, -1)"
+        : "coalesce(percent, 100)";
+    var startMillis = request.getStartTime().toEpochMilli();
+
+    var entityManager = entityManagerFactory.createEntityManager();
+
+    List<HistoricalSohMonitorValueBucket> buckets;
+    long calculationTimeCount;
+
+    try {
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = entityManager
+        .createNativeQuery(String.format(DECIMATED_HISTORICAL_SOH_QUERY, valueColumn))
+        .setParameter(STATION_NAME_ATTRIBUTE, request.getStationName())
+        .setParameter(MONITOR_TYPE, request.getSohMonitorType().getDbId())
+        .setParameter("startTime", request.getStartTime())
+        .setParameter("endTime", request.getEndTime())
+        .setParameter("bucketSeconds", Math.max(bucketSeconds, 0.001))
+        .setParameter("lastBucket", bucketCount - 1)
+        .getResultList();
+
+      calculationTimeCount = rows.isEmpty() ? 0 : ((Number) rows.get(0)[10]).longValue();
+      buckets = rows.stream()
+        .map(row -> new HistoricalSohMonitorValueBucket(
+          (String) row[0],
+          ((Number) row[1]).intValue(),
+          startMillis + ((Number) row[2]).longValue(),
+          ((Number) row[3]).doubleValue(),
+          startMillis + ((Number) row[4]).longValue(),
+          ((Number) row[5]).doubleValue(),
+          startMillis + ((Number) row[6]).longValue(),
+          ((Number) row[7]).doubleValue(),
+          startMillis + ((Number) row[8]).longValue(),
+          ((Number) row[9]).doubleValue()))
+        .collect(toList());
+    } catch (Exception ex) {
+      throw new IllegalStateException("Error retrieving decimated historical SOH", ex);
+    } finally {
+      entityManager.close();
+    }
+
+    if (calculationTimeCount > 0 && calculationTimeCount <= targetPointCount) {
+      return queryHistoricalStationSoh(request);
+    }
+
+    return HistoricalStationSohTransformer.createDecimatedHistoricalStationSoh(
+      request.getStationName(), request.getSohMonitorType(), pointsPerBucket, buckets);
   }
 
   /**
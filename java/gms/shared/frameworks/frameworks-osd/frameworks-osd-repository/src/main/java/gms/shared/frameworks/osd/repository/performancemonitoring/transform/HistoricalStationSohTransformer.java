@@ -5,6 +5,7 @@ import gms.shared.frameworks.osd.coi.soh.PercentSohMonitorValueAndStatus;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
 import gms.shared.frameworks.osd.coi.soh.StationSoh;
 import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValue;
+import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValueBucket;
 import gms.shared.frameworks.osd.dto.soh.DurationSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
@@ -16,11 +17,13 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Transformation utility for converting {@link StationSoh} objects into other forms, be it UI DTOs
@@ -31,6 +34,8 @@ public class HistoricalStationSohTransformer {
   private static final Logger logger = LoggerFactory
     .getLogger(HistoricalStationSohTransformer.class);
 
+  private static final double MISSING_VALUE = -1;
+
   private HistoricalStationSohTransformer() {
 
   }
@@ -112,6 +117,85 @@ public class HistoricalStationSohTransformer {
       monitorValues);
   }
 
+  /**
+   * Converts the rows of the decimated historical SOH query into a HistoricalStationSoh with the
+   * same shape as {@link #createHistoricalStationSoh(String, List)}.
+   * <p>
+   * Each bucket contributes up to {@code pointsPerBucket} stored values per channel, at the times
+   * they were calculated: the last value (one point), the first and last values (two or three
+   * points), or the first, minimum, maximum and last values (four or more points). Values sharing
+   * a calculation time are kept once. The calculation times of the result are the union of the
+   * times kept for every channel, and a channel holds the missing value (-1) at the times it has
+   * no value of its own.
+   *
+   * @param stationName stationName that the data is relevant for
+   * @param monitorType the monitor type that was queried
+   * @param pointsPerBucket the maximum number of values to keep per channel and bucket
+   * @param buckets results of the decimated query, one per channel and time bucket
+   * @return HistoricalStationSoh - result of Query post-processed to correct format
+   */
+  public static HistoricalStationSoh createDecimatedHistoricalStationSoh(String stationName,
+    SohMonitorType monitorType,
+    int pointsPerBucket,
+    List<HistoricalSohMonitorValueBucket> buckets) {
+
+    Map<String, TreeMap<Long, Double>> pointsByChannel = new LinkedHashMap<>();
+
+    for (HistoricalSohMonitorValueBucket bucket : buckets) {
+      var points = pointsByChannel.computeIfAbsent(bucket.getChannelName(),
+        key -> new TreeMap<>());
+
+      if (pointsPerBucket >= 4) {
+        points.put(bucket.getMinTime(), bucket.getMinValue());
+        points.put(bucket.getMaxTime(), bucket.getMaxValue());
+      }
+      if (pointsPerBucket >= 2) {
+        points.put(bucket.getFirstTime(), bucket.getFirstValue());
+      }
+      points.put(bucket.getLastTime(), bucket.getLastValue());
+    }
+
+    var calcTimes = pointsByChannel.values().stream()
+      .flatMap(points -> points.keySet().stream())
+      .distinct()
+      .sorted()
+      .mapToLong(Long::longValue)
+      .toArray();
+
+    List<HistoricalSohMonitorValues> monitorValues = new ArrayList<>();
+    pointsByChannel.forEach((channelName, points) -> {
+      var values = new double[calcTimes.length];
+      Arrays.fill(values, MISSING_VALUE);
+      points.forEach((time, value) -> values[Arrays.binarySearch(calcTimes, time)] = value);
+
+      monitorValues.add(HistoricalSohMonitorValues.create(channelName,
+        Map.of(monitorType, toSohMonitorValues(monitorType, values))));
+    });
+
+    logger.info("Decimated query returned {} num Channels, {} calculation times",
+      pointsByChannel.size(), calcTimes.length);
+
+    return HistoricalStationSoh.create(
+      stationName,
+      calcTimes,
+      monitorValues);
+  }
+
+  private static SohMonitorValues toSohMonitorValues(SohMonitorType monitorType,
+    double[] values) {
+
+    if (monitorType.getSohValueType() == SohMonitorType.SohValueType.DURATION) {
+      // durations are stored in seconds, but sent in millis
+      return DurationSohMonitorValues.create(Arrays.stream(values)
+        .mapToLong(value -> value < 0 ? -1 : Duration.ofSeconds((long) value).toMillis())
+        .toArray());
+    } else if (monitorType.getSohValueType() == SohMonitorType.SohValueType.PERCENT) {
+      return PercentSohMonitorValues.create(values);
+    }
+
+    throw new IllegalStateException(String.format("Invalid sohMonitorType:%s detected cannot continue!", monitorType.getSohValueType()));
+  }
+
   /**
    * loop through SMVS maps to construct arrays containing values to be used to create
    * HistoricalSohMonitorValues This currently only works with Percent/Duration MonitorTypes
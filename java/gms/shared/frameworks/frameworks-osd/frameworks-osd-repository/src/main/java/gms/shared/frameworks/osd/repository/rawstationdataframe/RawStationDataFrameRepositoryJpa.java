@@ -5,19 +5,34 @@ import gms.shared.frameworks.osd.api.util.RepositoryExceptionUtils;
 import gms.shared.frameworks.osd.api.util.StationTimeRangeRequest;
 import gms.shared.frameworks.osd.api.util.TimeRangeRequest;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import gms.shared.frameworks.osd.dao.transferredfile.ChannelLatestSampleTimeDao;
 import gms.shared.frameworks.osd.dao.transferredfile.RawStationDataFrameDao;
+import gms.shared.frameworks.osd.dao.transferredfile.WaveformSummaryDao;
 import gms.shared.frameworks.osd.dao.util.TimePartitionKey;
+import com.google.common.collect.Lists;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.LockModeType;
 import javax.persistence.PersistenceException;
-import javax.persistence.TypedQuery;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 public class RawStationDataFrameRepositoryJpa implements RawStationDataFrameRepositoryInterface {
@@ -28,13 +43,24 @@ public class RawStationDataFrameRepositoryJpa implements RawStationDataFrameRepo
   public static final String PAYLOAD_DATA_START_TIME = "payloadDataStartTime";
   public static final String STATION_NAME = "stationName";
 
+  private static final String ID = "id";
+  private static final String TIME = "time";
+  private static final String CHANNEL_NAME = "channelName";
+  private static final String END_TIME = "endTime";
+  private static final int EXISTING_IDS_QUERY_SIZE = 1000;
+
   private final EntityManagerFactory entityManagerFactory;
+  private final int batchSize;
 
   /**
    * Default constructor.
    */
   public RawStationDataFrameRepositoryJpa(EntityManagerFactory entityManagerFactory) {
     this.entityManagerFactory = entityManagerFactory;
+    var batchSizeProp = entityManagerFactory.getProperties()
+      .getOrDefault("hibernate.jdbc.batch_size", "50")
+      .toString();
+    this.batchSize = Integer.parseInt(batchSizeProp);
   }
 
   /**
@@ -50,17 +76,16 @@ public class RawStationDataFrameRepositoryJpa implements RawStationDataFrameRepo
     var entityManager = entityManagerFactory.createEntityManager();
     entityManager.getTransaction().begin();
     try {
-      TypedQuery<Integer> query = entityManager.createNamedQuery("RawStationDataFrameDao.exists", Integer.class);
-      for (RawStationDataFrame rsdf : frames) {
-        query.setParameter("id", new TimePartitionKey(rsdf.getId(), rsdf.getMetadata().getReceptionTime()));
-        var daoExists = query.getSingleResult();
-        if (daoExists == 0) {
-          var rsdfDao = new RawStationDataFrameDao(rsdf);
-          entityManager.persist(rsdfDao);
-        } else {
-          logger.info("Duplicate rsdf {} found, dropping from batch store call", rsdf.getId());
-        }
+      var rsdfDaos = filterFramesToStore(entityManager, frames);
+      for (List<RawStationDataFrameDao> batch : Lists.partition(rsdfDaos, batchSize)) {
+        batch.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
       }
+      raiseLatestSampleTimes(entityManager, rsdfDaos.stream()
+        .flatMap(rsdfDao -> rsdfDao.getWaveformSummaries().values().stream())
+        .collect(Collectors.toMap(WaveformSummaryDao::getChannelName, WaveformSummaryDao::getEndTime,
+          BinaryOperator.maxBy(Comparator.naturalOrder()), TreeMap::new)));
       entityManager.getTransaction().commit();
 
     } catch (PersistenceException e) {
@@ -71,6 +96,131 @@ public class RawStationDataFrameRepositoryJpa implements RawStationDataFrameRepo
     }
   }
 
+  /**
+   * Converts the frames not yet stored, and not repeated earlier in the collection, to daos. Which frames are stored is
+   * checked with one query per {@link #EXISTING_IDS_QUERY_SIZE} frames, bounded by the frames' reception times so only
+   * the partitions they fall in are searched.
+   */
+  private static List<RawStationDataFrameDao> filterFramesToStore(EntityManager entityManager,
+    Collection<RawStationDataFrame> frames) {
+
+    Map<TimePartitionKey, RawStationDataFrame> framesById = new LinkedHashMap<>();
+    for (RawStationDataFrame rsdf : frames) {
+      if (framesById.putIfAbsent(new TimePartitionKey(rsdf.getId(), rsdf.getMetadata().getReceptionTime()), rsdf)
+        != null) {
+        logger.info("Duplicate rsdf {} found, dropping from batch store call", rsdf.getId());
+      }
+    }
+
+    for (List<TimePartitionKey> ids : Lists.partition(new ArrayList<>(framesById.keySet()),
+      EXISTING_IDS_QUERY_SIZE)) {
+
+      var criteriaBuilder = entityManager.getCriteriaBuilder();
+      CriteriaQuery<TimePartitionKey> query = criteriaBuilder.createQuery(TimePartitionKey.class);
+      Root<RawStationDataFrameDao> rsdfRoot = query.from(RawStationDataFrameDao.class);
+      Path<TimePartitionKey> idPath = rsdfRoot.get(ID);
+      Path<Instant> receptionTimePath = idPath.get(TIME);
+
+      query.select(idPath).where(
+        idPath.get(ID).in(ids.stream().map(TimePartitionKey::getId).collect(Collectors.toList())),
+        criteriaBuilder.between(receptionTimePath,
+          ids.stream().map(TimePartitionKey::getTime).min(Comparator.naturalOrder()).orElseThrow(),
+          ids.stream().map(TimePartitionKey::getTime).max(Comparator.naturalOrder()).orElseThrow()));
+
+      for (TimePartitionKey existingId : entityManager.createQuery(query).getResultList()) {
+        if (framesById.remove(existingId) != null) {
+          logger.info("Duplicate rsdf {} found, dropping from batch store call", existingId.getId());
+        }
+      }
+    }
+
+    return framesById.values().stream()
+      .map(RawStationDataFrameDao::new)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Stores the latest sample time of each channel that has none, from its stored waveform summaries, for frames stored
+   * before the latest sample times were maintained. Only channels without a latest sample time are aggregated, and
+   * existing latest sample times are neither locked nor changed, so a writer that stores the same channel first makes
+   * this fail, and a retry skips that channel.
+   *
+   * @throws gms.shared.frameworks.coi.exceptions.RepositoryException if there was an issue interacting with the repository
+   */
+  public void reconcileLatestSampleTimes() {
+    var entityManager = entityManagerFactory.createEntityManager();
+    entityManager.getTransaction().begin();
+    try {
+      var criteriaBuilder = entityManager.getCriteriaBuilder();
+      CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+      Root<WaveformSummaryDao> summaryRoot = query.from(WaveformSummaryDao.class);
+
+      Subquery<String> storedQuery = query.subquery(String.class);
+      Root<ChannelLatestSampleTimeDao> storedRoot = storedQuery.from(ChannelLatestSampleTimeDao.class);
+      storedQuery.select(storedRoot.get(CHANNEL_NAME))
+        .where(criteriaBuilder.equal(storedRoot.get(CHANNEL_NAME), summaryRoot.get(CHANNEL_NAME)));
+
+      query.multiselect(summaryRoot.get(CHANNEL_NAME).alias(CHANNEL_NAME),
+          criteriaBuilder.max(summaryRoot.get(END_TIME)).alias(END_TIME))
+        .where(criteriaBuilder.not(criteriaBuilder.exists(storedQuery)))
+        .groupBy(summaryRoot.get(CHANNEL_NAME));
+
+      List<ChannelLatestSampleTimeDao> missingLatestSampleTimes = entityManager.createQuery(query).getResultStream()
+        .map(tuple -> new ChannelLatestSampleTimeDao(tuple.get(CHANNEL_NAME, String.class),
+          tuple.get(END_TIME, Instant.class)))
+        .collect(Collectors.toList());
+
+      for (List<ChannelLatestSampleTimeDao> batch : Lists.partition(missingLatestSampleTimes, batchSize)) {
+        batch.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+      }
+      entityManager.getTransaction().commit();
+      logger.info("Reconciled latest sample times of {} channels", missingLatestSampleTimes.size());
+    } catch (PersistenceException e) {
+      entityManager.getTransaction().rollback();
+      throw RepositoryExceptionUtils.wrap(e);
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  /**
+   * Raises the stored latest sample time of each channel to the given time where it is later, and stores it for
+   * channels that have none. Rows are locked in channel name order so concurrent writers cannot deadlock.
+   */
+  private static void raiseLatestSampleTimes(EntityManager entityManager,
+    SortedMap<String, Instant> latestSampleTimes) {
+
+    for (List<String> channelNames : Lists.partition(new ArrayList<>(latestSampleTimes.keySet()),
+      EXISTING_IDS_QUERY_SIZE)) {
+
+      var criteriaBuilder = entityManager.getCriteriaBuilder();
+      CriteriaQuery<ChannelLatestSampleTimeDao> query = criteriaBuilder.createQuery(ChannelLatestSampleTimeDao.class);
+      Root<ChannelLatestSampleTimeDao> latestRoot = query.from(ChannelLatestSampleTimeDao.class);
+      query.select(latestRoot)
+        .where(latestRoot.get(CHANNEL_NAME).in(channelNames))
+        .orderBy(criteriaBuilder.asc(latestRoot.get(CHANNEL_NAME)));
+
+      Map<String, ChannelLatestSampleTimeDao> storedByChannel = entityManager.createQuery(query)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultStream()
+        .collect(Collectors.toMap(ChannelLatestSampleTimeDao::getChannelName, stored -> stored));
+
+      for (String channelName : channelNames) {
+        var latestSampleTime = latestSampleTimes.get(channelName);
+        var stored = storedByChannel.get(channelName);
+        if (stored == null) {
+          entityManager.persist(new ChannelLatestSampleTimeDao(channelName, latestSampleTime));
+        } else if (stored.getEndTime().isBefore(latestSampleTime)) {
+          stored.setEndTime(latestSampleTime);
+        }
+      }
+      entityManager.flush();
+      entityManager.clear();
+    }
+  }
+
   /**
    * Retrieve RawStationDataFrames that are within the specified time range and station name
    *
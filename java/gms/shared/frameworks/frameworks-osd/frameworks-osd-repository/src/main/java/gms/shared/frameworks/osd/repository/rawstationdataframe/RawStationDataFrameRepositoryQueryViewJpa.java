@@ -7,25 +7,30 @@ import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFramePayloadFormat;
 import gms.shared.frameworks.osd.coi.waveforms.WaveformSummary;
+import gms.shared.frameworks.osd.dao.transferredfile.ChannelLatestSampleTimeDao;
 import gms.shared.frameworks.osd.dao.transferredfile.RawStationDataFrameDao;
 import gms.shared.frameworks.osd.dao.transferredfile.WaveformSummaryDao;
-import org.apache.commons.lang3.tuple.Pair;
-import org.apache.commons.lang3.tuple.Triple;
+import gms.shared.frameworks.osd.dao.util.TimePartitionKey;
 
+import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.time.Instant;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.function.Supplier;
-import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class RawStationDataFrameRepositoryQueryViewJpa implements RawStationDataFrameRepositoryQueryInterface {
 
@@ -41,6 +46,7 @@ public class RawStationDataFrameRepositoryQueryViewJpa implements RawStationData
 
   public static final String CHANNEL_NAME = "channelName";
 
+  public static final String START_TIME = "startTime";
   public static final String END_TIME = "endTime";
 
 
@@ -62,110 +68,132 @@ public class RawStationDataFrameRepositoryQueryViewJpa implements RawStationData
     Objects.requireNonNull(request);
 
     var entityManager = entityManagerFactory.createEntityManager();
-    var builder = entityManager.getCriteriaBuilder();
+    try {
+      // We only need a subset of the RSDF, but since it's not stored as a separate object, we use
+      // projections. Joining both collections in one projection would return a row for every
+      // pairing of a frame's channel names and waveform summaries, so the frame headers, channel
+      // names and waveform summaries are each queried on their own, keyed by frame id, and
+      // stitched back together as they are read.
+      Map<TimePartitionKey, FrameMetadata> metadataById = new LinkedHashMap<>();
+
+      retrieveFrameHeaders(entityManager, request).forEach(tuple ->
+        metadataById.put(tuple.get(ID, TimePartitionKey.class), new FrameMetadata(
+          RawStationDataFrameMetadata.builder()
+            .setStationName(tuple.get(STATION_NAME, String.class))
+            .setPayloadStartTime(tuple.get(PAYLOAD_DATA_START_TIME, Instant.class))
+            .setPayloadEndTime(tuple.get(PAYLOAD_DATA_END_TIME, Instant.class))
+            .setPayloadFormat(tuple.get(PAYLOAD_FORMAT, RawStationDataFramePayloadFormat.class))
+            .setAuthenticationStatus(tuple.get(AUTHENTICATION_STATUS,
+              RawStationDataFrame.AuthenticationStatus.class))
+            .setReceptionTime(tuple.get(ID, TimePartitionKey.class).getTime()))));
+
+      if (metadataById.isEmpty()) {
+        return List.of();
+      }
+
+      // The queries are not run in one transaction, so frames stored after the headers were read
+      // can show up in the later queries; they have no header and are skipped.
+      retrieveFrameChannelNames(entityManager, request).forEach(tuple ->
+        Optional.ofNullable(metadataById.get(tuple.get(ID, TimePartitionKey.class)))
+          .ifPresent(metadata -> metadata.channelNames.add(tuple.get(CHANNEL_NAMES, String.class))));
+
+      retrieveFrameWaveformSummaries(entityManager, request).forEach(tuple ->
+        Optional.ofNullable(metadataById.get(tuple.get(ID, TimePartitionKey.class)))
+          .ifPresent(metadata -> metadata.waveformSummaries.put(tuple.get(CHANNEL_NAME, String.class),
+            WaveformSummary.from(tuple.get(CHANNEL_NAME, String.class),
+              tuple.get(START_TIME, Instant.class), tuple.get(END_TIME, Instant.class)))));
+
+      return metadataById.values().stream()
+        .filter(metadata -> !metadata.channelNames.isEmpty() && !metadata.waveformSummaries.isEmpty())
+        .map(FrameMetadata::build)
+        .collect(Collectors.toList());
+    } finally {
+      entityManager.close();
+    }
+  }
 
-    // We only need a subset of the RSDF, but since it's not stored as a separate object, we will
-    // use a projection.
-    CriteriaQuery<Tuple> metadataQuery = builder.createTupleQuery();
-    Root<RawStationDataFrameDao> fromRsdf = metadataQuery.from(RawStationDataFrameDao.class);
-    // When using a projection and the Criteria API, any collections (element, one-to-many, etc)
-    // need to be pulled in explicitly using joins. This results in an interesting result set
-    // when the query is executed, where each row contains the data from the root table
-    // (raw_station_data_frame) and one entry from each join present. The end result is (if any
-    // collection has more than one entry) is multiple rows with the same data from the root table,
-    // and one entry from each join table, until all the join table is present. As such, we need
-    // to handle re-assembling this data specially (see below) to ensure we do not create duplicate
-    // items.
-    metadataQuery.multiselect(fromRsdf.get(STATION_NAME).alias(STATION_NAME),
-        fromRsdf.join(CHANNEL_NAMES).alias(CHANNEL_NAMES),
+  private static Stream<Tuple> retrieveFrameHeaders(EntityManager entityManager, StationTimeRangeRequest request) {
+    var builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> headerQuery = builder.createTupleQuery();
+    Root<RawStationDataFrameDao> fromRsdf = headerQuery.from(RawStationDataFrameDao.class);
+    headerQuery.multiselect(fromRsdf.get(ID).alias(ID),
+        fromRsdf.get(STATION_NAME).alias(STATION_NAME),
         fromRsdf.get(PAYLOAD_DATA_START_TIME).alias(PAYLOAD_DATA_START_TIME),
         fromRsdf.get(PAYLOAD_DATA_END_TIME).alias(PAYLOAD_DATA_END_TIME),
         fromRsdf.get(PAYLOAD_FORMAT).alias(PAYLOAD_FORMAT),
-        fromRsdf.get(AUTHENTICATION_STATUS).alias(AUTHENTICATION_STATUS),
-        fromRsdf.get(ID).get(TIME).alias(TIME),
-        fromRsdf.join(SUMMARIES).alias(SUMMARIES))
-      .where(
-        builder.and(
-          builder.between(
-            fromRsdf.get(PAYLOAD_DATA_END_TIME),
-            request.getTimeRange().getStartTime(),
-            request.getTimeRange().getEndTime()),
-          builder.equal(fromRsdf.get(STATION_NAME), request.getStationName())
-        )
-      );
+        fromRsdf.get(AUTHENTICATION_STATUS).alias(AUTHENTICATION_STATUS))
+      .where(inRequest(builder, fromRsdf, request))
+      .orderBy(builder.asc(fromRsdf.get(PAYLOAD_DATA_START_TIME)));
 
-    try {
-      // Processing the tuple results into an RSDFMetadata requires assembling all the collection
-      // items (ChannelNames and WaveformSammaries) and grouping them together with the RSDFMetadata
-      // they belong to, without duplicating that RSDFMetadata.  We do this by building a map of the
-      // RSDFMetadata (with empty channel names and waveform summaries) to the lists that will be
-      // to populate this.  We don't want to build that list as we go because we need equality of
-      // the RSDFMetadata to be able topair up the keys using the .equals and .hashcode methods on
-      // RSDFMetadata.
-      return entityManager.createQuery(metadataQuery).getResultStream()
-        .map(tuple ->
-          // Convert each row in the result set to a Triple of an RSDFMetadata (with empty
-          // channel names and waveform summaries), the channel name in that row, and the
-          // waveform summary from that row.
-Triple.of(RawStationDataFrameMetadata.builder()
-              .setStationName(tuple.get(STATION_NAME, String.class))
-              .setPayloadStartTime(tuple.get(PAYLOAD_DATA_START_TIME, Instant.class))
-              .setPayloadEndTime(tuple.get(PAYLOAD_DATA_END_TIME, Instant.class))
-              .setPayloadFormat(tuple.get(PAYLOAD_FORMAT,
-                RawStationDataFramePayloadFormat.class))
-              .setAuthenticationStatus(tuple.get(AUTHENTICATION_STATUS,
-                RawStationDataFrame.AuthenticationStatus.class))
-              .setReceptionTime(tuple.get(TIME, Instant.class))
-              .setChannelNames(List.of())
-              .setWaveformSummaries(Map.of())
-              .build(),
-            tuple.get(CHANNEL_NAMES, String.class),
-            tuple.get(SUMMARIES, WaveformSummaryDao.class).toCoi()))
-        // Collect the triples into a map of the rsdfMetadata to the set of channel names (to
-        // remove duplicates from how the tuple had to be built during the join functions and
-        // map of waveform summaries from all rows that have that RSDF Metadata
-        .collect(Collector.of
-          // the supplier - creates the empty map
-            ((Supplier<HashMap<RawStationDataFrameMetadata, Pair<Set<String>, Map<String, WaveformSummary>>>>) HashMap::new,
-              // the accumulator - adds a triple to the  map. If the RSDFMetadata is not
-              // in the map, it creates a new Pair in the map.
-              // Once that pair exists in the map (if it needed to be created), add the
-              // channel name and waveform summary from this triple and put them in the
-              // appropriate collections
-              (map, triple) -> {
-                Pair<Set<String>, Map<String, WaveformSummary>> value =
-                  map.computeIfAbsent(triple.getLeft(),
-                    metadata -> Pair.of(new HashSet<>(), new HashMap<>()));
-                value.getKey().add(triple.getMiddle());
-                value.getValue().put(triple.getRight().getChannelName(), triple.getRight());
-              },
-              // the merge function to combine two maps. Loop through one map, and either
-              // add the entry from one, or add the values from the collections in the value
-              // of the map entry to the value for the key in the other map.
-              (map1, map2) -> {
-                map2.forEach((metadataBuilder, pair) -> map1.merge(metadataBuilder, pair,
-                  (pair1, pair2) -> {
-                    pair1.getKey().addAll(pair2.getKey());
-                    pair1.getValue().putAll(pair2.getValue());
-                    return pair1;
-                  }));
-                return map1;
-              }))
-        // Stream through the map build above, to rebuild the RSDFMetadata with the channel name
-        // and waveform summary collections, now that they have been built and associated  with
-        // the appropriate RSDFMetadata
-        .entrySet().stream()
-        // Convert the RSDFMetadata back to a builder, set the collections, and rebuild it
-        .map(rsdfMetadataPair -> rsdfMetadataPair.getKey().toBuilder()
-          .setChannelNames(rsdfMetadataPair.getValue().getKey())
-          .setWaveformSummaries(rsdfMetadataPair.getValue().getValue())
-          .build())
-        .collect(Collectors.toList());
-    } finally {
-      entityManager.close();
+    return entityManager.createQuery(headerQuery).getResultStream();
+  }
+
+  private static Stream<Tuple> retrieveFrameChannelNames(EntityManager entityManager,
+    StationTimeRangeRequest request) {
+
+    var builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> channelNameQuery = builder.createTupleQuery();
+    Root<RawStationDataFrameDao> fromRsdf = channelNameQuery.from(RawStationDataFrameDao.class);
+    channelNameQuery.multiselect(fromRsdf.get(ID).alias(ID),
+        fromRsdf.join(CHANNEL_NAMES).alias(CHANNEL_NAMES))
+      .where(inRequest(builder, fromRsdf, request));
+
+    return entityManager.createQuery(channelNameQuery).getResultStream();
+  }
+
+  private static Stream<Tuple> retrieveFrameWaveformSummaries(EntityManager entityManager,
+    StationTimeRangeRequest request) {
+
+    var builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> summaryQuery = builder.createTupleQuery();
+    Root<RawStationDataFrameDao> fromRsdf = summaryQuery.from(RawStationDataFrameDao.class);
+    Join<RawStationDataFrameDao, WaveformSummaryDao> summaries = fromRsdf.join(SUMMARIES);
+    summaryQuery.multiselect(fromRsdf.get(ID).alias(ID),
+        summaries.get(CHANNEL_NAME).alias(CHANNEL_NAME),
+        summaries.get(START_TIME).alias(START_TIME),
+        summaries.get(END_TIME).alias(END_TIME))
+      .where(inRequest(builder, fromRsdf, request));
+
+    return entityManager.createQuery(summaryQuery).getResultStream();
+  }
+
+  private static Predicate inRequest(CriteriaBuilder builder, Root<RawStationDataFrameDao> fromRsdf,
+    StationTimeRangeRequest request) {
+
+    return builder.and(
+      builder.between(
+        fromRsdf.get(PAYLOAD_DATA_END_TIME),
+        request.getTimeRange().getStartTime(),
+        request.getTimeRange().getEndTime()),
+      builder.equal(fromRsdf.get(STATION_NAME), request.getStationName()));
+  }
+
+  /**
+   * The metadata of one frame, as its channel names and waveform summaries are collected
+   */
+  private static final class FrameMetadata {
+
+    private final RawStationDataFrameMetadata.Builder builder;
+    private final Set<String> channelNames = new LinkedHashSet<>();
+    private final Map<String, WaveformSummary> waveformSummaries = new HashMap<>();
+
+    private FrameMetadata(RawStationDataFrameMetadata.Builder builder) {
+      this.builder = builder;
+    }
+
+    private RawStationDataFrameMetadata build() {
+      return builder
+        .setChannelNames(channelNames)
+        .setWaveformSummaries(waveformSummaries)
+        .build();
     }
   }
 
+  /**
+   * Retrieves the latest sample time of each channel as maintained by
+   * {@link RawStationDataFrameRepositoryJpa#storeRawStationDataFrames}, so the lookup costs one row per channel however
+   * much waveform summary history is retained.
+   */
   @Override
   public Map<String, Instant> retrieveLatestSampleTimeByChannel(List<String> channelNames) {
     Objects.requireNonNull(channelNames);
@@ -174,17 +202,14 @@ Triple.of(RawStationDataFrameMetadata.builder()
     var entityManager = entityManagerFactory.createEntityManager();
     try {
       var builder = entityManager.getCriteriaBuilder();
-      CriteriaQuery<Tuple> latestSampleTimeQuery = builder.createTupleQuery();
-      Root<WaveformSummaryDao> fromWaveformSummary = latestSampleTimeQuery.from(WaveformSummaryDao.class);
-      latestSampleTimeQuery.multiselect(fromWaveformSummary.get(CHANNEL_NAME).alias(CHANNEL_NAME),
-          builder.max(fromWaveformSummary.get(END_TIME)).alias(END_TIME))
-        .where(fromWaveformSummary.get(CHANNEL_NAME).in(channelNames))
-        .groupBy(fromWaveformSummary.get(CHANNEL_NAME));
+      CriteriaQuery<ChannelLatestSampleTimeDao> latestSampleTimeQuery =
+        builder.createQuery(ChannelLatestSampleTimeDao.class);
+      Root<ChannelLatestSampleTimeDao> fromLatestSampleTime = latestSampleTimeQuery.from(ChannelLatestSampleTimeDao.class);
+      latestSampleTimeQuery.select(fromLatestSampleTime)
+        .where(fromLatestSampleTime.get(CHANNEL_NAME).in(channelNames));
 
       return entityManager.createQuery(latestSampleTimeQuery).getResultStream()
-        .map(tuple -> Pair.of(tuple.get(CHANNEL_NAME, String.class), tuple.get(END_TIME, Instant.class)))
-        .distinct()
-        .collect(Collectors.toMap(Pair::getKey, Pair::getValue));
+        .collect(Collectors.toMap(ChannelLatestSampleTimeDao::getChannelName, ChannelLatestSampleTimeDao::getEndTime));
     } finally {
       entityManager.close();
     }
@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -48,6 +49,7 @@ import javax.persistence.PersistenceException;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -293,6 +295,60 @@ class PerformanceMonitoringRepositoryJpaTest extends SohPostgresTest {
     }
   }
 
+  @Test
+  void testDecimatedHistoricalStationSohQuery() {
+    stagedPMR = new PerformanceMonitoringRepositoryJpa(stagedEMF);
+    stagedPMR.storeStationSoh(populateHistoricalStationSohData());
+
+    var queryPMR = new PerformanceMonitoringRepositoryJpa(entityManagerFactory);
+    var endTime = NOW.plusSeconds(20 * NUM_STATIONS_FOR_HISTORICAL_QUERY);
+
+    var undecimated = queryPMR.retrieveHistoricalStationSoh(HistoricalStationSohRequest.create(
+      STATION.getName(), NOW, endTime, SohMonitorType.LAG));
+    var decimated = queryPMR.retrieveHistoricalStationSoh(HistoricalStationSohRequest.create(
+      STATION.getName(), NOW, endTime, SohMonitorType.LAG, 4));
+
+    assertTrue(decimated.getCalculationTimes().length <= 4);
+    assertEquals(undecimated.getCalculationTimes()[0], decimated.getCalculationTimes()[0]);
+    assertEquals(undecimated.getMonitorValues().size(), decimated.getMonitorValues().size());
+    assertDecimatedValuesAreStoredValues(undecimated, decimated);
+
+    // a target below four keeps fewer values per bucket: only the last one for a target of one
+    var single = queryPMR.retrieveHistoricalStationSoh(HistoricalStationSohRequest.create(
+      STATION.getName(), NOW, endTime, SohMonitorType.LAG, 1));
+    var undecimatedTimes = undecimated.getCalculationTimes();
+    assertArrayEquals(new long[]{undecimatedTimes[undecimatedTimes.length - 1]},
+      single.getCalculationTimes());
+    assertDecimatedValuesAreStoredValues(undecimated, single);
+
+    // a target above the number of calculation times returns every value
+    var notDecimated = queryPMR.retrieveHistoricalStationSoh(HistoricalStationSohRequest.create(
+      STATION.getName(), NOW, endTime, SohMonitorType.LAG, 1000));
+    assertEquals(undecimated, notDecimated);
+  }
+
+  private static void assertDecimatedValuesAreStoredValues(HistoricalStationSoh undecimated,
+    HistoricalStationSoh decimated) {
+
+    var undecimatedTimes = undecimated.getCalculationTimes();
+
+    for (HistoricalSohMonitorValues decimatedMonitorValues : decimated.getMonitorValues()) {
+      var undecimatedMonitorValues = undecimated.getMonitorValues().stream()
+        .filter(values -> values.getChannelName().equals(decimatedMonitorValues.getChannelName()))
+        .findFirst().orElseThrow();
+      var undecimatedValues = ((DurationSohMonitorValues) undecimatedMonitorValues
+        .getValuesByType().get(SohMonitorType.LAG)).getValues();
+      var decimatedValues = ((DurationSohMonitorValues) decimatedMonitorValues
+        .getValuesByType().get(SohMonitorType.LAG)).getValues();
+
+      for (var j = 0; j < decimatedValues.length; j++) {
+        var index = Arrays.binarySearch(undecimatedTimes, decimated.getCalculationTimes()[j]);
+        assertTrue(index >= 0, "Decimated calculation time was not stored");
+        assertEquals(undecimatedValues[index], decimatedValues[j]);
+      }
+    }
+  }
+
   @Test
   void testStoreStationSohAgain() {
     stagedPMR = new PerformanceMonitoringRepositoryJpa(stagedEMF);
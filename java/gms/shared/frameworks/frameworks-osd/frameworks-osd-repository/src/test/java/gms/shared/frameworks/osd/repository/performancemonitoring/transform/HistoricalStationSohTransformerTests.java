@@ -6,6 +6,7 @@ import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType.SohValueType;
 import gms.shared.frameworks.osd.coi.soh.SohStatus;
 import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValue;
+import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValueBucket;
 import gms.shared.frameworks.osd.dto.soh.DurationSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
@@ -23,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -112,6 +114,66 @@ class HistoricalStationSohTransformerTests {
     }
   }
 
+  @Test
+  void createDecimatedHistoricalStationSohAlignsChannels() {
+    var buckets = List.of(
+      // bucket 0: CH1 max before min, CH2 min before max, each at the times they were stored
+      new HistoricalSohMonitorValueBucket("CH1", 0, 0, 5, 200, 1, 100, 9, 300, 4),
+      new HistoricalSohMonitorValueBucket("CH2", 0, 0, 2, 150, 0, 250, 8, 300, 6),
+      // bucket 1: a single calculation time, CH2 has no value
+      new HistoricalSohMonitorValueBucket("CH1", 1, 1000, 3, 1000, 3, 1000, 3, 1000, 3));
+
+    var historicalStationSoh = HistoricalStationSohTransformer
+      .createDecimatedHistoricalStationSoh("MKAR", SohMonitorType.LAG, 4, buckets);
+
+    assertEquals("MKAR", historicalStationSoh.getStationName());
+    assertArrayEquals(new long[]{0, 100, 150, 200, 250, 300, 1000},
+      historicalStationSoh.getCalculationTimes());
+    assertEquals(2, historicalStationSoh.getMonitorValues().size());
+
+    var ch1 = (DurationSohMonitorValues) historicalStationSoh.getMonitorValues().get(0)
+      .getValuesByType().get(SohMonitorType.LAG);
+    var ch2 = (DurationSohMonitorValues) historicalStationSoh.getMonitorValues().get(1)
+      .getValuesByType().get(SohMonitorType.LAG);
+
+    // durations are converted from seconds to millis, times without a value of the channel are -1
+    assertArrayEquals(new long[]{5000, 9000, -1, 1000, -1, 4000, 3000}, ch1.getValues());
+    assertArrayEquals(new long[]{2000, -1, 0, -1, 8000, 6000, -1}, ch2.getValues());
+  }
+
+  @Test
+  void createDecimatedHistoricalStationSohPercentFirstAndLast() {
+    var buckets = List.of(
+      new HistoricalSohMonitorValueBucket("CH1", 0, 0, 10, 0, 10, 5, 30, 9, 20),
+      // a channel with a single value is not copied to the other channel's times
+      new HistoricalSohMonitorValueBucket("CH2", 0, 5, 15, 5, 15, 5, 15, 5, 15));
+
+    var historicalStationSoh = HistoricalStationSohTransformer
+      .createDecimatedHistoricalStationSoh("MKAR", SohMonitorType.MISSING, 2, buckets);
+
+    assertArrayEquals(new long[]{0, 5, 9}, historicalStationSoh.getCalculationTimes());
+    var ch1 = (PercentSohMonitorValues) historicalStationSoh.getMonitorValues().get(0)
+      .getValuesByType().get(SohMonitorType.MISSING);
+    var ch2 = (PercentSohMonitorValues) historicalStationSoh.getMonitorValues().get(1)
+      .getValuesByType().get(SohMonitorType.MISSING);
+    assertArrayEquals(new double[]{10, -1, 20}, ch1.getValues());
+    assertArrayEquals(new double[]{-1, 15, -1}, ch2.getValues());
+  }
+
+  @Test
+  void createDecimatedHistoricalStationSohLastOnly() {
+    var buckets = List.of(
+      new HistoricalSohMonitorValueBucket("CH1", 0, 0, 10, 0, 10, 5, 30, 9, 20));
+
+    var historicalStationSoh = HistoricalStationSohTransformer
+      .createDecimatedHistoricalStationSoh("MKAR", SohMonitorType.MISSING, 1, buckets);
+
+    assertArrayEquals(new long[]{9}, historicalStationSoh.getCalculationTimes());
+    var values = (PercentSohMonitorValues) historicalStationSoh.getMonitorValues().get(0)
+      .getValuesByType().get(SohMonitorType.MISSING);
+    assertArrayEquals(new double[]{20}, values.getValues());
+  }
+
   static Stream<Arguments> getHistoricalSohMonitorValues() {
 
 
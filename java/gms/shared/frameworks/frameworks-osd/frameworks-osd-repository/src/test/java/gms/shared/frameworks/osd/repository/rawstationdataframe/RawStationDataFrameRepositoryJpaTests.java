@@ -4,6 +4,8 @@ import gms.shared.frameworks.osd.api.rawstationdataframe.RawStationDataFrameRepo
 import gms.shared.frameworks.osd.api.util.StationTimeRangeRequest;
 import gms.shared.frameworks.osd.api.util.TimeRangeRequest;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import gms.shared.frameworks.osd.coi.waveforms.WaveformSummary;
+import gms.shared.frameworks.osd.dao.transferredfile.ChannelLatestSampleTimeDao;
 import gms.shared.frameworks.osd.dao.transferredfile.RawStationDataFrameDao;
 import gms.shared.frameworks.osd.dao.util.TimePartitionKey;
 import gms.shared.frameworks.osd.repository.SohPostgresTest;
@@ -15,8 +17,13 @@ import org.junit.jupiter.api.Test;
 
 import javax.persistence.EntityManager;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.persistence.EntityManagerFactory;
@@ -29,6 +36,10 @@ class RawStationDataFrameRepositoryJpaTests extends SohPostgresTest {
 
   private static RawStationDataFrameRepositoryInterface dataFramePersistence;
 
+  private static final RawStationDataFrame frame3 = TestFixtures.frame2.toBuilder()
+    .setId(UUID.randomUUID())
+    .build();
+
 	@BeforeAll
   static void testSuiteSetup() {
     dataFramePersistence = new RawStationDataFrameRepositoryJpa(entityManagerFactory);
@@ -45,12 +56,14 @@ class RawStationDataFrameRepositoryJpaTests extends SohPostgresTest {
   void testCaseTearDown() {
     EntityManager em = entityManagerFactory.createEntityManager();
     List<RawStationDataFrameDao> daos = Stream.of(TestFixtures.frame1,
-        TestFixtures.frame2)
+        TestFixtures.frame2, frame3)
 			.map(rsdf -> new TimePartitionKey(rsdf.getId(), rsdf.getMetadata().getReceptionTime()))
       .map(id -> em.find(RawStationDataFrameDao.class, id))
+      .filter(Objects::nonNull)
       .collect(Collectors.toList());
     em.getTransaction().begin();
 		em.createQuery("delete from WaveformSummaryDao").executeUpdate();
+		em.createQuery("delete from ChannelLatestSampleTimeDao").executeUpdate();
     for (var dao : daos) {
       em.remove(dao);
     }
@@ -62,6 +75,19 @@ class RawStationDataFrameRepositoryJpaTests extends SohPostgresTest {
     assertDoesNotThrow(() -> dataFramePersistence.storeRawStationDataFrames(List.of(TestFixtures.frame1)));
   }
 
+  @Test
+  void testStoreBatchWithStoredAndRepeatedFrames() {
+    assertDoesNotThrow(() -> dataFramePersistence.storeRawStationDataFrames(
+      List.of(TestFixtures.frame1, frame3, TestFixtures.frame2, frame3)));
+
+    List<RawStationDataFrame> results = dataFramePersistence.retrieveRawStationDataFramesByStationAndTime(
+      StationTimeRangeRequest.create(frame3.getMetadata().getStationName(),
+        TestFixtures.SEGMENT_START2, TestFixtures.SEGMENT_END2));
+    assertEquals(Set.of(TestFixtures.frame2.getId(), frame3.getId()),
+      results.stream().map(RawStationDataFrame::getId).collect(Collectors.toSet()));
+    assertEquals(2, results.size());
+  }
+
   @Test
   void retrieveByStationIdTest() {
     // Query for frame1's id with time range [frame1.start, frame2.end], should only find frame1
@@ -167,6 +193,55 @@ class RawStationDataFrameRepositoryJpaTests extends SohPostgresTest {
     assertEquals(List.of(), results);
   }
 
+  @Test
+  void testReconcileLatestSampleTimes() {
+    Map<String, Instant> expected = Stream.of(TestFixtures.frame1, TestFixtures.frame2)
+      .flatMap(rsdf -> rsdf.getMetadata().getWaveformSummaries().values().stream())
+      .collect(Collectors.toMap(WaveformSummary::getChannelName, WaveformSummary::getEndTime,
+        BinaryOperator.maxBy(Instant::compareTo)));
+    assertEquals(expected, retrieveLatestSampleTimes());
+
+    EntityManager em = entityManagerFactory.createEntityManager();
+    em.getTransaction().begin();
+    em.createQuery("delete from ChannelLatestSampleTimeDao").executeUpdate();
+    em.getTransaction().commit();
+    em.close();
+    assertEquals(Map.of(), retrieveLatestSampleTimes());
+
+    ((RawStationDataFrameRepositoryJpa) dataFramePersistence).reconcileLatestSampleTimes();
+    assertEquals(expected, retrieveLatestSampleTimes());
+
+    // channels that already have a latest sample time are left as they are, and only the missing ones are stored
+    var keptChannel = expected.keySet().iterator().next();
+    em = entityManagerFactory.createEntityManager();
+    em.getTransaction().begin();
+    em.createQuery("update ChannelLatestSampleTimeDao set endTime = :endTime where channelName = :channelName")
+      .setParameter("endTime", Instant.EPOCH)
+      .setParameter("channelName", keptChannel)
+      .executeUpdate();
+    em.createQuery("delete from ChannelLatestSampleTimeDao where channelName <> :channelName")
+      .setParameter("channelName", keptChannel)
+      .executeUpdate();
+    em.getTransaction().commit();
+    em.close();
+
+    ((RawStationDataFrameRepositoryJpa) dataFramePersistence).reconcileLatestSampleTimes();
+    Map<String, Instant> expectedWithKept = new HashMap<>(expected);
+    expectedWithKept.put(keptChannel, Instant.EPOCH);
+    assertEquals(expectedWithKept, retrieveLatestSampleTimes());
+  }
+
+  private static Map<String, Instant> retrieveLatestSampleTimes() {
+    EntityManager em = entityManagerFactory.createEntityManager();
+    try {
+      return em.createQuery("select latest from ChannelLatestSampleTimeDao latest", ChannelLatestSampleTimeDao.class)
+        .getResultStream()
+        .collect(Collectors.toMap(ChannelLatestSampleTimeDao::getChannelName, ChannelLatestSampleTimeDao::getEndTime));
+    } finally {
+      em.close();
+    }
+  }
+
   @Test
   void storeNullFrameTest() {
     assertThrows(Exception.class, () ->
@@ -2,6 +2,7 @@ package gms.shared.frameworks.osd.repository.rawstationdataframe;
 
 import com.google.common.base.Functions;
 import gms.shared.frameworks.osd.api.util.StationTimeRangeRequest;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
 import gms.shared.frameworks.osd.repository.SohPostgresTest;
 import gms.shared.frameworks.osd.repository.util.TestFixtures;
@@ -12,12 +13,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -98,6 +108,66 @@ class RawStationDataFrameRepositoryQueryViewJpaTests extends SohPostgresTest {
     );
   }
 
+  /**
+   * @param queryNumber which of the metadata queries the frame is stored before: 2 for the channel names, 3 for the
+   * waveform summaries
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {2, 3})
+  void testRetrieveMetadataByStationAndTimeSkipsFramesStoredDuringRetrieval(int queryNumber) {
+    RawStationDataFrame frame = TestFixtures.frame1.toBuilder()
+      .setId(UUID.randomUUID())
+      .setMetadata(TestFixtures.frame1.getMetadata().toBuilder()
+        .setStationName("LATE-FRAME-STATION-" + queryNumber)
+        .build())
+      .build();
+    new RawStationDataFrameRepositoryJpa(entityManagerFactory).storeRawStationDataFrames(List.of(frame));
+
+    RawStationDataFrame lateFrame = frame.toBuilder().setId(UUID.randomUUID()).build();
+    List<RawStationDataFrameMetadata> actual = new RawStationDataFrameRepositoryQueryViewJpa(
+      storingBeforeQuery(queryNumber, lateFrame))
+      .retrieveRawStationDataFrameMetadataByStationAndTime(StationTimeRangeRequest.create(
+        frame.getMetadata().getStationName(), TestFixtures.SEGMENT1_END, TestFixtures.SEGMENT_END2));
+
+    assertEquals(1, actual.size());
+    assertTrue(EqualsBuilder.reflectionEquals(frame.getMetadata(), actual.get(0), "channelNames"));
+    assertEquals(Set.copyOf(frame.getMetadata().getChannelNames()), Set.copyOf(actual.get(0).getChannelNames()));
+  }
+
+  /**
+   * Wraps the test entity manager factory so that the given frame is stored, through its own entity manager, just
+   * before the numbered criteria query of an entity manager is created
+   */
+  private static EntityManagerFactory storingBeforeQuery(int queryNumber, RawStationDataFrame frame) {
+    var queryCount = new AtomicInteger();
+    InvocationHandler factoryHandler = (factoryProxy, factoryMethod, factoryArgs) -> {
+      Object result = invoke(factoryMethod, entityManagerFactory, factoryArgs);
+      if (!"createEntityManager".equals(factoryMethod.getName())) {
+        return result;
+      }
+
+      EntityManager entityManager = (EntityManager) result;
+      return Proxy.newProxyInstance(EntityManager.class.getClassLoader(), new Class<?>[]{EntityManager.class},
+        (managerProxy, managerMethod, managerArgs) -> {
+          if ("createQuery".equals(managerMethod.getName()) && queryCount.incrementAndGet() == queryNumber) {
+            new RawStationDataFrameRepositoryJpa(entityManagerFactory).storeRawStationDataFrames(List.of(frame));
+          }
+          return invoke(managerMethod, entityManager, managerArgs);
+        });
+    };
+
+    return (EntityManagerFactory) Proxy.newProxyInstance(EntityManagerFactory.class.getClassLoader(),
+      new Class<?>[]{EntityManagerFactory.class}, factoryHandler);
+  }
+
+  private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
   @ParameterizedTest
   @MethodSource("getRetrieveLatestSampleTimeArguments")
   void testRetrieveLatestSampleTimeValidation(Class<? extends Exception> expectedException, List<String> channelNames) {
@@ -10,12 +10,15 @@ import gms.shared.frameworks.osd.repository.utils.CoiEntityManagerFactory;
 import gms.shared.frameworks.systemconfig.SystemConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
 @Component("osd-rsdf-kafka-consumer")
 public class RsdfStorageConsumer {
 
   private static final Logger logger = LoggerFactory.getLogger(RsdfStorageConsumer.class);
 
+  private static final String RECONCILE_LATEST_SAMPLE_TIMES = "reconcile-latest-sample-times";
+
   public static void main(String[] args) {
     var systemConfig = SystemConfig.create("osd-rsdf-kafka-consumer");
     var rsdfRepository = new RawStationDataFrameRepositoryJpa(CoiEntityManagerFactory.create(systemConfig));
@@ -29,8 +32,16 @@ public class RsdfStorageConsumer {
     var batchRecordFlux = ReactorKafkaUtilities.createBatchRecordFlux(systemConfig,
       new CoiDeserializer<>(RawStationDataFrame.class));
 
-    storageConsumer.store(batchRecordFlux)
+    // when asked to, catch the latest sample times up with frames stored while they were not being maintained,
+    // retrying until the database is ready
+    Mono<Void> reconciliation = systemConfig.getValueAsBoolean(RECONCILE_LATEST_SAMPLE_TIMES)
+      ? Mono.<Void>fromRunnable(rsdfRepository::reconcileLatestSampleTimes)
       .retryWhen(ReactorKafkaUtilities.retryForever(logger))
+      : Mono.empty();
+
+    reconciliation
+      .then(storageConsumer.store(batchRecordFlux)
+        .retryWhen(ReactorKafkaUtilities.retryForever(logger)))
       .block();
   }
 
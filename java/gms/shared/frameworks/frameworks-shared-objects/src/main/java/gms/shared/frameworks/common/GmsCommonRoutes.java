@@ -14,4 +14,9 @@ public class GmsCommonRoutes {
    */
   public static final String CONNECTION_UPGRADE_PATH = "/upgrade";
 
+  /**
+   * Path reserved for the Prometheus text format metrics scrape
+   */
+  public static final String METRICS_PATH = "/metrics";
+
 }
@@ -0,0 +1,175 @@
+package gms.shared.frameworks.systemconfig;
+
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static gms.shared.frameworks.systemconfig.SystemConfigConstants.SEPARATOR;
+
+/**
+ * {@link SystemConfigRepository} serving values from a local copy of an
+ * {@link EtcdSystemConfigRepository}, so looking up a value does not make a round trip to etcd.
+ *
+ * <p>Every key under the component's root prefix (e.g. 'spacemodulator.' for the component
+ * 'spacemodulator.inverter') is read in one request the first time a value is looked up, and kept
+ * as an immutable snapshot. Keys outside the prefix, such as bare keys or keys of other
+ * components, are read from etcd the first time they are looked up and remembered alongside the
+ * snapshot, including keys that are not present.
+ *
+ * <p>At most once per refresh interval, a lookup checks in the background whether the etcd revision
+ * has changed since the snapshot was read, and replaces the snapshot and the remembered keys if it
+ * has. Lookups keep being served from the current snapshot while the check runs, so a changed value
+ * is seen within about one refresh interval of the first lookup after the change.
+ */
+public class CachingSystemConfigRepository implements SystemConfigRepository {
+
+  private static final Logger logger = LoggerFactory.getLogger(CachingSystemConfigRepository.class);
+
+  /**
+   * Default interval between checks for changed values
+   */
+  public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(10);
+
+  private static final ExecutorService refreshExecutor = Executors.newCachedThreadPool(
+    refreshThreadFactory());
+
+  private final EtcdSystemConfigRepository repository;
+  private final String prefix;
+  private final long refreshIntervalNanos;
+
+  private final Object loadLock = new Object();
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private volatile CachedValues cachedValues;
+  private volatile long lastCheckNanos;
+
+  private CachingSystemConfigRepository(EtcdSystemConfigRepository repository, String prefix,
+    Duration refreshInterval) {
+    this.repository = repository;
+    this.prefix = prefix;
+    this.refreshIntervalNanos = refreshInterval.toNanos();
+  }
+
+  /**
+   * Creates a {@link CachingSystemConfigRepository} caching the values of a component.
+   *
+   * @param repository the etcd repository to cache, not null
+   * @param componentName name of the component whose values are read up front, not blank
+   * @param refreshInterval minimum interval between checks for changed values, not negative
+   * @return a {@link CachingSystemConfigRepository}
+   */
+  public static CachingSystemConfigRepository create(EtcdSystemConfigRepository repository,
+    String componentName, Duration refreshInterval) {
+    Objects.requireNonNull(repository, "Cannot cache a null repository");
+    Validate.notBlank(componentName, "Cannot cache values for a null or empty componentName");
+    Validate.isTrue(!refreshInterval.isNegative(), "Refresh interval cannot be negative");
+
+    var rootName = componentName.contains(SEPARATOR)
+      ? componentName.substring(0, componentName.indexOf(SEPARATOR))
+      : componentName;
+    return new CachingSystemConfigRepository(repository, rootName + SEPARATOR, refreshInterval);
+  }
+
+  @Override
+  public Optional<String> get(String key) {
+    var current = getCachedValues();
+    refreshIfStale();
+
+    if (key.startsWith(prefix)) {
+      return current.snapshot.get(key);
+    }
+
+    var value = current.otherValues.get(key);
+    if (value == null) {
+      value = repository.get(key);
+      current.otherValues.putIfAbsent(key, value);
+    }
+    return value;
+  }
+
+  /**
+   * Replaces the cached values if the etcd revision has changed since they were read.
+   */
+  void refresh() {
+    lastCheckNanos = System.nanoTime();
+    var current = getCachedValues();
+    var revision = repository.getRevision(prefix);
+    if (revision != current.snapshot.getRevision()) {
+      logger.debug("etcd revision changed from {} to {}, reloading values under {}",
+        current.snapshot.getRevision(), revision, prefix);
+      cachedValues = load();
+    }
+  }
+
+  private CachedValues getCachedValues() {
+    var current = cachedValues;
+    if (current == null) {
+      synchronized (loadLock) {
+        current = cachedValues;
+        if (current == null) {
+          current = load();
+          cachedValues = current;
+          lastCheckNanos = System.nanoTime();
+        }
+      }
+    }
+    return current;
+  }
+
+  private CachedValues load() {
+    var snapshot = repository.getAll(prefix);
+    logger.debug("loaded {} values under {} at etcd revision {}",
+      snapshot.size(), prefix, snapshot.getRevision());
+    return new CachedValues(snapshot);
+  }
+
+  private void refreshIfStale() {
+    if (System.nanoTime() - lastCheckNanos < refreshIntervalNanos
+      || !refreshing.compareAndSet(false, true)) {
+      return;
+    }
+
+    refreshExecutor.execute(() -> {
+      try {
+        refresh();
+      } catch (RuntimeException e) {
+        logger.warn("Unable to refresh cached System Config values under {}", prefix, e);
+      } finally {
+        refreshing.set(false);
+      }
+    });
+  }
+
+  private static ThreadFactory refreshThreadFactory() {
+    var threadCount = new AtomicInteger();
+    return runnable -> {
+      var thread = new Thread(runnable, "system-config-refresh-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Snapshot of the values under the prefix, and the values of other keys looked up since the
+   * snapshot was read
+   */
+  private static final class CachedValues {
+
+    private final SystemConfigSnapshot snapshot;
+    private final Map<String, Optional<String>> otherValues = new ConcurrentHashMap<>();
+
+    private CachedValues(SystemConfigSnapshot snapshot) {
+      this.snapshot = snapshot;
+    }
+  }
+}
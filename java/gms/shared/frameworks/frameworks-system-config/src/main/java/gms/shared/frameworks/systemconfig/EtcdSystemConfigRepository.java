@@ -5,6 +5,7 @@ import io.etcd.jetcd.ByteSequence;
 import io.etcd.jetcd.Client;
 import io.etcd.jetcd.KeyValue;
 import io.etcd.jetcd.kv.GetResponse;
+import io.etcd.jetcd.options.GetOption;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
 import org.apache.commons.lang3.Validate;
@@ -13,11 +14,13 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
 import java.time.temporal.ChronoUnit;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 /**
  * Class providing retrieval of system configuration values from one or more etcd servers.
@@ -29,8 +32,10 @@ public class EtcdSystemConfigRepository implements SystemConfigRepository {
 
   private static final Logger logger = LoggerFactory.getLogger(EtcdSystemConfigRepository.class);
 
+  private static final long ETCD_TIMEOUT_SECONDS = 10;
+
   private final EtcdClientBuilder etcdClientBuilder;
-  private final RetryPolicy<Optional<String>> etcdGetRetryPolicy;
+  private final RetryPolicy<Object> etcdGetRetryPolicy;
 
   /**
    * Instantiate a EtcdSystemConfigRepository
@@ -40,13 +45,13 @@ public class EtcdSystemConfigRepository implements SystemConfigRepository {
   }
 
   @VisibleForTesting
-  EtcdSystemConfigRepository(EtcdClientBuilder etcdClientBuilder, RetryPolicy<Optional<String>> etcdGetRetryPolicy) {
+  EtcdSystemConfigRepository(EtcdClientBuilder etcdClientBuilder, RetryPolicy<Object> etcdGetRetryPolicy) {
     this.etcdClientBuilder = etcdClientBuilder;
     this.etcdGetRetryPolicy = etcdGetRetryPolicy;
   }
 
-  static RetryPolicy<Optional<String>> defaultRetryPolicy() {
-    return new RetryPolicy<Optional<String>>()
+  static RetryPolicy<Object> defaultRetryPolicy() {
+    return new RetryPolicy<>()
       .handle(ExecutionException.class, TimeoutException.class)
       .onRetry(event -> logger.warn("Unable to retrieve System Config. Retrying...", event.getLastFailure()))
       .withBackoff(1, 30, ChronoUnit.SECONDS)
@@ -72,7 +77,7 @@ public class EtcdSystemConfigRepository implements SystemConfigRepository {
       CompletableFuture<GetResponse> responseFuture = client.getKVClient().get(
         ByteSequence.from(key, StandardCharsets.UTF_8));
       logger.debug("retrieving response future");
-      response = responseFuture.get(10, TimeUnit.SECONDS);
+      response = responseFuture.get(ETCD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
     }
 
     logger.debug("found {} kvs", response.getCount());
@@ -87,6 +92,47 @@ public class EtcdSystemConfigRepository implements SystemConfigRepository {
       .findFirst();
   }
 
+  /**
+   * Reads every key under a prefix in a single request. Performs retries if etcd is unavailable.
+   *
+   * @param prefix the key prefix to read
+   * @return the values of every key under the prefix, with the etcd revision they were read at
+   */
+  SystemConfigSnapshot getAll(String prefix) {
+    return Failsafe.with(etcdGetRetryPolicy).get(() -> {
+      logger.debug("requesting kvs for prefix {}", prefix);
+      var response = fetchEtcd(prefix, GetOption.newBuilder().isPrefix(true).build());
+
+      Map<String, String> values = response.getKvs().stream()
+        .collect(Collectors.toMap(
+          keyValue -> keyValue.getKey().toString(StandardCharsets.UTF_8),
+          keyValue -> keyValue.getValue().toString(StandardCharsets.UTF_8),
+          (first, second) -> first));
+      logger.debug("found {} kvs for prefix {}", values.size(), prefix);
+      return new SystemConfigSnapshot(values, response.getHeader().getRevision());
+    });
+  }
+
+  /**
+   * Reads the current etcd revision, which changes whenever any key changes. Performs retries if
+   * etcd is unavailable.
+   *
+   * @param key key to read the revision with, only its count is read
+   * @return the current etcd revision
+   */
+  long getRevision(String key) {
+    return Failsafe.with(etcdGetRetryPolicy).get(() ->
+      fetchEtcd(key, GetOption.newBuilder().withCountOnly(true).build()).getHeader().getRevision());
+  }
+
+  private GetResponse fetchEtcd(String key, GetOption option)
+    throws ExecutionException, TimeoutException, InterruptedException {
+    try (Client client = etcdClientBuilder.buildClient()) {
+      return client.getKVClient().get(ByteSequence.from(key, StandardCharsets.UTF_8), option)
+        .get(ETCD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+
   /**
    * Return a builder for an EtcdSystemConfigurationRepository.
    */
@@ -15,9 +15,12 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Provides access to general GMS system configuration. System configuration may include values such
@@ -101,6 +104,11 @@ public class SystemConfig {
   private final String componentName;
   private final List<SystemConfigRepository> repositories;
 
+  // Parsed values by key, parsed again only when the value of the key changes
+  private final Map<String, ParsedValue<Integer>> intValues = new ConcurrentHashMap<>();
+  private final Map<String, ParsedValue<Long>> longValues = new ConcurrentHashMap<>();
+  private final Map<String, ParsedValue<Duration>> durationValues = new ConcurrentHashMap<>();
+
   /**
    * Creates a new {@link SystemConfig} for a component with the provided name.
    *
@@ -108,7 +116,7 @@ public class SystemConfig {
    * @throws NullPointerException if componentName is null
    */
   public static SystemConfig create(String componentName) {
-    return new SystemConfig(componentName, SystemConfigRepositoryDefaultFactory.create());
+    return new SystemConfig(componentName, SystemConfigRepositoryDefaultFactory.create(componentName));
   }
 
   /**
@@ -201,7 +209,7 @@ public class SystemConfig {
    * @throws NumberFormatException if value can not be parsed as an integer
    */
   public int getValueAsInt(String key) {
-    return Integer.parseInt(getValue(key));
+    return getParsedValue(key, intValues, Integer::valueOf);
   }
 
   /**
@@ -214,7 +222,7 @@ public class SystemConfig {
    * @throws NumberFormatException if value can not be parsed as an long
    */
   public long getValueAsLong(String key) {
-    return Long.parseLong(getValue(key));
+    return getParsedValue(key, longValues, Long::valueOf);
   }
 
   /**
@@ -285,7 +293,18 @@ public class SystemConfig {
    * @throws IllegalArgumentException if value can not be parsed as a {@link Duration}
    */
   public Duration getValueAsDuration(String key) {
-    return Duration.parse(getValue(key));
+    return getParsedValue(key, durationValues, Duration::parse);
+  }
+
+  private <T> T getParsedValue(String key, Map<String, ParsedValue<T>> parsedValues,
+    Function<String, T> parser) {
+    var value = getValue(key);
+    var parsedValue = parsedValues.get(key);
+    if (parsedValue == null || !parsedValue.value.equals(value)) {
+      parsedValue = new ParsedValue<>(value, parser.apply(value));
+      parsedValues.put(key, parsedValue);
+    }
+    return parsedValue.parsed;
   }
 
   /**
@@ -339,4 +358,18 @@ public class SystemConfig {
   static String createKey(String prefix, String key) {
     return prefix + SystemConfigConstants.SEPARATOR + key;
   }
+
+  /**
+   * A configuration value and the result of parsing it
+   */
+  private static final class ParsedValue<T> {
+
+    private final String value;
+    private final T parsed;
+
+    private ParsedValue(String value, T parsed) {
+      this.value = value;
+      this.parsed = parsed;
+    }
+  }
 }
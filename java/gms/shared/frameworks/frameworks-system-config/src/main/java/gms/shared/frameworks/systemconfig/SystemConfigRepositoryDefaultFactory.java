@@ -12,4 +12,18 @@ public class SystemConfigRepositoryDefaultFactory {
       EnvironmentSystemConfigRepository.builder().build(), FileSystemConfigRepository.builder().build(),
       EtcdSystemConfigRepository.builder().fromEnvironment().build());
   }
+
+  /**
+   * Creates the default repositories for a component, with the etcd repository cached locally by a
+   * {@link CachingSystemConfigRepository}.
+   *
+   * @param componentName name of the component the values are looked up for
+   * @return the default repositories, in lookup order
+   */
+  public static List<SystemConfigRepository> create(String componentName) {
+    return List.of(
+      EnvironmentSystemConfigRepository.builder().build(), FileSystemConfigRepository.builder().build(),
+      CachingSystemConfigRepository.create(EtcdSystemConfigRepository.builder().fromEnvironment().build(),
+        componentName, CachingSystemConfigRepository.DEFAULT_REFRESH_INTERVAL));
+  }
 }
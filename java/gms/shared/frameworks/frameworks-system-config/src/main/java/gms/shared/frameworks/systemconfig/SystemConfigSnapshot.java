@@ -0,0 +1,31 @@
+package gms.shared.frameworks.systemconfig;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable copy of the system configuration values under a key prefix, along with the revision of
+ * the store they were read at.
+ */
+final class SystemConfigSnapshot {
+
+  private final Map<String, String> values;
+  private final long revision;
+
+  SystemConfigSnapshot(Map<String, String> values, long revision) {
+    this.values = Map.copyOf(values);
+    this.revision = revision;
+  }
+
+  Optional<String> get(String key) {
+    return Optional.ofNullable(values.get(key));
+  }
+
+  int size() {
+    return values.size();
+  }
+
+  long getRevision() {
+    return revision;
+  }
+}
@@ -0,0 +1,157 @@
+package gms.shared.frameworks.systemconfig;
+
+import io.etcd.jetcd.Client;
+import net.jodah.failsafe.RetryPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class CachingSystemConfigRepositoryTest {
+
+  private FakeEtcdKV kv;
+  private EtcdSystemConfigRepository etcdRepository;
+
+  @BeforeEach
+  void setUp() {
+    kv = new FakeEtcdKV();
+    kv.set("spacemodulator.port", "591");
+    kv.set("spacemodulator.inverter.timeout", "PT5S");
+    kv.set("timeinhibitor.port", "8081");
+    kv.set("port", "8080");
+
+    EtcdClientBuilder clientBuilder = mock(EtcdClientBuilder.class);
+    Client client = mock(Client.class);
+    given(clientBuilder.buildClient()).willReturn(client);
+    given(client.getKVClient()).willReturn(kv);
+
+    etcdRepository = new EtcdSystemConfigRepository(clientBuilder, failFast());
+  }
+
+  @Test
+  void testGetAll() {
+    var snapshot = etcdRepository.getAll("spacemodulator.");
+
+    assertThat(snapshot.size()).isEqualTo(2);
+    assertThat(snapshot.get("spacemodulator.port")).contains("591");
+    assertThat(snapshot.get("spacemodulator.inverter.timeout")).contains("PT5S");
+    assertThat(snapshot.get("port")).isEmpty();
+    assertThat(snapshot.getRevision()).isEqualTo(etcdRepository.getRevision("spacemodulator."));
+  }
+
+  @Test
+  void testCreateValidation() {
+    assertThrows(NullPointerException.class,
+      () -> CachingSystemConfigRepository.create(null, "spacemodulator", Duration.ZERO));
+    assertThrows(IllegalArgumentException.class,
+      () -> CachingSystemConfigRepository.create(etcdRepository, " ", Duration.ZERO));
+    assertThrows(IllegalArgumentException.class,
+      () -> CachingSystemConfigRepository.create(etcdRepository, "spacemodulator", Duration.ofSeconds(-1)));
+  }
+
+  @Test
+  void testComponentValuesReadInOneRequest() {
+    var repository = CachingSystemConfigRepository.create(etcdRepository, "spacemodulator.inverter",
+      Duration.ofHours(1));
+
+    for (var i = 0; i < 10; i++) {
+      assertThat(repository.search("port", "spacemodulator.inverter")).contains("591");
+      assertThat(repository.search("timeout", "spacemodulator.inverter")).contains("PT5S");
+      assertThat(repository.search("min-threads", "spacemodulator.inverter")).isEmpty();
+    }
+
+    // one read of the prefix, and one read of the bare 'min-threads' key outside the prefix
+    assertThat(kv.getPrefixGets()).isEqualTo(1);
+    assertThat(kv.getKeyGets()).isEqualTo(1);
+  }
+
+  @Test
+  void testKeysOutsidePrefixRemembered() {
+    var repository = CachingSystemConfigRepository.create(etcdRepository, "spacemodulator",
+      Duration.ofHours(1));
+
+    for (var i = 0; i < 10; i++) {
+      assertThat(repository.get("timeinhibitor.port")).contains("8081");
+      assertThat(repository.get("port")).contains("8080");
+      assertThat(repository.get("missing")).isEmpty();
+    }
+
+    assertThat(kv.getKeyGets()).isEqualTo(3);
+  }
+
+  @Test
+  void testRefreshReloadsChangedValues() {
+    var repository = CachingSystemConfigRepository.create(etcdRepository, "spacemodulator",
+      Duration.ofHours(1));
+    assertThat(repository.get("spacemodulator.port")).contains("591");
+    assertThat(repository.get("port")).contains("8080");
+
+    kv.set("spacemodulator.port", "592");
+    kv.set("port", "8090");
+    kv.remove("spacemodulator.inverter.timeout");
+    assertThat(repository.get("spacemodulator.port")).contains("591");
+
+    repository.refresh();
+
+    assertThat(repository.get("spacemodulator.port")).contains("592");
+    assertThat(repository.get("port")).contains("8090");
+    assertThat(repository.get("spacemodulator.inverter.timeout")).isEmpty();
+    assertThat(kv.getPrefixGets()).isEqualTo(2);
+  }
+
+  @Test
+  void testRefreshKeepsValuesWhenRevisionUnchanged() {
+    var repository = CachingSystemConfigRepository.create(etcdRepository, "spacemodulator",
+      Duration.ofHours(1));
+    assertThat(repository.get("spacemodulator.port")).contains("591");
+
+    repository.refresh();
+    repository.refresh();
+
+    assertThat(repository.get("spacemodulator.port")).contains("591");
+    assertThat(kv.getRevisionGets()).isEqualTo(2);
+    assertThat(kv.getPrefixGets()).isEqualTo(1);
+  }
+
+  @Test
+  void testStaleValuesRefreshedInBackground() throws InterruptedException {
+    var repository = CachingSystemConfigRepository.create(etcdRepository, "spacemodulator",
+      Duration.ZERO);
+    assertThat(repository.get("spacemodulator.port")).contains("591");
+
+    kv.set("spacemodulator.port", "592");
+
+    var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (!repository.get("spacemodulator.port").equals(Optional.of("592"))
+      && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(repository.get("spacemodulator.port")).contains("592");
+  }
+
+  @Test
+  void testSystemConfigWithCachingRepository() {
+    var systemConfig = SystemConfig.create("spacemodulator",
+      CachingSystemConfigRepository.create(etcdRepository, "spacemodulator", Duration.ofHours(1)));
+
+    assertThat(systemConfig.getValueAsInt("port")).isEqualTo(591);
+    assertThat(systemConfig.getValueAsInt("timeinhibitor.port")).isEqualTo(8081);
+    assertThat(systemConfig.getValueAsDuration("spacemodulator.inverter.timeout"))
+      .isEqualTo(Duration.ofSeconds(5));
+    assertThat(kv.getPrefixGets()).isEqualTo(1);
+  }
+
+  private RetryPolicy<Object> failFast() {
+    return new RetryPolicy<>()
+      .handle(ExecutionException.class, TimeoutException.class)
+      .withMaxAttempts(1);
+  }
+}
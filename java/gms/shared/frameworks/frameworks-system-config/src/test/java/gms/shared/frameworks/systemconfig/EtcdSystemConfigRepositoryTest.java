@@ -11,7 +11,6 @@ import net.jodah.failsafe.RetryPolicy;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
@@ -61,8 +60,8 @@ class EtcdSystemConfigRepositoryTest {
     verify(mockClient).close();
   }
 
-  private RetryPolicy<Optional<String>> failFast() {
-    return new RetryPolicy<Optional<String>>()
+  private RetryPolicy<Object> failFast() {
+    return new RetryPolicy<>()
       .handle(ExecutionException.class, TimeoutException.class)
       .withMaxAttempts(1);
   }
@@ -0,0 +1,130 @@
+package gms.shared.frameworks.systemconfig;
+
+import com.google.protobuf.ByteString;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.KV;
+import io.etcd.jetcd.Txn;
+import io.etcd.jetcd.api.KeyValue;
+import io.etcd.jetcd.api.RangeResponse;
+import io.etcd.jetcd.api.ResponseHeader;
+import io.etcd.jetcd.kv.CompactResponse;
+import io.etcd.jetcd.kv.DeleteResponse;
+import io.etcd.jetcd.kv.GetResponse;
+import io.etcd.jetcd.kv.PutResponse;
+import io.etcd.jetcd.options.CompactOption;
+import io.etcd.jetcd.options.DeleteOption;
+import io.etcd.jetcd.options.GetOption;
+import io.etcd.jetcd.options.PutOption;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for the etcd {@link KV} client, holding keys in memory and answering gets
+ * with the current revision. Values are changed through {@link #set(String, String)} rather than
+ * through the client API.
+ */
+class FakeEtcdKV implements KV {
+
+  private final NavigableMap<String, String> values = new TreeMap<>();
+  private long revision = 1;
+
+  private final AtomicInteger keyGets = new AtomicInteger();
+  private final AtomicInteger prefixGets = new AtomicInteger();
+  private final AtomicInteger revisionGets = new AtomicInteger();
+
+  synchronized void set(String key, String value) {
+    values.put(key, value);
+    revision++;
+  }
+
+  synchronized void remove(String key) {
+    values.remove(key);
+    revision++;
+  }
+
+  int getKeyGets() {
+    return keyGets.get();
+  }
+
+  int getPrefixGets() {
+    return prefixGets.get();
+  }
+
+  int getRevisionGets() {
+    return revisionGets.get();
+  }
+
+  @Override
+  public CompletableFuture<GetResponse> get(ByteSequence key) {
+    return get(key, GetOption.DEFAULT);
+  }
+
+  @Override
+  public synchronized CompletableFuture<GetResponse> get(ByteSequence key, GetOption option) {
+    var keyString = key.toString(StandardCharsets.UTF_8);
+
+    Map<String, String> matches;
+    if (option.isPrefix()) {
+      prefixGets.incrementAndGet();
+      matches = values.subMap(keyString, true, keyString + Character.MAX_VALUE, false);
+    } else {
+      matches = values.containsKey(keyString) ? Map.of(keyString, values.get(keyString)) : Map.of();
+      if (option.isCountOnly()) {
+        revisionGets.incrementAndGet();
+      } else {
+        keyGets.incrementAndGet();
+      }
+    }
+
+    var range = RangeResponse.newBuilder()
+      .setHeader(ResponseHeader.newBuilder().setRevision(revision))
+      .setCount(matches.size());
+    if (!option.isCountOnly()) {
+      matches.forEach((k, v) -> range.addKvs(KeyValue.newBuilder()
+        .setKey(ByteString.copyFrom(k, StandardCharsets.UTF_8))
+        .setValue(ByteString.copyFrom(v, StandardCharsets.UTF_8))));
+    }
+    return CompletableFuture.completedFuture(new GetResponse(range.build(), ByteSequence.EMPTY));
+  }
+
+  @Override
+  public CompletableFuture<PutResponse> put(ByteSequence key, ByteSequence value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<PutResponse> put(ByteSequence key, ByteSequence value,
+    PutOption option) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<DeleteResponse> delete(ByteSequence key) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<DeleteResponse> delete(ByteSequence key, DeleteOption option) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<CompactResponse> compact(long rev) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public CompletableFuture<CompactResponse> compact(long rev, CompactOption option) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Txn txn() {
+    throw new UnsupportedOperationException();
+  }
+}
@@ -10,8 +10,11 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.net.URL;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -114,6 +117,29 @@ class SystemConfigTests {
     assertEquals(Duration.ofSeconds(90), basicConfig.getValueAsDuration("duration-parameter"));
   }
 
+  @Test
+  void testParsedValuesFollowChangedValues() {
+    final Map<String, String> values = new HashMap<>(Map.of(
+      "integer-parameter", "1", "long-parameter", "2147483648", "duration-parameter", "PT1S"));
+    final SystemConfig config = SystemConfig.create("component-name",
+      key -> Optional.ofNullable(values.get(key)));
+
+    assertEquals(1, config.getValueAsInt("integer-parameter"));
+    assertEquals(2147483648L, config.getValueAsLong("long-parameter"));
+    assertEquals(Duration.ofSeconds(1), config.getValueAsDuration("duration-parameter"));
+
+    values.put("integer-parameter", "2");
+    values.put("long-parameter", "3");
+    values.put("duration-parameter", "PT2S");
+
+    assertEquals(2, config.getValueAsInt("integer-parameter"));
+    assertEquals(3L, config.getValueAsLong("long-parameter"));
+    assertEquals(Duration.ofSeconds(2), config.getValueAsDuration("duration-parameter"));
+
+    values.put("integer-parameter", "two");
+    assertThrows(NumberFormatException.class, () -> config.getValueAsInt("integer-parameter"));
+  }
+
   @Test
   void testGetUrlOfComponent() {
     SystemConfig config = createConfig("component-2", componentConfigFilename);
@@ -1,5 +1,7 @@
 package gms.shared.frameworks.utilities;
 
+import gms.shared.metrics.Histogram;
+import gms.shared.metrics.Metrics;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
@@ -12,12 +14,21 @@ import java.util.Objects;
 
 /**
  * Maintains summary statistics associated to a variety of keys.
+ * <p>
+ * An accumulator created with a metrics prefix also records every value in the {@link Metrics} histogram
+ * {@code <prefix>_<key>}, which is not cleared by {@link #reset()}, so percentiles of the values are exported
+ * alongside the periodically logged summary statistics.
  *
  * @param <K> type of keys for which summary statistics are maintained.
  */
 public class SumStatsAccumulator<K> {
 
+  // Values are recorded in the histograms with a resolution of one millionth
+  private static final double HISTOGRAM_UNITS_PER_VALUE = 1e6;
+
   private final Map<K, SummaryStatistics> statisticsMap;
+  private final String metricsPrefix;
+  private final Map<K, Histogram> histogramMap;
   private Instant startTime;
 
   /**
@@ -34,7 +45,20 @@ public class SumStatsAccumulator<K> {
    * @param map
    */
   public SumStatsAccumulator(Map<K, SummaryStatistics> map) {
+    this(map, null);
+  }
+
+  /**
+   * Constructor which takes the map used for accumulation and the prefix of the {@link Metrics}
+   * histograms the values are also recorded in.
+   *
+   * @param map
+   * @param metricsPrefix prefix of the histogram names, or null to not record the values in histograms
+   */
+  public SumStatsAccumulator(Map<K, SummaryStatistics> map, String metricsPrefix) {
     this.statisticsMap = map;
+    this.metricsPrefix = metricsPrefix;
+    this.histogramMap = new HashMap<>();
     reset();
   }
 
@@ -93,6 +117,12 @@ public class SumStatsAccumulator<K> {
    */
   public void addValue(final K key, final double value) {
     getSummaryStatistics(key).addValue(value);
+
+    if (metricsPrefix != null) {
+      histogramMap.computeIfAbsent(key,
+          k -> Metrics.histogram(metricsPrefix + "_" + k, HISTOGRAM_UNITS_PER_VALUE))
+        .record(value);
+    }
   }
 
   /**
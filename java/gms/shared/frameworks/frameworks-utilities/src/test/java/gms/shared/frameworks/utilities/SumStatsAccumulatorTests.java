@@ -1,5 +1,6 @@
 package gms.shared.frameworks.utilities;
 
+import gms.shared.metrics.Metrics;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +36,20 @@ class SumStatsAccumulatorTests {
     performTests(TestKey.values(), new EnumMap<>(TestKey.class), new EnumMap<>(TestKey.class));
   }
 
+  @Test
+  void testValuesRecordedInHistograms() {
+    var accumulator = new SumStatsAccumulator<TestKey>(new EnumMap<>(TestKey.class), "sumStatsTest");
+    accumulator.addValue(TestKey.KEY1, 0.5);
+    accumulator.addValue(TestKey.KEY1, 1.5);
+    accumulator.reset();
+
+    var histogram = Metrics.histogram("sumStatsTest_KEY1", 1);
+    assertEquals(2, histogram.getCount());
+    assertEquals(2.0, histogram.getSum(), 1e-6);
+    assertEquals(1.5, histogram.getMax(), 1e-6);
+    assertEquals(0, accumulator.getN(TestKey.KEY1));
+  }
+
   private static <K> void performTests(K[] keys,
     Map<K, SummaryStatistics> map1,
     Map<K, SummaryStatistics> map2) {
@@ -0,0 +1,52 @@
+package gms.shared.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing count of events. Increments are lock-free and do not contend between threads, so a counter
+ * can be updated from hot paths. Counters are created and registered through {@link Metrics#counter(String)}.
+ */
+public class Counter implements CounterMBean, Metric {
+
+  private final String name;
+  private final LongAdder count = new LongAdder();
+
+  Counter(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Counts a single event
+   */
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * Counts the provided number of events
+   *
+   * @param events number of events to count, must not be negative
+   */
+  public void increment(long events) {
+    if (events < 0) {
+      throw new IllegalArgumentException("Counters can only be incremented by a non-negative number of events");
+    }
+    count.add(events);
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public void writeTo(StringBuilder exposition) {
+    exposition.append("# TYPE ").append(name).append(" counter\n")
+      .append(name).append(' ').append(getCount()).append('\n');
+  }
+}
@@ -0,0 +1,12 @@
+package gms.shared.metrics;
+
+/**
+ * JMX interface of a {@link Counter}, exporting its current count.
+ */
+public interface CounterMBean {
+
+  /**
+   * @return the number of events counted since the counter was created
+   */
+  long getCount();
+}
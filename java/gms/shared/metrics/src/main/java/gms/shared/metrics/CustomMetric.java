@@ -5,11 +5,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.management.JMException;
 import javax.management.ObjectName;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 
 public class CustomMetric<T, U> implements CustomMetricMBean<T, U> {
   private static final Logger logger = LoggerFactory.getLogger(CustomMetric.class);
-  private U metricVal;
+  private final AtomicReference<U> metricVal;
 
   /**
    * The update BiFunction is the generic operation to perform to update the metric based on the current metric value
@@ -20,7 +21,7 @@ public class CustomMetric<T, U> implements CustomMetricMBean<T, U> {
 
   private CustomMetric(BiFunction<U, T, U> update, String name, U initVal) {
     this.update = update;
-    this.metricVal = initVal;
+    this.metricVal = new AtomicReference<>(initVal);
 
     try {
       MetricRegister.register(this, new ObjectName(name));
@@ -46,17 +47,18 @@ public class CustomMetric<T, U> implements CustomMetricMBean<T, U> {
   }
 
   public U getMetricVal() {
-    return this.metricVal;
+    return this.metricVal.get();
   }
 
   /**
    * Sets the new metric value to the return value of the update BiFunction when applied to the current metric
-   * value and the "current" attached input object
+   * value and the "current" attached input object. The update is applied atomically, so concurrent updates are not
+   * lost; the update BiFunction may be applied more than once under contention and must not have side effects.
    *
    * @param current The current state of the object the metric is "attached" to
    */
   public void updateMetric(T current) {
-    this.metricVal = this.update.apply(this.metricVal, current);
+    this.metricVal.updateAndGet(value -> this.update.apply(value, current));
   }
 
   /**
@@ -0,0 +1,52 @@
+package gms.shared.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Instantaneous value that can go up and down, such as a queue depth or a cache size. The value is held as the bits of
+ * a double in an {@link AtomicLong}, so reads and updates are lock-free. Gauges are created and registered through
+ * {@link Metrics#gauge(String)}.
+ */
+public class Gauge implements GaugeMBean, Metric {
+
+  private final String name;
+  private final AtomicLong valueBits = new AtomicLong(Double.doubleToLongBits(0.0));
+
+  Gauge(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Sets the gauge to the provided value
+   *
+   * @param value the new value of the gauge
+   */
+  public void set(double value) {
+    valueBits.set(Double.doubleToLongBits(value));
+  }
+
+  /**
+   * Adds the provided amount, which may be negative, to the gauge
+   *
+   * @param amount amount to add to the gauge
+   */
+  public void add(double amount) {
+    valueBits.updateAndGet(bits -> Double.doubleToLongBits(Double.longBitsToDouble(bits) + amount));
+  }
+
+  @Override
+  public double getValue() {
+    return Double.longBitsToDouble(valueBits.get());
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public void writeTo(StringBuilder exposition) {
+    exposition.append("# TYPE ").append(name).append(" gauge\n")
+      .append(name).append(' ').append(getValue()).append('\n');
+  }
+}
@@ -0,0 +1,12 @@
+package gms.shared.metrics;
+
+/**
+ * JMX interface of a {@link Gauge}, exporting its current value.
+ */
+public interface GaugeMBean {
+
+  /**
+   * @return the last value set on the gauge
+   */
+  double getValue();
+}
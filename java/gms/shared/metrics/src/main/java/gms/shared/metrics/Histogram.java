@@ -0,0 +1,234 @@
+package gms.shared.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of recorded values with a high dynamic range, used for latencies and other per-operation measurements.
+ * <p>
+ * Values are recorded as longs in the histogram's recording unit (nanoseconds for latency histograms) into log-linear
+ * buckets: values below 16 have their own bucket, and every power of two above that is split into 16 linear buckets,
+ * so a reported percentile is within 1/16 of the true value. Values up to 2^40 recording units (about 18 minutes for
+ * nanoseconds) are bucketed, larger values fall in the top bucket but are still reflected in the sum and the max.
+ * <p>
+ * Recording is lock-free: bucket counts are striped over several {@link AtomicLongArray}s selected by thread, and the
+ * count, sum and max use {@link LongAdder} and {@link LongAccumulator}. Readers sum the stripes, so percentiles read
+ * while values are being recorded may not include the values being recorded. Histograms are created and registered
+ * through {@link Metrics#latency(String)} and {@link Metrics#histogram(String, double)}.
+ */
+public class Histogram implements HistogramMBean, Metric {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_VALUE_BITS = 40;
+  static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  private static final double[] EXPORTED_QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+  private static final int STRIPE_COUNT = Math.min(8,
+    Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+  private final String name;
+  private final double unitsPerValue;
+  private final AtomicLongArray[] stripes;
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * @param name the sanitized name of the histogram
+   * @param unitsPerValue number of recording units per exported unit, e.g. 1e9 for values recorded in nanoseconds
+   * and exported in seconds
+   */
+  Histogram(String name, double unitsPerValue) {
+    if (!(unitsPerValue > 0)) {
+      throw new IllegalArgumentException("Histogram units per value must be positive");
+    }
+
+    this.name = name;
+    this.unitsPerValue = unitsPerValue;
+    this.stripes = new AtomicLongArray[STRIPE_COUNT];
+    for (var i = 0; i < STRIPE_COUNT; i++) {
+      stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+    }
+  }
+
+  /**
+   * Records a value in recording units. Negative values are recorded as zero.
+   *
+   * @param units the value, in recording units
+   */
+  public void recordUnits(long units) {
+    var value = Math.max(0, units);
+    var stripe = stripes[(int) Thread.currentThread().getId() & (STRIPE_COUNT - 1)];
+    stripe.incrementAndGet(bucketIndex(value));
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Records a value in the exported unit, rounded to the histogram's recording unit. Negative and NaN values are
+   * recorded as zero.
+   *
+   * @param value the value, in the exported unit
+   */
+  public void record(double value) {
+    recordUnits(Double.isNaN(value) ? 0 : Math.round(value * unitsPerValue));
+  }
+
+  /**
+   * Records the time elapsed since a {@link System#nanoTime()} reading, for histograms recording nanoseconds.
+   *
+   * @param startNanos the {@link System#nanoTime()} reading at the start of the timed operation
+   * @return the elapsed nanoseconds
+   */
+  public long recordSince(long startNanos) {
+    var elapsed = System.nanoTime() - startNanos;
+    recordUnits(elapsed);
+    return elapsed;
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public double getSum() {
+    return sum.sum() / unitsPerValue;
+  }
+
+  @Override
+  public double getMean() {
+    var currentCount = count.sum();
+    return currentCount == 0 ? 0 : sum.sum() / unitsPerValue / currentCount;
+  }
+
+  @Override
+  public double getMax() {
+    return max.get() / unitsPerValue;
+  }
+
+  @Override
+  public double get50thPercentile() {
+    return getPercentile(0.5);
+  }
+
+  @Override
+  public double get90thPercentile() {
+    return getPercentile(0.9);
+  }
+
+  @Override
+  public double get99thPercentile() {
+    return getPercentile(0.99);
+  }
+
+  @Override
+  public double get999thPercentile() {
+    return getPercentile(0.999);
+  }
+
+  /**
+   * @param quantile the quantile, between 0 and 1
+   * @return the value at the quantile of the recorded values, or 0 if no values were recorded
+   */
+  public double getPercentile(double quantile) {
+    return getPercentiles(snapshotBuckets(), quantile)[0];
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public void writeTo(StringBuilder exposition) {
+    var percentiles = getPercentiles(snapshotBuckets(), EXPORTED_QUANTILES);
+
+    exposition.append("# TYPE ").append(name).append(" summary\n");
+    for (var i = 0; i < EXPORTED_QUANTILES.length; i++) {
+      exposition.append(name).append("{quantile=\"").append(EXPORTED_QUANTILES[i]).append("\"} ")
+        .append(percentiles[i]).append('\n');
+    }
+    exposition.append(name).append("_sum ").append(getSum()).append('\n')
+      .append(name).append("_count ").append(getCount()).append('\n');
+  }
+
+  private long[] snapshotBuckets() {
+    var buckets = new long[BUCKET_COUNT];
+    for (AtomicLongArray stripe : stripes) {
+      for (var i = 0; i < BUCKET_COUNT; i++) {
+        buckets[i] += stripe.get(i);
+      }
+    }
+    return buckets;
+  }
+
+  private double[] getPercentiles(long[] buckets, double... quantiles) {
+    var total = 0L;
+    for (long bucketCount : buckets) {
+      total += bucketCount;
+    }
+
+    var percentiles = new double[quantiles.length];
+    if (total == 0) {
+      return percentiles;
+    }
+
+    var currentMax = max.get();
+    for (var q = 0; q < quantiles.length; q++) {
+      var rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+      var seen = 0L;
+      var bucket = 0;
+      while (bucket < BUCKET_COUNT - 1 && seen + buckets[bucket] < rank) {
+        seen += buckets[bucket];
+        bucket++;
+      }
+      percentiles[q] = Math.min(bucketMidpoint(bucket), currentMax) / unitsPerValue;
+    }
+    return percentiles;
+  }
+
+  /**
+   * @return the index of the bucket holding the non-negative value
+   */
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    var exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_VALUE_BITS);
+    if (exponent == MAX_VALUE_BITS) {
+      return BUCKET_COUNT - 1;
+    }
+
+    var shift = exponent - SUB_BUCKET_BITS;
+    var subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * @return the smallest value held by the bucket
+   */
+  static long bucketLowerBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    var shift = index / SUB_BUCKET_COUNT - 1;
+    var subBucket = index % SUB_BUCKET_COUNT;
+    return (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+  }
+
+  private static double bucketMidpoint(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    var width = 1L << (index / SUB_BUCKET_COUNT - 1);
+    return bucketLowerBound(index) + (width - 1) / 2.0;
+  }
+}
@@ -0,0 +1,36 @@
+package gms.shared.metrics;
+
+/**
+ * JMX interface of a {@link Histogram}. Values are exported in the histogram's unit (seconds for latency histograms),
+ * and percentiles are accurate to the histogram's bucket resolution.
+ */
+public interface HistogramMBean {
+
+  /**
+   * @return the number of recorded values
+   */
+  long getCount();
+
+  /**
+   * @return the sum of the recorded values
+   */
+  double getSum();
+
+  /**
+   * @return the mean of the recorded values, or 0 if no values were recorded
+   */
+  double getMean();
+
+  /**
+   * @return the largest recorded value, or 0 if no values were recorded
+   */
+  double getMax();
+
+  double get50thPercentile();
+
+  double get90thPercentile();
+
+  double get99thPercentile();
+
+  double get999thPercentile();
+}
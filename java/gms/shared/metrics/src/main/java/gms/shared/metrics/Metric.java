@@ -0,0 +1,19 @@
+package gms.shared.metrics;
+
+/**
+ * A metric held by the {@link Metrics} registry.
+ */
+interface Metric {
+
+  /**
+   * @return the sanitized name the metric is registered and exported under
+   */
+  String getName();
+
+  /**
+   * Appends the current state of the metric to a Prometheus text format exposition
+   *
+   * @param exposition the exposition being built
+   */
+  void writeTo(StringBuilder exposition);
+}
@@ -11,4 +11,15 @@ public class MetricRegister {
   public static void register(CustomMetric customMetric, ObjectName name) throws JMException {
     mBeanServer.registerMBean(customMetric, name);
   }
+
+  /**
+   * Registers a {@link Counter}, {@link Gauge} or {@link Histogram} with the platform MBean server
+   *
+   * @param metric the metric to register
+   * @param name the name to register the metric under
+   * @throws JMException if the metric cannot be registered, e.g. because the name is already registered
+   */
+  static void register(Metric metric, ObjectName name) throws JMException {
+    mBeanServer.registerMBean(metric, name);
+  }
 }
@@ -0,0 +1,122 @@
+package gms.shared.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Process-wide registry of {@link Counter}s, {@link Gauge}s and {@link Histogram}s.
+ * <p>
+ * Metrics are created on first use and shared by name afterwards, so callers can look a metric up where it is updated
+ * or hold on to it in a field for the hottest paths. Names are sanitized to letters, digits and underscores. Every
+ * metric is registered with the platform MBean server through {@link MetricRegister} under
+ * {@code gms.shared.metrics:type=<Counter|Gauge|Histogram>,name=<name>}, so the JMX exporter agent picks it up, and
+ * {@link #scrape()} renders all metrics in the Prometheus text format for the services' HTTP metrics endpoints.
+ */
+public final class Metrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(Metrics.class);
+
+  /**
+   * Content type of the {@link #scrape()} exposition
+   */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  static final String DOMAIN = "gms.shared.metrics";
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private static final Map<String, Metric> metricsByName = new ConcurrentHashMap<>();
+
+  private Metrics() {
+  }
+
+  /**
+   * @param name the name of the counter
+   * @return the counter registered under the name, created if this is the first use of the name
+   */
+  public static Counter counter(String name) {
+    return getOrRegister(name, Counter.class, Counter::new);
+  }
+
+  /**
+   * @param name the name of the gauge
+   * @return the gauge registered under the name, created if this is the first use of the name
+   */
+  public static Gauge gauge(String name) {
+    return getOrRegister(name, Gauge.class, Gauge::new);
+  }
+
+  /**
+   * Latency histogram, recording nanoseconds and exporting seconds.
+   *
+   * @param name the name of the histogram
+   * @return the histogram registered under the name, created if this is the first use of the name
+   */
+  public static Histogram latency(String name) {
+    return histogram(name, NANOS_PER_SECOND);
+  }
+
+  /**
+   * Histogram of arbitrary values. Values are recorded with a resolution of {@code 1 / unitsPerValue}, so the
+   * resolution should be chosen so that the recorded values are mostly larger than 16 units.
+   *
+   * @param name the name of the histogram
+   * @param unitsPerValue number of recording units per exported unit, only used if the histogram is created
+   * @return the histogram registered under the name, created if this is the first use of the name
+   */
+  public static Histogram histogram(String name, double unitsPerValue) {
+    return getOrRegister(name, Histogram.class, sanitized -> new Histogram(sanitized, unitsPerValue));
+  }
+
+  /**
+   * @return all registered metrics in the Prometheus text exposition format (version 0.0.4)
+   */
+  public static String scrape() {
+    var exposition = new StringBuilder();
+    metricsByName.values().stream()
+      .sorted(Comparator.comparing(Metric::getName))
+      .forEach(metric -> metric.writeTo(exposition));
+    return exposition.toString();
+  }
+
+  /**
+   * @return the name with every character other than letters, digits and underscores replaced by an underscore
+   */
+  static String sanitize(String name) {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("Metric names must not be blank");
+    }
+
+    var sanitized = name.replaceAll("[^a-zA-Z0-9_]", "_");
+    return Character.isDigit(sanitized.charAt(0)) ? "_" + sanitized : sanitized;
+  }
+
+  private static <M extends Metric> M getOrRegister(String name, Class<M> type, Function<String, M> factory) {
+    var sanitized = sanitize(name);
+    var metric = metricsByName.computeIfAbsent(sanitized, key -> register(type, factory.apply(key)));
+
+    if (!type.isInstance(metric)) {
+      throw new IllegalArgumentException(String.format("Metric %s is already registered as a %s",
+        sanitized, metric.getClass().getSimpleName()));
+    }
+    return type.cast(metric);
+  }
+
+  private static Metric register(Class<? extends Metric> type, Metric metric) {
+    var objectName = String.format("%s:type=%s,name=%s", DOMAIN, type.getSimpleName(), metric.getName());
+    try {
+      MetricRegister.register(metric, new ObjectName(objectName));
+    } catch (JMException e) {
+      logger.warn("Metric {} failed to register, it will only be exported by scrape: {}",
+        objectName, e.getMessage());
+    }
+    return metric;
+  }
+}
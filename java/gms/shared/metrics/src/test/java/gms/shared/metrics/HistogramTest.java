@@ -0,0 +1,76 @@
+package gms.shared.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistogramTest {
+
+  @Test
+  void testBucketsAreContiguous() {
+    assertEquals(0, Histogram.bucketIndex(0));
+    assertEquals(15, Histogram.bucketIndex(15));
+
+    for (var index = 1; index < Histogram.BUCKET_COUNT; index++) {
+      var lowerBound = Histogram.bucketLowerBound(index);
+      assertTrue(lowerBound > Histogram.bucketLowerBound(index - 1));
+      assertEquals(index, Histogram.bucketIndex(lowerBound));
+      assertEquals(index - 1, Histogram.bucketIndex(lowerBound - 1));
+    }
+
+    assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.bucketIndex(Long.MAX_VALUE));
+  }
+
+  @Test
+  void testPercentilesWithinBucketResolution() {
+    var histogram = new Histogram("test", 1);
+    IntStream.rangeClosed(1, 10_000).forEach(histogram::recordUnits);
+
+    assertEquals(10_000, histogram.getCount());
+    assertEquals(50_005_000, histogram.getSum());
+    assertEquals(5000.5, histogram.getMean());
+    assertEquals(10_000, histogram.getMax());
+    assertEquals(5000, histogram.get50thPercentile(), 5000 / 16.0);
+    assertEquals(9900, histogram.get99thPercentile(), 9900 / 16.0);
+    assertEquals(9990, histogram.get999thPercentile(), 9990 / 16.0);
+    assertTrue(histogram.get999thPercentile() <= histogram.getMax());
+  }
+
+  @Test
+  void testScaledValues() {
+    var histogram = new Histogram("test", 1e9);
+    histogram.record(0.25);
+    histogram.recordUnits(750_000_000);
+    histogram.record(-1);
+
+    assertEquals(3, histogram.getCount());
+    assertEquals(1.0, histogram.getSum(), 1e-9);
+    assertEquals(0.75, histogram.getMax(), 1e-9);
+    assertEquals(0.25, histogram.get50thPercentile(), 0.25 / 16);
+    assertEquals(0, new Histogram("empty", 1e9).get99thPercentile());
+    assertThrows(IllegalArgumentException.class, () -> new Histogram("invalid", 0));
+  }
+
+  @Test
+  void testConcurrentRecording() throws InterruptedException {
+    var histogram = new Histogram("test", 1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    for (var thread = 0; thread < 4; thread++) {
+      executor.execute(() -> IntStream.range(0, 25_000).forEach(i -> histogram.recordUnits(100)));
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+    assertEquals(100_000, histogram.getCount());
+    assertEquals(10_000_000, histogram.getSum());
+    assertEquals(100, histogram.get50thPercentile(), 100 / 16.0);
+  }
+}
@@ -0,0 +1,63 @@
+package gms.shared.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+  @Test
+  void testMetricsAreSharedByName() {
+    var counter = Metrics.counter("metrics-test.shared");
+    counter.increment();
+    Metrics.counter("metrics_test_shared").increment(2);
+
+    assertSame(counter, Metrics.counter("metrics-test.shared"));
+    assertEquals(3, counter.getCount());
+    assertThrows(IllegalArgumentException.class, () -> counter.increment(-1));
+    assertThrows(IllegalArgumentException.class, () -> Metrics.gauge("metrics-test.shared"));
+    assertThrows(IllegalArgumentException.class, () -> Metrics.counter(" "));
+  }
+
+  @Test
+  void testGauge() {
+    var gauge = Metrics.gauge("metricsTestGauge");
+    gauge.set(2.5);
+    gauge.add(-1);
+
+    assertEquals(1.5, gauge.getValue());
+  }
+
+  @Test
+  void testRegisteredWithJmx() throws Exception {
+    var histogram = Metrics.latency("metricsTestJmx");
+    histogram.recordUnits(2_000_000_000L);
+
+    var mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    var name = new ObjectName(Metrics.DOMAIN + ":type=Histogram,name=metricsTestJmx");
+
+    assertEquals(1L, mBeanServer.getAttribute(name, "Count"));
+    assertEquals(2.0, (double) mBeanServer.getAttribute(name, "Max"), 1e-9);
+  }
+
+  @Test
+  void testScrape() {
+    Metrics.counter("metricsTestScrapeCounter").increment();
+    Metrics.gauge("metricsTestScrapeGauge").set(4);
+    Metrics.histogram("metricsTestScrapeHistogram", 1).recordUnits(8);
+
+    var exposition = Metrics.scrape();
+
+    assertTrue(exposition.contains("# TYPE metricsTestScrapeCounter counter\nmetricsTestScrapeCounter 1\n"));
+    assertTrue(exposition.contains("# TYPE metricsTestScrapeGauge gauge\nmetricsTestScrapeGauge 4.0\n"));
+    assertTrue(exposition.contains("# TYPE metricsTestScrapeHistogram summary\n"));
+    assertTrue(exposition.contains("metricsTestScrapeHistogram{quantile=\"0.99\"} 8.0\n"));
+    assertTrue(exposition.contains("metricsTestScrapeHistogram_sum 8.0\nmetricsTestScrapeHistogram_count 1\n"));
+  }
+}
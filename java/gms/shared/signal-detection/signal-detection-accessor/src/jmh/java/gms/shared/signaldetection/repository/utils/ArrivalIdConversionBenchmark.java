@@ -0,0 +1,134 @@
+package gms.shared.signaldetection.repository.utils;
+
+import gms.shared.frameworks.cache.utils.IgniteConnectionManager;
+import gms.shared.frameworks.cache.utils.IgniteTestUtility;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility.AMPLITUDE_ID_FEATURE_MEASUREMENT_ID;
+import static gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility.ARID_SIGNAL_DETECTION_ID_CACHE;
+import static gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility.ARRIVAL_ID_SIGNAL_DETECTION_HYPOTHESIS_ID;
+import static gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility.ASSOC_ID_SIGNAL_DETECTION_HYPOTHESIS_ID;
+import static gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility.FEATURE_MEASUREMENT_ID_AMPLITUDE_ID;
+import static gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility.SIGNAL_DETECTION_HYPOTHESIS_ID_ARRIVAL_ID;
+import static gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility.SIGNAL_DETECTION_HYPOTHESIS_ID_ASSOC_ID;
+import static gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility.SIGNAL_DETECTION_ID_ARID_CACHE;
+
+/**
+ * Benchmarks assigning the ids of a set of bridged arrivals, as converting them to signal detections does: the
+ * detection id of each arrival, and the hypothesis ids of the arrival and of its one assoc, against a local Ignite node.
+ * <p>
+ * {@code perArrival} looks each id up with its own call, as the converters do; {@code bulk} looks up the ids of the
+ * whole set with one call per mapping. {@code new} arrivals have never been converted, so every id is created;
+ * {@code repeated} arrivals are the same set each time, as when a station's detections are requested again.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// the JDK internals Ignite 2.x needs opened to it on Java 17
+@Fork(value = 1, jvmArgsAppend = {
+  "--add-opens=java.base/java.nio=ALL-UNNAMED",
+  "--add-opens=java.base/java.io=ALL-UNNAMED",
+  "--add-opens=java.base/java.lang=ALL-UNNAMED",
+  "--add-opens=java.base/java.lang.invoke=ALL-UNNAMED",
+  "--add-opens=java.base/java.lang.reflect=ALL-UNNAMED",
+  "--add-opens=java.base/java.util=ALL-UNNAMED",
+  "--add-opens=java.base/java.util.concurrent=ALL-UNNAMED",
+  "--add-opens=java.base/java.util.concurrent.atomic=ALL-UNNAMED",
+  "--add-opens=java.base/java.util.concurrent.locks=ALL-UNNAMED",
+  "--add-opens=java.base/java.time=ALL-UNNAMED",
+  "--add-opens=java.base/jdk.internal.access=ALL-UNNAMED",
+  "--add-opens=java.base/jdk.internal.misc=ALL-UNNAMED",
+  "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED",
+  "--add-opens=java.management/com.sun.jmx.mbeanserver=ALL-UNNAMED",
+  "--add-opens=jdk.management/com.sun.management.internal=ALL-UNNAMED"})
+@State(Scope.Benchmark)
+public class ArrivalIdConversionBenchmark {
+
+  private static final String STAGE = "AL1";
+
+  @Param({"perArrival", "bulk"})
+  String lookup;
+
+  @Param({"new", "repeated"})
+  String arrivals;
+
+  @Param({"1000"})
+  int arrivalCount;
+
+  private Path igniteHome;
+  private SignalDetectionIdUtility signalDetectionIdUtility;
+  private long nextArid;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    igniteHome = Files.createTempDirectory("arrival-id-conversion");
+    IgniteTestUtility.initializeLocally(igniteHome,
+      ARID_SIGNAL_DETECTION_ID_CACHE, SIGNAL_DETECTION_ID_ARID_CACHE,
+      ARRIVAL_ID_SIGNAL_DETECTION_HYPOTHESIS_ID, SIGNAL_DETECTION_HYPOTHESIS_ID_ARRIVAL_ID,
+      ASSOC_ID_SIGNAL_DETECTION_HYPOTHESIS_ID, SIGNAL_DETECTION_HYPOTHESIS_ID_ASSOC_ID,
+      AMPLITUDE_ID_FEATURE_MEASUREMENT_ID, FEATURE_MEASUREMENT_ID_AMPLITUDE_ID);
+    signalDetectionIdUtility = new SignalDetectionIdUtility();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    IgniteConnectionManager.close();
+  }
+
+  /**
+   * Throughput is in arrival sets converted; multiply by {@code arrivalCount} for arrivals.
+   */
+  @Benchmark
+  public void convertArrivals(Blackhole blackhole) {
+    long firstArid = "new".equals(arrivals) ? nextArid : 0;
+    nextArid += arrivalCount;
+
+    if ("bulk".equals(lookup)) {
+      List<Long> arids = new ArrayList<>(arrivalCount);
+      List<SignalDetectionHypothesisArrivalIdComponents> arrivalIds = new ArrayList<>(arrivalCount);
+      List<SignalDetectionHypothesisAssocIdComponents> assocIds = new ArrayList<>(arrivalCount);
+      for (long arid = firstArid; arid < firstArid + arrivalCount; arid++) {
+        arids.add(arid);
+        arrivalIds.add(SignalDetectionHypothesisArrivalIdComponents.create(STAGE, arid));
+        assocIds.add(SignalDetectionHypothesisAssocIdComponents.create(STAGE, arid, -arid));
+      }
+
+      Map<Long, UUID> detectionIds = signalDetectionIdUtility.getOrCreateSignalDetectionIdsFromArids(arids);
+      blackhole.consume(detectionIds);
+      blackhole.consume(signalDetectionIdUtility
+        .getOrCreateSignalDetectionHypothesisIdsFromArrivalIdComponents(arrivalIds));
+      blackhole.consume(signalDetectionIdUtility
+        .getOrCreateSignalDetectionHypothesisIdsFromAssocIdComponents(assocIds));
+    } else {
+      for (long arid = firstArid; arid < firstArid + arrivalCount; arid++) {
+        blackhole.consume(signalDetectionIdUtility.getOrCreateSignalDetectionIdfromArid(arid));
+        blackhole.consume(signalDetectionIdUtility.getOrCreateSignalDetectionHypothesisIdFromAridAndStageId(arid,
+          STAGE));
+        blackhole.consume(signalDetectionIdUtility.getOrCreateSignalDetectionHypothesisIdFromAridOridAndStageId(arid,
+          -arid, STAGE));
+      }
+    }
+  }
+}
@@ -759,29 +759,37 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
     WorkflowDefinitionId stageId,
     WorkflowDefinitionId previousStage) {
 
-    return arrivalDaos.stream()
-      .map(arrival -> {
+    List<ArrivalDao> hypothesisArrivals = arrivalDaos.stream()
+      .filter(arrival -> {
 
         long arid = arrival.getId();
 
         /*determine whether to make SDH from arrival:
         SDH created from arrival if it's in the first stage, or it has no associated assocs in the same stage,
         or there was no arrival in previous stage with the same id, or the phase changed */
-        if (previousStage == null || aridAssocMap.get(arid) == null || aridPreviousStageArrivalsMap.get(arid) == null ||
-          !aridPreviousStageArrivalsMap.get(arid).getPhase().equals(arrival.getPhase())) {
-
-          Optional<UUID> parentId = createParentId(arid, aridPreviousStageArrivalsMap, previousStage);
-
-          if (aridWfdiscDaoMap.containsKey(arid)) {
-            var wfdisc = aridWfdiscDaoMap.get(arid);
-            Collection<AmplitudeDao> amplitudeDaos = aridAmplitudeMap.get(arid);
-            // create the signal detection hypothesis from arrival and wfdisc
-            //parent id will be empty for first stage, SDH of previous stage with same arid for subsequent stages
-            return createSignalDetectionHypothesis(arrival, wfdisc, arid, stageId, Optional.empty(),
-              amplitudeDaos, parentId);
-          }
-        }
-        return Optional.<SignalDetectionHypothesis>empty();
+        return (previousStage == null || aridAssocMap.get(arid) == null ||
+          aridPreviousStageArrivalsMap.get(arid) == null ||
+          !aridPreviousStageArrivalsMap.get(arid).getPhase().equals(arrival.getPhase())) &&
+          aridWfdiscDaoMap.containsKey(arid);
+      })
+      .collect(Collectors.toList());
+
+    // get or create the signal detection ids of all the arrivals at once
+    Map<Long, UUID> signalDetectionIds = signalDetectionIdUtility.getOrCreateSignalDetectionIdsFromArids(
+      hypothesisArrivals.stream().map(ArrivalDao::getId).collect(Collectors.toSet()));
+
+    return hypothesisArrivals.stream()
+      .map(arrival -> {
+
+        long arid = arrival.getId();
+        Optional<UUID> parentId = createParentId(arid, aridPreviousStageArrivalsMap, previousStage);
+
+        var wfdisc = aridWfdiscDaoMap.get(arid);
+        Collection<AmplitudeDao> amplitudeDaos = aridAmplitudeMap.get(arid);
+        // create the signal detection hypothesis from arrival and wfdisc
+        //parent id will be empty for first stage, SDH of previous stage with same arid for subsequent stages
+        return createSignalDetectionHypothesis(arrival, wfdisc, arid, signalDetectionIds.get(arid), stageId,
+          Optional.empty(), amplitudeDaos, parentId);
       })
       .filter(Optional::isPresent)
       .map(Optional::get)
@@ -820,6 +828,13 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
     Map<AridOridKey, AssocDao> keyAssocDaoMap = previousStageAssocs.stream()
       .collect(Collectors.toMap(AssocDao::getId, Functions.identity()));
 
+    // get or create the signal detection ids of all the assocs' arrivals at once
+    Map<Long, UUID> signalDetectionIds = signalDetectionIdUtility.getOrCreateSignalDetectionIdsFromArids(
+      currentStageAssocs.stream()
+        .map(assocDao -> assocDao.getId().getArrivalId())
+        .filter(aridWfdiscDaoMap::containsKey)
+        .collect(Collectors.toSet()));
+
     return currentStageAssocs.stream().map(assocDao -> {
 
         var arid = assocDao.getId().getArrivalId();
@@ -836,8 +851,8 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
         if (aridWfdiscDaoMap.containsKey(arid)) {
 
           var wfdisc = aridWfdiscDaoMap.get(arid);
-          return createSignalDetectionHypothesis(potentialArrival, wfdisc, arid, stageId, Optional.of(assocDao),
-            amplitudeDaos, parentIdAssoc);
+          return createSignalDetectionHypothesis(potentialArrival, wfdisc, arid, signalDetectionIds.get(arid), stageId,
+            Optional.of(assocDao), amplitudeDaos, parentIdAssoc);
         }
 
         return Optional.<SignalDetectionHypothesis>empty();
@@ -885,6 +900,7 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
    * @param arrival {@link ArrivalDao}
    * @param wfdisc {@link WfdiscDao}
    * @param arid ArrivalDao id
+   * @param signalDetectionId UUID of the signal detection for the arid
    * @param stageId stage id of the query
    * @param assoc AssocDao associated with SDH if it exists
    * @param amplitude AmplitudeDao associated with SDH if it exists
@@ -894,6 +910,7 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
   private Optional<SignalDetectionHypothesis> createSignalDetectionHypothesis(ArrivalDao arrival,
     WfdiscDao wfdisc,
     long arid,
+    UUID signalDetectionId,
     WorkflowDefinitionId stageId,
     Optional<AssocDao> assoc,
     Collection<AmplitudeDao> amplitude,
@@ -929,9 +946,7 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
     // cache the wfdisc id using the channel segment descriptor
     channelSegmentDescriptorWfidCache.put(descriptor, wfdisc.getId());
     String legacyDatabaseAccountId = signalDetectionBridgeDefinition.getDatabaseAccountByStage().get(stageId);
-    var converterId = SignalDetectionHypothesisConverterId.from(legacyDatabaseAccountId,
-      signalDetectionIdUtility.getOrCreateSignalDetectionIdfromArid(arid),
-      parentId);
+    var converterId = SignalDetectionHypothesisConverterId.from(legacyDatabaseAccountId, signalDetectionId, parentId);
 
     return signalDetectionHypothesisConverter.convert(converterId,
       arrival,
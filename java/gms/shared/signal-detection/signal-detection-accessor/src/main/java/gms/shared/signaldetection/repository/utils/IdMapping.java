@@ -0,0 +1,233 @@
+package gms.shared.signaldetection.repository.utils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.ignite.IgniteCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * One legacy id mapping, held as a forward and a reverse Ignite cache with a bounded local near cache in front of
+ * each.
+ * <p>
+ * Mappings are registered once and never change, so an entry found in either tier is used as is until it is evicted.
+ * Where the values of a mapping are derived from its keys, a value created by {@link #getOrCreate} is registered in
+ * the reverse cache only: a forward lookup that misses computes the value and confirms it against the reverse cache,
+ * rather than the mapping being stored twice.
+ *
+ * @param <K> forward (legacy) key type
+ * @param <V> reverse (UUID) key type
+ */
+final class IdMapping<K, V> {
+
+  private static final Duration NEAR_CACHE_EXPIRATION = Duration.ofHours(1);
+
+  private final IgniteCache<K, V> forward;
+  private final IgniteCache<V, K> reverse;
+  private final Function<K, V> derivation;
+  private final Cache<K, V> nearForward;
+  private final Cache<V, K> nearReverse;
+
+  private IdMapping(IgniteCache<K, V> forward, IgniteCache<V, K> reverse, Function<K, V> derivation,
+    long nearCacheSize) {
+
+    this.forward = forward;
+    this.reverse = reverse;
+    this.derivation = derivation;
+    this.nearForward = CacheBuilder.newBuilder()
+      .maximumSize(nearCacheSize)
+      .expireAfterWrite(NEAR_CACHE_EXPIRATION)
+      .build();
+    this.nearReverse = CacheBuilder.newBuilder()
+      .maximumSize(nearCacheSize)
+      .expireAfterWrite(NEAR_CACHE_EXPIRATION)
+      .build();
+  }
+
+  /**
+   * Creates a mapping whose values are registered explicitly
+   *
+   * @param nearCacheSize maximum entries held locally in each direction; 0 disables the near cache
+   */
+  static <K, V> IdMapping<K, V> create(IgniteCache<K, V> forward, IgniteCache<V, K> reverse, long nearCacheSize) {
+    return new IdMapping<>(forward, reverse, null, nearCacheSize);
+  }
+
+  /**
+   * Creates a mapping whose values, unless registered explicitly, are derived from their keys
+   *
+   * @param nearCacheSize maximum entries held locally in each direction; 0 disables the near cache
+   */
+  static <K, V> IdMapping<K, V> createDerived(IgniteCache<K, V> forward, IgniteCache<V, K> reverse,
+    Function<K, V> derivation, long nearCacheSize) {
+
+    Preconditions.checkNotNull(derivation);
+    return new IdMapping<>(forward, reverse, derivation, nearCacheSize);
+  }
+
+  V get(K key) {
+    var value = nearForward.getIfPresent(key);
+    if (value != null) {
+      return value;
+    }
+
+    value = forward.get(key);
+    if (value == null && derivation != null) {
+      var derived = derivation.apply(key);
+      value = key.equals(getKey(derived)) ? derived : null;
+    }
+    if (value != null) {
+      nearForward.put(key, value);
+    }
+    return value;
+  }
+
+  Map<K, V> getAll(Collection<K> keys) {
+    Map<K, V> values = new HashMap<>(nearForward.getAllPresent(keys));
+    Set<K> misses = misses(keys, values);
+    if (misses.isEmpty()) {
+      return values;
+    }
+
+    Map<K, V> found = new HashMap<>(forward.getAll(misses));
+    if (derivation != null) {
+      Map<V, K> derived = new HashMap<>();
+      misses.stream()
+        .filter(key -> !found.containsKey(key))
+        .forEach(key -> derived.put(derivation.apply(key), key));
+      if (!derived.isEmpty()) {
+        getKeys(derived.keySet()).forEach((value, key) -> {
+          if (key.equals(derived.get(value))) {
+            found.put(key, value);
+          }
+        });
+      }
+    }
+
+    nearForward.putAll(found);
+    values.putAll(found);
+    return values;
+  }
+
+  K getKey(V value) {
+    var key = nearReverse.getIfPresent(value);
+    if (key != null) {
+      return key;
+    }
+
+    key = reverse.get(value);
+    if (key != null) {
+      nearReverse.put(value, key);
+    }
+    return key;
+  }
+
+  Map<V, K> getKeys(Collection<V> values) {
+    Map<V, K> keys = new HashMap<>(nearReverse.getAllPresent(values));
+    Set<V> misses = misses(values, keys);
+    if (misses.isEmpty()) {
+      return keys;
+    }
+
+    Map<V, K> found = reverse.getAll(misses);
+    nearReverse.putAll(found);
+    keys.putAll(found);
+    return keys;
+  }
+
+  void put(K key, V value) {
+    forward.put(key, value);
+    reverse.put(value, key);
+    nearForward.put(key, value);
+    nearReverse.put(value, key);
+  }
+
+  /**
+   * Registers the mappings with one bulk write to each of the forward and reverse caches
+   */
+  void putAll(Map<K, V> mappings) {
+    if (mappings.isEmpty()) {
+      return;
+    }
+
+    Map<V, K> inverse = inverse(mappings);
+    forward.putAll(mappings);
+    reverse.putAll(inverse);
+    nearForward.putAll(mappings);
+    nearReverse.putAll(inverse);
+  }
+
+  V getOrCreate(K key) {
+    Preconditions.checkState(derivation != null, "Mapping values are not derived");
+
+    var value = nearForward.getIfPresent(key);
+    if (value != null) {
+      return value;
+    }
+
+    value = forward.get(key);
+    if (value == null) {
+      value = derivation.apply(key);
+      if (!key.equals(nearReverse.getIfPresent(value))) {
+        reverse.put(value, key);
+        nearReverse.put(value, key);
+      }
+    }
+    nearForward.put(key, value);
+    return value;
+  }
+
+  /**
+   * Finds or creates the values of the given keys with at most one bulk read of the forward cache and one bulk write
+   * of the reverse cache
+   */
+  Map<K, V> getOrCreateAll(Collection<K> keys) {
+    Preconditions.checkState(derivation != null, "Mapping values are not derived");
+
+    Map<K, V> values = new HashMap<>(nearForward.getAllPresent(keys));
+    Set<K> misses = misses(keys, values);
+    if (misses.isEmpty()) {
+      return values;
+    }
+
+    Map<K, V> found = new HashMap<>(forward.getAll(misses));
+    Map<V, K> created = new LinkedHashMap<>();
+    misses.stream()
+      .filter(key -> !found.containsKey(key))
+      .forEach(key -> {
+        var value = derivation.apply(key);
+        found.put(key, value);
+        if (!key.equals(nearReverse.getIfPresent(value))) {
+          created.put(value, key);
+        }
+      });
+
+    if (!created.isEmpty()) {
+      reverse.putAll(created);
+      nearReverse.putAll(created);
+    }
+    nearForward.putAll(found);
+    values.putAll(found);
+    return values;
+  }
+
+  private static <T> Set<T> misses(Collection<T> requested, Map<T, ?> present) {
+    Set<T> misses = new LinkedHashSet<>(requested);
+    misses.removeAll(present.keySet());
+    return misses;
+  }
+
+  private static <K, V> Map<V, K> inverse(Map<K, V> mappings) {
+    Map<V, K> inverse = new LinkedHashMap<>();
+    mappings.forEach((key, value) -> inverse.put(value, key));
+    return inverse;
+  }
+}
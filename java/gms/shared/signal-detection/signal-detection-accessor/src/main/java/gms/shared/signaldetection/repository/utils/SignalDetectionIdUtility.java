@@ -10,9 +10,17 @@ import org.apache.ignite.cache.CacheMode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Maps legacy arrival, assoc and amplitude ids to the UUIDs of the signal detection objects bridged from them, and
+ * back. Each mapping is held in a pair of replicated Ignite caches with a bounded near cache in front; signal detection
+ * and hypothesis UUIDs are derived from their legacy ids by name, so only their reverse mapping is stored when they are
+ * created. Every lookup and registration has a bulk form for converting many arrivals at once.
+ */
 @Component
 public class SignalDetectionIdUtility {
 
@@ -42,35 +50,27 @@ public class SignalDetectionIdUtility {
     new CacheInfo("feature-measurement-id-amplitude-id", CacheMode.REPLICATED,
       CacheAtomicityMode.ATOMIC, true, Optional.empty());
 
-  private IgniteCache<Long, UUID> aridSignalDetectionMap;
-  private IgniteCache<UUID, Long> signalDetectionAridMap;
-  private IgniteCache<SignalDetectionHypothesisArrivalIdComponents, UUID> arrivalIdComponentsSignalDetectionHypothesisIdMap;
-  private IgniteCache<UUID, SignalDetectionHypothesisArrivalIdComponents> signalDetectionHypothesisIdArrivalIdComponentsMap;
-  private IgniteCache<SignalDetectionHypothesisAssocIdComponents, UUID> assocIdComponentsSignalDetectionHypothesisIdMap;
-  private IgniteCache<UUID, SignalDetectionHypothesisAssocIdComponents> signalDetectionHypothesisIdAssocIdComponentsMap;
-  private IgniteCache<AmplitudeIdComponents, FeatureMeasurementIdComponents> amplitudeIdComponentsFeatureMeasurementIdComponentsMap;
-  private IgniteCache<FeatureMeasurementIdComponents, AmplitudeIdComponents> featureMeasurementIdComponentsAmplitudeIdComponentsMap;
+  /**
+   * Most entries each mapping holds locally, in each direction, in front of its Ignite caches
+   */
+  static final long NEAR_CACHE_SIZE = 50_000;
 
+  private final IdMapping<Long, UUID> signalDetectionIds;
+  private final IdMapping<SignalDetectionHypothesisArrivalIdComponents, UUID> arrivalHypothesisIds;
+  private final IdMapping<SignalDetectionHypothesisAssocIdComponents, UUID> assocHypothesisIds;
+  private final IdMapping<AmplitudeIdComponents, FeatureMeasurementIdComponents> featureMeasurementIds;
 
   @Autowired
   public SignalDetectionIdUtility() {
-
-    this.aridSignalDetectionMap =
-      IgniteConnectionManager.getOrCreateCache(ARID_SIGNAL_DETECTION_ID_CACHE);
-    this.signalDetectionAridMap =
-      IgniteConnectionManager.getOrCreateCache(SIGNAL_DETECTION_ID_ARID_CACHE);
-    this.arrivalIdComponentsSignalDetectionHypothesisIdMap =
-      IgniteConnectionManager.getOrCreateCache(ARRIVAL_ID_SIGNAL_DETECTION_HYPOTHESIS_ID);
-    this.signalDetectionHypothesisIdArrivalIdComponentsMap =
-      IgniteConnectionManager.getOrCreateCache(SIGNAL_DETECTION_HYPOTHESIS_ID_ARRIVAL_ID);
-    this.assocIdComponentsSignalDetectionHypothesisIdMap =
-      IgniteConnectionManager.getOrCreateCache(ASSOC_ID_SIGNAL_DETECTION_HYPOTHESIS_ID);
-    this.signalDetectionHypothesisIdAssocIdComponentsMap =
-      IgniteConnectionManager.getOrCreateCache(SIGNAL_DETECTION_HYPOTHESIS_ID_ASSOC_ID);
-    this.amplitudeIdComponentsFeatureMeasurementIdComponentsMap =
-      IgniteConnectionManager.getOrCreateCache(AMPLITUDE_ID_FEATURE_MEASUREMENT_ID);
-    this.featureMeasurementIdComponentsAmplitudeIdComponentsMap =
-      IgniteConnectionManager.getOrCreateCache(FEATURE_MEASUREMENT_ID_AMPLITUDE_ID);
+    this(IgniteConnectionManager.getOrCreateCache(ARID_SIGNAL_DETECTION_ID_CACHE),
+      IgniteConnectionManager.getOrCreateCache(SIGNAL_DETECTION_ID_ARID_CACHE),
+      IgniteConnectionManager.getOrCreateCache(ARRIVAL_ID_SIGNAL_DETECTION_HYPOTHESIS_ID),
+      IgniteConnectionManager.getOrCreateCache(SIGNAL_DETECTION_HYPOTHESIS_ID_ARRIVAL_ID),
+      IgniteConnectionManager.getOrCreateCache(ASSOC_ID_SIGNAL_DETECTION_HYPOTHESIS_ID),
+      IgniteConnectionManager.getOrCreateCache(SIGNAL_DETECTION_HYPOTHESIS_ID_ASSOC_ID),
+      IgniteConnectionManager.getOrCreateCache(AMPLITUDE_ID_FEATURE_MEASUREMENT_ID),
+      IgniteConnectionManager.getOrCreateCache(FEATURE_MEASUREMENT_ID_AMPLITUDE_ID),
+      NEAR_CACHE_SIZE);
   }
 
   // for testing only
@@ -83,14 +83,65 @@ public class SignalDetectionIdUtility {
     IgniteCache<AmplitudeIdComponents, FeatureMeasurementIdComponents> amplitudeIdComponentsFeatureMeasurementIdComponentsMap,
     IgniteCache<FeatureMeasurementIdComponents, AmplitudeIdComponents> featureMeasurementIdComponentsAmplitudeIdComponentsMap) {
 
-    this.aridSignalDetectionMap = aridSignalDetectionMap;
-    this.signalDetectionAridMap = signalDetectionAridMap;
-    this.arrivalIdComponentsSignalDetectionHypothesisIdMap = arrivalIdComponentsSignalDetectionHypothesisIdMap;
-    this.signalDetectionHypothesisIdArrivalIdComponentsMap = signalDetectionHypothesisIdArrivalIdComponentsMap;
-    this.assocIdComponentsSignalDetectionHypothesisIdMap = assocIdComponentsSignalDetectionHypothesisIdMap;
-    this.signalDetectionHypothesisIdAssocIdComponentsMap = signalDetectionHypothesisIdAssocIdComponentsMap;
-    this.amplitudeIdComponentsFeatureMeasurementIdComponentsMap = amplitudeIdComponentsFeatureMeasurementIdComponentsMap;
-    this.featureMeasurementIdComponentsAmplitudeIdComponentsMap = featureMeasurementIdComponentsAmplitudeIdComponentsMap;
+    this(aridSignalDetectionMap, signalDetectionAridMap,
+      arrivalIdComponentsSignalDetectionHypothesisIdMap, signalDetectionHypothesisIdArrivalIdComponentsMap,
+      assocIdComponentsSignalDetectionHypothesisIdMap, signalDetectionHypothesisIdAssocIdComponentsMap,
+      amplitudeIdComponentsFeatureMeasurementIdComponentsMap, featureMeasurementIdComponentsAmplitudeIdComponentsMap,
+      0);
+  }
+
+  // for testing only
+  SignalDetectionIdUtility(IgniteCache<Long, UUID> aridSignalDetectionMap,
+    IgniteCache<UUID, Long> signalDetectionAridMap,
+    IgniteCache<SignalDetectionHypothesisArrivalIdComponents, UUID> arrivalIdComponentsSignalDetectionHypothesisIdMap,
+    IgniteCache<UUID, SignalDetectionHypothesisArrivalIdComponents> signalDetectionHypothesisIdArrivalIdComponentsMap,
+    IgniteCache<SignalDetectionHypothesisAssocIdComponents, UUID> assocIdComponentsSignalDetectionHypothesisIdMap,
+    IgniteCache<UUID, SignalDetectionHypothesisAssocIdComponents> signalDetectionHypothesisIdAssocIdComponentsMap,
+    IgniteCache<AmplitudeIdComponents, FeatureMeasurementIdComponents> amplitudeIdComponentsFeatureMeasurementIdComponentsMap,
+    IgniteCache<FeatureMeasurementIdComponents, AmplitudeIdComponents> featureMeasurementIdComponentsAmplitudeIdComponentsMap,
+    long nearCacheSize) {
+
+    this.signalDetectionIds = IdMapping.createDerived(aridSignalDetectionMap, signalDetectionAridMap,
+      SignalDetectionIdUtility::deriveSignalDetectionId, nearCacheSize);
+    this.arrivalHypothesisIds = IdMapping.createDerived(arrivalIdComponentsSignalDetectionHypothesisIdMap,
+      signalDetectionHypothesisIdArrivalIdComponentsMap, SignalDetectionIdUtility::deriveSignalDetectionHypothesisId,
+      nearCacheSize);
+    this.assocHypothesisIds = IdMapping.createDerived(assocIdComponentsSignalDetectionHypothesisIdMap,
+      signalDetectionHypothesisIdAssocIdComponentsMap, SignalDetectionIdUtility::deriveSignalDetectionHypothesisId,
+      nearCacheSize);
+    this.featureMeasurementIds = IdMapping.create(amplitudeIdComponentsFeatureMeasurementIdComponentsMap,
+      featureMeasurementIdComponentsAmplitudeIdComponentsMap, nearCacheSize);
+  }
+
+  /**
+   * The UUID a SignalDetection created for the given arid is assigned
+   *
+   * @param arid Long Arrival Id
+   * @return SignalDetection UUID
+   */
+  public static UUID deriveSignalDetectionId(long arid) {
+    return UUID.nameUUIDFromBytes(Long.toString(arid).getBytes());
+  }
+
+  /**
+   * The UUID a SignalDetectionHypothesis created for the given arrival is assigned
+   *
+   * @param id {@link SignalDetectionHypothesisArrivalIdComponents} containing arid and stage id
+   * @return SignalDetectionHypothesis UUID
+   */
+  public static UUID deriveSignalDetectionHypothesisId(SignalDetectionHypothesisArrivalIdComponents id) {
+    return UUID.nameUUIDFromBytes((Long.toString(id.getArid()) + id.getLegacyDatabaseAccountId()).getBytes());
+  }
+
+  /**
+   * The UUID a SignalDetectionHypothesis created for the given assoc is assigned
+   *
+   * @param id {@link SignalDetectionHypothesisAssocIdComponents} containing arid, orid, and stage id
+   * @return SignalDetectionHypothesis UUID
+   */
+  public static UUID deriveSignalDetectionHypothesisId(SignalDetectionHypothesisAssocIdComponents id) {
+    return UUID.nameUUIDFromBytes((Long.toString(id.getArid()) + id.getOrid() + id.getLegacyDatabaseAccountId())
+      .getBytes());
   }
 
   /**
@@ -100,7 +151,7 @@ public class SignalDetectionIdUtility {
    * @return UUID
    */
   public UUID getSignalDetectionForArid(long arid) {
-    return aridSignalDetectionMap.get(arid);
+    return signalDetectionIds.get(arid);
   }
 
   /**
@@ -110,7 +161,7 @@ public class SignalDetectionIdUtility {
    * @return arid
    */
   public Long getAridForSignalDetectionUUID(UUID uuid) {
-    return signalDetectionAridMap.get(uuid);
+    return signalDetectionIds.getKey(uuid);
   }
 
   /**
@@ -123,7 +174,7 @@ public class SignalDetectionIdUtility {
   public UUID getSignalDetectionHypothesisIdForAridAndStageId(long arid, String legacyDatabaseAccountId) {
     var id = SignalDetectionHypothesisArrivalIdComponents.create(
       legacyDatabaseAccountId, arid);
-    return arrivalIdComponentsSignalDetectionHypothesisIdMap.get(id);
+    return arrivalHypothesisIds.get(id);
   }
 
   /**
@@ -133,7 +184,7 @@ public class SignalDetectionIdUtility {
    * @return SignalDetectionHypothesisArrivalIdComponents class containing arid and stageid
    */
   public SignalDetectionHypothesisArrivalIdComponents getArrivalIdComponentsFromSignalDetectionHypothesisId(UUID uuid) {
-    return signalDetectionHypothesisIdArrivalIdComponentsMap.get(uuid);
+    return arrivalHypothesisIds.getKey(uuid);
   }
 
   /**
@@ -148,8 +199,7 @@ public class SignalDetectionIdUtility {
     Preconditions.checkNotNull(uuid);
     var id = SignalDetectionHypothesisArrivalIdComponents.create(
       legacyDatabaseAccountId, arid);
-    arrivalIdComponentsSignalDetectionHypothesisIdMap.put(id, uuid);
-    signalDetectionHypothesisIdArrivalIdComponentsMap.put(uuid, id);
+    arrivalHypothesisIds.put(id, uuid);
   }
 
   /**
@@ -159,8 +209,7 @@ public class SignalDetectionIdUtility {
    * @param arid Long Arrival Id
    */
   public void addAridForSignalDetectionUUID(long arid, UUID uuid) {
-    aridSignalDetectionMap.put(arid, uuid);
-    signalDetectionAridMap.put(uuid, arid);
+    signalDetectionIds.put(arid, uuid);
   }
 
   /**
@@ -176,7 +225,7 @@ public class SignalDetectionIdUtility {
     String legacyDatabaseAccountId) {
     var id = SignalDetectionHypothesisAssocIdComponents.create(
       legacyDatabaseAccountId, arid, orid);
-    return assocIdComponentsSignalDetectionHypothesisIdMap.get(id);
+    return assocHypothesisIds.get(id);
   }
 
   /**
@@ -187,7 +236,7 @@ public class SignalDetectionIdUtility {
    * @return {@link SignalDetectionHypothesisAssocIdComponents} containing arid, orid, and stage id
    */
   public SignalDetectionHypothesisAssocIdComponents getAssocIdComponentsFromSignalDetectionHypothesisId(UUID uuid) {
-    return signalDetectionHypothesisIdAssocIdComponentsMap.get(uuid);
+    return assocHypothesisIds.getKey(uuid);
   }
 
   /**
@@ -204,8 +253,7 @@ public class SignalDetectionIdUtility {
     Preconditions.checkNotNull(uuid);
     var id = SignalDetectionHypothesisAssocIdComponents.create(
       legacyDatabaseAccountId, arid, orid);
-    assocIdComponentsSignalDetectionHypothesisIdMap.put(id, uuid);
-    signalDetectionHypothesisIdAssocIdComponentsMap.put(uuid, id);
+    assocHypothesisIds.put(id, uuid);
   }
 
   /**
@@ -215,17 +263,7 @@ public class SignalDetectionIdUtility {
    * @return UUID
    */
   public UUID getOrCreateSignalDetectionIdfromArid(long arid) {
-    var uuid = getSignalDetectionForArid(arid);
-
-    if (uuid == null) {
-      var aridString = Long.toString(arid);
-      uuid = UUID.nameUUIDFromBytes(aridString.getBytes());
-    }
-
-    aridSignalDetectionMap.put(arid, uuid);
-    signalDetectionAridMap.put(uuid, arid);
-
-    return uuid;
+    return signalDetectionIds.getOrCreate(arid);
   }
 
   /**
@@ -236,20 +274,8 @@ public class SignalDetectionIdUtility {
    * @return SignalDetectionHypothesis UUID
    */
   public UUID getOrCreateSignalDetectionHypothesisIdFromAridAndStageId(long arid, String legacyDatabaseAccountId) {
-
-    var uuid = getSignalDetectionHypothesisIdForAridAndStageId(arid, legacyDatabaseAccountId);
-
-    if (uuid == null) {
-      var aridString = Long.toString(arid);
-      uuid = UUID.nameUUIDFromBytes((aridString + legacyDatabaseAccountId).getBytes());
-    }
-
-    var id = SignalDetectionHypothesisArrivalIdComponents.create(
-      legacyDatabaseAccountId, arid);
-    arrivalIdComponentsSignalDetectionHypothesisIdMap.put(id, uuid);
-    signalDetectionHypothesisIdArrivalIdComponentsMap.put(uuid, id);
-
-    return uuid;
+    return arrivalHypothesisIds.getOrCreate(
+      SignalDetectionHypothesisArrivalIdComponents.create(legacyDatabaseAccountId, arid));
   }
 
   /**
@@ -263,21 +289,8 @@ public class SignalDetectionIdUtility {
    */
   public UUID getOrCreateSignalDetectionHypothesisIdFromAridOridAndStageId(long arid, long orid,
     String legacyDatabaseAccountId) {
-
-    var uuid = getSignalDetectionHypothesisIdForAridOridAndStageId(arid, orid, legacyDatabaseAccountId);
-
-    if (uuid == null) {
-      var aridString = Long.toString(arid);
-      var oridString = Long.toString(orid);
-      uuid = UUID.nameUUIDFromBytes((aridString + oridString + legacyDatabaseAccountId).getBytes());
-    }
-
-    var id = SignalDetectionHypothesisAssocIdComponents.create(
-      legacyDatabaseAccountId, arid, orid);
-    assocIdComponentsSignalDetectionHypothesisIdMap.put(id, uuid);
-    signalDetectionHypothesisIdAssocIdComponentsMap.put(uuid, id);
-
-    return uuid;
+    return assocHypothesisIds.getOrCreate(
+      SignalDetectionHypothesisAssocIdComponents.create(legacyDatabaseAccountId, arid, orid));
   }
 
   /**
@@ -292,8 +305,7 @@ public class SignalDetectionIdUtility {
     UUID uuid,
     FeatureMeasurementType featureMeasurementType) {
 
-    return featureMeasurementIdComponentsAmplitudeIdComponentsMap
-      .get(FeatureMeasurementIdComponents.create(uuid, featureMeasurementType));
+    return featureMeasurementIds.getKey(FeatureMeasurementIdComponents.create(uuid, featureMeasurementType));
   }
 
   /**
@@ -307,8 +319,7 @@ public class SignalDetectionIdUtility {
   public FeatureMeasurementIdComponents getFeatureMeasurementIdComponentsFromAmpidAndStageId(long ampid,
     String legacyDatabaseAccountId) {
 
-    return amplitudeIdComponentsFeatureMeasurementIdComponentsMap
-      .get(AmplitudeIdComponents.create(legacyDatabaseAccountId, ampid));
+    return featureMeasurementIds.get(AmplitudeIdComponents.create(legacyDatabaseAccountId, ampid));
   }
 
   /**
@@ -327,8 +338,188 @@ public class SignalDetectionIdUtility {
 
     var ampidComponents = AmplitudeIdComponents.create(legacyDatabaseAccountId, ampid);
     var featureMeasurementComponents = FeatureMeasurementIdComponents.create(uuid, featureMeasurementType);
-    featureMeasurementIdComponentsAmplitudeIdComponentsMap.put(featureMeasurementComponents, ampidComponents);
-    amplitudeIdComponentsFeatureMeasurementIdComponentsMap.put(ampidComponents, featureMeasurementComponents);
+    featureMeasurementIds.put(ampidComponents, featureMeasurementComponents);
+  }
+
+  /**
+   * Find the UUIDs of the SignalDetections for the given arids. Arids with no SignalDetection are absent from the
+   * result.
+   *
+   * @param arids Arrival Ids
+   * @return SignalDetection UUIDs by arid
+   */
+  public Map<Long, UUID> getSignalDetectionsForArids(Collection<Long> arids) {
+    return signalDetectionIds.getAll(arids);
+  }
+
+  /**
+   * Find the Arrival Ids of the given SignalDetection UUIDs. UUIDs with no arid are absent from the result.
+   *
+   * @param uuids SignalDetection UUIDs
+   * @return arids by SignalDetection UUID
+   */
+  public Map<UUID, Long> getAridsForSignalDetectionUUIDs(Collection<UUID> uuids) {
+    return signalDetectionIds.getKeys(uuids);
+  }
+
+  /**
+   * Add mappings between Signal detection UUIDs and arids
+   *
+   * @param uuidsByArid SignalDetection UUIDs by arid
+   */
+  public void addAridsForSignalDetectionUUIDs(Map<Long, UUID> uuidsByArid) {
+    Preconditions.checkNotNull(uuidsByArid);
+    signalDetectionIds.putAll(uuidsByArid);
+  }
+
+  /**
+   * Find the UUIDs of the SignalDetections for the given arids, creating those not found
+   *
+   * @param arids Arrival Ids
+   * @return SignalDetection UUIDs by arid
+   */
+  public Map<Long, UUID> getOrCreateSignalDetectionIdsFromArids(Collection<Long> arids) {
+    return signalDetectionIds.getOrCreateAll(arids);
+  }
+
+  /**
+   * Find SignalDetectionHypothesis UUIDs for the given Arrival Id and Stage Id components. Components with no
+   * SignalDetectionHypothesis are absent from the result.
+   *
+   * @param ids {@link SignalDetectionHypothesisArrivalIdComponents} containing arid and stage id
+   * @return SignalDetectionHypothesis UUIDs by components
+   */
+  public Map<SignalDetectionHypothesisArrivalIdComponents, UUID> getSignalDetectionHypothesisIdsForArrivalIdComponents(
+    Collection<SignalDetectionHypothesisArrivalIdComponents> ids) {
+
+    return arrivalHypothesisIds.getAll(ids);
+  }
+
+  /**
+   * Find Arrival Id and Stage Id components for the given SignalDetectionHypothesis UUIDs. UUIDs with no components
+   * are absent from the result.
+   *
+   * @param uuids SignalDetectionHypothesis UUIDs
+   * @return {@link SignalDetectionHypothesisArrivalIdComponents} by SignalDetectionHypothesis UUID
+   */
+  public Map<UUID, SignalDetectionHypothesisArrivalIdComponents> getArrivalIdComponentsFromSignalDetectionHypothesisIds(
+    Collection<UUID> uuids) {
+
+    return arrivalHypothesisIds.getKeys(uuids);
+  }
+
+  /**
+   * Add mappings between Signal detection hypothesis UUIDs and stage id and arid
+   *
+   * @param uuidsByIds SignalDetectionHypothesis UUIDs by {@link SignalDetectionHypothesisArrivalIdComponents}
+   */
+  public void addArrivalIdComponentsForSignalDetectionHypothesisUUIDs(
+    Map<SignalDetectionHypothesisArrivalIdComponents, UUID> uuidsByIds) {
+
+    Preconditions.checkNotNull(uuidsByIds);
+    arrivalHypothesisIds.putAll(uuidsByIds);
+  }
+
+  /**
+   * Find SignalDetectionHypothesis UUIDs for the given Arrival Id and Stage Id components, creating those not found
+   *
+   * @param ids {@link SignalDetectionHypothesisArrivalIdComponents} containing arid and stage id
+   * @return SignalDetectionHypothesis UUIDs by components
+   */
+  public Map<SignalDetectionHypothesisArrivalIdComponents, UUID> getOrCreateSignalDetectionHypothesisIdsFromArrivalIdComponents(
+    Collection<SignalDetectionHypothesisArrivalIdComponents> ids) {
+
+    return arrivalHypothesisIds.getOrCreateAll(ids);
+  }
+
+  /**
+   * Find SignalDetectionHypothesis UUIDs for the given Arrival Id, Origin Id, and Stage Id components. Components with
+   * no SignalDetectionHypothesis are absent from the result.
+   *
+   * @param ids {@link SignalDetectionHypothesisAssocIdComponents} containing arid, orid, and stage id
+   * @return SignalDetectionHypothesis UUIDs by components
+   */
+  public Map<SignalDetectionHypothesisAssocIdComponents, UUID> getSignalDetectionHypothesisIdsForAssocIdComponents(
+    Collection<SignalDetectionHypothesisAssocIdComponents> ids) {
+
+    return assocHypothesisIds.getAll(ids);
+  }
+
+  /**
+   * Find Arrival Id, Origin Id, and Stage Id components for the given SignalDetectionHypothesis UUIDs. UUIDs with no
+   * components are absent from the result.
+   *
+   * @param uuids SignalDetectionHypothesis UUIDs
+   * @return {@link SignalDetectionHypothesisAssocIdComponents} by SignalDetectionHypothesis UUID
+   */
+  public Map<UUID, SignalDetectionHypothesisAssocIdComponents> getAssocIdComponentsFromSignalDetectionHypothesisIds(
+    Collection<UUID> uuids) {
+
+    return assocHypothesisIds.getKeys(uuids);
+  }
+
+  /**
+   * Add mappings between Signal detection hypothesis UUIDs and stage id and arid and orid
+   *
+   * @param uuidsByIds SignalDetectionHypothesis UUIDs by {@link SignalDetectionHypothesisAssocIdComponents}
+   */
+  public void addAssocIdComponentsForSignalDetectionHypothesisUUIDs(
+    Map<SignalDetectionHypothesisAssocIdComponents, UUID> uuidsByIds) {
+
+    Preconditions.checkNotNull(uuidsByIds);
+    assocHypothesisIds.putAll(uuidsByIds);
+  }
+
+  /**
+   * Find SignalDetectionHypothesis UUIDs for the given Arrival Id, Origin Id, and Stage Id components, creating those
+   * not found
+   *
+   * @param ids {@link SignalDetectionHypothesisAssocIdComponents} containing arid, orid, and stage id
+   * @return SignalDetectionHypothesis UUIDs by components
+   */
+  public Map<SignalDetectionHypothesisAssocIdComponents, UUID> getOrCreateSignalDetectionHypothesisIdsFromAssocIdComponents(
+    Collection<SignalDetectionHypothesisAssocIdComponents> ids) {
+
+    return assocHypothesisIds.getOrCreateAll(ids);
+  }
+
+  /**
+   * Find SignalDetectionHypothesis UUID and Feature Measurement type components for the given Amplitude Id and Stage Id
+   * components. Components with no mapping are absent from the result.
+   *
+   * @param ids {@link AmplitudeIdComponents} containing ampid and stage id
+   * @return {@link FeatureMeasurementIdComponents} by {@link AmplitudeIdComponents}
+   */
+  public Map<AmplitudeIdComponents, FeatureMeasurementIdComponents> getFeatureMeasurementIdComponentsFromAmplitudeIdComponents(
+    Collection<AmplitudeIdComponents> ids) {
+
+    return featureMeasurementIds.getAll(ids);
+  }
+
+  /**
+   * Find Amplitude Id and Stage Id components for the given SignalDetectionHypothesis UUID and Feature Measurement type
+   * components. Components with no mapping are absent from the result.
+   *
+   * @param ids {@link FeatureMeasurementIdComponents} containing SignalDetectionHypothesis UUID and Feature Measurement
+   * type
+   * @return {@link AmplitudeIdComponents} by {@link FeatureMeasurementIdComponents}
+   */
+  public Map<FeatureMeasurementIdComponents, AmplitudeIdComponents> getAmplitudeIdComponentsFromFeatureMeasurementIdComponents(
+    Collection<FeatureMeasurementIdComponents> ids) {
+
+    return featureMeasurementIds.getKeys(ids);
+  }
+
+  /**
+   * Add mappings of Signal detection hypothesis UUID and FeatureMeasurementType to stage id and ampid
+   *
+   * @param featureMeasurementIdsByAmplitudeIds {@link FeatureMeasurementIdComponents} by {@link AmplitudeIdComponents}
+   */
+  public void addAmplitudeIdComponentsForFeatureMeasurementIdComponents(
+    Map<AmplitudeIdComponents, FeatureMeasurementIdComponents> featureMeasurementIdsByAmplitudeIds) {
+
+    Preconditions.checkNotNull(featureMeasurementIdsByAmplitudeIds);
+    featureMeasurementIds.putAll(featureMeasurementIdsByAmplitudeIds);
   }
 
-}
\ No newline at end of file
+}
@@ -39,7 +39,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -378,11 +380,11 @@ class BridgedSignalDetectionRepositoryTest {
     when(signalDetectionBridgeDefinition.getMonitoringOrganization())
       .thenReturn(MONITORING_ORG);
 
-    doReturn(SIGNAL_DETECTION_HYPOTHESIS_ID_3.getSignalDetectionId())
-      .when(signalDetectionIdUtility).getOrCreateSignalDetectionIdfromArid(ARRIVAL_3.getId());
+    doReturn(Map.of(ARRIVAL_3.getId(), SIGNAL_DETECTION_HYPOTHESIS_ID_3.getSignalDetectionId()))
+      .when(signalDetectionIdUtility).getOrCreateSignalDetectionIdsFromArids(Set.of(ARRIVAL_3.getId()));
 
-    doReturn(SIGNAL_DETECTION_HYPOTHESIS_ID.getSignalDetectionId())
-      .when(signalDetectionIdUtility).getOrCreateSignalDetectionIdfromArid(ARRIVAL_1.getId());
+    doReturn(Map.of(ARRIVAL_1.getId(), SIGNAL_DETECTION_HYPOTHESIS_ID.getSignalDetectionId()))
+      .when(signalDetectionIdUtility).getOrCreateSignalDetectionIdsFromArids(Set.of(ARRIVAL_1.getId()));
 
     doReturn(CHANNEL)
       .when(bridgedChannelRepository).loadChannelFromWfdisc(List.of((long) WFID_3),
@@ -432,9 +434,9 @@ class BridgedSignalDetectionRepositoryTest {
 
     verify(signalDetectionBridgeDefinition, times(2)).getMonitoringOrganization();
     verify(signalDetectionIdUtility)
-      .getOrCreateSignalDetectionIdfromArid(ARRIVAL_1.getId());
+      .getOrCreateSignalDetectionIdsFromArids(Set.of(ARRIVAL_1.getId()));
     verify(signalDetectionIdUtility)
-      .getOrCreateSignalDetectionIdfromArid(ARRIVAL_3.getId());
+      .getOrCreateSignalDetectionIdsFromArids(Set.of(ARRIVAL_3.getId()));
 
     verify(bridgedChannelRepository).loadChannelFromWfdisc(List.of((long) WFID_3),
       Optional.of(TagName.ARID),
@@ -536,11 +538,14 @@ class BridgedSignalDetectionRepositoryTest {
     when(signalDetectionBridgeDefinition.getMonitoringOrganization())
       .thenReturn(MONITORING_ORG);
 
-    doReturn(SIGNAL_DETECTION_HYPOTHESIS_ID_3.getSignalDetectionId())
-      .when(signalDetectionIdUtility).getOrCreateSignalDetectionIdfromArid(ARRIVAL_TEST_3.getId());
+    // arrival 1 keeps its phase and assoc from the previous stage, so only arrival 3 converts as an arrival
+    doReturn(Map.of(ARRIVAL_TEST_3.getId(), SIGNAL_DETECTION_HYPOTHESIS_ID_3.getSignalDetectionId()))
+      .when(signalDetectionIdUtility).getOrCreateSignalDetectionIdsFromArids(Set.of(ARRIVAL_TEST_3.getId()));
 
-    doReturn(SIGNAL_DETECTION_HYPOTHESIS_ID.getSignalDetectionId())
-      .when(signalDetectionIdUtility).getOrCreateSignalDetectionIdfromArid(ARRIVAL_TEST_1.getId());
+    doReturn(Map.of(ARRIVAL_TEST_1.getId(), SIGNAL_DETECTION_HYPOTHESIS_ID.getSignalDetectionId(),
+      ARRIVAL_TEST_3.getId(), SIGNAL_DETECTION_HYPOTHESIS_ID_3.getSignalDetectionId()))
+      .when(signalDetectionIdUtility)
+      .getOrCreateSignalDetectionIdsFromArids(Set.of(ARRIVAL_TEST_1.getId(), ARRIVAL_TEST_3.getId()));
 
     when(signalDetectionIdUtility
       .getOrCreateSignalDetectionHypothesisIdFromAridAndStageId(ARRIVAL_TEST_1.getId(), WORKFLOW_DEFINITION_ID1_NAME))
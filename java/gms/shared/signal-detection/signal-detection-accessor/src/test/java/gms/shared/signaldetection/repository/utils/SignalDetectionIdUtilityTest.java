@@ -18,7 +18,10 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -37,6 +40,9 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class SignalDetectionIdUtilityTest {
@@ -254,4 +260,86 @@ class SignalDetectionIdUtilityTest {
     );
   }
 
+  @Test
+  void testGetOrCreateSignalDetectionIdsFromArids() {
+    UUID storedUuid = UUID.randomUUID();
+    given(aridSignalDetectionMap.getAll(Set.of(ARID_1, ARID_2))).willReturn(Map.of(ARID_2, storedUuid));
+
+    Map<Long, UUID> uuids = signalDetectionIdUtility.getOrCreateSignalDetectionIdsFromArids(List.of(ARID_1, ARID_2));
+
+    assertEquals(Map.of(ARID_1, SignalDetectionIdUtility.deriveSignalDetectionId(ARID_1), ARID_2, storedUuid), uuids);
+    // only the reverse mapping of a created id is stored, all in one write
+    verify(signalDetectionAridMap).putAll(Map.of(SignalDetectionIdUtility.deriveSignalDetectionId(ARID_1), ARID_1));
+    verify(aridSignalDetectionMap, never()).putAll(any());
+    verifyNoMoreInteractions(aridSignalDetectionMap, signalDetectionAridMap);
+  }
+
+  @Test
+  void testGetOrCreateSignalDetectionHypothesisIdsMatchSingleLookups() {
+    var arrivalId = SignalDetectionHypothesisArrivalIdComponents.create("stage", ARID_1);
+    var assocId = SignalDetectionHypothesisAssocIdComponents.create("stage", ARID_1, ORID_1);
+
+    assertEquals(Map.of(arrivalId, signalDetectionIdUtility
+        .getOrCreateSignalDetectionHypothesisIdFromAridAndStageId(ARID_1, "stage")),
+      signalDetectionIdUtility.getOrCreateSignalDetectionHypothesisIdsFromArrivalIdComponents(List.of(arrivalId)));
+    assertEquals(Map.of(assocId, signalDetectionIdUtility
+        .getOrCreateSignalDetectionHypothesisIdFromAridOridAndStageId(ARID_1, ORID_1, "stage")),
+      signalDetectionIdUtility.getOrCreateSignalDetectionHypothesisIdsFromAssocIdComponents(List.of(assocId)));
+  }
+
+  @Test
+  void testGetSignalDetectionsForAridsConfirmsDerivedIds() {
+    var derivedUuid = SignalDetectionIdUtility.deriveSignalDetectionId(ARID_1);
+    given(aridSignalDetectionMap.getAll(Set.of(ARID_1, ARID_2))).willReturn(Map.of());
+    given(signalDetectionAridMap.getAll(Set.of(derivedUuid, SignalDetectionIdUtility.deriveSignalDetectionId(ARID_2))))
+      .willReturn(Map.of(derivedUuid, ARID_1));
+
+    assertEquals(Map.of(ARID_1, derivedUuid),
+      signalDetectionIdUtility.getSignalDetectionsForArids(List.of(ARID_1, ARID_2)));
+  }
+
+  @Test
+  void testAddAridsForSignalDetectionUUIDs() {
+    var uuid = UUID.randomUUID();
+
+    signalDetectionIdUtility.addAridsForSignalDetectionUUIDs(Map.of(ARID_1, uuid));
+
+    verify(aridSignalDetectionMap).putAll(Map.of(ARID_1, uuid));
+    verify(signalDetectionAridMap).putAll(Map.of(uuid, ARID_1));
+  }
+
+  @Test
+  void testNearCacheAnswersRepeatedLookups() {
+    var nearCachedUtility = new SignalDetectionIdUtility(aridSignalDetectionMap, signalDetectionAridMap,
+      arrivalIdComponentsSignalDetectionHypothesisIdMap, signalDetectionHypothesisIdArrivalIdComponentsMap,
+      assocIdComponentsSignalDetectionHypothesisIdMap, signalDetectionHypothesisIdAssocIdComponentsMap,
+      amplitudeIdComponentsFeatureMeasurementIdComponentsMap, featureMeasurementIdComponentsAmplitudeIdComponentsMap,
+      SignalDetectionIdUtility.NEAR_CACHE_SIZE);
+
+    var uuid = nearCachedUtility.getOrCreateSignalDetectionIdfromArid(ARID_1);
+    assertEquals(uuid, nearCachedUtility.getOrCreateSignalDetectionIdfromArid(ARID_1));
+    assertEquals(uuid, nearCachedUtility.getSignalDetectionForArid(ARID_1));
+    assertEquals(ARID_1, nearCachedUtility.getAridForSignalDetectionUUID(uuid));
+    assertEquals(Map.of(ARID_1, uuid), nearCachedUtility.getOrCreateSignalDetectionIdsFromArids(List.of(ARID_1)));
+
+    verify(aridSignalDetectionMap).get(ARID_1);
+    verify(signalDetectionAridMap).put(uuid, ARID_1);
+    verifyNoMoreInteractions(aridSignalDetectionMap, signalDetectionAridMap);
+
+    var amplitudeId = AmplitudeIdComponents.create("stage", 1L);
+    var featureMeasurementId = FeatureMeasurementIdComponents.create(uuid, FeatureMeasurementTypesChecking
+      .featureMeasurementTypeFromMeasurementTypeString("ARRIVAL_TIME"));
+    nearCachedUtility.addAmplitudeIdComponentsForFeatureMeasurementIdComponents(
+      Map.of(amplitudeId, featureMeasurementId));
+
+    assertEquals(Map.of(amplitudeId, featureMeasurementId),
+      nearCachedUtility.getFeatureMeasurementIdComponentsFromAmplitudeIdComponents(List.of(amplitudeId)));
+    assertEquals(Map.of(featureMeasurementId, amplitudeId),
+      nearCachedUtility.getAmplitudeIdComponentsFromFeatureMeasurementIdComponents(List.of(featureMeasurementId)));
+    verify(amplitudeIdComponentsFeatureMeasurementIdComponentsMap).putAll(Map.of(amplitudeId, featureMeasurementId));
+    verify(featureMeasurementIdComponentsAmplitudeIdComponentsMap).putAll(Map.of(featureMeasurementId, amplitudeId));
+    verifyNoMoreInteractions(amplitudeIdComponentsFeatureMeasurementIdComponentsMap,
+      featureMeasurementIdComponentsAmplitudeIdComponentsMap);
+  }
+
 }
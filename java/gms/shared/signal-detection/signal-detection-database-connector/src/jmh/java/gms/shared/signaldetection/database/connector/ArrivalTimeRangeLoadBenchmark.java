@@ -0,0 +1,98 @@
+package gms.shared.signaldetection.database.connector;
+
+import gms.shared.signaldetection.dao.css.ArrivalDao;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks loading every arrival of a time range from an in-memory H2 database, as a bridged bulk load does.
+ * <p>
+ * {@code find} collects the arrivals into a list through a managed entity manager, as
+ * {@link ArrivalDatabaseConnector#findArrivalsByTimeRange} does; {@code stream} hands each arrival on as it is read
+ * through a stateless session, as {@link ArrivalDatabaseConnector#streamArrivalsByTimeRange} does. Run with
+ * {@code -Pjmh.profilers=gc} to compare the allocation of each.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArrivalTimeRangeLoadBenchmark {
+
+  private static final double FIRST_ARRIVAL_TIME = 1274385713.325;
+
+  @Param({"find", "stream"})
+  String load;
+
+  @Param({"10000", "50000"})
+  int arrivalCount;
+
+  private EntityManagerFactory entityManagerFactory;
+  private ArrivalDatabaseConnector arrivalDatabaseConnector;
+  private Instant startTime;
+  private Instant endTime;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_signal_detection_benchmark", Map.of(
+      "hibernate.connection.url", "jdbc:h2:mem:arrival_time_range_load;MODE=Oracle;DB_CLOSE_DELAY=-1;"
+        + "INIT=CREATE SCHEMA IF NOT EXISTS GMS_GLOBAL"));
+
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      entityManager.createNativeQuery("INSERT INTO GMS_GLOBAL.ARRIVAL (STA, CHAN, TIME, ARID, JDATE, STASSID, "
+          + "CHANID, IPHASE, STYPE, DELTIM, AZIMUTH, DELAZ, SLOW, DELSLO, EMA, RECT, AMP, PER, LOGAT, CLIP, FM, SNR, "
+          + "QUAL, AUTH, COMMID, LDDATE) "
+          + "SELECT 'AKASG', 'AK_074', ?1 + X, X, 2010140, -1, -1, 'P', '-', 1.66, 296.15, 2.03, 17, 0.6, -1, -1, "
+          + "0.71, 0.44, -999, '-', '-', 4.37, '4', '-', -1, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?2)")
+        .setParameter(1, FIRST_ARRIVAL_TIME)
+        .setParameter(2, arrivalCount)
+        .executeUpdate();
+      entityManager.getTransaction().commit();
+    } finally {
+      entityManager.close();
+    }
+
+    arrivalDatabaseConnector = new ArrivalDatabaseConnector(entityManagerFactory);
+    startTime = Instant.ofEpochSecond((long) FIRST_ARRIVAL_TIME);
+    endTime = startTime.plusSeconds(arrivalCount + 1L);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  /**
+   * Throughput is in time ranges loaded; multiply by {@code arrivalCount} for arrivals.
+   */
+  @Benchmark
+  public void loadArrivals(Blackhole blackhole) {
+    if ("stream".equals(load)) {
+      blackhole.consume(arrivalDatabaseConnector.streamArrivalsByTimeRange(startTime, endTime, blackhole::consume));
+    } else {
+      List<ArrivalDao> arrivals = arrivalDatabaseConnector.findArrivalsByTimeRange(startTime, endTime);
+      arrivals.forEach(blackhole::consume);
+    }
+  }
+}
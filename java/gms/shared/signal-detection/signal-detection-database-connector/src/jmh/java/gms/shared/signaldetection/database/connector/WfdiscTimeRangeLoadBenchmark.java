@@ -0,0 +1,102 @@
+package gms.shared.signaldetection.database.connector;
+
+import gms.shared.stationdefinition.dao.css.WfdiscDao;
+import gms.shared.stationdefinition.database.connector.WfdiscDatabaseConnector;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks loading every wfdisc of a time range from an in-memory H2 database, as a bridged bulk load does.
+ * <p>
+ * {@code find} collects the wfdiscs into a list through a managed entity manager, as
+ * {@link WfdiscDatabaseConnector#findWfdiscsByTimeRange} does; {@code stream} hands each wfdisc on as it is read
+ * through a stateless session, as {@link WfdiscDatabaseConnector#streamWfdiscsByTimeRange} does. Run with
+ * {@code -Pjmh.profilers=gc} to compare the allocation of each.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WfdiscTimeRangeLoadBenchmark {
+
+  private static final double FIRST_WFDISC_TIME = 1274400000;
+  private static final int WFDISC_LENGTH_SECONDS = 10;
+
+  @Param({"find", "stream"})
+  String load;
+
+  @Param({"10000", "50000"})
+  int wfdiscCount;
+
+  private EntityManagerFactory entityManagerFactory;
+  private WfdiscDatabaseConnector wfdiscDatabaseConnector;
+  private Instant startTime;
+  private Instant endTime;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_signal_detection_benchmark", Map.of(
+      "hibernate.connection.url", "jdbc:h2:mem:wfdisc_time_range_load;MODE=Oracle;DB_CLOSE_DELAY=-1;"
+        + "INIT=CREATE SCHEMA IF NOT EXISTS GMS_GLOBAL"));
+
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      entityManager.createNativeQuery("INSERT INTO GMS_GLOBAL.WFDISC (STA, CHAN, TIME, WFID, CHANID, JDATE, "
+          + "ENDTIME, NSAMP, SAMPRATE, CALIB, CALPER, INSTYPE, SEGTYPE, DATATYPE, CLIP, DIR, DFILE, FOFF, COMMID, "
+          + "LDDATE) "
+          + "SELECT 'AK01', 'BHZ', ?1 + X * ?2, X, 2316, 2010141, ?1 + (X + 1) * ?2 - 0.025, 400, 40, 0.027909, 1, "
+          + "'CMG-3E', 'o', 'e1', '-', '/data/bridge-waveforms/2010/141', 'AKASG.00_02.2010141.w', 0, -1, "
+          + "CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?3)")
+        .setParameter(1, FIRST_WFDISC_TIME)
+        .setParameter(2, WFDISC_LENGTH_SECONDS)
+        .setParameter(3, wfdiscCount)
+        .executeUpdate();
+      entityManager.getTransaction().commit();
+    } finally {
+      entityManager.close();
+    }
+
+    wfdiscDatabaseConnector = new WfdiscDatabaseConnector(entityManagerFactory);
+    startTime = Instant.ofEpochSecond((long) FIRST_WFDISC_TIME);
+    endTime = startTime.plusSeconds((wfdiscCount + 2L) * WFDISC_LENGTH_SECONDS);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  /**
+   * Throughput is in time ranges loaded; multiply by {@code wfdiscCount} for wfdiscs.
+   */
+  @Benchmark
+  public void loadWfdiscs(Blackhole blackhole) {
+    if ("stream".equals(load)) {
+      blackhole.consume(wfdiscDatabaseConnector.streamWfdiscsByTimeRange(startTime, endTime, blackhole::consume));
+    } else {
+      List<WfdiscDao> wfdiscs = wfdiscDatabaseConnector.findWfdiscsByTimeRange(startTime, endTime);
+      wfdiscs.forEach(blackhole::consume);
+    }
+  }
+}
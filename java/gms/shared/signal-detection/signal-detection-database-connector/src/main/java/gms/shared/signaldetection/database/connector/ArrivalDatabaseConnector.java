@@ -12,6 +12,7 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
@@ -22,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -44,6 +46,7 @@ public class ArrivalDatabaseConnector extends DatabaseConnector {
   static final String MISSING_LEAD_DELTA_ERROR = "Request for Arrival by time range must be given a lead time delta";
   static final String MISSING_LAG_DELTA_ERROR = "Request for Arrival by time range must be given a lag time delta";
   static final String START_NOT_BEFORE_END_TIME_ERROR = "Start time has to be before end time";
+  static final String MISSING_CONSUMER_ERROR = "Streamed request for Arrival must be given a consumer";
 
   static final String ARRIVAL_ARID_ERROR = "Arrival by arid exception";
   static final String ARRIVALS_ARIDS_ERROR = "Arrivals by arids exception";
@@ -202,23 +205,48 @@ public class ArrivalDatabaseConnector extends DatabaseConnector {
     Validate.isTrue(startTime.isBefore(endTime), START_NOT_BEFORE_END_TIME_ERROR);
 
     var errorMessage = String.format(TIME_RANGE_MESSAGE, startTime, endTime);
-    EntityResultListFunction<ArrivalDao> delegateFunction = entityManager -> {
+    EntityResultListFunction<ArrivalDao> delegateFunction = entityManager ->
+      entityManager.createQuery(arrivalsByTimeRangeQuery(entityManager.getCriteriaBuilder(), startTime, endTime))
+        .getResultList();
 
-      var cb = entityManager.getCriteriaBuilder();
-      CriteriaQuery<ArrivalDao> query = cb.createQuery(ArrivalDao.class);
-      Root<ArrivalDao> fromArrival = query.from(ArrivalDao.class);
-
-      final Path<Object> idPath = fromArrival.get(ARRIVAL_KEY);
-      query.select(fromArrival);
-      query.distinct(true);
-      query.where(
-        cb.between(idPath.get(TIME), startTime, endTime)
-      );
-
-      return entityManager.createQuery(query).getResultList();
-    };
-    
     return runWithEntityManagerResultListFunction(delegateFunction, 
       ARRIVALS_TIME_RANGE_ERROR, errorMessage);
   }
+
+  /**
+   * Streams all {@link ArrivalDao}s for the given time range to the consumer as they are read, without holding them
+   * in a persistence context, for bulk loads too large to collect first
+   *
+   * @param startTime Instant start time for time range
+   * @param endTime Instant end time for time range
+   * @param consumer receives each {@link ArrivalDao}
+   *
+   * @return number of {@link ArrivalDao}s streamed
+   */
+  public long streamArrivalsByTimeRange(Instant startTime, Instant endTime, Consumer<ArrivalDao> consumer) {
+
+    Validate.notNull(startTime, MISSING_START_TIME_ERROR);
+    Validate.notNull(endTime, MISSING_END_TIME_ERROR);
+    Validate.isTrue(startTime.isBefore(endTime), START_NOT_BEFORE_END_TIME_ERROR);
+    Validate.notNull(consumer, MISSING_CONSUMER_ERROR);
+
+    var errorMessage = String.format(TIME_RANGE_MESSAGE, startTime, endTime);
+    return runWithStatelessSessionStreamFunction(cb -> arrivalsByTimeRangeQuery(cb, startTime, endTime),
+      consumer, ARRIVALS_TIME_RANGE_ERROR, errorMessage);
+  }
+
+  private static CriteriaQuery<ArrivalDao> arrivalsByTimeRangeQuery(CriteriaBuilder cb, Instant startTime,
+    Instant endTime) {
+
+    CriteriaQuery<ArrivalDao> query = cb.createQuery(ArrivalDao.class);
+    Root<ArrivalDao> fromArrival = query.from(ArrivalDao.class);
+
+    final Path<Object> idPath = fromArrival.get(ARRIVAL_KEY);
+    query.select(fromArrival);
+    query.distinct(true);
+    query.where(
+      cb.between(idPath.get(TIME), startTime, endTime)
+    );
+    return query;
+  }
 }
@@ -12,9 +12,11 @@ import org.junit.jupiter.params.provider.MethodSource;
 import javax.persistence.EntityManagerFactory;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
@@ -211,6 +213,32 @@ class ArrivalDatabaseConnectorTest extends SignalDetectionDbTest<ArrivalDatabase
     assertEquals(3, arrivalDaos.size());
   }
 
+  @Test
+  void testStreamArrivalsByTimeRange_matchesFind() {
+    final Instant time = new InstantToDoubleConverterNegativeNa()
+      .convertToEntityAttribute(1595389700.025);
+    Instant offdate = time.plusSeconds(300);
+
+    final List<ArrivalDao> streamedDaos = new ArrayList<>();
+    final long streamedCount = repository.streamArrivalsByTimeRange(time, offdate, streamedDaos::add);
+
+    assertEquals(3, streamedCount);
+    assertEquals(repository.findArrivalsByTimeRange(time, offdate).stream()
+        .map(ArrivalDao::getId)
+        .collect(Collectors.toSet()),
+      streamedDaos.stream()
+        .map(ArrivalDao::getId)
+        .collect(Collectors.toSet()));
+  }
+
+  @Test
+  void testStreamArrivalsByTimeRange_nullConsumer() {
+    final Instant time = Instant.parse("2000-05-20T00:00:00Z");
+    assertThrows(NullPointerException.class,
+      () -> repository.streamArrivalsByTimeRange(time, time.plusSeconds(10), null),
+      ArrivalDatabaseConnector.MISSING_CONSUMER_ERROR);
+  }
+
   @ParameterizedTest
   @MethodSource("findArrivalsByTimeRangeArgumentsSupplier")
   void testFindArrivalsByTimeRange_badInputs(Class<Exception> exceptionClass,
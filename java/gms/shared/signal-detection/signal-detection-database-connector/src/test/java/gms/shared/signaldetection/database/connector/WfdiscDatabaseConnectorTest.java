@@ -0,0 +1,69 @@
+package gms.shared.signaldetection.database.connector;
+
+import gms.shared.stationdefinition.dao.css.WfdiscDao;
+import gms.shared.stationdefinition.database.connector.WfdiscDatabaseConnector;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Exercises {@link WfdiscDatabaseConnector} against the wfdisc rows loaded with the signal detection test data
+ */
+class WfdiscDatabaseConnectorTest extends SignalDetectionDbTest<WfdiscDatabaseConnector> {
+
+  private static final Instant START = Instant.parse("2010-05-20T00:00:00Z");
+  private static final Instant END = Instant.parse("2010-05-22T00:00:00Z");
+
+  @Override
+  protected WfdiscDatabaseConnector getRepository(EntityManagerFactory entityManagerFactory) {
+    return new WfdiscDatabaseConnector(entityManagerFactory);
+  }
+
+  @Test
+  void testStreamWfdiscsByTimeRange_matchesFind() {
+    final List<WfdiscDao> streamedDaos = new ArrayList<>();
+    final long streamedCount = repository.streamWfdiscsByTimeRange(START, END, streamedDaos::add);
+
+    assertEquals(4, streamedCount);
+    assertEquals(Set.of(300421L, 300422L, 300423L, 300424L),
+      streamedDaos.stream()
+        .map(WfdiscDao::getId)
+        .collect(Collectors.toSet()));
+    assertEquals(repository.findWfdiscsByTimeRange(START, END).stream()
+        .map(WfdiscDao::getId)
+        .collect(Collectors.toSet()),
+      streamedDaos.stream()
+        .map(WfdiscDao::getId)
+        .collect(Collectors.toSet()));
+  }
+
+  @Test
+  void testStreamWfdiscsByTimeRange_noneInRange() {
+    final List<WfdiscDao> streamedDaos = new ArrayList<>();
+    final long streamedCount = repository.streamWfdiscsByTimeRange(Instant.parse("2015-01-01T00:00:00Z"),
+      Instant.parse("2015-01-02T00:00:00Z"), streamedDaos::add);
+
+    assertEquals(0, streamedCount);
+    assertEquals(List.of(), streamedDaos);
+  }
+
+  @Test
+  void testStreamWfdiscsByTimeRange_badInputs() {
+    assertThrows(NullPointerException.class,
+      () -> repository.streamWfdiscsByTimeRange(null, END, dao -> { }));
+    assertThrows(NullPointerException.class,
+      () -> repository.streamWfdiscsByTimeRange(START, null, dao -> { }));
+    assertThrows(IllegalArgumentException.class,
+      () -> repository.streamWfdiscsByTimeRange(END, START, dao -> { }));
+    assertThrows(NullPointerException.class,
+      () -> repository.streamWfdiscsByTimeRange(START, END, null));
+  }
+}
@@ -11,6 +11,7 @@ import gms.shared.stationdefinition.coi.facets.FacetingDefinition;
 import gms.shared.stationdefinition.coi.station.Station;
 import gms.shared.stationdefinition.coi.station.StationGroup;
 import gms.shared.stationdefinition.testfixtures.FacetingDefintionsTestFixtures;
+import gms.shared.stationdefinition.testfixtures.StationNetworkTestFixture;
 import gms.shared.stationdefinition.testfixtures.UtilsTestFixtures;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,16 +19,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,9 +61,16 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -660,10 +674,9 @@ class StationDefinitionFacetingUtilityTest {
           .build())
       .build();
 
-    doReturn(List.of())
-      .when(stationDefinitionAccessor).findChannelsByNameAndTime(List.of(CHANNEL.getName()), Instant.EPOCH);
     doReturn(List.of(CHANNEL_TWO))
-      .when(stationDefinitionAccessor).findChannelsByNameAndTime(List.of(CHANNEL_TWO.getName()), Instant.EPOCH);
+      .when(stationDefinitionAccessor)
+      .findChannelsByNameAndTime(List.of(CHANNEL.getName(), CHANNEL_TWO.getName()), Instant.EPOCH);
 
     Map<Channel, RelativePosition> expectedRelativePositionsByChannel = new HashMap<>(station.getRelativePositionsByChannel());
     expectedRelativePositionsByChannel.remove(CHANNEL.toEntityReference());
@@ -740,10 +753,9 @@ class StationDefinitionFacetingUtilityTest {
           .build())
       .build();
 
-    doReturn(List.of())
-      .when(stationDefinitionAccessor).findChannelsByNameAndTime(List.of(CHANNEL.getName()), Instant.EPOCH);
     doReturn(List.of(CHANNEL_TWO))
-      .when(stationDefinitionAccessor).findChannelsByNameAndTime(List.of(CHANNEL_TWO.getName()), Instant.EPOCH);
+      .when(stationDefinitionAccessor)
+      .findChannelsByNameAndTime(List.of(CHANNEL.getName(), CHANNEL_TWO.getName()), Instant.EPOCH);
 
     Map<Channel, RelativePosition> expectedRelativePositionsByChannel = new HashMap<>(station.getRelativePositionsByChannel());
     expectedRelativePositionsByChannel.remove(CHANNEL.toEntityReference());
@@ -1064,6 +1076,152 @@ class StationDefinitionFacetingUtilityTest {
         noOpSetupValidation));
   }
 
+  // BATCHING
+
+  @ParameterizedTest
+  @MethodSource("getNetworkFacetingArguments")
+  void testStationGroup_populateFacets_network_matchesPopulatingEachReference(FacetingDefinition facetingDefinition,
+    int missingEvery) {
+    StationNetworkTestFixture network = StationNetworkTestFixture.create(20, 3);
+    mockNetwork(network, missingEvery);
+
+    StationGroup batched = stationDefinitionFacetingUtility
+      .populateFacets(network.getStationGroup(), facetingDefinition, network.getEffectiveAt());
+    verify(stationDefinitionAccessor, atMost(1)).findStationsByNameAndTime(any(), any());
+    verify(stationDefinitionAccessor, atMost(1)).findChannelGroupsByNameAndTime(any(), any());
+    verify(stationDefinitionAccessor, atMost(1)).findChannelsByNameAndTime(any(), any());
+    verify(stationDefinitionAccessor, atMost(1)).findResponsesById(any(), any());
+    clearInvocations(stationDefinitionAccessor);
+
+    // a batch nothing was added to populates each reference with an accessor call of its own
+    StationGroup perReference = stationDefinitionFacetingUtility.populateFacets(network.getStationGroup(),
+      facetingDefinition, FacetingBatch.create(stationDefinitionAccessor, network.getEffectiveAt()));
+    verify(stationDefinitionAccessor, atLeast(2)).findStationsByNameAndTime(any(), any());
+
+    assertEquals(perReference, batched);
+  }
+
+  static Stream<Arguments> getNetworkFacetingArguments() {
+    FacetingDefinition fullyPopulated = fullyPopulatedStationGroupFacetingDefinition();
+    FacetingDefinition channelGroupsOnly = stationGroupFacetingDefinition(FacetingDefinition.builder()
+      .setClassType(STATION_TYPE.getValue())
+      .setPopulated(true)
+      .addFacetingDefinitions(CHANNEL_GROUPS_KEY.getValue(), FacetingDefinition.builder()
+        .setClassType(CHANNEL_GROUP_TYPE.getValue())
+        .setPopulated(true)
+        .addFacetingDefinitions(CHANNELS_KEY.getValue(), getFacetingDefinition(CHANNEL_TYPE.getValue(), false))
+        .build())
+      .addFacetingDefinitions(CHANNELS_KEY.getValue(), getFacetingDefinition(CHANNEL_TYPE.getValue(), false))
+      .build());
+    FacetingDefinition channelsOnly = stationGroupFacetingDefinition(FacetingDefinition.builder()
+      .setClassType(STATION_TYPE.getValue())
+      .setPopulated(true)
+      .addFacetingDefinitions(CHANNELS_KEY.getValue(), channelsWithResponsesFacetingDefinition())
+      .build());
+
+    return Stream.of(
+      arguments(fullyPopulated, 0),
+      arguments(fullyPopulated, 4),
+      arguments(channelGroupsOnly, 0),
+      arguments(channelGroupsOnly, 3),
+      arguments(channelsOnly, 5));
+  }
+
+  @Test
+  void testStationGroup_populateFacets_network_oneAccessorCallPerEntityType() {
+    StationNetworkTestFixture network = StationNetworkTestFixture.create(20, 3);
+    mockNetwork(network, 0);
+    StationGroup result = stationDefinitionFacetingUtility.populateFacets(network.getStationGroup(),
+      fullyPopulatedStationGroupFacetingDefinition(), network.getEffectiveAt());
+
+    assertNotNull(result);
+    assertTrue(result.getStations().stream().allMatch(Station::isPresent));
+    assertTrue(result.getStations().stream()
+      .flatMap(station -> station.getAllRawChannels().stream())
+      .allMatch(channel -> channel.getResponse().orElseThrow().isPresent()));
+
+    verify(stationDefinitionAccessor, times(1)).findStationsByNameAndTime(
+      argThat(eachOnce(network.getStations(), Station::getName)), eq(network.getEffectiveAt()));
+    verify(stationDefinitionAccessor, times(1)).findChannelGroupsByNameAndTime(
+      argThat(eachOnce(network.getChannelGroups(), ChannelGroup::getName)), eq(network.getEffectiveAt()));
+    verify(stationDefinitionAccessor, times(1)).findChannelsByNameAndTime(
+      argThat(eachOnce(network.getChannels(), Channel::getName)), eq(network.getEffectiveAt()));
+    verify(stationDefinitionAccessor, times(1)).findResponsesById(
+      argThat(eachOnce(network.getResponses(), Response::getId)), eq(network.getEffectiveAt()));
+    verifyNoMoreInteractions(stationDefinitionAccessor);
+  }
+
+  private static FacetingDefinition fullyPopulatedStationGroupFacetingDefinition() {
+    return stationGroupFacetingDefinition(FacetingDefinition.builder()
+      .setClassType(STATION_TYPE.getValue())
+      .setPopulated(true)
+      .addFacetingDefinitions(CHANNEL_GROUPS_KEY.getValue(), FacetingDefinition.builder()
+        .setClassType(CHANNEL_GROUP_TYPE.getValue())
+        .setPopulated(true)
+        .addFacetingDefinitions(CHANNELS_KEY.getValue(), channelsWithResponsesFacetingDefinition())
+        .build())
+      .addFacetingDefinitions(CHANNELS_KEY.getValue(), channelsWithResponsesFacetingDefinition())
+      .build());
+  }
+
+  private static FacetingDefinition channelsWithResponsesFacetingDefinition() {
+    return FacetingDefinition.builder()
+      .setClassType(CHANNEL_TYPE.getValue())
+      .setPopulated(true)
+      .addFacetingDefinitions(RESPONSES_KEY.getValue(), getFacetingDefinition(RESPONSE_TYPE.getValue(), true))
+      .build();
+  }
+
+  private static FacetingDefinition stationGroupFacetingDefinition(FacetingDefinition stationFacetingDefinition) {
+    return FacetingDefinition.builder()
+      .setClassType(STATION_GROUP_TYPE.getValue())
+      .setPopulated(true)
+      .addFacetingDefinitions(STATIONS_KEY.getValue(), stationFacetingDefinition)
+      .build();
+  }
+
+  /**
+   * Matches a request for the key of each entity, exactly once and in any order
+   */
+  private static <K, T, C extends Collection<K>> ArgumentMatcher<C> eachOnce(List<T> entities, Function<T, K> getKey) {
+    Set<K> keys = entities.stream().map(getKey).collect(Collectors.toSet());
+    return requested -> requested.size() == keys.size() && keys.equals(Set.copyOf(requested));
+  }
+
+  /**
+   * Answers the accessor's lookups from the network by name or id, as the bridged accessor would. When missingEvery is
+   * positive every missingEvery-th entity of each type is treated as not stored.
+   */
+  private void mockNetwork(StationNetworkTestFixture network, int missingEvery) {
+    Map<String, Station> stations = stored(network.getStations(), Station::getName, missingEvery);
+    Map<String, ChannelGroup> channelGroups = stored(network.getChannelGroups(), ChannelGroup::getName, missingEvery);
+    Map<String, Channel> channels = stored(network.getChannels(), Channel::getName, missingEvery);
+    Map<UUID, Response> responses = stored(network.getResponses(), Response::getId, missingEvery);
+
+    lenient().when(stationDefinitionAccessor.findStationsByNameAndTime(any(), any()))
+      .thenAnswer(invocation -> lookUp(invocation.getArgument(0), stations));
+    lenient().when(stationDefinitionAccessor.findChannelGroupsByNameAndTime(any(), any()))
+      .thenAnswer(invocation -> lookUp(invocation.getArgument(0), channelGroups));
+    lenient().when(stationDefinitionAccessor.findChannelsByNameAndTime(any(), any()))
+      .thenAnswer(invocation -> lookUp(invocation.getArgument(0), channels));
+    lenient().when(stationDefinitionAccessor.findResponsesById(any(), any()))
+      .thenAnswer(invocation -> lookUp(invocation.getArgument(0), responses));
+  }
+
+  private static <K, T> Map<K, T> stored(List<T> entities, Function<T, K> getKey, int missingEvery) {
+    Map<K, T> stored = new HashMap<>();
+    for (var i = 0; i < entities.size(); i++) {
+      if (missingEvery <= 0 || i % missingEvery != 0) {
+        stored.put(getKey.apply(entities.get(i)), entities.get(i));
+      }
+    }
+    return stored;
+  }
+
+  private static <K, T> List<T> lookUp(Collection<K> keys, Map<K, T> stored) {
+    return keys.stream().map(stored::get).filter(Objects::nonNull).collect(Collectors.toList());
+  }
+
   private void assertStationGroupAndStationsPopulated(StationGroup stationGroup) {
     stationGroup.getStations().forEach(station -> {
       assertTrue(station.getChannelGroups().stream().allMatch(ChannelGroup::isPresent));
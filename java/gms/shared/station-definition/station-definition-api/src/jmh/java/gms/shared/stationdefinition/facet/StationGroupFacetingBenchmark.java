@@ -0,0 +1,179 @@
+package gms.shared.stationdefinition.facet;
+
+import gms.shared.stationdefinition.api.StationDefinitionAccessorInterface;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.channel.ChannelGroup;
+import gms.shared.stationdefinition.coi.channel.Response;
+import gms.shared.stationdefinition.coi.facets.FacetingDefinition;
+import gms.shared.stationdefinition.coi.station.Station;
+import gms.shared.stationdefinition.coi.station.StationGroup;
+import gms.shared.stationdefinition.testfixtures.StationNetworkTestFixture;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static gms.shared.stationdefinition.facet.FacetingTypes.CHANNELS_KEY;
+import static gms.shared.stationdefinition.facet.FacetingTypes.CHANNEL_GROUPS_KEY;
+import static gms.shared.stationdefinition.facet.FacetingTypes.CHANNEL_GROUP_TYPE;
+import static gms.shared.stationdefinition.facet.FacetingTypes.CHANNEL_TYPE;
+import static gms.shared.stationdefinition.facet.FacetingTypes.RESPONSES_KEY;
+import static gms.shared.stationdefinition.facet.FacetingTypes.RESPONSE_TYPE;
+import static gms.shared.stationdefinition.facet.FacetingTypes.STATIONS_KEY;
+import static gms.shared.stationdefinition.facet.FacetingTypes.STATION_GROUP_TYPE;
+import static gms.shared.stationdefinition.facet.FacetingTypes.STATION_TYPE;
+
+/**
+ * Benchmarks fully populating a network's station group, down to the responses of its channels, against an accessor
+ * that costs a fixed round trip per call, as a database or cache query does.
+ * <p>
+ * {@code batched} populates the group as {@link StationDefinitionFacetingUtility#populateFacets} does;
+ * {@code perReference} populates it with a batch nothing was added to, so each reference is retrieved with a call of
+ * its own, as the utility did before batching. Each benchmark reports the accessor calls it made as its
+ * {@code accessorCalls} counter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StationGroupFacetingBenchmark {
+
+  @Param({"batched", "perReference"})
+  String population;
+
+  @Param({"50", "150"})
+  int stationCount;
+
+  @Param({"3"})
+  int sitesPerStation;
+
+  @Param({"200"})
+  long roundTripMicros;
+
+  private StationNetworkTestFixture network;
+  private FacetingDefinition facetingDefinition;
+  private AtomicLong calls;
+  private StationDefinitionAccessorInterface accessor;
+  private StationDefinitionFacetingUtility facetingUtility;
+
+  /**
+   * Calls made to the accessor.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class AccessorLoad {
+
+    public long accessorCalls;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    network = StationNetworkTestFixture.create(stationCount, sitesPerStation);
+    calls = new AtomicLong();
+    accessor = standInAccessor(network, TimeUnit.MICROSECONDS.toNanos(roundTripMicros), calls);
+    facetingUtility = StationDefinitionFacetingUtility.create(accessor);
+
+    FacetingDefinition channelFacetingDefinition = FacetingDefinition.builder()
+      .setClassType(CHANNEL_TYPE.getValue())
+      .setPopulated(true)
+      .addFacetingDefinitions(RESPONSES_KEY.getValue(), FacetingDefinition.builder()
+        .setClassType(RESPONSE_TYPE.getValue())
+        .setPopulated(true)
+        .build())
+      .build();
+    facetingDefinition = FacetingDefinition.builder()
+      .setClassType(STATION_GROUP_TYPE.getValue())
+      .setPopulated(true)
+      .addFacetingDefinitions(STATIONS_KEY.getValue(), FacetingDefinition.builder()
+        .setClassType(STATION_TYPE.getValue())
+        .setPopulated(true)
+        .addFacetingDefinitions(CHANNEL_GROUPS_KEY.getValue(), FacetingDefinition.builder()
+          .setClassType(CHANNEL_GROUP_TYPE.getValue())
+          .setPopulated(true)
+          .addFacetingDefinitions(CHANNELS_KEY.getValue(), channelFacetingDefinition)
+          .build())
+        .addFacetingDefinitions(CHANNELS_KEY.getValue(), channelFacetingDefinition)
+        .build())
+      .build();
+  }
+
+  @Benchmark
+  public StationGroup populateStationGroup(AccessorLoad load) {
+    long callsBefore = calls.get();
+
+    StationGroup stationGroup = "batched".equals(population)
+      ? facetingUtility.populateFacets(network.getStationGroup(), facetingDefinition, network.getEffectiveAt())
+      : facetingUtility.populateFacets(network.getStationGroup(), facetingDefinition,
+        FacetingBatch.create(accessor, network.getEffectiveAt()));
+
+    load.accessorCalls += calls.get() - callsBefore;
+    return stationGroup;
+  }
+
+  /**
+   * An accessor answering the faceting utility's lookups from the network, after parking for one round trip per call
+   */
+  private static StationDefinitionAccessorInterface standInAccessor(StationNetworkTestFixture network,
+    long roundTripNanos, AtomicLong calls) {
+
+    Map<Object, Station> stations = byKey(network.getStations(), Station::getName);
+    Map<Object, ChannelGroup> channelGroups = byKey(network.getChannelGroups(), ChannelGroup::getName);
+    Map<Object, Channel> channels = byKey(network.getChannels(), Channel::getName);
+    Map<Object, Response> responses = byKey(network.getResponses(), Response::getId);
+
+    return (StationDefinitionAccessorInterface) Proxy.newProxyInstance(
+      StationDefinitionAccessorInterface.class.getClassLoader(),
+      new Class<?>[]{StationDefinitionAccessorInterface.class},
+      (proxy, method, args) -> {
+        Map<Object, ?> entities;
+        switch (method.getName()) {
+          case "findStationsByNameAndTime":
+            entities = stations;
+            break;
+          case "findChannelGroupsByNameAndTime":
+            entities = channelGroups;
+            break;
+          case "findChannelsByNameAndTime":
+            entities = channels;
+            break;
+          case "findResponsesById":
+            entities = responses;
+            break;
+          default:
+            throw new UnsupportedOperationException(method.getName());
+        }
+
+        calls.incrementAndGet();
+        LockSupport.parkNanos(roundTripNanos);
+        return ((Collection<?>) args[0]).stream()
+          .map(entities::get)
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList());
+      });
+  }
+
+  private static <T> Map<Object, T> byKey(List<T> entities, Function<T, Object> getKey) {
+    return entities.stream().collect(Collectors.toMap(getKey, Function.identity()));
+  }
+}
@@ -0,0 +1,227 @@
+package gms.shared.stationdefinition.facet;
+
+import gms.shared.stationdefinition.api.StationDefinitionAccessorInterface;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.channel.ChannelGroup;
+import gms.shared.stationdefinition.coi.channel.Response;
+import gms.shared.stationdefinition.coi.facets.FacetingDefinition;
+import gms.shared.stationdefinition.coi.station.Station;
+import gms.shared.stationdefinition.coi.station.StationGroup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static gms.shared.stationdefinition.facet.FacetingTypes.CHANNELS_KEY;
+import static gms.shared.stationdefinition.facet.FacetingTypes.CHANNEL_GROUPS_KEY;
+import static gms.shared.stationdefinition.facet.FacetingTypes.RESPONSES_KEY;
+import static gms.shared.stationdefinition.facet.FacetingTypes.STATIONS_KEY;
+
+/**
+ * Entities needed to facet a tree of station definition objects at one effective time, retrieved in bulk.
+ * <p>
+ * Entities are first added to the batch, which walks them as {@link StationDefinitionFacetingUtility} will and notes
+ * every reference it will need to populate. {@link #resolve()} then retrieves the references of each type with a
+ * single accessor call, stations first so that the channel groups, channels and responses of the stations retrieved
+ * are included in the calls that follow. Lookups of references that were not added fall back to a call of their own.
+ */
+final class FacetingBatch {
+
+  private final StationDefinitionAccessorInterface stationDefinitionAccessor;
+  private final Instant effectiveTime;
+
+  private final Map<String, Set<FacetingDefinition>> pendingStations = new LinkedHashMap<>();
+  private final Map<String, Set<FacetingDefinition>> pendingChannelGroups = new LinkedHashMap<>();
+  private final Map<String, Set<FacetingDefinition>> pendingChannels = new LinkedHashMap<>();
+  private final Set<UUID> pendingResponses = new LinkedHashSet<>();
+
+  private final Map<String, Optional<Station>> stations = new HashMap<>();
+  private final Map<String, Optional<ChannelGroup>> channelGroups = new HashMap<>();
+  private final Map<String, Optional<Channel>> channels = new HashMap<>();
+  private final Map<UUID, Optional<Response>> responses = new HashMap<>();
+
+  private FacetingBatch(StationDefinitionAccessorInterface stationDefinitionAccessor, Instant effectiveTime) {
+    this.stationDefinitionAccessor = stationDefinitionAccessor;
+    this.effectiveTime = effectiveTime;
+  }
+
+  static FacetingBatch create(StationDefinitionAccessorInterface stationDefinitionAccessor, Instant effectiveTime) {
+    return new FacetingBatch(stationDefinitionAccessor, effectiveTime);
+  }
+
+  FacetingBatch addStationGroup(StationGroup stationGroup, FacetingDefinition facetingDefinition) {
+    var stationFacetingDefinition = facetingDefinition.getFacetingDefinitionByName(STATIONS_KEY.getValue());
+    if (facetingDefinition.isPopulated() && stationFacetingDefinition != null) {
+      stationGroup.getData().ifPresent(data ->
+        data.getStations().forEach(station -> addStation(station, stationFacetingDefinition)));
+    }
+    return this;
+  }
+
+  FacetingBatch addStation(Station station, FacetingDefinition facetingDefinition) {
+    if (facetingDefinition.isPopulated()) {
+      if (station.isPresent()) {
+        addChannelGroupsAndChannels(station, facetingDefinition);
+      } else {
+        addPending(pendingStations, stations, station.getName(), facetingDefinition);
+      }
+    }
+    return this;
+  }
+
+  FacetingBatch addChannelGroup(ChannelGroup channelGroup, FacetingDefinition facetingDefinition) {
+    if (facetingDefinition.isPopulated()) {
+      if (channelGroup.isPresent()) {
+        addChannels(channelGroup, facetingDefinition);
+      } else {
+        addPending(pendingChannelGroups, channelGroups, channelGroup.getName(), facetingDefinition);
+      }
+    }
+    return this;
+  }
+
+  FacetingBatch addChannel(Channel channel, FacetingDefinition facetingDefinition) {
+    if (facetingDefinition.isPopulated()) {
+      if (channel.isPresent()) {
+        addChannelResponse(channel, facetingDefinition);
+      } else {
+        addPending(pendingChannels, channels, channel.getName(), facetingDefinition);
+      }
+    }
+    return this;
+  }
+
+  FacetingBatch addResponse(Response response, FacetingDefinition facetingDefinition) {
+    if (facetingDefinition.isPopulated() && !response.isPresent() && !responses.containsKey(response.getId())) {
+      pendingResponses.add(response.getId());
+    }
+    return this;
+  }
+
+  /**
+   * Retrieves everything added to the batch, one accessor call per entity type.
+   *
+   * @return this batch
+   */
+  FacetingBatch resolve() {
+    resolvePending(pendingStations, stations, names ->
+        stationDefinitionAccessor.findStationsByNameAndTime(names, effectiveTime),
+      Station::getName, this::addChannelGroupsAndChannels);
+    resolvePending(pendingChannelGroups, channelGroups, names ->
+        stationDefinitionAccessor.findChannelGroupsByNameAndTime(names, effectiveTime),
+      ChannelGroup::getName, this::addChannels);
+    resolvePending(pendingChannels, channels, names ->
+        stationDefinitionAccessor.findChannelsByNameAndTime(names, effectiveTime),
+      Channel::getName, this::addChannelResponse);
+
+    if (!pendingResponses.isEmpty()) {
+      List<UUID> ids = new ArrayList<>(pendingResponses);
+      pendingResponses.clear();
+      ids.forEach(id -> responses.put(id, Optional.empty()));
+      stationDefinitionAccessor.findResponsesById(ids, effectiveTime)
+        .forEach(response -> responses.computeIfPresent(response.getId(),
+          (id, resolved) -> resolved.isPresent() ? resolved : Optional.of(response)));
+    }
+
+    return this;
+  }
+
+  Optional<Station> getStation(String name) {
+    return stations.computeIfAbsent(name, key -> first(stationDefinitionAccessor
+      .findStationsByNameAndTime(List.of(key), effectiveTime)));
+  }
+
+  Optional<ChannelGroup> getChannelGroup(String name) {
+    return channelGroups.computeIfAbsent(name, key -> first(stationDefinitionAccessor
+      .findChannelGroupsByNameAndTime(List.of(key), effectiveTime)));
+  }
+
+  Optional<Channel> getChannel(String name) {
+    return channels.computeIfAbsent(name, key -> first(stationDefinitionAccessor
+      .findChannelsByNameAndTime(List.of(key), effectiveTime)));
+  }
+
+  Optional<Response> getResponse(UUID id) {
+    return responses.computeIfAbsent(id, key -> first(stationDefinitionAccessor
+      .findResponsesById(List.of(key), effectiveTime)));
+  }
+
+  private void addChannelGroupsAndChannels(Station station, FacetingDefinition facetingDefinition) {
+    var channelGroupFacetingDefinition =
+      facetingDefinition.getFacetingDefinitionByName(CHANNEL_GROUPS_KEY.getValue());
+    var channelFacetingDefinition = facetingDefinition.getFacetingDefinitionByName(CHANNELS_KEY.getValue());
+    var data = station.getData().orElseThrow();
+
+    if (channelGroupFacetingDefinition != null) {
+      data.getChannelGroups().forEach(channelGroup -> addChannelGroup(channelGroup, channelGroupFacetingDefinition));
+    }
+    if (channelFacetingDefinition != null) {
+      data.getAllRawChannels().forEach(channel -> addChannel(channel, channelFacetingDefinition));
+    }
+  }
+
+  private void addChannels(ChannelGroup channelGroup, FacetingDefinition facetingDefinition) {
+    var channelFacetingDefinition = facetingDefinition.getFacetingDefinitionByName(CHANNELS_KEY.getValue());
+    if (channelFacetingDefinition != null) {
+      channelGroup.getData().orElseThrow().getChannels()
+        .forEach(channel -> addChannel(channel, channelFacetingDefinition));
+    }
+  }
+
+  private void addChannelResponse(Channel channel, FacetingDefinition facetingDefinition) {
+    var responseFacetingDefinition = facetingDefinition.getFacetingDefinitionByName(RESPONSES_KEY.getValue());
+    if (responseFacetingDefinition != null) {
+      channel.getData().orElseThrow().getResponse()
+        .ifPresent(response -> addResponse(response, responseFacetingDefinition));
+    }
+  }
+
+  private static void addPending(Map<String, Set<FacetingDefinition>> pending, Map<String, ?> resolved, String name,
+    FacetingDefinition facetingDefinition) {
+
+    if (!resolved.containsKey(name)) {
+      pending.computeIfAbsent(name, key -> new LinkedHashSet<>()).add(facetingDefinition);
+    }
+  }
+
+  /**
+   * Retrieves the pending references of one type with a single call, recording those not found as absent, then adds
+   * the children of each entity retrieved as the faceting definitions it was added with call for.
+   */
+  private static <T> void resolvePending(Map<String, Set<FacetingDefinition>> pending,
+    Map<String, Optional<T>> resolved,
+    Function<List<String>, List<T>> find,
+    Function<T, String> getName,
+    BiConsumer<T, FacetingDefinition> addChildren) {
+
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    Map<String, Set<FacetingDefinition>> requested = new LinkedHashMap<>(pending);
+    pending.clear();
+    requested.keySet().forEach(name -> resolved.put(name, Optional.empty()));
+
+    // as for a single reference, the first entity returned for a name is the one used
+    find.apply(new ArrayList<>(requested.keySet()))
+      .forEach(entity -> resolved.computeIfPresent(getName.apply(entity),
+        (name, entry) -> entry.isPresent() ? entry : Optional.of(entity)));
+
+    requested.forEach((name, facetingDefinitions) -> resolved.get(name)
+      .ifPresent(entity -> facetingDefinitions.forEach(facetingDefinition ->
+        addChildren.accept(entity, facetingDefinition))));
+  }
+
+  private static <T> Optional<T> first(List<T> entities) {
+    return entities.isEmpty() ? Optional.empty() : Optional.of(entities.get(0));
+  }
+}
@@ -1,5 +1,6 @@
 package gms.shared.stationdefinition.facet;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import gms.shared.stationdefinition.api.StationDefinitionAccessorInterface;
 import gms.shared.stationdefinition.coi.channel.Channel;
@@ -30,6 +31,9 @@ import static gms.shared.stationdefinition.facet.FacetingTypes.STATION_TYPE;
 
 /**
  * Utility for building faceted StationGroup, Station, ChannelGroups, and Channels
+ * <p>
+ * Each call first gathers every reference in the tree that needs populating into a {@link FacetingBatch}, which
+ * retrieves them with one accessor call per entity type, and then builds the faceted tree from the batch.
  */
 public class StationDefinitionFacetingUtility {
   private final StationDefinitionAccessorInterface stationDefinitionAccessor;
@@ -68,13 +72,9 @@ public class StationDefinitionFacetingUtility {
     Objects.requireNonNull(effectiveTime);
     checkState(facetingDefinition.getClassType().equals(STATION_GROUP_TYPE.getValue()));
 
-    if (facetingDefinition.isPopulated()) {
-      return getPopulatedStationGroup(initial, facetingDefinition,
-        effectiveTime);
-    } else {
-      return toVersionReference(initial);
-    }
-
+    return populateFacets(initial, facetingDefinition, FacetingBatch.create(stationDefinitionAccessor, effectiveTime)
+      .addStationGroup(initial, facetingDefinition)
+      .resolve());
   }
 
   /**
@@ -95,11 +95,9 @@ public class StationDefinitionFacetingUtility {
     Objects.requireNonNull(effectiveTime);
     checkState(facetingDefinition.getClassType().equals(STATION_TYPE.getValue()));
 
-    if (facetingDefinition.isPopulated()) {
-      return getPopulatedStation(initial, facetingDefinition, effectiveTime);
-    } else {
-      return toVersionReference(initial);
-    }
+    return populateFacets(initial, facetingDefinition, FacetingBatch.create(stationDefinitionAccessor, effectiveTime)
+      .addStation(initial, facetingDefinition)
+      .resolve());
   }
 
   /**
@@ -120,12 +118,9 @@ public class StationDefinitionFacetingUtility {
     Objects.requireNonNull(effectiveAt);
     checkState(facetingDefinition.getClassType().equals(CHANNEL_GROUP_TYPE.getValue()));
 
-    if (facetingDefinition.isPopulated()) {
-      return getPopulatedChannelGroup(initial, facetingDefinition,
-        effectiveAt);
-    } else {
-      return toVersionReference(initial);
-    }
+    return populateFacets(initial, facetingDefinition, FacetingBatch.create(stationDefinitionAccessor, effectiveAt)
+      .addChannelGroup(initial, facetingDefinition)
+      .resolve());
   }
 
   /**
@@ -145,12 +140,9 @@ public class StationDefinitionFacetingUtility {
     Objects.requireNonNull(facetingDefinition);
     checkState(facetingDefinition.getClassType().equals(CHANNEL_TYPE.getValue()));
 
-    if (facetingDefinition.isPopulated()) {
-      return getPopulatedChannel(initial, facetingDefinition,
-        effectiveAt);
-    } else {
-      return toVersionReference(initial);
-    }
+    return populateFacets(initial, facetingDefinition, FacetingBatch.create(stationDefinitionAccessor, effectiveAt)
+      .addChannel(initial, facetingDefinition)
+      .resolve());
   }
 
   /**
@@ -170,6 +162,64 @@ public class StationDefinitionFacetingUtility {
     Objects.requireNonNull(effectiveAt);
     Preconditions.checkState(facetingDefinition.getClassType().equals(RESPONSE_TYPE.getValue()));
 
+    return populateFacets(initial, facetingDefinition, FacetingBatch.create(stationDefinitionAccessor, effectiveAt)
+      .addResponse(initial, facetingDefinition)
+      .resolve());
+  }
+
+  /**
+   * Generate a faceted {@link StationGroup}, populating references from the provided {@link FacetingBatch}. A batch
+   * nothing was added to retrieves each reference with a call of its own.
+   */
+  @VisibleForTesting
+  StationGroup populateFacets(StationGroup initial, FacetingDefinition facetingDefinition, FacetingBatch batch) {
+
+    if (facetingDefinition.isPopulated()) {
+      return getPopulatedStationGroup(initial, facetingDefinition, batch);
+    } else {
+      return toVersionReference(initial);
+    }
+  }
+
+  private Station populateFacets(Station initial, FacetingDefinition facetingDefinition, FacetingBatch batch) {
+    Objects.requireNonNull(initial);
+    checkState(facetingDefinition.getClassType().equals(STATION_TYPE.getValue()));
+
+    if (facetingDefinition.isPopulated()) {
+      return getPopulatedStation(initial, facetingDefinition, batch);
+    } else {
+      return toVersionReference(initial);
+    }
+  }
+
+  private ChannelGroup populateFacets(ChannelGroup initial, FacetingDefinition facetingDefinition,
+    FacetingBatch batch) {
+
+    Objects.requireNonNull(initial);
+    checkState(facetingDefinition.getClassType().equals(CHANNEL_GROUP_TYPE.getValue()));
+
+    if (facetingDefinition.isPopulated()) {
+      return getPopulatedChannelGroup(initial, facetingDefinition, batch);
+    } else {
+      return toVersionReference(initial);
+    }
+  }
+
+  private Channel populateFacets(Channel initial, FacetingDefinition facetingDefinition, FacetingBatch batch) {
+    Objects.requireNonNull(initial);
+    checkState(facetingDefinition.getClassType().equals(CHANNEL_TYPE.getValue()));
+
+    if (facetingDefinition.isPopulated()) {
+      return getPopulatedChannel(initial, facetingDefinition, batch);
+    } else {
+      return toVersionReference(initial);
+    }
+  }
+
+  private Response populateFacets(Response initial, FacetingDefinition facetingDefinition, FacetingBatch batch) {
+    Objects.requireNonNull(initial);
+    checkState(facetingDefinition.getClassType().equals(RESPONSE_TYPE.getValue()));
+
     if (facetingDefinition.isPopulated()) {
       if (initial.isPresent()) {
         // TODO (sgk 04/22/2021 - when FAPRepository is implemented, we'll need to check if the faceting definition
@@ -177,9 +227,7 @@ public class StationDefinitionFacetingUtility {
         // of scope for PI 15
         return initial;
       } else {
-        List<Response> populatedResponses = stationDefinitionAccessor
-          .findResponsesById(List.of(initial.getId()), effectiveAt);
-        return populatedResponses.isEmpty() ? null : populatedResponses.get(0);
+        return batch.getResponse(initial.getId()).orElse(null);
       }
     } else {
       return Response.createVersionReference(initial.getId(), initial.getEffectiveAt().orElseThrow());
@@ -191,13 +239,12 @@ public class StationDefinitionFacetingUtility {
    *
    * @param initial Initial StationGroup to populate
    * @param facetingDefinition {@link FacetingDefinition} for the StationGroup
-   * @param effectiveTime Instant for querying
-   * and stations
+   * @param batch {@link FacetingBatch} holding the entities to populate with
    * @return populated {@link StationGroup}
    */
   private StationGroup getPopulatedStationGroup(StationGroup initial,
     FacetingDefinition facetingDefinition,
-    Instant effectiveTime) {
+    FacetingBatch batch) {
 
     final var stationFacetingDefinition = facetingDefinition
       .getFacetingDefinitionByName(STATIONS_KEY.getValue());
@@ -208,8 +255,7 @@ public class StationDefinitionFacetingUtility {
     // if Station faceting definition is defined, then populate the children accordingly
     if (stationFacetingDefinition != null) {
       stationList = stationList.stream()
-        .map(c -> populateFacets(c, stationFacetingDefinition,
-          effectiveTime))
+        .map(c -> populateFacets(c, stationFacetingDefinition, batch))
         .filter(Objects::nonNull)
         .collect(Collectors.toList());
     }
@@ -230,26 +276,24 @@ public class StationDefinitionFacetingUtility {
    *
    * @param initial initial {@link Station} to populate
    * @param facetingDefinition {@link FacetingDefinition} for Station
-   * @param effectiveTime Instant for querying
+   * @param batch {@link FacetingBatch} holding the entities to populate with
    * @return populated {@link Station}
    */
   private Station getPopulatedStation(Station initial,
     FacetingDefinition facetingDefinition,
-    Instant effectiveTime) {
+    FacetingBatch batch) {
 
     Station populatedStation;
 
     if (initial.isPresent()) {
       // Station is populated but need to check the ChannelGroup and Channel FacetingDefinitions
-      populatedStation = populateChannelGroupsAndChannels(initial, facetingDefinition, effectiveTime);
+      populatedStation = populateChannelGroupsAndChannels(initial, facetingDefinition, batch);
     } else {
 
-      // Query for populated Station then check the ChannelGroup and Channel FacetingDefinitions
-      List<Station> populatedStations = stationDefinitionAccessor
-        .findStationsByNameAndTime(List.of(initial.getName()), effectiveTime);
-
-      populatedStation = populatedStations.isEmpty() ? null : populateChannelGroupsAndChannels(populatedStations.get(0),
-        facetingDefinition, effectiveTime);
+      // Look up the populated Station then check the ChannelGroup and Channel FacetingDefinitions
+      populatedStation = batch.getStation(initial.getName())
+        .map(station -> populateChannelGroupsAndChannels(station, facetingDefinition, batch))
+        .orElse(null);
     }
 
     return populatedStation;
@@ -260,26 +304,24 @@ public class StationDefinitionFacetingUtility {
    *
    * @param initial {@link ChannelGroup} to populate
    * @param facetingDefinition {@link FacetingDefinition} for population
-   * @param effectiveTime Instant to query
+   * @param batch {@link FacetingBatch} holding the entities to populate with
    * @return populated {@link ChannelGroup}
    */
   private ChannelGroup getPopulatedChannelGroup(ChannelGroup initial,
     FacetingDefinition facetingDefinition,
-    Instant effectiveTime) {
+    FacetingBatch batch) {
 
     ChannelGroup populatedChannelGroup;
 
     if (initial.isPresent()) {
       // ChannelGroup is populated but need to check the Channel FacetingDefinitions
-      populatedChannelGroup = populateChannels(initial, facetingDefinition, effectiveTime);
+      populatedChannelGroup = populateChannels(initial, facetingDefinition, batch);
     } else {
 
-      // Query for populated ChannelGroup then check the Channel FacetingDefinitions
-      List<ChannelGroup> populatedChannelGroups = stationDefinitionAccessor
-        .findChannelGroupsByNameAndTime(List.of(initial.getName()), effectiveTime);
-
-      populatedChannelGroup = populatedChannelGroups.isEmpty() ? null : populateChannels(populatedChannelGroups.get(0),
-        facetingDefinition, effectiveTime);
+      // Look up the populated ChannelGroup then check the Channel FacetingDefinitions
+      populatedChannelGroup = batch.getChannelGroup(initial.getName())
+        .map(channelGroup -> populateChannels(channelGroup, facetingDefinition, batch))
+        .orElse(null);
     }
 
     return populatedChannelGroup;
@@ -290,25 +332,23 @@ public class StationDefinitionFacetingUtility {
    *
    * @param initial {@link Channel} to populate
    * @param facetingDefinition {@link FacetingDefinition} for population
-   * @param effectiveTime Instant to query
+   * @param batch {@link FacetingBatch} holding the entities to populate with
    * @return populated {@link Channel}
    */
   private Channel getPopulatedChannel(Channel initial,
     FacetingDefinition facetingDefinition,
-    Instant effectiveTime) {
+    FacetingBatch batch) {
 
     Channel populatedChannel;
 
     if (initial.isPresent()) {
       // Channel is populated but need to check the Response FacetingDefinitions
-      populatedChannel = populateResponses(initial, facetingDefinition, effectiveTime);
+      populatedChannel = populateResponses(initial, facetingDefinition, batch);
     } else {
-      // Query for the populated Channel then check the Response FacetingDefinitions
-      List<Channel> populatedChannels = stationDefinitionAccessor
-        .findChannelsByNameAndTime(List.of(initial.getName()), effectiveTime);
-
-      populatedChannel = populatedChannels.isEmpty() ? null : populateResponses(populatedChannels.get(0),
-        facetingDefinition, effectiveTime);
+      // Look up the populated Channel then check the Response FacetingDefinitions
+      populatedChannel = batch.getChannel(initial.getName())
+        .map(channel -> populateResponses(channel, facetingDefinition, batch))
+        .orElse(null);
     }
 
     return populatedChannel;
@@ -318,12 +358,12 @@ public class StationDefinitionFacetingUtility {
    * Method to populate nested {@link ChannelGroup}s and {@link Channel}s for the given {@link Station}
    *
    * @param station - initial populated {@link Station}
-   * @param effectiveTime - effective time Instant
    * @param facetingDefinition - root {@link FacetingDefinition}
+   * @param batch - {@link FacetingBatch} holding the entities to populate with
    * @return {@link Station}
    */
   private Station populateChannelGroupsAndChannels(Station station, FacetingDefinition facetingDefinition,
-    Instant effectiveTime) {
+    FacetingBatch batch) {
 
     final var channelGroupFacetingDefinition =
       facetingDefinition.getFacetingDefinitionByName(CHANNEL_GROUPS_KEY.getValue());
@@ -340,7 +380,7 @@ public class StationDefinitionFacetingUtility {
 
       // populate the channel group facets accordingly
       channelGroupList = channelGroupList.stream()
-        .map(c -> populateFacets(c, channelGroupFacetingDefinition, effectiveTime))
+        .map(c -> populateFacets(c, channelGroupFacetingDefinition, batch))
         .filter(Objects::nonNull)
         .collect(Collectors.toList());
     }
@@ -349,7 +389,7 @@ public class StationDefinitionFacetingUtility {
     if (channelFacetingDefinition != null) {
       // populate the channel facets accordingly
       channelList = channelList.stream()
-        .map(c -> populateFacets(c, channelFacetingDefinition, effectiveTime))
+        .map(c -> populateFacets(c, channelFacetingDefinition, batch))
         .filter(Objects::nonNull)
         .collect(Collectors.toList());
     }
@@ -438,11 +478,11 @@ public class StationDefinitionFacetingUtility {
    *
    * @param channelGroup - input ChannelGroup
    * @param facetingDefinition - root level FacetingDefinition
-   * @param effectiveTime - Instant to query
+   * @param batch - {@link FacetingBatch} holding the entities to populate with
    * @return {@link ChannelGroup}
    */
   private ChannelGroup populateChannels(ChannelGroup channelGroup, FacetingDefinition facetingDefinition,
-    Instant effectiveTime) {
+    FacetingBatch batch) {
 
     final var channelFacetingDefinition = facetingDefinition
       .getFacetingDefinitionByName(CHANNELS_KEY.getValue());
@@ -453,7 +493,7 @@ public class StationDefinitionFacetingUtility {
     // if Channel faceting definition is defined, then populate the facets
     if (channelFacetingDefinition != null) {
       channelList = channelList.stream()
-        .map(c -> populateFacets(c, channelFacetingDefinition, effectiveTime))
+        .map(c -> populateFacets(c, channelFacetingDefinition, batch))
         .filter(Objects::nonNull)
         .collect(Collectors.toList());
     }
@@ -472,11 +512,11 @@ public class StationDefinitionFacetingUtility {
    *
    * @param channel - input Channel
    * @param facetingDefinition - root level FacetingDefinition
-   * @param effectiveTime - Instant to query
+   * @param batch - {@link FacetingBatch} holding the entities to populate with
    * @return {@link Channel}
    */
   private Channel populateResponses(Channel channel, FacetingDefinition facetingDefinition,
-    Instant effectiveTime) {
+    FacetingBatch batch) {
 
     final var responseFacetingDefinition = facetingDefinition
       .getFacetingDefinitionByName(RESPONSES_KEY.getValue());
@@ -490,7 +530,7 @@ public class StationDefinitionFacetingUtility {
 
     // if Response faceting definition is defined, then populate the facets
     if (responseFacetingDefinition != null) {
-      response = populateFacets(response, responseFacetingDefinition, effectiveTime);
+      response = populateFacets(response, responseFacetingDefinition, batch);
     }
 
     return response != null ? channel.toBuilder()
@@ -23,6 +23,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.persistence.criteria.Expression;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -36,6 +37,7 @@ public class WfdiscDatabaseConnector extends DatabaseConnector {
   static final String START_NOT_BEFORE_END_TIME_ERROR = "Start time has to be before end time";
   static final String EMPTY_WFID_LIST_ERROR = "Request for Wftag by ids must be given a list of wfids";
   static final String EMPTY_LIST_OF_KEYS_ERROR = "Request for Wfdisc by name was given an empty list of keys";
+  static final String MISSING_CONSUMER_ERROR = "Streamed request for Wfdisc must be given a consumer";
 
   private static final String ID = "id";
   private static final String STATION_CODE = "stationCode";
@@ -387,23 +389,50 @@ public class WfdiscDatabaseConnector extends DatabaseConnector {
 
     var errMessage = String.format(WFDISCS_BY_TIME_RANGE_MESSAGE, startTime, endTime);
 
-    EntityResultListFunction<WfdiscDao> delegateFunction = entityManager -> {
+    EntityResultListFunction<WfdiscDao> delegateFunction = entityManager ->
+      entityManager.createQuery(wfdiscsByTimeRangeQuery(entityManager.getCriteriaBuilder(), startTime, endTime))
+        .getResultList();
 
-      var cb = entityManager.getCriteriaBuilder();
-      CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
-      Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
+    return runWithEntityManagerResultListFunction(delegateFunction,
+      WFDISCS_BY_TIME_RANGE_ERROR, errMessage);
+  }
 
-      query.select(fromWfdisc);
-      query.where(cb.and(
-        cb.greaterThanOrEqualTo(fromWfdisc.get(END_TIME), startTime),
-        cb.lessThanOrEqualTo(fromWfdisc.get(TIME), endTime)
-      ));
+  /**
+   * Stream wfdiscs for a provided time range to the consumer as they are read,
+   * without holding them in a persistence context, for bulk loads too large to
+   * collect first
+   *
+   * @param startTime as the start of the desired time range
+   * @param endTime as the end of the desired time range
+   * @param consumer receives each {@link WfdiscDao}
+   *
+   * @return number of {@link WfdiscDao}s streamed
+   */
+  public long streamWfdiscsByTimeRange(Instant startTime, Instant endTime, Consumer<WfdiscDao> consumer) {
 
-      return entityManager.createQuery(query).getResultList();
-    };
+    Validate.notNull(startTime, MISSING_START_TIME_ERROR);
+    Validate.notNull(endTime, MISSING_END_TIME_ERROR);
+    Validate.isTrue(startTime.isBefore(endTime), START_NOT_BEFORE_END_TIME_ERROR);
+    Validate.notNull(consumer, MISSING_CONSUMER_ERROR);
 
-    return runWithEntityManagerResultListFunction(delegateFunction,
-      WFDISCS_BY_TIME_RANGE_ERROR, errMessage);
+    var errMessage = String.format(WFDISCS_BY_TIME_RANGE_MESSAGE, startTime, endTime);
+
+    return runWithStatelessSessionStreamFunction(cb -> wfdiscsByTimeRangeQuery(cb, startTime, endTime),
+      consumer, WFDISCS_BY_TIME_RANGE_ERROR, errMessage);
+  }
+
+  private static CriteriaQuery<WfdiscDao> wfdiscsByTimeRangeQuery(CriteriaBuilder cb, Instant startTime,
+    Instant endTime) {
+
+    CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
+    Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
+
+    query.select(fromWfdisc);
+    query.where(cb.and(
+      cb.greaterThanOrEqualTo(fromWfdisc.get(END_TIME), startTime),
+      cb.lessThanOrEqualTo(fromWfdisc.get(TIME), endTime)
+    ));
+    return query;
   }
 
   /**
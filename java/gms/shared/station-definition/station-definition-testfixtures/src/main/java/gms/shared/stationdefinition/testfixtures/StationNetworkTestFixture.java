@@ -0,0 +1,135 @@
+package gms.shared.stationdefinition.testfixtures;
+
+import gms.shared.stationdefinition.coi.channel.Channel;
+import gms.shared.stationdefinition.coi.channel.ChannelGroup;
+import gms.shared.stationdefinition.coi.channel.Location;
+import gms.shared.stationdefinition.coi.channel.RelativePosition;
+import gms.shared.stationdefinition.coi.channel.RelativePositionChannelPair;
+import gms.shared.stationdefinition.coi.channel.Response;
+import gms.shared.stationdefinition.coi.station.Station;
+import gms.shared.stationdefinition.coi.station.StationGroup;
+import gms.shared.stationdefinition.coi.station.StationType;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static gms.shared.stationdefinition.testfixtures.UtilsTestFixtures.createTestChannelData;
+import static gms.shared.stationdefinition.testfixtures.UtilsTestFixtures.getResponse;
+
+/**
+ * A station network as stored: a {@link StationGroup} of station references, and the populated stations, channel
+ * groups, channels and responses those references resolve to. Each station has a number of sites, each a channel
+ * group of three channels, and every child is stored as a reference to the entity it names.
+ */
+public final class StationNetworkTestFixture {
+
+  private static final Instant EFFECTIVE_AT = Instant.EPOCH;
+  private static final String[] COMPONENTS = {"BHZ", "BHN", "BHE"};
+
+  private final StationGroup stationGroup;
+  private final List<Station> stations = new ArrayList<>();
+  private final List<ChannelGroup> channelGroups = new ArrayList<>();
+  private final List<Channel> channels = new ArrayList<>();
+  private final List<Response> responses = new ArrayList<>();
+
+  private StationNetworkTestFixture(int stationCount, int sitesPerStation) {
+    for (var stationIndex = 0; stationIndex < stationCount; stationIndex++) {
+      var stationName = String.format("ST%03d", stationIndex);
+      List<ChannelGroup> stationChannelGroups = new ArrayList<>();
+      List<Channel> stationChannels = new ArrayList<>();
+
+      for (var siteIndex = 0; siteIndex < sitesPerStation; siteIndex++) {
+        var siteName = String.format("%s%02d", stationName, siteIndex);
+        List<Channel> siteChannels = new ArrayList<>();
+
+        for (String component : COMPONENTS) {
+          var channelName = String.format("%s.%s.%s", stationName, siteName, component);
+          var response = getResponse(channelName);
+          responses.add(response);
+          channels.add(Channel.builder()
+            .setName(channelName)
+            .setEffectiveAt(EFFECTIVE_AT)
+            .setData(createTestChannelData(channelName, Response.createEntityReference(response)))
+            .build());
+          siteChannels.add(Channel.createVersionReference(channelName, EFFECTIVE_AT));
+        }
+
+        channelGroups.add(ChannelGroup.builder()
+          .setName(siteName)
+          .setEffectiveAt(EFFECTIVE_AT)
+          .setData(ChannelGroup.Data.builder()
+            .setDescription("Site " + siteName)
+            .setLocation(Location.from(35.0, -125.0, 100.0, 5500.0))
+            .setType(ChannelGroup.ChannelGroupType.PHYSICAL_SITE)
+            .setChannels(siteChannels)
+            .build())
+          .build());
+        stationChannelGroups.add(ChannelGroup.createVersionReference(siteName, EFFECTIVE_AT));
+        stationChannels.addAll(siteChannels);
+      }
+
+      stations.add(Station.builder()
+        .setName(stationName)
+        .setEffectiveAt(EFFECTIVE_AT)
+        .setData(Station.Data.builder()
+          .setType(StationType.SEISMIC_ARRAY)
+          .setDescription("Station " + stationName)
+          .setLocation(Location.from(35.647, 100.0, 50.0, 10.0))
+          .setRelativePositionChannelPairs(stationChannels.stream()
+            .map(channel -> RelativePositionChannelPair.create(RelativePosition.from(50.0, 5.0, 10.0), channel))
+            .collect(Collectors.toList()))
+          .setChannelGroups(stationChannelGroups)
+          .setAllRawChannels(stationChannels)
+          .build())
+        .build());
+    }
+
+    stationGroup = StationGroup.builder()
+      .setName("NETWORK")
+      .setEffectiveAt(EFFECTIVE_AT)
+      .setData(StationGroup.Data.builder()
+        .setDescription("Network of " + stationCount + " stations")
+        .setStations(stations.stream()
+          .map(station -> Station.createVersionReference(station.getName(), EFFECTIVE_AT))
+          .collect(Collectors.toList()))
+        .build())
+      .build();
+  }
+
+  /**
+   * Creates a network of stations, each with the given number of three-component sites
+   *
+   * @param stationCount number of stations in the network
+   * @param sitesPerStation number of sites, and so channel groups, of each station
+   * @return the network
+   */
+  public static StationNetworkTestFixture create(int stationCount, int sitesPerStation) {
+    return new StationNetworkTestFixture(stationCount, sitesPerStation);
+  }
+
+  public Instant getEffectiveAt() {
+    return EFFECTIVE_AT;
+  }
+
+  public StationGroup getStationGroup() {
+    return stationGroup;
+  }
+
+  public List<Station> getStations() {
+    return List.copyOf(stations);
+  }
+
+  public List<ChannelGroup> getChannelGroups() {
+    return List.copyOf(channelGroups);
+  }
+
+  public List<Channel> getChannels() {
+    return List.copyOf(channels);
+  }
+
+  public List<Response> getResponses() {
+    return List.copyOf(responses);
+  }
+}
@@ -9,8 +9,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import javax.persistence.NoResultException;
 import javax.persistence.NonUniqueResultException;
 import javax.persistence.PersistenceException;
@@ -19,6 +20,8 @@ import javax.persistence.RollbackException;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.Fallback;
 import net.jodah.failsafe.RetryPolicy;
+import org.hibernate.ScrollMode;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,15 +36,28 @@ public abstract class DatabaseConnector {
   static final long RETRY_INITIAL_DELAY = 1L;
   static final long RETRY_MAX_DELAY = 10L;
   static final int MAX_RETRY_ATTEMPTS = 3;
-  
+  static final int STREAM_FETCH_SIZE = 1000;
+
   private static final String RETRYING_MESSAGE = "Retrying...";
   private static final String EMPTY_RESULT_MESSAGE = "Returning empty result.";
   private static final String EMPTY_LIST_MESSAGE = "Returning empty list.";
+  private static final String END_STREAM_MESSAGE = "Ending stream.";
 
   private final EntityManagerFactory entityManagerFactory;
+  private final PartitionedQueryExecutor partitionedQueryExecutor;
 
   protected DatabaseConnector(EntityManagerFactory entityManagerFactory) {
+    this(entityManagerFactory, PartitionedQueryExecutor.DEFAULT_MAX_CONCURRENT_PARTITIONS);
+  }
+
+  /**
+   * @param entityManagerFactory - factory for the entity managers used by each query
+   * @param maxConcurrentPartitions - maximum number of partitions of a partitioned query run at once,
+   * each with its own entity manager; 1 runs partitions one after another
+   */
+  protected DatabaseConnector(EntityManagerFactory entityManagerFactory, int maxConcurrentPartitions) {
     this.entityManagerFactory = entityManagerFactory;
+    this.partitionedQueryExecutor = new PartitionedQueryExecutor(maxConcurrentPartitions);
   }
 
   /**
@@ -132,6 +148,112 @@ public abstract class DatabaseConnector {
       });
   }
 
+  /**
+   * Read-only bulk query run method which takes in {@link EntityCriteriaQueryFunction}
+   * and hands each resulting object of type <T> to the consumer as it is read.
+   * <p>
+   * The query runs in a stateless session, so the objects are neither held in a
+   * persistence context nor snapshotted for dirty checking, and its rows are read
+   * through a forward-only cursor, {@link #STREAM_FETCH_SIZE} per round trip.
+   * Failures before the first object is delivered are retried as for the other
+   * queries. A failure after it is not retried, since a retry would deliver the
+   * same objects again, and is thrown as a {@link DatabaseConnectorException} so
+   * the caller can tell a partial stream from a complete one. Exceptions thrown by
+   * the consumer end the stream and are rethrown as they are.
+   *
+   * @param <T> - streamed object type
+   * @param queryFunction - builds the criteria query to run
+   * @param consumer - receives each object as it is read
+   * @param queryErrorMessage - entity query failure message
+   * @param errorMessageArgs - query error message arguments
+   *
+   * @return number of objects delivered to the consumer
+   * @throws DatabaseConnectorException if the query fails after the first object was delivered
+   */
+  protected <T> long runWithStatelessSessionStreamFunction(
+    EntityCriteriaQueryFunction<T> queryFunction, Consumer<? super T> consumer,
+    String queryErrorMessage, String errorMessageArgs) {
+
+    var delivered = new AtomicLong();
+
+    // create the retry policy, abandoned once the consumer has been handed results
+    var retryPolicy = createRetryPolicy(queryErrorMessage, errorMessageArgs)
+      .abortIf((result, failure) -> failure instanceof DatabaseConnectorException
+        && delivered.get() > 0)
+      .onAbort(e -> logger.warn("Stateless query stream failed after {} results. {}",
+        delivered.get(), e.getFailure().getMessage()));
+
+    // fallback for returning no results when we can't recover before the first one
+    // is delivered; later failures and those thrown by the consumer itself are left
+    // to the caller
+    Fallback<Object> fallback = Fallback.<Object>of(0L)
+      .handleIf((result, failure) -> failure instanceof DatabaseConnectorException
+        && delivered.get() == 0);
+
+    try {
+      return (Long) Failsafe.with(fallback, retryPolicy)
+        .get(() -> streamStatelessSessionQuery(queryFunction, consumer, delivered, queryErrorMessage,
+          errorMessageArgs));
+    } catch (ConsumerException e) {
+      throw e.consumerFailure;
+    }
+  }
+
+  private <T> long streamStatelessSessionQuery(EntityCriteriaQueryFunction<T> queryFunction,
+    Consumer<? super T> consumer, AtomicLong delivered, String queryErrorMessage, String errorMessageArgs) {
+
+    var sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+    try (var session = sessionFactory.openStatelessSession();
+      var results = session.createQuery(queryFunction.apply(sessionFactory.getCriteriaBuilder()))
+        .setReadOnly(true)
+        .setFetchSize(STREAM_FETCH_SIZE)
+        .scroll(ScrollMode.FORWARD_ONLY)) {
+
+      while (results.next()) {
+        @SuppressWarnings("unchecked")
+        var result = (T) results.get(0);
+        try {
+          consumer.accept(result);
+        } catch (RuntimeException e) {
+          // set apart from query failures, so it is neither handled nor retried
+          throw new ConsumerException(e);
+        }
+        delivered.incrementAndGet();
+      }
+      return delivered.get();
+    } catch (IllegalStateException|PersistenceException e) {
+      // filter non-recoverable exceptions from recoverable
+      if (delivered.get() > 0) {
+        // results were already delivered, so the stream can neither be retried nor
+        // reported as complete
+        throw new DatabaseConnectorException(String.format("%s after %d results",
+          queryErrorMessage, delivered.get()), e);
+      } else if (e instanceof QueryTimeoutException || e instanceof IllegalStateException) {
+        // handle entity manager error and end the stream
+        handleEntityManagerErrors(e, queryErrorMessage, errorMessageArgs, END_STREAM_MESSAGE);
+        return 0L;
+      } else {
+        // wrap recoverable exception and send to retry policy
+        throw new DatabaseConnectorException(queryErrorMessage, e);
+      }
+    }
+  }
+
+  /**
+   * Carries an exception thrown by a stream consumer out of the query run, past its
+   * retry policy and fallback
+   */
+  private static final class ConsumerException extends RuntimeException {
+
+    private final RuntimeException consumerFailure;
+
+    private ConsumerException(RuntimeException consumerFailure) {
+      super(consumerFailure);
+      this.consumerFailure = consumerFailure;
+    }
+  }
+
   /**
    * Entity manager run method which takes in (@link EntityVoidFunction} and
    * commits the transaction without returning
@@ -169,7 +291,12 @@ public abstract class DatabaseConnector {
 
   /**
    * Breaks the query into partitionSize batches and makes individual Oracle
-   * queries for each partition
+   * queries for each partition. Partitions are queried concurrently, up to the
+   * connector's maximum concurrent partitions, and the results are returned in
+   * partition order. The partition query function must be safe to call from
+   * several threads at once, which holds for functions that query through
+   * {@link #runWithEntityManagerResultListFunction} since every call creates
+   * its own entity manager.
    *
    * @param <P> input object type
    * @param <T> output object type
@@ -181,10 +308,8 @@ public abstract class DatabaseConnector {
    */
   protected <P, T> List<T> runPartitionedQuery(Collection<P> queryParams,
     int partitionSize, Function<List<P>, List<T>> partitionQueryFunction) {
-    return Lists.partition(new ArrayList<>(queryParams), partitionSize).stream()
-      .map(partitionQueryFunction)
-      .flatMap(Collection::stream)
-      .collect(Collectors.toList());
+    return partitionedQueryExecutor.execute(
+      Lists.partition(new ArrayList<>(queryParams), partitionSize), partitionQueryFunction);
   }
 
   /**
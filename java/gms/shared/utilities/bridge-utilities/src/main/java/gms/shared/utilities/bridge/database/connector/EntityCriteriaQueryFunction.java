@@ -0,0 +1,13 @@
+package gms.shared.utilities.bridge.database.connector;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+
+/**
+ * Function that builds a read-only criteria query, run by the connector outside of any persistence context
+ * @param <T> output object type
+ */
+@FunctionalInterface
+public interface EntityCriteriaQueryFunction<T> {
+  public CriteriaQuery<T> apply(CriteriaBuilder criteriaBuilder);
+}
@@ -0,0 +1,201 @@
+package gms.shared.utilities.bridge.database.connector;
+
+import gms.shared.metrics.Counter;
+import gms.shared.metrics.Gauge;
+import gms.shared.metrics.Histogram;
+import gms.shared.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Runs the partitions of a partitioned query concurrently for {@link DatabaseConnector#runPartitionedQuery}.
+ * <p>
+ * Each partition query runs with its own entity manager through the connector's retry policies, so running partitions
+ * concurrently draws one entity manager from the factory per partition in flight. A query runs at most
+ * {@code maxConcurrentPartitions} partitions at once: the calling thread takes partitions in order alongside up to
+ * {@code maxConcurrentPartitions - 1} helpers from a pool shared by every connector, and helpers that are not available
+ * because the pool is busy are simply not used. The calling thread never waits on a partition that has not started, so
+ * partition queries that run partitioned queries of their own do not deadlock. Results are concatenated in partition
+ * order, so the result does not depend on which partition finishes first.
+ * <p>
+ * Partition query latency, the number of partitions in flight and the number of partitions run are exported as the
+ * {@code bridged_partition_query}, {@code bridged_partition_queries_active} and {@code bridged_partition_queries}
+ * metrics, and the thread limit of the shared helper pool as {@code bridged_partition_query_concurrency_limit}. The
+ * per-query limit differs between connectors, so it is not exported.
+ */
+final class PartitionedQueryExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionedQueryExecutor.class);
+
+  static final int DEFAULT_MAX_CONCURRENT_PARTITIONS = 4;
+
+  // Upper bound on helper threads shared by every connector in the process
+  private static final int MAX_HELPER_THREADS = 32;
+  private static final long HELPER_KEEP_ALIVE_SECONDS = 60L;
+
+  private static final ExecutorService helperExecutor = new ThreadPoolExecutor(0, MAX_HELPER_THREADS,
+    HELPER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(), helperThreadFactory());
+
+  private static final Histogram partitionLatency = Metrics.latency("bridged_partition_query");
+  private static final Gauge activePartitions = Metrics.gauge("bridged_partition_queries_active");
+  private static final Counter partitionsRun = Metrics.counter("bridged_partition_queries");
+
+  static {
+    Metrics.gauge("bridged_partition_query_concurrency_limit").set(MAX_HELPER_THREADS);
+  }
+
+  private final int maxConcurrentPartitions;
+
+  /**
+   * @param maxConcurrentPartitions the maximum number of partitions of a query to run at once, 1 to run them one after
+   * another on the calling thread
+   */
+  PartitionedQueryExecutor(int maxConcurrentPartitions) {
+    if (maxConcurrentPartitions < 1) {
+      throw new IllegalArgumentException("Maximum concurrent partitions must be at least 1");
+    }
+
+    this.maxConcurrentPartitions = maxConcurrentPartitions;
+  }
+
+  int getMaxConcurrentPartitions() {
+    return maxConcurrentPartitions;
+  }
+
+  /**
+   * @param partitions the partitions to query
+   * @param partitionQueryFunction function to query for each partition
+   * @return the results of every partition query, in partition order
+   */
+  <P, T> List<T> execute(List<List<P>> partitions, Function<List<P>, List<T>> partitionQueryFunction) {
+    var helperCount = Math.min(maxConcurrentPartitions, partitions.size()) - 1;
+    if (helperCount <= 0) {
+      List<T> results = new ArrayList<>();
+      partitions.forEach(partition -> results.addAll(runPartition(partitionQueryFunction, partition)));
+      return results;
+    }
+
+    var run = new PartitionedRun<>(partitions, partitionQueryFunction, helperCount);
+    for (var helper = 0; helper < helperCount; helper++) {
+      try {
+        helperExecutor.execute(run::runPartitions);
+      } catch (RejectedExecutionException e) {
+        logger.debug("Running partitioned query with {} of {} helpers, all shared helpers are busy",
+          helper, helperCount);
+        run.skipHelpers(helperCount - helper);
+        break;
+      }
+    }
+
+    run.runPartitions();
+    return run.awaitResults();
+  }
+
+  private static <P, T> List<T> runPartition(Function<List<P>, List<T>> partitionQueryFunction, List<P> partition) {
+    var startNanos = System.nanoTime();
+    activePartitions.add(1);
+    try {
+      return partitionQueryFunction.apply(partition);
+    } finally {
+      activePartitions.add(-1);
+      partitionLatency.recordSince(startNanos);
+      partitionsRun.increment();
+    }
+  }
+
+  private static ThreadFactory helperThreadFactory() {
+    var threadCount = new AtomicInteger();
+    return runnable -> {
+      var thread = new Thread(runnable, "bridged-partition-query-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Partitions of one query, taken in order by the calling thread and its helpers
+   */
+  private static final class PartitionedRun<P, T> {
+
+    private final List<List<P>> partitions;
+    private final Function<List<P>, List<T>> partitionQueryFunction;
+    private final AtomicReferenceArray<List<T>> resultsByPartition;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // Counted down by the calling thread and by each helper when they stop taking partitions
+    private final CountDownLatch runnersDone;
+
+    private PartitionedRun(List<List<P>> partitions, Function<List<P>, List<T>> partitionQueryFunction,
+      int helperCount) {
+      this.partitions = partitions;
+      this.partitionQueryFunction = partitionQueryFunction;
+      this.resultsByPartition = new AtomicReferenceArray<>(partitions.size());
+      this.runnersDone = new CountDownLatch(helperCount + 1);
+    }
+
+    /**
+     * Takes and runs partitions until every partition has been taken or a partition failed
+     */
+    private void runPartitions() {
+      try {
+        int index;
+        while (failure.get() == null && (index = nextPartition.getAndIncrement()) < partitions.size()) {
+          resultsByPartition.set(index, runPartition(partitionQueryFunction, partitions.get(index)));
+        }
+      } catch (RuntimeException | Error e) {
+        failure.compareAndSet(null, e);
+      } finally {
+        runnersDone.countDown();
+      }
+    }
+
+    /**
+     * Accounts for helpers that could not be started
+     */
+    private void skipHelpers(int helperCount) {
+      for (var helper = 0; helper < helperCount; helper++) {
+        runnersDone.countDown();
+      }
+    }
+
+    /**
+     * @return the results of every partition, in partition order
+     */
+    private List<T> awaitResults() {
+      try {
+        runnersDone.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted waiting for partitioned query results", e);
+      }
+
+      var firstFailure = failure.get();
+      if (firstFailure instanceof Error) {
+        throw (Error) firstFailure;
+      } else if (firstFailure != null) {
+        throw (RuntimeException) firstFailure;
+      }
+
+      List<T> results = new ArrayList<>();
+      for (var index = 0; index < resultsByPartition.length(); index++) {
+        results.addAll(resultsByPartition.get(index));
+      }
+      return results;
+    }
+  }
+}
@@ -0,0 +1,258 @@
+package gms.shared.utilities.bridge.database.connector;
+
+import com.google.common.collect.Lists;
+import gms.shared.metrics.Metrics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseConnectorTest {
+
+  private static final int ROW_COUNT = 1000;
+  private static final int PARTITION_SIZE = 50;
+  // ordered after the readable rows, so only the queries that reach it fail
+  private static final long UNREADABLE_ID = ROW_COUNT;
+
+  private static EntityManagerFactory entityManagerFactory;
+
+  @BeforeAll
+  static void setUp() {
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_bridge_utilities_test");
+
+    var entityManager = entityManagerFactory.createEntityManager();
+    entityManager.getTransaction().begin();
+    LongStream.range(0, ROW_COUNT)
+      .mapToObj(id -> new PartitionTestDao(id, "value-" + id))
+      .forEach(entityManager::persist);
+    entityManager.persist(new PartitionTestDao(UNREADABLE_ID, PartitionTestDao.UNREADABLE_VALUE));
+    entityManager.getTransaction().commit();
+    entityManager.close();
+  }
+
+  @AfterAll
+  static void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  @Test
+  void testRunPartitionedQueryReturnsResultsInPartitionOrder() {
+    var connector = new TestDatabaseConnector(entityManagerFactory, 4);
+    List<Long> ids = LongStream.range(0, ROW_COUNT).boxed().collect(Collectors.toList());
+    Collections.shuffle(ids, new Random(35));
+
+    List<Long> expectedIds = Lists.partition(ids, PARTITION_SIZE).stream()
+      .flatMap(partition -> partition.stream().sorted())
+      .collect(Collectors.toList());
+
+    var daos = connector.findByIds(ids, PARTITION_SIZE);
+
+    assertEquals(expectedIds, daos.stream().map(PartitionTestDao::getId).collect(Collectors.toList()));
+    daos.forEach(dao -> assertEquals("value-" + dao.getId(), dao.getValue()));
+  }
+
+  @Test
+  void testRunPartitionedQueryRunsPartitionsConcurrently() {
+    var maxConcurrentPartitions = 3;
+    var connector = new TestDatabaseConnector(entityManagerFactory, maxConcurrentPartitions);
+    var allStarted = new CountDownLatch(maxConcurrentPartitions);
+    var active = new AtomicInteger();
+    var maxActive = new AtomicInteger();
+
+    var daos = connector.findByIds(LongStream.range(0, 400).boxed().collect(Collectors.toList()),
+      PARTITION_SIZE, query -> partition -> {
+        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+          // the first partitions only finish once the limit of partitions are running at once
+          allStarted.countDown();
+          allStarted.await(10, TimeUnit.SECONDS);
+          return query.apply(partition);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException(e);
+        } finally {
+          active.decrementAndGet();
+        }
+      });
+
+    assertEquals(400, daos.size());
+    assertEquals(0, allStarted.getCount());
+    assertEquals(maxConcurrentPartitions, maxActive.get());
+  }
+
+  @Test
+  void testRunPartitionedQuerySequentially() {
+    var connector = new TestDatabaseConnector(entityManagerFactory, 1);
+    var callingThread = Thread.currentThread();
+
+    var daos = connector.findByIds(List.of(5L, 3L, 900L, 1L), 2, query -> partition -> {
+      assertEquals(callingThread, Thread.currentThread());
+      return query.apply(partition);
+    });
+
+    assertEquals(List.of(3L, 5L, 1L, 900L),
+      daos.stream().map(PartitionTestDao::getId).collect(Collectors.toList()));
+  }
+
+  @Test
+  void testRunPartitionedQueryPropagatesPartitionFailure() {
+    var connector = new TestDatabaseConnector(entityManagerFactory, 4);
+    List<Long> ids = LongStream.range(0, 500).boxed().collect(Collectors.toList());
+
+    var exception = assertThrows(IllegalArgumentException.class,
+      () -> connector.findByIds(ids, PARTITION_SIZE, query -> partition -> {
+        if (partition.contains(260L)) {
+          throw new IllegalArgumentException("partition failed");
+        }
+        return query.apply(partition);
+      }));
+    assertEquals("partition failed", exception.getMessage());
+  }
+
+  @Test
+  void testRunPartitionedQueryWithNoPartitions() {
+    var connector = new TestDatabaseConnector(entityManagerFactory, 4);
+    assertTrue(connector.findByIds(List.of(), PARTITION_SIZE).isEmpty());
+  }
+
+  @Test
+  void testRunPartitionedQueryRecordsPartitionMetrics() {
+    var connector = new TestDatabaseConnector(entityManagerFactory, 4);
+    var partitionLatency = Metrics.latency("bridged_partition_query");
+    var countBefore = partitionLatency.getCount();
+
+    connector.findByIds(LongStream.range(0, 200).boxed().collect(Collectors.toList()), PARTITION_SIZE);
+
+    assertEquals(countBefore + 4, partitionLatency.getCount());
+    assertEquals(0, Metrics.gauge("bridged_partition_queries_active").getValue());
+  }
+
+  @Test
+  void testMaxConcurrentPartitionsValidation() {
+    assertThrows(IllegalArgumentException.class, () -> new TestDatabaseConnector(entityManagerFactory, 0));
+  }
+
+  @Test
+  void testRunWithStatelessSessionStreamFunctionDeliversEachResult() {
+    var connector = new TestDatabaseConnector(entityManagerFactory, 1);
+    List<PartitionTestDao> daos = new ArrayList<>();
+
+    var delivered = connector.stream(900L, ROW_COUNT, daos::add);
+
+    assertEquals(100, delivered);
+    assertEquals(LongStream.range(900, ROW_COUNT).boxed().collect(Collectors.toList()),
+      daos.stream().map(PartitionTestDao::getId).collect(Collectors.toList()));
+    daos.forEach(dao -> assertEquals("value-" + dao.getId(), dao.getValue()));
+  }
+
+  @Test
+  void testRunWithStatelessSessionStreamFunctionPropagatesConsumerFailure() {
+    var connector = new TestDatabaseConnector(entityManagerFactory, 1);
+    var received = new AtomicInteger();
+
+    var exception = assertThrows(UnsupportedOperationException.class,
+      () -> connector.stream(0L, ROW_COUNT, dao -> {
+        if (received.incrementAndGet() == 10) {
+          throw new UnsupportedOperationException("consumer failed");
+        }
+      }));
+    assertEquals("consumer failed", exception.getMessage());
+    assertEquals(10, received.get());
+  }
+
+  @Test
+  void testRunWithStatelessSessionStreamFunctionPropagatesConsumerQueryTypeFailures() {
+    var connector = new TestDatabaseConnector(entityManagerFactory, 1);
+
+    // the consumer's exceptions are its own even when of the types query failures are, on the first result
+    var firstFailure = new IllegalStateException("consumer failed on the first result");
+    assertSame(firstFailure, assertThrows(IllegalStateException.class,
+      () -> connector.stream(0L, ROW_COUNT, dao -> {
+        throw firstFailure;
+      })));
+
+    // and on a later one
+    var received = new AtomicInteger();
+    var laterFailure = new PersistenceException("consumer failed on a later result");
+    assertSame(laterFailure, assertThrows(PersistenceException.class,
+      () -> connector.stream(0L, ROW_COUNT, dao -> {
+        if (received.incrementAndGet() == 10) {
+          throw laterFailure;
+        }
+      })));
+    assertEquals(10, received.get());
+  }
+
+  @Test
+  void testRunWithStatelessSessionStreamFunctionThrowsQueryFailureAfterDelivery() {
+    var connector = new TestDatabaseConnector(entityManagerFactory, 1);
+    var received = new AtomicInteger();
+
+    // the unreadable row is read after the rest
+    assertThrows(DatabaseConnectorException.class,
+      () -> connector.stream(900L, UNREADABLE_ID + 1, dao -> received.incrementAndGet()));
+    // the stream was not retried, so nothing was delivered twice
+    assertEquals(100, received.get());
+  }
+
+  private static class TestDatabaseConnector extends DatabaseConnector {
+
+    private TestDatabaseConnector(EntityManagerFactory entityManagerFactory, int maxConcurrentPartitions) {
+      super(entityManagerFactory, maxConcurrentPartitions);
+    }
+
+    private List<PartitionTestDao> findByIds(Collection<Long> ids, int partitionSize) {
+      return findByIds(ids, partitionSize, Function.identity());
+    }
+
+    private long stream(long firstId, long endId, Consumer<PartitionTestDao> consumer) {
+      return runWithStatelessSessionStreamFunction(cb -> {
+        var criteriaQuery = cb.createQuery(PartitionTestDao.class);
+        var fromPartitionTest = criteriaQuery.from(PartitionTestDao.class);
+        return criteriaQuery.select(fromPartitionTest)
+          .where(cb.ge(fromPartitionTest.get("id"), firstId), cb.lt(fromPartitionTest.get("id"), endId))
+          .orderBy(cb.asc(fromPartitionTest.get("id")));
+      }, consumer, "Stream test query failed", firstId + "-" + endId);
+    }
+
+    /**
+     * @param decorator wraps the query run for each partition
+     */
+    private List<PartitionTestDao> findByIds(Collection<Long> ids, int partitionSize,
+      Function<Function<List<Long>, List<PartitionTestDao>>, Function<List<Long>, List<PartitionTestDao>>> decorator) {
+
+      Function<List<Long>, List<PartitionTestDao>> query = partition ->
+        runWithEntityManagerResultListFunction(entityManager -> {
+          var cb = entityManager.getCriteriaBuilder();
+          var criteriaQuery = cb.createQuery(PartitionTestDao.class);
+          var fromPartitionTest = criteriaQuery.from(PartitionTestDao.class);
+          criteriaQuery.select(fromPartitionTest)
+            .where(fromPartitionTest.get("id").in(partition))
+            .orderBy(cb.asc(fromPartitionTest.get("id")));
+          return entityManager.createQuery(criteriaQuery).getResultList();
+        }, "Partition test query failed", partition.toString());
+
+      return runPartitionedQuery(ids, partitionSize, decorator.apply(query));
+    }
+  }
+}
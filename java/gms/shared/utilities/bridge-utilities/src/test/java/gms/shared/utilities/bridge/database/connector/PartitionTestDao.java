@@ -0,0 +1,58 @@
+package gms.shared.utilities.bridge.database.connector;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "partition_test")
+public class PartitionTestDao {
+
+  static final String UNREADABLE_VALUE = "unreadable";
+
+  @Id
+  @Column(name = "id")
+  private long id;
+
+  @Column(name = "value")
+  @Convert(converter = ValueConverter.class)
+  private String value;
+
+  public PartitionTestDao() {
+  }
+
+  public PartitionTestDao(long id, String value) {
+    this.id = id;
+    this.value = value;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * Fails to read {@link #UNREADABLE_VALUE}, so a query can be failed part way through its results
+   */
+  public static class ValueConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String value) {
+      return value;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String value) {
+      if (UNREADABLE_VALUE.equals(value)) {
+        throw new IllegalArgumentException("Value cannot be read");
+      }
+      return value;
+    }
+  }
+}
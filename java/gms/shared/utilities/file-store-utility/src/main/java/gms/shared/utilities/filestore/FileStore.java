@@ -1,7 +1,8 @@
 package gms.shared.utilities.filestore;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.collect.Streams;
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
 import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
 import io.minio.GetObjectArgs;
 import io.minio.ListObjectsArgs;
@@ -12,20 +13,42 @@ import io.minio.errors.InternalException;
 import io.minio.errors.InvalidResponseException;
 import io.minio.errors.ServerException;
 import io.minio.errors.XmlParserException;
+import io.minio.messages.Item;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Utility for interacting with Minio.
+ * <p>
+ * Objects found by key prefix are retrieved in parallel, up to a maximum number of concurrent retrievals. Their
+ * deserialized values are cached by ETag when they are deserialized to a type or by a stateless
+ * {@link FileTransformer} (one without instance fields), so that finding the same prefix again only retrieves the
+ * objects that have changed. Cached values are shared between callers and should not be modified.
  */
 public class FileStore {
 
+  static final int DEFAULT_MAX_CONCURRENT_RETRIEVALS = 4;
+
   //
   // Common validation error messages
   //
@@ -33,8 +56,26 @@ public class FileStore {
   private static final String NULL_TYPE_MESSAGE = "type must not be null!";
   private static final String NULL_FILE_TRANSFORMER_MESSAGE = "fileTransformer must not be null!";
 
+  private static final long RETRIEVAL_THREAD_KEEP_ALIVE_SECONDS = 30;
+
+  private static final ClassValue<Boolean> STATELESS_TRANSFORMER_TYPES = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers())) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+  };
+
   private final MinioClient minioClient;
   private final ObjectMapper objectMapper;
+  private final ExecutorService retrievalExecutor;
+  private final ConcurrentMap<CacheKey, CachedValue> cachedValues = new ConcurrentHashMap<>();
 
   /**
    * Construct an instance of FileStore
@@ -42,10 +83,32 @@ public class FileStore {
    * @param minioClient - the Minio client to use.
    */
   public FileStore(MinioClient minioClient) {
+    this(minioClient, DEFAULT_MAX_CONCURRENT_RETRIEVALS);
+  }
+
+  /**
+   * Construct an instance of FileStore
+   *
+   * @param minioClient - the Minio client to use.
+   * @param maxConcurrentRetrievals - the maximum number of objects to retrieve at once when finding by key prefix.
+   */
+  public FileStore(MinioClient minioClient, int maxConcurrentRetrievals) {
     Objects.requireNonNull(minioClient, "minioClient must not be null!");
+    Preconditions.checkArgument(maxConcurrentRetrievals > 0, "maxConcurrentRetrievals must be positive!");
 
     this.minioClient = minioClient;
     this.objectMapper = CoiObjectMapperFactory.getJsonObjectMapper();
+
+    var threadCount = new AtomicInteger();
+    var executor = new ThreadPoolExecutor(maxConcurrentRetrievals, maxConcurrentRetrievals,
+      RETRIEVAL_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+      runnable -> {
+        var thread = new Thread(runnable, "file-store-retrieval-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    executor.allowCoreThreadTimeOut(true);
+    this.retrievalExecutor = executor;
   }
 
   /**
@@ -79,14 +142,14 @@ public class FileStore {
     Objects.requireNonNull(fileDescriptor, NULL_FILE_DESCRIPTOR_MESSAGE);
     Objects.requireNonNull(fileTransformer, NULL_FILE_TRANSFORMER_MESSAGE);
 
-    try {
-      var response = minioClient.getObject(
-        GetObjectArgs.builder()
-          .bucket(fileDescriptor.getBucket())
-          .object(fileDescriptor.getKey())
-          .build()
-      );
+    try (var response = minioClient.getObject(
+      GetObjectArgs.builder()
+        .bucket(fileDescriptor.getBucket())
+        .object(fileDescriptor.getKey())
+        .build()
+    )) {
 
+      // the transformer reads the object as it is downloaded
       return fileTransformer.transform(response);
 
     } catch (ErrorResponseException
@@ -117,7 +180,7 @@ public class FileStore {
     Objects.requireNonNull(fileDescriptor, NULL_FILE_DESCRIPTOR_MESSAGE);
     Objects.requireNonNull(type, NULL_TYPE_MESSAGE);
 
-    return this.findByKeyPrefix(fileDescriptor, getObjectMapperTransformer(fileDescriptor, type));
+    return this.findByKeyPrefix(fileDescriptor, getObjectMapperTransformer(fileDescriptor, type), type);
   }
 
   /**
@@ -134,11 +197,62 @@ public class FileStore {
     Objects.requireNonNull(fileDescriptor, NULL_FILE_DESCRIPTOR_MESSAGE);
     Objects.requireNonNull(fileTransformer, NULL_FILE_TRANSFORMER_MESSAGE);
 
+    var cacheKey = STATELESS_TRANSFORMER_TYPES.get(fileTransformer.getClass()) ? fileTransformer.getClass() : null;
+    return this.findByKeyPrefix(fileDescriptor, fileTransformer, cacheKey);
+  }
+
+  /**
+   * Finds the files under a prefix, retrieving those not already cached in parallel.
+   *
+   * @param cacheKey identifies the deserialization done by the fileTransformer, or null if its results may not be
+   * cached
+   */
+  private <T> Map<FileDescriptor, T> findByKeyPrefix(FileDescriptor fileDescriptor,
+    FileTransformer<T> fileTransformer, Object cacheKey) {
+
     var prefix = fileDescriptor.getKey();
     if (!prefix.endsWith("/")) {
       prefix = prefix + "/";
     }
 
+    var items = listObjects(fileDescriptor, prefix);
+
+    Map<FileDescriptor, T> results = new HashMap<>();
+    Map<FileDescriptor, CompletableFuture<T>> retrievals = new HashMap<>();
+    for (Item item : items) {
+      var itemFileDescriptor = FileDescriptor.create(fileDescriptor.getBucket(), item.objectName());
+      var etag = item.etag();
+
+      Optional<T> cachedValue = findCachedValue(itemFileDescriptor, cacheKey, etag);
+      if (cachedValue.isPresent()) {
+        results.put(itemFileDescriptor, cachedValue.get());
+      } else {
+        retrievals.put(itemFileDescriptor, CompletableFuture.supplyAsync(
+          () -> retrieve(itemFileDescriptor, fileTransformer, cacheKey, etag), retrievalExecutor));
+      }
+    }
+
+    try {
+      CompletableFuture.allOf(retrievals.values().toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException e) {
+      var cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new FileStoreRuntimeException(fileDescriptor, cause);
+    }
+    retrievals.forEach((itemFileDescriptor, retrieval) -> results.put(itemFileDescriptor, retrieval.join()));
+
+    if (cacheKey != null) {
+      evictRemovedObjects(fileDescriptor.getBucket(), prefix, cacheKey, results.keySet());
+    }
+
+    return results;
+  }
+
+  private List<Item> listObjects(FileDescriptor fileDescriptor, String prefix) {
     var objectMetadatas = minioClient.listObjects(
       ListObjectsArgs.builder()
         .bucket(fileDescriptor.getBucket())
@@ -146,28 +260,61 @@ public class FileStore {
         .build()
     );
 
-    return Streams.stream(objectMetadatas)
-      .map(result -> {
-        try {
-          return result.get();
-        } catch (ErrorResponseException
-                 | InsufficientDataException
-                 | InternalException
-                 | InvalidKeyException
-                 | InvalidResponseException
-                 | IOException
-                 | NoSuchAlgorithmException
-                 | ServerException
-                 | XmlParserException e) {
-          throw new FileStoreRuntimeException(fileDescriptor, e);
-        }
-      })
-      .map(item -> FileDescriptor.create(fileDescriptor.getBucket(), item.objectName()))
-      .map(itemFileDiscriptor -> Map.entry(
-        itemFileDiscriptor,
-        findByFileDescriptor(itemFileDiscriptor, fileTransformer)
-      ))
-      .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
+    List<Item> items = new ArrayList<>();
+    for (var result : objectMetadatas) {
+      try {
+        items.add(result.get());
+      } catch (ErrorResponseException
+               | InsufficientDataException
+               | InternalException
+               | InvalidKeyException
+               | InvalidResponseException
+               | IOException
+               | NoSuchAlgorithmException
+               | ServerException
+               | XmlParserException e) {
+        throw new FileStoreRuntimeException(fileDescriptor, e);
+      }
+    }
+    return items;
+  }
+
+  private <T> T retrieve(FileDescriptor fileDescriptor, FileTransformer<T> fileTransformer, Object cacheKey,
+    String etag) {
+
+    var value = findByFileDescriptor(fileDescriptor, fileTransformer);
+    if (cacheKey != null && etag != null) {
+      cachedValues.put(CacheKey.create(fileDescriptor, cacheKey), new CachedValue(etag, value));
+    }
+    return value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Optional<T> findCachedValue(FileDescriptor fileDescriptor, Object cacheKey, String etag) {
+    if (cacheKey == null || etag == null) {
+      return Optional.empty();
+    }
+
+    var cachedValue = cachedValues.get(CacheKey.create(fileDescriptor, cacheKey));
+    if (cachedValue == null || !cachedValue.etag.equals(etag)) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable((T) cachedValue.value);
+  }
+
+  /**
+   * Evicts the values cached for objects directly under the prefix that were not listed. The listing is not
+   * recursive, so values of objects under nested prefixes are left for the listings of those prefixes to evict.
+   */
+  private void evictRemovedObjects(String bucket, String prefix, Object cacheKey, Set<FileDescriptor> present) {
+    cachedValues.keySet().removeIf(key -> key.getCacheKey().equals(cacheKey)
+      && key.getFileDescriptor().getBucket().equals(bucket)
+      && isDirectlyUnder(key.getFileDescriptor().getKey(), prefix)
+      && !present.contains(key.getFileDescriptor()));
+  }
+
+  private static boolean isDirectlyUnder(String key, String prefix) {
+    return key.startsWith(prefix) && key.indexOf('/', prefix.length()) < 0;
   }
 
   /**
@@ -189,4 +336,30 @@ public class FileStore {
     };
   }
 
+  /**
+   * Identifies a cached value by the object it was read from and how it was deserialized
+   */
+  @AutoValue
+  abstract static class CacheKey {
+
+    abstract FileDescriptor getFileDescriptor();
+
+    abstract Object getCacheKey();
+
+    static CacheKey create(FileDescriptor fileDescriptor, Object cacheKey) {
+      return new AutoValue_FileStore_CacheKey(fileDescriptor, cacheKey);
+    }
+  }
+
+  private static final class CachedValue {
+
+    private final String etag;
+    private final Object value;
+
+    private CachedValue(String etag, Object value) {
+      this.etag = etag;
+      this.value = value;
+    }
+  }
+
 }
@@ -6,6 +6,11 @@ import java.io.InputStream;
 /**
  * Specifies a FileTransformer, which, given an InputStream, reads it and constructs a Java object
  * from it.
+ * <p>
+ * The InputStream is the object as it is downloaded from Minio, and is closed by the {@link FileStore}.
+ * When finding files by key prefix, a transformer may be called for several files at once. Transformers
+ * without instance fields are treated as stateless, and the objects they construct are cached by the
+ * FileStore until the file changes.
  *
  * @param <T> The type of object to construct.
  */
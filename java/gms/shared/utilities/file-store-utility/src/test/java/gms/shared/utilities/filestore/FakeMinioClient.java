@@ -0,0 +1,155 @@
+package gms.shared.utilities.filestore;
+
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.Result;
+import io.minio.errors.ServerException;
+import io.minio.messages.Item;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-in for the {@link MinioClient}, holding the objects of one bucket in memory.
+ * Every change to an object gives it a new ETag. Objects are changed through {@link #put(String, String)}
+ * rather than through the client API. Listings that are not recursive only return the objects directly under the
+ * prefix, leaving out the entries of nested prefixes.
+ */
+class FakeMinioClient extends MinioClient {
+
+  private final String bucket;
+  private final NavigableMap<String, StoredObject> objects = new TreeMap<>();
+  private final Map<String, AtomicInteger> getCounts = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlightGets = new AtomicInteger();
+  private final AtomicInteger maxInFlightGets = new AtomicInteger();
+  private final AtomicInteger openStreams = new AtomicInteger();
+  private int nextEtag = 1;
+  private long getDelayMillis;
+
+  FakeMinioClient(String bucket) {
+    super(MinioClient.builder().endpoint("http://localhost:9000").build());
+    this.bucket = bucket;
+  }
+
+  synchronized void put(String key, String content) {
+    objects.put(key, new StoredObject(content, "etag-" + nextEtag++));
+  }
+
+  synchronized void remove(String key) {
+    objects.remove(key);
+  }
+
+  synchronized void failGets(String key) {
+    objects.put(key, new StoredObject(null, "etag-" + nextEtag++));
+  }
+
+  void setGetDelayMillis(long getDelayMillis) {
+    this.getDelayMillis = getDelayMillis;
+  }
+
+  int getCount(String key) {
+    return getCounts.getOrDefault(key, new AtomicInteger()).get();
+  }
+
+  int getTotalGetCount() {
+    return getCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+  }
+
+  int getMaxInFlightGets() {
+    return maxInFlightGets.get();
+  }
+
+  int getOpenStreams() {
+    return openStreams.get();
+  }
+
+  @Override
+  public synchronized Iterable<Result<Item>> listObjects(ListObjectsArgs args) {
+    checkBucket(args.bucket());
+    return objects.subMap(args.prefix(), true, args.prefix() + Character.MAX_VALUE, false).entrySet().stream()
+      .filter(entry -> args.recursive() || entry.getKey().indexOf('/', args.prefix().length()) < 0)
+      .map(entry -> new Result<Item>(new FakeItem(entry.getKey(), entry.getValue().etag)))
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public GetObjectResponse getObject(GetObjectArgs args) throws ServerException {
+    checkBucket(args.bucket());
+    getCounts.computeIfAbsent(args.object(), key -> new AtomicInteger()).incrementAndGet();
+
+    var inFlight = inFlightGets.incrementAndGet();
+    maxInFlightGets.accumulateAndGet(inFlight, Math::max);
+    try {
+      Thread.sleep(getDelayMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      inFlightGets.decrementAndGet();
+    }
+
+    StoredObject object;
+    synchronized (this) {
+      object = objects.get(args.object());
+    }
+    if (object == null || object.content == null) {
+      throw new ServerException("Could not get " + args.object(), "");
+    }
+
+    openStreams.incrementAndGet();
+    InputStream stream = new ByteArrayInputStream(object.content.getBytes(StandardCharsets.UTF_8)) {
+      private boolean closed;
+
+      @Override
+      public void close() throws IOException {
+        if (!closed) {
+          closed = true;
+          openStreams.decrementAndGet();
+        }
+        super.close();
+      }
+    };
+    return new GetObjectResponse(null, bucket, null, args.object(), stream);
+  }
+
+  private void checkBucket(String requestedBucket) {
+    if (!bucket.equals(requestedBucket)) {
+      throw new IllegalArgumentException("Unknown bucket " + requestedBucket);
+    }
+  }
+
+  private static final class StoredObject {
+
+    private final String content;
+    private final String etag;
+
+    private StoredObject(String content, String etag) {
+      this.content = content;
+      this.etag = etag;
+    }
+  }
+
+  private static final class FakeItem extends Item {
+
+    private final String etag;
+
+    private FakeItem(String objectName, String etag) {
+      super(objectName);
+      this.etag = etag;
+    }
+
+    @Override
+    public String etag() {
+      return etag;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package gms.shared.utilities.filestore;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
+import gms.shared.utilities.filestore.FileStoreTestFixture.DeserializedTestClass1;
+import gms.shared.utilities.filestore.FileStoreTestFixture.DeserializedTestClass2;
+import gms.shared.utilities.filestore.FileStoreTestFixture.TestFileTransformer1;
+import io.minio.GetObjectResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * Tests parallel retrieval and caching in {@link FileStore} against a {@link FakeMinioClient}.
+ */
+class FileStoreRetrievalTests {
+
+  private static final String BUCKET = "my-bucket";
+  private static final FileDescriptor PREFIX = FileDescriptor.create(BUCKET, "my-general-key");
+
+  private FakeMinioClient minioClient;
+
+  @BeforeEach
+  void setUp() throws JsonProcessingException {
+    minioClient = new FakeMinioClient(BUCKET);
+    minioClient.put("my-general-key/key1", serialize("one", 1));
+    minioClient.put("my-general-key/key2", serialize("two", 2));
+    minioClient.put("my-other-key/key3", serialize("three", 3));
+  }
+
+  @Test
+  void testUnchangedObjectsNotRetrievedAgain() {
+    var fileStore = new FileStore(minioClient);
+
+    var first = fileStore.findByKeyPrefix(PREFIX, DeserializedTestClass1.class);
+    var second = fileStore.findByKeyPrefix(PREFIX, DeserializedTestClass1.class);
+
+    Assertions.assertEquals(Map.of(
+      descriptor("my-general-key/key1"), deserialized("one", 1),
+      descriptor("my-general-key/key2"), deserialized("two", 2)
+    ), second);
+    Assertions.assertSame(first.get(descriptor("my-general-key/key1")), second.get(descriptor("my-general-key/key1")));
+    Assertions.assertEquals(2, minioClient.getTotalGetCount());
+    Assertions.assertEquals(0, minioClient.getOpenStreams());
+  }
+
+  @Test
+  void testChangedObjectsRetrievedAgain() throws JsonProcessingException {
+    var fileStore = new FileStore(minioClient);
+    fileStore.findByKeyPrefix(PREFIX, DeserializedTestClass1.class);
+
+    minioClient.put("my-general-key/key1", serialize("uno", 1));
+    minioClient.remove("my-general-key/key2");
+    minioClient.put("my-general-key/key4", serialize("four", 4));
+
+    var actual = fileStore.findByKeyPrefix(PREFIX, DeserializedTestClass1.class);
+
+    Assertions.assertEquals(Map.of(
+      descriptor("my-general-key/key1"), deserialized("uno", 1),
+      descriptor("my-general-key/key4"), deserialized("four", 4)
+    ), actual);
+    Assertions.assertEquals(2, minioClient.getCount("my-general-key/key1"));
+    Assertions.assertEquals(1, minioClient.getCount("my-general-key/key2"));
+    Assertions.assertEquals(1, minioClient.getCount("my-general-key/key4"));
+  }
+
+  @Test
+  void testNestedPrefixValuesNotEvictedByParentListing() throws JsonProcessingException {
+    minioClient.put("my-general-key/nested/key5", serialize("five", 5));
+    var nestedPrefix = FileDescriptor.create(BUCKET, "my-general-key/nested");
+    var fileStore = new FileStore(minioClient);
+
+    fileStore.findByKeyPrefix(nestedPrefix, DeserializedTestClass1.class);
+    var parent = fileStore.findByKeyPrefix(PREFIX, DeserializedTestClass1.class);
+    var nested = fileStore.findByKeyPrefix(nestedPrefix, DeserializedTestClass1.class);
+
+    Assertions.assertFalse(parent.containsKey(descriptor("my-general-key/nested/key5")));
+    Assertions.assertEquals(Map.of(descriptor("my-general-key/nested/key5"), deserialized("five", 5)), nested);
+    Assertions.assertEquals(1, minioClient.getCount("my-general-key/nested/key5"));
+  }
+
+  @Test
+  void testValuesCachedPerType() {
+    var fileStore = new FileStore(minioClient);
+
+    fileStore.findByKeyPrefix(PREFIX, DeserializedTestClass1.class);
+    var transformed = fileStore.findByKeyPrefix(PREFIX, new TestFileTransformer1());
+
+    Assertions.assertEquals(new DeserializedTestClass2("one", 1.0, 1, null),
+      transformed.get(descriptor("my-general-key/key1")));
+    Assertions.assertEquals(4, minioClient.getTotalGetCount());
+  }
+
+  @Test
+  void testStatelessTransformerValuesCached() {
+    var fileStore = new FileStore(minioClient);
+
+    fileStore.findByKeyPrefix(PREFIX, new TestFileTransformer1());
+    fileStore.findByKeyPrefix(PREFIX, new TestFileTransformer1());
+
+    Assertions.assertEquals(2, minioClient.getTotalGetCount());
+  }
+
+  @Test
+  void testStatefulTransformerValuesNotCached() {
+    var fileStore = new FileStore(minioClient);
+    var suffix = "-transformed";
+    FileTransformer<String> capturingTransformer = rawDataStream -> new String(rawDataStream.readAllBytes()) + suffix;
+
+    fileStore.findByKeyPrefix(PREFIX, capturingTransformer);
+    var actual = fileStore.findByKeyPrefix(PREFIX, capturingTransformer);
+
+    Assertions.assertTrue(actual.get(descriptor("my-general-key/key1")).endsWith(suffix));
+    Assertions.assertEquals(4, minioClient.getTotalGetCount());
+  }
+
+  @Test
+  void testTransformerReadsObjectStream() {
+    var fileStore = new FileStore(minioClient);
+
+    var actual = fileStore.findByKeyPrefix(PREFIX, rawDataStream -> rawDataStream instanceof GetObjectResponse);
+
+    Assertions.assertEquals(Map.of(
+      descriptor("my-general-key/key1"), true,
+      descriptor("my-general-key/key2"), true
+    ), actual);
+    Assertions.assertEquals(0, minioClient.getOpenStreams());
+  }
+
+  @Test
+  void testRetrievalsBoundedAndParallel() throws JsonProcessingException {
+    for (var i = 0; i < 10; i++) {
+      minioClient.put("my-general-key/parallel" + i, serialize("parallel", i));
+    }
+    minioClient.setGetDelayMillis(50);
+    var fileStore = new FileStore(minioClient, 3);
+
+    var actual = fileStore.findByKeyPrefix(PREFIX, DeserializedTestClass1.class);
+
+    Assertions.assertEquals(12, actual.size());
+    Assertions.assertTrue(minioClient.getMaxInFlightGets() > 1);
+    Assertions.assertTrue(minioClient.getMaxInFlightGets() <= 3);
+  }
+
+  @Test
+  void testRetrievalFailureWrapped() {
+    minioClient.failGets("my-general-key/key2");
+    var fileStore = new FileStore(minioClient);
+
+    var exception = Assertions.assertThrows(FileStoreRuntimeException.class,
+      () -> fileStore.findByKeyPrefix(PREFIX, DeserializedTestClass1.class));
+    Assertions.assertTrue(exception.getMessage().contains("my-general-key/key2"));
+  }
+
+  @Test
+  void testConstructorValidation() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new FileStore(minioClient, 0));
+  }
+
+  private static FileDescriptor descriptor(String key) {
+    return FileDescriptor.create(BUCKET, key);
+  }
+
+  private static DeserializedTestClass1 deserialized(String stringField, int integer1) {
+    return new DeserializedTestClass1(stringField, 1.0, Map.of("integer1", integer1));
+  }
+
+  private static String serialize(String stringField, int integer1) throws JsonProcessingException {
+    return CoiObjectMapperFactory.getJsonObjectMapper().writeValueAsString(deserialized(stringField, integer1));
+  }
+}
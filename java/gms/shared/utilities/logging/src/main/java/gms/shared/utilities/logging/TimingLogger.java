@@ -1,5 +1,6 @@
 package gms.shared.utilities.logging;
 
+import gms.shared.metrics.Metrics;
 import net.logstash.logback.argument.StructuredArguments;
 import net.logstash.logback.marker.Markers;
 import org.slf4j.Logger;
@@ -7,7 +8,15 @@ import org.slf4j.Logger;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
+/**
+ * Times a supplier, logging the elapsed time and recording it in the {@link Metrics} latency histogram
+ * {@code timing_<timedMethod>}.
+ *
+ * @param <T> the type supplied by the timed method
+ */
 public class TimingLogger<T> implements BiFunction<String, Supplier<T>, T> {
+  static final String METRIC_PREFIX = "timing_";
+
   private final Logger logger;
 
   private TimingLogger(Logger logger) {
@@ -21,7 +30,9 @@ public class TimingLogger<T> implements BiFunction<String, Supplier<T>, T> {
   @Override
   public T apply(String timedMethod, Supplier<T> supplier) {
     long start = System.currentTimeMillis();
+    long startNanos = System.nanoTime();
     T t = supplier.get();
+    Metrics.latency(METRIC_PREFIX + timedMethod).recordSince(startNanos);
     long end = System.currentTimeMillis();
     long elapsedTime = end - start;
     logger.info(Markers.aggregate(
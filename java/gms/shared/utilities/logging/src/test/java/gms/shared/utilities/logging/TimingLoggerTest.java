@@ -1,5 +1,6 @@
 package gms.shared.utilities.logging;
 
+import gms.shared.metrics.Metrics;
 import net.logstash.logback.argument.StructuredArgument;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -39,4 +40,14 @@ class TimingLoggerTest {
     Assertions.assertEquals("{} ran in {} milliseconds", argumentCaptorMessage.getAllValues().get(0));
     Assertions.assertEquals("Method Name", loggerArguments.getAllValues().get(0).toString());
   }
+
+  @Test
+  void testElapsedTimeRecorded() {
+    var histogram = Metrics.latency(TimingLogger.METRIC_PREFIX + "Recorded Method");
+    var count = histogram.getCount();
+
+    TimingLogger<String> timingLogger = TimingLogger.create(logger);
+    timingLogger.apply("Recorded Method", () -> "result");
+    Assertions.assertEquals(count + 1, histogram.getCount());
+  }
 }
@@ -1,5 +1,6 @@
 package gms.shared.spring.utilities.aspect;
 
+import gms.shared.metrics.Metrics;
 import net.logstash.logback.argument.StructuredArguments;
 import net.logstash.logback.marker.Markers;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -15,12 +16,15 @@ import java.time.Instant;
 /**
  * Class that logs information about method parameters and execution time.
  * <p>
- * Logs at different levels based on time that wrapped method takes to execute.
+ * Logs at different levels based on time that wrapped method takes to execute. Execution times are also recorded in the
+ * {@link Metrics} latency histogram {@code timing_<class>_<method>}.
  */
 @Component
 @Aspect
 public class LoggingAspect {
 
+  static final String METRIC_PREFIX = "timing_";
+
   @Around("execution(* gms.shared..*(..)) && "
     + "(@annotation(org.springframework.web.bind.annotation.PostMapping))")
   public Object logPostMethod(ProceedingJoinPoint joinPoint) throws Throwable {
@@ -57,8 +61,12 @@ public class LoggingAspect {
   public static Object logTimeMethod(ProceedingJoinPoint joinPoint) throws Throwable {
     var logger = LoggerFactory.getLogger(joinPoint.getTarget().getClass());
     var start = Instant.now();
+    var startNanos = System.nanoTime();
 
     Object retVal = joinPoint.proceed();
+    var signature = joinPoint.getStaticPart().getSignature();
+    Metrics.latency(METRIC_PREFIX + signature.getDeclaringType().getSimpleName() + "_" + signature.getName())
+      .recordSince(startNanos);
     var end = Instant.now();
 
     var methodPlusArgs = new StringBuilder()
@@ -1,5 +1,6 @@
 package gms.shared.spring.utilities.framework;
 
+import gms.shared.metrics.Metrics;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,7 +9,8 @@ import org.springframework.web.bind.annotation.RestController;
 import java.time.Instant;
 
 /**
- * BaseController is incorporated into other spring services enabling service check to indicate the service is active
+ * BaseController is incorporated into other spring services enabling service check to indicate the service is active,
+ * and exposing the service's {@link Metrics} for scraping
  */
 @RestController
 public class BaseController {
@@ -26,4 +28,15 @@ public class BaseController {
     return alive.setAliveAt(Instant.now().toString())
       .build();
   }
+
+  /**
+   * Returns the counters, gauges and histograms registered with {@link Metrics} in the Prometheus text format
+   *
+   * @return the metrics exposition
+   */
+  @GetMapping(value = "/metrics", produces = Metrics.CONTENT_TYPE)
+  @Operation(summary = "Will return the service's metrics in the Prometheus text format")
+  public String metrics() {
+    return Metrics.scrape();
+  }
 }
@@ -1,5 +1,6 @@
 package gms.shared.spring.utilities.framework;
 
+import gms.shared.metrics.Metrics;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -13,4 +14,11 @@ class BaseControllerTest {
     assertTrue(response.toString().contains("aliveAt"));
   }
 
+  @Test
+  void testMetrics() {
+    Metrics.counter("baseControllerTestCounter").increment();
+    BaseController bc = new BaseController();
+    assertTrue(bc.metrics().contains("baseControllerTestCounter 1"));
+  }
+
 }
\ No newline at end of file
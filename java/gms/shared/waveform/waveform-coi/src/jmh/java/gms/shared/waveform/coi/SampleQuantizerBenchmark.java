@@ -0,0 +1,63 @@
+package gms.shared.waveform.coi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the rounding of samples by {@link Waveform#create(Instant, double, double[])} against
+ * the {@link java.math.BigDecimal} rounding it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SampleQuantizerBenchmark {
+
+  @Param({"40000"})
+  private int sampleCount;
+
+  private double[] samples;
+
+  @Setup
+  public void setUp() {
+    var random = new Random(sampleCount);
+    samples = new double[sampleCount];
+    for (var i = 0; i < sampleCount; i++) {
+      samples[i] = random.nextGaussian() * 1000;
+    }
+  }
+
+  @Benchmark
+  public double[] quantize() {
+    return SampleQuantizer.quantize(samples);
+  }
+
+  @Benchmark
+  public double[] quantizeExact() {
+    var quantized = new double[samples.length];
+    for (var i = 0; i < samples.length; i++) {
+      quantized[i] = SampleQuantizer.quantizeExact(samples[i]);
+    }
+    return quantized;
+  }
+
+  @Benchmark
+  public Waveform create() {
+    return Waveform.create(Instant.EPOCH, 40.0, samples);
+  }
+}
@@ -0,0 +1,69 @@
+package gms.shared.waveform.coi.util;
+
+import gms.shared.waveform.coi.Waveform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link WaveformUtility#mergeWaveforms(List, double, double)} for a channel split into
+ * contiguous segments, as read from wfdisc rows or CD-1.1 subframes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaveformMergeBenchmark {
+
+  private static final double SAMPLE_RATE_HZ = 40.0;
+
+  @Param({"10", "100", "1000", "10000"})
+  private int segmentCount;
+
+  @Param({"40"})
+  private int samplesPerSegment;
+
+  private List<Waveform> waveforms;
+
+  @Setup
+  public void setUp() {
+    var random = new Random(segmentCount);
+    waveforms = new ArrayList<>(segmentCount);
+
+    var startTime = Instant.EPOCH;
+    for (var i = 0; i < segmentCount; i++) {
+      var samples = new double[samplesPerSegment];
+      for (var j = 0; j < samples.length; j++) {
+        samples[j] = random.nextGaussian();
+      }
+      var waveform = Waveform.create(startTime, SAMPLE_RATE_HZ, samples);
+      waveforms.add(waveform);
+      startTime = waveform.getEndTime().plusNanos((long) (1E9 / SAMPLE_RATE_HZ));
+    }
+
+    // segments arrive in no particular order
+    Collections.shuffle(waveforms, random);
+  }
+
+  @Benchmark
+  public List<Waveform> mergeWaveforms() {
+    return WaveformUtility.mergeWaveforms(waveforms, 1.0, 1.5);
+  }
+}
@@ -0,0 +1,88 @@
+package gms.shared.waveform.coi;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Rounds {@link Waveform} samples to 4 decimal places.
+ * <p>
+ * Samples are rounded as the decimal representation of the double ({@link BigDecimal#valueOf(double)}) rounded half
+ * up to 10 decimal places, then half up to 4, to account for floating point error such as .702049999999999 (rounded
+ * to .70205 first, then to .7021). The two roundings amount to rounding half up to 4 decimal places with the half-way
+ * point moved down to 0.4999995 of the last place.
+ * <p>
+ * {@link #quantize(double)} applies that rule with double arithmetic on the sample scaled by 10^4, which is exact
+ * enough whenever the scaled sample is not within a few ulps of the half-way point, and falls back to
+ * {@link #quantizeExact(double)} otherwise, so results are identical to the {@link BigDecimal} rounding without
+ * allocating for almost every sample.
+ */
+final class SampleQuantizer {
+
+  private static final double SCALE = 1e4;
+
+  // Fraction of the last place at or above which the scaled sample rounds away from zero
+  private static final double ROUND_UP_FRACTION = 0.4999995;
+
+  // Scaled samples must stay well within the range of exactly representable longs and doubles
+  private static final double MAX_SCALED_MAGNITUDE = 0x1p52;
+
+  // Absolute slack kept around the half-way point for the error in representing it as a double
+  private static final double MIN_MARGIN = 1e-12;
+
+  private SampleQuantizer() {
+    // prevent instantiation
+  }
+
+  /**
+   * @param samples the samples to round
+   * @return a new array holding the samples rounded to 4 decimal places
+   * @throws NumberFormatException if a sample is infinite or NaN
+   */
+  static double[] quantize(double[] samples) {
+    var quantized = new double[samples.length];
+    for (var i = 0; i < samples.length; i++) {
+      quantized[i] = quantize(samples[i]);
+    }
+    return quantized;
+  }
+
+  /**
+   * @param sample the sample to round
+   * @return the sample rounded to 4 decimal places, identical to {@link #quantizeExact(double)}
+   * @throws NumberFormatException if the sample is infinite or NaN
+   */
+  static double quantize(double sample) {
+    var scaled = Math.abs(sample) * SCALE;
+    // also false for NaN and infinite samples, which the exact rounding rejects
+    if (!(scaled < MAX_SCALED_MAGNITUDE)) {
+      return quantizeExact(sample);
+    }
+
+    var whole = Math.floor(scaled);
+    var fraction = scaled - whole;
+
+    // the decimal value of the sample is within half an ulp of the sample, and scaling adds another half ulp
+    var margin = Math.max(4 * Math.ulp(scaled), MIN_MARGIN);
+    if (Math.abs(fraction - ROUND_UP_FRACTION) <= margin) {
+      return quantizeExact(sample);
+    }
+
+    var units = (long) whole + (fraction > ROUND_UP_FRACTION ? 1 : 0);
+    // a sample rounding to zero is positive zero, as BigDecimal has no negative zero
+    return (sample < 0 ? -units : units) / SCALE;
+  }
+
+  /**
+   * Reference rounding through {@link BigDecimal}
+   *
+   * @param sample the sample to round
+   * @return the sample rounded to 4 decimal places
+   * @throws NumberFormatException if the sample is infinite or NaN
+   */
+  static double quantizeExact(double sample) {
+    return BigDecimal.valueOf(sample)
+      .setScale(10, RoundingMode.HALF_UP)
+      .setScale(4, RoundingMode.HALF_UP)
+      .doubleValue();
+  }
+}
@@ -8,8 +8,6 @@ import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.Triple;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
@@ -23,25 +21,38 @@ public abstract class Waveform extends Timeseries {
 
   /**
    * Creates a waveform by providing all arguments, except endTime which is computed in the base
-   * class.
+   * class. The samples are rounded to 4 decimal places into a new array.
    */
   @JsonCreator
   public static Waveform create(@JsonProperty("startTime") Instant startTime,
     @JsonProperty("sampleRateHz") double sampleRateHz,
     @JsonProperty("samples") double[] values) {
+    validate(startTime, sampleRateHz, values);
+
+    //this is needed to account for floating point error such as .702049999999999,
+    //round the scale 10 first to get .70205, then round to the scale 4 to get .7021
+    return new AutoValue_Waveform(Type.WAVEFORM, startTime, sampleRateHz,
+      SampleQuantizer.quantize(values));
+  }
+
+  /**
+   * Creates a waveform from samples that are already rounded to 4 decimal places, such as samples
+   * copied from other waveforms, without rounding them again. The samples array is not copied, so
+   * it must not be modified afterwards.
+   */
+  public static Waveform createFromQuantizedSamples(Instant startTime, double sampleRateHz,
+    double[] quantizedValues) {
+    validate(startTime, sampleRateHz, quantizedValues);
+    return new AutoValue_Waveform(Type.WAVEFORM, startTime, sampleRateHz, quantizedValues);
+  }
+
+  private static void validate(Instant startTime, double sampleRateHz, double[] values) {
     Objects.requireNonNull(startTime);
     Preconditions.checkArgument(sampleRateHz > 0.0,
       "Cannot create Waveform with negative sample rate");
     Objects.requireNonNull(values, "Cannot create waveform with null values");
     Preconditions.checkArgument(values.length > 0,
       "Cannot create waveform with empty values array");
-
-    //this is needed to account for floating point error such as .702049999999999,
-    //round the scale 10 first to get .70205, then round to the scale 4 to get .7021
-    values = Arrays.stream(values)
-      .map(val -> BigDecimal.valueOf(val).setScale(10, RoundingMode.HALF_UP).setScale(4, RoundingMode.HALF_UP).doubleValue())
-      .toArray();
-    return new AutoValue_Waveform(Type.WAVEFORM, startTime, sampleRateHz, values);
   }
 
   /**
@@ -152,7 +163,7 @@ public abstract class Waveform extends Timeseries {
     // but the upper index is to be included.
     final double[] newValues = Arrays.copyOfRange(this.getSamples(),
       newIndicesAndSampleCount.getLeft(), newIndicesAndSampleCount.getMiddle() + 1);
-    return Waveform.create(newStart, getSampleRateHz(), newValues);
+    return Waveform.createFromQuantizedSamples(newStart, getSampleRateHz(), newValues);
   }
 
   /**
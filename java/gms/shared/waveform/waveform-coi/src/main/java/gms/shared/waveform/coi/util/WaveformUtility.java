@@ -1,7 +1,6 @@
 package gms.shared.waveform.coi.util;
 
 import gms.shared.waveform.coi.Waveform;
-import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -116,6 +115,10 @@ public class WaveformUtility {
    * the input tolerance for the merger to occur.
    * When a waveform in the list is completely enclosed by the previous waveform in the list, it is
    * removed.
+   * <p>
+   * The input list is not modified. Contiguous runs of waveforms are planned in a single pass over
+   * a sorted copy of the list, then the samples of each run are copied once into an array sized
+   * for the whole run, so merging many short waveforms is linear in the number of samples.
    *
    * @param sampleRateTolerance The acceptable sample rate tolerance between two adjacent {@link
    * Waveform}s.
@@ -132,63 +135,100 @@ public class WaveformUtility {
 
       return waveforms;
     }
-    Collections.sort(waveforms);
-    // create a new list for the new channel segment and iterate over all waveforms in this
-    // channel segment. Add the first waveform to the new list to begin
-    List<Waveform> newWaveforms = new ArrayList<>();
-    var previousWaveform = waveforms.get(0);
-    newWaveforms.add(previousWaveform);
-    for (Waveform nextWaveform : waveforms.subList(1, waveforms.size())) {
-      logger.info("Waveform start: {} and end: {}", nextWaveform.getStartTime(), nextWaveform.getEndTime());
-      // get the next waveform after the previous and see if the sample rates are comparable.
-      if (Math.abs(previousWaveform.getSampleRateHz() - nextWaveform.getSampleRateHz())
-        <= sampleRateTolerance) {
-        logger.info("SampleRate is within tolerance. Checking for sample count.");
-        // get the fractional gap sample count (fractional sample period between the two waveforms)
-        // and check to see if a merged waveform is required (gap is less than specified number of samples and
-        // positive, so it is not an overlap instead).
-        double fractionalGapSampleCount = getFractionalSampleCount(previousWaveform, nextWaveform);
-        if (fractionalGapSampleCount < sampleDifferenceAllowed &&
-              fractionalGapSampleCount >= 0) {  //do not want any gaps that are negative, meaning overlaps.
-          logger.info("Merging waveforms");
+    List<Waveform> sortedWaveforms = new ArrayList<>(waveforms);
+    Collections.sort(sortedWaveforms);
 
-          nextWaveform = merge(previousWaveform, nextWaveform);
-
-          // remove the previous waveform (which is now merged) and continue
-          newWaveforms.remove(newWaveforms.size() - 1);
-        }
-      }
-      if (!((previousWaveform.getStartTime().isBefore(nextWaveform.getStartTime()) ||
-        previousWaveform.getStartTime().equals(nextWaveform.getStartTime()))
-        && (previousWaveform.getEndTime().isAfter(nextWaveform.getEndTime()) ||
-        previousWaveform.getEndTime().equals(nextWaveform.getEndTime())))) {
-        // add the next waveform, update the previousWaveform and continue, but only if the nextWaveform is not included
+    // plan the runs of contiguous waveforms, each run stands in for the waveform merged so far
+    List<Waveform> newWaveforms = new ArrayList<>();
+    var run = new MergeRun(sortedWaveforms.get(0));
+    for (Waveform nextWaveform : sortedWaveforms.subList(1, sortedWaveforms.size())) {
+      if (run.canAppend(nextWaveform, sampleRateTolerance, sampleDifferenceAllowed)) {
+        run.append(nextWaveform);
+      } else if (!run.encloses(nextWaveform)) {
+        // start a new run with the next waveform, but only if the nextWaveform is not included
         // in the previous waveform
-        newWaveforms.add(nextWaveform);
-        previousWaveform = nextWaveform;
+        newWaveforms.add(run.toWaveform());
+        run = new MergeRun(nextWaveform);
       }
     }
+    newWaveforms.add(run.toWaveform());
 
-    // return the merged waveforms
-    logger.info("Returning list as {}", newWaveforms.size());
+    logger.debug("Merged {} waveforms into {}", waveforms.size(), newWaveforms.size());
     return newWaveforms;
   }
 
   /**
-   * Merges two waveforms together, including their underlying values
-   *
-   * @param first The first waveform to merge
-   * @param second The second waveform to merge
-   * @return The merged waveform, including the values from the two input waveforms.
+   * Run of contiguous {@link Waveform}s planned by {@link #mergeWaveforms(List, double, double)}.
+   * The run tracks the start time, sample rate, end time and sample count the merged waveform would
+   * have, without copying any samples until {@link #toWaveform()} is called.
    */
-  private static Waveform merge(Waveform first, Waveform second) {
-    // make a new Waveform that is a merger of the previousWaveform and the next Waveform
-    double[] samples = ArrayUtils
-      .addAll(first.getSamples(), second.getSamples());
-    double sampleRate = (samples.length - 1) /
-      getDurationSeconds(first.getStartTime(), second.getEndTime());
-    return
-      Waveform.create(first.getStartTime(), sampleRate, samples);
+  private static final class MergeRun {
+
+    private final Instant startTime;
+    private final List<Waveform> waveforms = new ArrayList<>();
+    private double sampleRateHz;
+    private Instant endTime;
+    private int sampleCount;
+
+    private MergeRun(Waveform first) {
+      this.startTime = first.getStartTime();
+      this.sampleRateHz = first.getSampleRateHz();
+      this.endTime = first.getEndTime();
+      this.sampleCount = first.getSampleCount();
+      waveforms.add(first);
+    }
+
+    /**
+     * Check whether the next waveform's sample rate is within tolerance of the run's and the gap
+     * between them is less than the specified number of samples and positive, so it is not an
+     * overlap instead.
+     */
+    private boolean canAppend(Waveform nextWaveform, double sampleRateTolerance,
+      double sampleDifferenceAllowed) {
+      if (Math.abs(sampleRateHz - nextWaveform.getSampleRateHz()) > sampleRateTolerance) {
+        return false;
+      }
+
+      double meanSampleRate = (nextWaveform.getSampleRateHz() + sampleRateHz) / 2.0;
+      double fractionalGapSampleCount = meanSampleRate *
+        getDurationSeconds(endTime, nextWaveform.getStartTime());
+      return fractionalGapSampleCount < sampleDifferenceAllowed && fractionalGapSampleCount >= 0;
+    }
+
+    /**
+     * Adds the waveform to the end of the run. The sample rate of the run is recomputed from the
+     * total sample count and the span of the run, as a merged waveform's would be.
+     */
+    private void append(Waveform nextWaveform) {
+      waveforms.add(nextWaveform);
+      sampleCount += nextWaveform.getSampleCount();
+      sampleRateHz = (sampleCount - 1) / getDurationSeconds(startTime, nextWaveform.getEndTime());
+      endTime = startTime.plusNanos((long) ((sampleCount - 1) * (1E9 / sampleRateHz)));
+    }
+
+    private boolean encloses(Waveform nextWaveform) {
+      return !startTime.isAfter(nextWaveform.getStartTime()) &&
+        !endTime.isBefore(nextWaveform.getEndTime());
+    }
+
+    /**
+     * @return the only waveform of the run, or a waveform merging the samples of every waveform of
+     * the run
+     */
+    private Waveform toWaveform() {
+      if (waveforms.size() == 1) {
+        return waveforms.get(0);
+      }
+
+      var samples = new double[sampleCount];
+      var offset = 0;
+      for (Waveform waveform : waveforms) {
+        double[] waveformSamples = waveform.getSamples();
+        System.arraycopy(waveformSamples, 0, samples, offset, waveformSamples.length);
+        offset += waveformSamples.length;
+      }
+      return Waveform.createFromQuantizedSamples(startTime, sampleRateHz, samples);
+    }
   }
 
   /**
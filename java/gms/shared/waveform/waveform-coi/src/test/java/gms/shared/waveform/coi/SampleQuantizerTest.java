@@ -0,0 +1,105 @@
+package gms.shared.waveform.coi;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SampleQuantizerTest {
+
+  private static final int SAMPLES_PER_PROPERTY = 200_000;
+
+  private final Random random = new Random(20221019L);
+
+  @Test
+  void testQuantizeMatchesExactForUniformSamples() {
+    assertMatchesExact(() -> (random.nextDouble() - 0.5) * 2000);
+  }
+
+  @Test
+  void testQuantizeMatchesExactAcrossMagnitudes() {
+    assertMatchesExact(() -> (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 12));
+  }
+
+  @Test
+  void testQuantizeMatchesExactForRandomBits() {
+    assertMatchesExact(() -> {
+      double sample;
+      do {
+        sample = Double.longBitsToDouble(random.nextLong());
+      } while (!Double.isFinite(sample));
+      return sample;
+    });
+  }
+
+  @Test
+  void testQuantizeMatchesExactNearRoundingPoints() {
+    // samples within a few ulps of the half-way points of both the 10 and the 4 decimal place roundings
+    assertMatchesExact(() -> {
+      var lastPlace = random.nextBoolean() ? 1e-4 : 1e-10;
+      var units = random.nextInt(2_000_000_000) - 1_000_000_000;
+      var halfWay = (units + 0.5) * lastPlace;
+      var nearby = halfWay + (random.nextInt(9) - 4) * Math.ulp(halfWay);
+      return random.nextInt(4) == 0 ? halfWay - 5e-11 : nearby;
+    });
+  }
+
+  @Test
+  void testQuantizeMatchesExactForDecimalSamples() {
+    // samples parsed from decimal text, as read from JSON or flat files
+    assertMatchesExact(() -> Double.parseDouble(String.format("%d.%04d%d",
+      random.nextInt(20_000) - 10_000, random.nextInt(10_000), random.nextInt(100_000_000))));
+  }
+
+  @ParameterizedTest
+  @ValueSource(doubles = {0.0, -0.0, -0.00004, 0.00005, -0.00005, 0.000049999995, -219.70204999999999,
+    0.70204999999, 1e300, -1e-300, Double.MIN_VALUE, Double.MAX_VALUE, 0x1p48, 0x1p49 + 0.5})
+  void testQuantizeMatchesExactForEdgeCases(double sample) {
+    assertQuantizedEquals(sample);
+  }
+
+  @ParameterizedTest
+  @ValueSource(doubles = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY})
+  void testQuantizeRejectsNonFiniteSamples(double sample) {
+    assertThrows(NumberFormatException.class, () -> SampleQuantizer.quantize(sample));
+  }
+
+  @Test
+  void testQuantizeArrayCopies() {
+    var samples = new double[]{1.23456, -0.00004, 7.0};
+
+    var quantized = SampleQuantizer.quantize(samples);
+
+    assertNotSame(samples, quantized);
+    assertArrayEquals(new double[]{1.23456, -0.00004, 7.0}, samples);
+    assertArrayEquals(new double[]{1.2346, 0.0, 7.0}, quantized);
+  }
+
+  @Test
+  void testQuantizeIsIdempotent() {
+    for (var i = 0; i < SAMPLES_PER_PROPERTY; i++) {
+      var quantized = SampleQuantizer.quantize((random.nextDouble() - 0.5) * 2000);
+      assertEquals(Double.doubleToLongBits(quantized),
+        Double.doubleToLongBits(SampleQuantizer.quantize(quantized)));
+    }
+  }
+
+  private static void assertMatchesExact(DoubleSupplier samples) {
+    for (var i = 0; i < SAMPLES_PER_PROPERTY; i++) {
+      assertQuantizedEquals(samples.getAsDouble());
+    }
+  }
+
+  private static void assertQuantizedEquals(double sample) {
+    assertEquals(Double.doubleToLongBits(SampleQuantizer.quantizeExact(sample)),
+      Double.doubleToLongBits(SampleQuantizer.quantize(sample)),
+      () -> "Quantized samples differ for " + sample);
+  }
+}
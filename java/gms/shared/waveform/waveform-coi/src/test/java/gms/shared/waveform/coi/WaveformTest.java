@@ -55,6 +55,18 @@ class WaveformTest {
     assertArrayEquals(result, waveform.getSamples());
   }
 
+  @Test
+  void createFromQuantizedSamplesTest() {
+    final Waveform waveform = Waveform.create(startTime, sampleRate,
+      new double[]{-36.488949, -219.70204999999999, 1.0});
+
+    final Waveform copy = Waveform.createFromQuantizedSamples(startTime, sampleRate,
+      waveform.getSamples());
+    assertEquals(waveform, copy);
+    assertThrows(IllegalArgumentException.class,
+      () -> Waveform.createFromQuantizedSamples(startTime, sampleRate, new double[]{}));
+  }
+
   @Test
   void createValidTest() {
     final int sampleCount = 5;
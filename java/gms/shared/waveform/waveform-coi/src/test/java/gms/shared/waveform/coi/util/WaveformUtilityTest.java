@@ -15,6 +15,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -405,6 +406,71 @@ class WaveformUtilityTest {
     assertEquals(numWaveforms, WaveformUtility.mergeWaveforms(waveforms, sampTol, sampDiff).size());
   }
 
+  @Test
+  void testMergeWaveformsDoesNotModifyInput() {
+    List<Waveform> waveforms = List.of(waveform3, waveform2MergedGap1, waveform1);
+
+    List<Waveform> mergedWaveforms = WaveformUtility.mergeWaveforms(waveforms, 1.0, 1.5);
+
+    assertEquals(List.of(waveform3, waveform2MergedGap1, waveform1), waveforms);
+    assertEquals(1, mergedWaveforms.size());
+    assertEquals(waveform1.getStartTime(), mergedWaveforms.get(0).getStartTime());
+    assertEquals(waveform1.getSampleCount() + waveform2MergedGap1.getSampleCount()
+      + waveform3.getSampleCount(), mergedWaveforms.get(0).getSampleCount());
+  }
+
+  @Test
+  void testMergeManyWaveformsMatchesPairwiseMerge() {
+    List<Waveform> waveforms = new ArrayList<>();
+    var startTime = Instant.EPOCH;
+    for (var i = 0; i < 200; i++) {
+      var samples = new double[10];
+      for (var j = 0; j < samples.length; j++) {
+        samples[j] = i * 10 + j + 0.25;
+      }
+      // every tenth segment has a gap too wide to merge
+      var gapMillis = i % 10 == 9 ? 100 : 25;
+      var waveform = Waveform.create(startTime, 40.0, samples);
+      waveforms.add(waveform);
+      startTime = waveform.getEndTime().plusMillis(gapMillis);
+    }
+
+    // pairwise reference merge, copying the merged samples for every added waveform
+    List<Waveform> expected = new ArrayList<>();
+    var previous = waveforms.get(0);
+    for (Waveform next : waveforms.subList(1, waveforms.size())) {
+      double gap = 40.0 * Duration.between(previous.getEndTime(), next.getStartTime()).toNanos() / 1.0e9;
+      if (gap >= 0 && gap < 1.5) {
+        double[] samples = new double[previous.getSampleCount() + next.getSampleCount()];
+        System.arraycopy(previous.getSamples(), 0, samples, 0, previous.getSampleCount());
+        System.arraycopy(next.getSamples(), 0, samples, previous.getSampleCount(), next.getSampleCount());
+        double sampleRate = (samples.length - 1) /
+          (Duration.between(previous.getStartTime(), next.getEndTime()).toNanos() / 1.0e9);
+        previous = Waveform.create(previous.getStartTime(), sampleRate, samples);
+      } else {
+        expected.add(previous);
+        previous = next;
+      }
+    }
+    expected.add(previous);
+
+    List<Waveform> mergedWaveforms = WaveformUtility.mergeWaveforms(waveforms, 1.0, 1.5);
+
+    assertEquals(20, mergedWaveforms.size());
+    assertEquals(expected, mergedWaveforms);
+  }
+
+  @Test
+  void testMergeWaveformsRemovesEnclosedWaveform() {
+    Waveform enclosed = Waveform.create(waveform1.getStartTime().plusMillis(100), 40.0,
+      getDoubleArray(5, 5.0));
+
+    List<Waveform> mergedWaveforms = WaveformUtility.mergeWaveforms(
+      List.of(enclosed, waveform1, waveform3), 1.0, 1.5);
+
+    assertEquals(List.of(waveform1, waveform3), mergedWaveforms);
+  }
+
   private static double[] getDoubleArray(int n, double value) {
     double[] a = new double[n];
     Arrays.fill(a, value);
@@ -6,31 +6,62 @@ import gms.shared.workflow.coi.IntervalId;
 import gms.shared.workflow.coi.StageInterval;
 import gms.shared.workflow.coi.WorkflowDefinitionId;
 import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.ScanQuery;
-import org.apache.ignite.lang.IgniteBiPredicate;
 
 import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.EventType;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * Cache that delegates to an Apache Ignite {@link IgniteCache} for CRUD operations on {@link StageInterval}s. Ignite is
  * configured to contain key-value pairs of Stage names to {@link NavigableMap}s of StageIntervals by start time. The
  * combination of stage name and start time define uniqueness for StageInterval, allowing this caching structure to
  * contain all relevant intervals without concerns of conflicting keys.
+ * <p>
+ * Range and modification time lookups are answered from a local {@link StageIntervalIndex}, which a continuous query
+ * keeps in sync with the updates, removals and expirations made to the Ignite cache by every node. Closing the cache
+ * closes the continuous query.
  */
-public class IntervalCache {
+public class IntervalCache implements AutoCloseable {
 
   private final IgniteCache<IntervalId, StageInterval> stageIntervalsByIntervalId;
+  private final StageIntervalIndex stageIntervalIndex;
+
+  // Held open for the life of the cache, closing it stops the index updates
+  private final QueryCursor<Cache.Entry<IntervalId, StageInterval>> indexUpdates;
 
   private IntervalCache(IgniteCache<IntervalId, StageInterval> stageIntervalsByNameAndStartTime) {
     this.stageIntervalsByIntervalId = stageIntervalsByNameAndStartTime;
+    this.stageIntervalIndex = new StageIntervalIndex();
+
+    var indexUpdatesQuery = new ContinuousQuery<IntervalId, StageInterval>();
+    indexUpdatesQuery.setInitialQuery(new ScanQuery<>());
+    indexUpdatesQuery.setIncludeExpired(true);
+    indexUpdatesQuery.setLocalListener(events -> events.forEach(this::updateIndex));
+
+    // The listener is live before the initial scan is read, so scanned intervals must not replace updates or
+    // removals the listener has already applied
+    this.indexUpdates = stageIntervalsByIntervalId.query(indexUpdatesQuery);
+    try {
+      indexUpdates.forEach(entry -> stageIntervalIndex.putInitial(entry.getValue()));
+    } catch (RuntimeException e) {
+      indexUpdates.close();
+      throw e;
+    }
+    stageIntervalIndex.endBootstrap();
   }
 
   /**
@@ -152,24 +183,17 @@ public class IntervalCache {
    * within the provided time range
    */
   public List<StageInterval> getAll(Collection<String> stageNames, Instant startTime, Instant endTime) {
-
-    IgniteBiPredicate<IntervalId, StageInterval> filter = (k, p) -> stageNames.contains(p.getIntervalId().getDefinitionId().getName())
-      && p.getStartTime().isBefore(endTime) && p.getEndTime().isAfter(startTime);
-
-    return stageIntervalsByIntervalId.query(new ScanQuery<>(filter), Cache.Entry::getValue).getAll();
-
+    return stageIntervalIndex.getAll(stageNames, startTime, endTime);
   }
 
   /**
-   * Retrieves all modification times for all stage intervals, and finds the maximum time.
+   * Retrieves the maximum modification time of all stage intervals. The time is maintained as intervals are cached and
+   * removed.
    *
    * @return The latest modification time for all stage intervals
    */
   public Optional<Instant> getLatestModificationTime() {
-    return stageIntervalsByIntervalId.query(
-      new ScanQuery<IntervalId, StageInterval>(),
-      entry -> entry.getValue().getModificationTime()).getAll().stream()
-      .max(Instant::compareTo);
+    return stageIntervalIndex.getLatestModificationTime();
   }
 
   /**
@@ -184,6 +208,7 @@ public class IntervalCache {
     try {
       lock.lock();
       stageIntervalsByIntervalId.put(stageInterval.getIntervalId(), stageInterval);
+      stageIntervalIndex.put(stageInterval);
     }
     finally {
       lock.unlock();
@@ -191,20 +216,39 @@ public class IntervalCache {
   }
 
   /**
-   * Atomically Inserts or updates a collection of StageIntervals. This method will lock on each stage name.
+   * Atomically Inserts or updates a collection of StageIntervals. This method locks all of the intervals at once and
+   * stores them in a single batch.
    *
    * @param stageIntervals StageIntervals
    */
   public void putAll(Collection<? extends StageInterval> stageIntervals) {
 
-    stageIntervals.forEach(this::put);
+    if (stageIntervals.isEmpty()) {
+      return;
+    }
+
+    var stageIntervalsById = stageIntervals.stream()
+      .collect(Collectors.toMap(StageInterval::getIntervalId, Function.<StageInterval>identity(),
+        (first, second) -> second, LinkedHashMap::new));
+
+    var lock = stageIntervalsByIntervalId.lockAll(stageIntervalsById.keySet());
+    try {
+      lock.lock();
+      stageIntervalsByIntervalId.putAll(stageIntervalsById);
+      stageIntervalsById.values().forEach(stageIntervalIndex::put);
+    }
+    finally {
+      lock.unlock();
+    }
   }
 
   /**
-   * Clears all values within the cache
+   * Clears all values within the cache. The intervals are removed (rather than cleared) so that every node's index
+   * sees the removals.
    */
   public void clear() {
-    stageIntervalsByIntervalId.clear();
+    stageIntervalsByIntervalId.removeAll();
+    stageIntervalIndex.clear();
   }
 
   /**
@@ -213,23 +257,41 @@ public class IntervalCache {
    */
   public void prune(Instant olderThan) {
 
-    IgniteBiPredicate<IntervalId, StageInterval> filter = (k, p) -> !p.getEndTime().isAfter(olderThan);
+    var keys = stageIntervalIndex.getIdsEndingBy(olderThan);
 
-    var keys = stageIntervalsByIntervalId.query(new ScanQuery<>(filter), Cache.Entry::getKey).getAll();
+    if (keys.isEmpty()) {
+      return;
+    }
 
-    keys.forEach(intervalId -> {
-      var lock = acquireLock(intervalId);
-      try {
-        lock.lock();
-        stageIntervalsByIntervalId.remove(intervalId);
-      }
-      finally {
-        lock.unlock();
-      }
-    });
+    var lock = stageIntervalsByIntervalId.lockAll(keys);
+    try {
+      lock.lock();
+      stageIntervalsByIntervalId.removeAll(Set.copyOf(keys));
+      keys.forEach(stageIntervalIndex::remove);
+    }
+    finally {
+      lock.unlock();
+    }
 
   }
 
+  /**
+   * Stops keeping the index in sync with the Ignite cache, by closing the continuous query
+   */
+  @Override
+  public void close() {
+    indexUpdates.close();
+  }
+
+  // Events can be delivered after a newer interval was put locally, so they only replace older indexed intervals
+  private void updateIndex(CacheEntryEvent<? extends IntervalId, ? extends StageInterval> event) {
+    if (event.getEventType() == EventType.REMOVED || event.getEventType() == EventType.EXPIRED) {
+      stageIntervalIndex.removeIfNotNewer(event.getKey(), event.getOldValue());
+    } else {
+      stageIntervalIndex.putIfNotOlder(event.getValue());
+    }
+  }
+
   /**
    * Returns a {@link Lock} allowing the caller to lock a given {@link StageInterval} in the cache to prevent concurrent
    * updates
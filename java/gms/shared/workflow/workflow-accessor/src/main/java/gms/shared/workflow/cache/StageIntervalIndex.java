@@ -0,0 +1,219 @@
+package gms.shared.workflow.cache;
+
+import gms.shared.workflow.coi.IntervalId;
+import gms.shared.workflow.coi.StageInterval;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Local index over the {@link StageInterval}s held by the {@link IntervalCache}, kept in sync with the Ignite cache by
+ * the cache's continuous query. Intervals are indexed by stage name and start time, so range lookups only visit the
+ * intervals of the requested stages near the requested time range, and the latest modification time is maintained as
+ * intervals are added and removed instead of being recomputed from every cached interval.
+ * <p>
+ * Updates are serialized, lookups are lock-free and may observe an update that is in progress for a different stage.
+ * <p>
+ * The index starts in bootstrap mode, in which it records the ids of the intervals that are put or removed. Intervals
+ * from the initial scan of the Ignite cache are added with {@link #putInitial(StageInterval)}, which skips intervals
+ * that have already been updated or removed, since the scan may return a value older than the one in the update.
+ * {@link #endBootstrap()} ends bootstrap mode once the scan has been applied.
+ * <p>
+ * Updates from the continuous query can be delivered after a newer interval was put locally, so they are applied with
+ * {@link #putIfNotOlder(StageInterval)} and {@link #removeIfNotNewer(IntervalId, StageInterval)}, which compare
+ * modification times with the indexed interval first.
+ */
+final class StageIntervalIndex {
+
+  private final Map<String, NavigableMap<Instant, StageInterval>> intervalsByStageAndStartTime =
+    new ConcurrentHashMap<>();
+
+  // Longest interval seen per stage, bounds how far before a range start an overlapping interval can start
+  private final Map<String, Duration> maxIntervalDurationByStage = new ConcurrentHashMap<>();
+
+  // Number of indexed intervals per modification time, so the latest time survives removals
+  private final ConcurrentSkipListMap<Instant, Integer> modificationTimeCounts = new ConcurrentSkipListMap<>();
+
+  // Ids put or removed while the initial scan is being applied, null once bootstrap has ended
+  private Set<IntervalId> idsUpdatedDuringBootstrap = new HashSet<>();
+
+  /**
+   * Adds the interval to the index, replacing any interval with the same {@link IntervalId}.
+   *
+   * @param stageInterval the interval to index
+   */
+  synchronized void put(StageInterval stageInterval) {
+    if (idsUpdatedDuringBootstrap != null) {
+      idsUpdatedDuringBootstrap.add(stageInterval.getIntervalId());
+    }
+
+    index(stageInterval);
+  }
+
+  /**
+   * Adds the interval to the index, unless the indexed interval with the same {@link IntervalId} was modified after it.
+   *
+   * @param stageInterval the interval to index
+   */
+  synchronized void putIfNotOlder(StageInterval stageInterval) {
+    if (idsUpdatedDuringBootstrap != null) {
+      idsUpdatedDuringBootstrap.add(stageInterval.getIntervalId());
+    }
+
+    var indexed = find(stageInterval.getIntervalId());
+    if (indexed == null || !stageInterval.getModificationTime().isBefore(indexed.getModificationTime())) {
+      index(stageInterval);
+    }
+  }
+
+  /**
+   * Adds an interval read by the initial scan of the cache, unless an interval with the same {@link IntervalId} has
+   * been put or removed since the index was created.
+   *
+   * @param stageInterval the interval to index
+   */
+  synchronized void putInitial(StageInterval stageInterval) {
+    if (idsUpdatedDuringBootstrap == null || !idsUpdatedDuringBootstrap.contains(stageInterval.getIntervalId())) {
+      index(stageInterval);
+    }
+  }
+
+  /**
+   * Ends bootstrap mode, after which the updated ids are no longer recorded.
+   */
+  synchronized void endBootstrap() {
+    idsUpdatedDuringBootstrap = null;
+  }
+
+  private void index(StageInterval stageInterval) {
+    var intervalsByStartTime = intervalsByStageAndStartTime
+      .computeIfAbsent(stageInterval.getName(), key -> new ConcurrentSkipListMap<>());
+
+    var previous = intervalsByStartTime.put(stageInterval.getStartTime(), stageInterval);
+    if (previous != null) {
+      decrementModificationTime(previous.getModificationTime());
+    }
+    modificationTimeCounts.merge(stageInterval.getModificationTime(), 1, Integer::sum);
+
+    var duration = Duration.between(stageInterval.getStartTime(), stageInterval.getEndTime());
+    maxIntervalDurationByStage.merge(stageInterval.getName(), duration,
+      (current, added) -> current.compareTo(added) >= 0 ? current : added);
+  }
+
+  /**
+   * Removes the interval with the {@link IntervalId} from the index, if present.
+   *
+   * @param intervalId id of the interval to remove
+   */
+  synchronized void remove(IntervalId intervalId) {
+    if (idsUpdatedDuringBootstrap != null) {
+      idsUpdatedDuringBootstrap.add(intervalId);
+    }
+
+    var intervalsByStartTime = intervalsByStageAndStartTime.get(intervalId.getDefinitionId().getName());
+    if (intervalsByStartTime == null) {
+      return;
+    }
+
+    var previous = intervalsByStartTime.remove(intervalId.getStartTime());
+    if (previous != null) {
+      decrementModificationTime(previous.getModificationTime());
+    }
+  }
+
+  /**
+   * Removes the interval with the {@link IntervalId} from the index, unless the indexed interval was modified after
+   * the removed one.
+   *
+   * @param intervalId id of the interval to remove
+   * @param removed the removed interval, or null if it is not known, in which case the indexed interval is removed
+   */
+  synchronized void removeIfNotNewer(IntervalId intervalId, StageInterval removed) {
+    var indexed = find(intervalId);
+    if (removed != null && indexed != null && indexed.getModificationTime().isAfter(removed.getModificationTime())) {
+      if (idsUpdatedDuringBootstrap != null) {
+        idsUpdatedDuringBootstrap.add(intervalId);
+      }
+      return;
+    }
+
+    remove(intervalId);
+  }
+
+  private StageInterval find(IntervalId intervalId) {
+    var intervalsByStartTime = intervalsByStageAndStartTime.get(intervalId.getDefinitionId().getName());
+    return intervalsByStartTime == null ? null : intervalsByStartTime.get(intervalId.getStartTime());
+  }
+
+  /**
+   * Removes every interval from the index
+   */
+  synchronized void clear() {
+    intervalsByStageAndStartTime.clear();
+    maxIntervalDurationByStage.clear();
+    modificationTimeCounts.clear();
+  }
+
+  /**
+   * @return the intervals of the stages, in stage order then start time order, that overlap the time range, once
+   * each however many times their stage is named
+   */
+  List<StageInterval> getAll(Collection<String> stageNames, Instant startTime, Instant endTime) {
+    var stageIntervals = new ArrayList<StageInterval>();
+
+    for (String stageName : new LinkedHashSet<>(stageNames)) {
+      var intervalsByStartTime = intervalsByStageAndStartTime.get(stageName);
+      if (intervalsByStartTime == null) {
+        continue;
+      }
+
+      var earliestStart = startTime.minus(maxIntervalDurationByStage.getOrDefault(stageName, Duration.ZERO));
+      if (!earliestStart.isBefore(endTime)) {
+        continue;
+      }
+
+      intervalsByStartTime.subMap(earliestStart, true, endTime, false).values().stream()
+        .filter(stageInterval -> stageInterval.getEndTime().isAfter(startTime))
+        .forEach(stageIntervals::add);
+    }
+
+    return stageIntervals;
+  }
+
+  /**
+   * @return the ids of the intervals whose end time is not after the provided time
+   */
+  List<IntervalId> getIdsEndingBy(Instant olderThan) {
+    var intervalIds = new ArrayList<IntervalId>();
+
+    intervalsByStageAndStartTime.values().forEach(intervalsByStartTime ->
+      intervalsByStartTime.headMap(olderThan, true).values().stream()
+        .filter(stageInterval -> !stageInterval.getEndTime().isAfter(olderThan))
+        .map(StageInterval::getIntervalId)
+        .forEach(intervalIds::add));
+
+    return intervalIds;
+  }
+
+  /**
+   * @return the latest modification time of the indexed intervals
+   */
+  Optional<Instant> getLatestModificationTime() {
+    return Optional.ofNullable(modificationTimeCounts.lastEntry()).map(Map.Entry::getKey);
+  }
+
+  private void decrementModificationTime(Instant modificationTime) {
+    modificationTimeCounts.computeIfPresent(modificationTime, (time, count) -> count == 1 ? null : count - 1);
+  }
+}
@@ -20,7 +20,9 @@ import org.junit.jupiter.api.io.TempDir;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -45,6 +47,7 @@ class IntervalCacheTest {
   @AfterEach
   void tearDown() {
     intervalCache.clear();
+    intervalCache.close();
   }
 
   @AfterAll
@@ -128,6 +131,10 @@ class IntervalCacheTest {
     assertEquals(2, actualIntervals.size());
     assertTrue(actualIntervals.contains(firstInterval));
     assertTrue(actualIntervals.contains(secondInterval));
+
+    // each interval is returned once, however many times its stage is named
+    assertEquals(List.of(firstInterval, secondInterval),
+      intervalCache.getAll(List.of(firstStage, secondStage, firstStage), startTime, endTime));
   }
 
 
@@ -180,4 +187,138 @@ class IntervalCacheTest {
     assertTrue(returnedIntervals.contains(nextSecondInterval));
     assertEquals(2, returnedIntervals.size());
   }
-}
\ No newline at end of file
+
+  @Test
+  void testGetLatestModificationTime() {
+    Instant startTime = Instant.EPOCH;
+    Instant endTime = startTime.plusSeconds(500);
+    String stageName = "Test Stage";
+    var intervalData = MockIntervalData.get(
+      startTime,
+      endTime,
+      Set.of(WorkflowDefinitionId.from(stageName)));
+    var stageInterval = (InteractiveAnalysisStageInterval) intervalData.get(stageName).get(0);
+    var nextInterval = stageInterval.toBuilder()
+      .setStartTime(startTime.plusSeconds(500))
+      .setEndTime(endTime.plusSeconds(500))
+      .setModificationTime(stageInterval.getModificationTime().plusSeconds(60))
+      .build();
+
+    assertTrue(intervalCache.getLatestModificationTime().isEmpty());
+
+    intervalCache.putAll(List.of(stageInterval, nextInterval));
+    assertEquals(Optional.of(nextInterval.getModificationTime()), intervalCache.getLatestModificationTime());
+
+    // replacing an interval replaces its modification time
+    var modifiedInterval = nextInterval.toBuilder()
+      .setModificationTime(stageInterval.getModificationTime().minusSeconds(60))
+      .build();
+    intervalCache.put(modifiedInterval);
+    assertEquals(Optional.of(stageInterval.getModificationTime()), intervalCache.getLatestModificationTime());
+
+    intervalCache.prune(endTime);
+    assertEquals(Optional.of(modifiedInterval.getModificationTime()), intervalCache.getLatestModificationTime());
+  }
+
+  @Test
+  void testIndexFollowsOtherCacheUpdates() throws InterruptedException {
+    Instant startTime = Instant.EPOCH;
+    Instant endTime = startTime.plusSeconds(500);
+    String stageName = "Test Stage";
+    var intervalData = MockIntervalData.get(
+      startTime,
+      endTime,
+      Set.of(WorkflowDefinitionId.from(stageName)));
+    StageInterval stageInterval = intervalData.get(stageName).get(0);
+
+    // a second cache instance stands in for another node updating the shared Ignite cache
+    try (var otherIntervalCache = IntervalCache.create()) {
+      otherIntervalCache.put(stageInterval);
+
+      assertEventually(() -> intervalCache.get(stageName, startTime, endTime).contains(stageInterval));
+      assertEquals(Optional.of(stageInterval.getModificationTime()), intervalCache.getLatestModificationTime());
+
+      otherIntervalCache.prune(endTime);
+    }
+
+    assertEventually(() -> intervalCache.get(stageName, startTime, endTime).isEmpty());
+    assertTrue(intervalCache.getLatestModificationTime().isEmpty());
+  }
+
+  @Test
+  void testInitialScanDoesNotReplaceBootstrapUpdates() {
+    Instant startTime = Instant.EPOCH;
+    Instant endTime = startTime.plusSeconds(500);
+    String stageName = "Test Stage";
+    var intervalData = MockIntervalData.get(
+      startTime,
+      endTime,
+      Set.of(WorkflowDefinitionId.from(stageName)));
+    var stageInterval = (InteractiveAnalysisStageInterval) intervalData.get(stageName).get(0);
+    var updatedInterval = stageInterval.toBuilder()
+      .setModificationTime(stageInterval.getModificationTime().plusSeconds(60))
+      .build();
+    var removedInterval = stageInterval.toBuilder()
+      .setStartTime(startTime.plusSeconds(500))
+      .setEndTime(endTime.plusSeconds(500))
+      .build();
+
+    var stageIntervalIndex = new StageIntervalIndex();
+
+    // listener events delivered before the stale scan entries of the same intervals
+    stageIntervalIndex.put(updatedInterval);
+    stageIntervalIndex.remove(removedInterval.getIntervalId());
+    stageIntervalIndex.putInitial(stageInterval);
+    stageIntervalIndex.putInitial(removedInterval);
+    stageIntervalIndex.endBootstrap();
+
+    assertEquals(List.of(updatedInterval),
+      stageIntervalIndex.getAll(List.of(stageName), startTime, endTime.plusSeconds(500)));
+    assertEquals(Optional.of(updatedInterval.getModificationTime()),
+      stageIntervalIndex.getLatestModificationTime());
+
+    // once bootstrap has ended every update is applied
+    stageIntervalIndex.put(removedInterval);
+    assertEquals(List.of(updatedInterval, removedInterval),
+      stageIntervalIndex.getAll(List.of(stageName), startTime, endTime.plusSeconds(500)));
+  }
+
+  @Test
+  void testLateUpdatesDoNotReplaceNewerIntervals() {
+    Instant startTime = Instant.EPOCH;
+    Instant endTime = startTime.plusSeconds(500);
+    String stageName = "Test Stage";
+    var intervalData = MockIntervalData.get(
+      startTime,
+      endTime,
+      Set.of(WorkflowDefinitionId.from(stageName)));
+    var stageInterval = (InteractiveAnalysisStageInterval) intervalData.get(stageName).get(0);
+    var updatedInterval = stageInterval.toBuilder()
+      .setModificationTime(stageInterval.getModificationTime().plusSeconds(60))
+      .build();
+
+    var stageIntervalIndex = new StageIntervalIndex();
+    stageIntervalIndex.endBootstrap();
+
+    // the events of earlier updates delivered after the newer interval was put locally
+    stageIntervalIndex.put(updatedInterval);
+    stageIntervalIndex.putIfNotOlder(stageInterval);
+    stageIntervalIndex.removeIfNotNewer(stageInterval.getIntervalId(), stageInterval);
+
+    assertEquals(List.of(updatedInterval), stageIntervalIndex.getAll(List.of(stageName), startTime, endTime));
+    assertEquals(Optional.of(updatedInterval.getModificationTime()), stageIntervalIndex.getLatestModificationTime());
+
+    // events of the indexed interval or later ones are applied
+    stageIntervalIndex.removeIfNotNewer(updatedInterval.getIntervalId(), updatedInterval);
+    assertTrue(stageIntervalIndex.getAll(List.of(stageName), startTime, endTime).isEmpty());
+    stageIntervalIndex.putIfNotOlder(stageInterval);
+    assertEquals(List.of(stageInterval), stageIntervalIndex.getAll(List.of(stageName), startTime, endTime));
+  }
+
+  private static void assertEventually(BooleanSupplier condition) throws InterruptedException {
+    for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+      Thread.sleep(100);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+}
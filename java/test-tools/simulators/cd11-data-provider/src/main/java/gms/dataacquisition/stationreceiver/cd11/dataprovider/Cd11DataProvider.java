@@ -2,6 +2,8 @@ package gms.dataacquisition.stationreceiver.cd11.dataprovider;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gms.dataacquisition.stationreceiver.cd11.dataprovider.configuration.Cd11DataProviderConfig;
+import gms.dataacquisition.stationreceiver.cd11.dataprovider.configuration.LoadGeneratorConfig;
+import gms.dataacquisition.stationreceiver.cd11.dataprovider.load.Cd11LoadGenerator;
 import gms.dataacquisition.stationreceiver.cd11.dataprovider.rsdfsource.RsdfSource;
 import gms.dataacquisition.stationreceiver.cd11.dataprovider.rsdfsource.file.FileRsdfSource;
 import gms.dataacquisition.stationreceiver.cd11.dataprovider.rsdfsource.kafka.KafkaRsdfSource;
@@ -13,6 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.temporal.ChronoUnit;
 
 /**
@@ -47,6 +50,11 @@ class Cd11DataProvider {
 
     logger.info("Creating data provider using {} as the data source", inputMode);
 
+    if (inputMode.compareToIgnoreCase("load") == 0) {
+      runLoadGenerator(providerConfig.getLoadConfig().orElseThrow());
+      return;
+    }
+
     if (inputMode.compareToIgnoreCase("kafka") == 0) {
       source = KafkaRsdfSource.create(providerConfig.getKafkaConfig().orElseThrow(),
         systemConfig.getValue("consumer-id"),
@@ -76,4 +84,18 @@ class Cd11DataProvider {
     var disposable = framePublisher.publish(source).subscribe();
     Runtime.getRuntime().addShutdownHook(new Thread(disposable::dispose));
   }
-}
\ No newline at end of file
+
+  private static void runLoadGenerator(LoadGeneratorConfig loadConfig) {
+    var report = Cd11LoadGenerator.create(loadConfig).run();
+    try {
+      var reportJson = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+      logger.info("Load generator report:\n{}", reportJson);
+      if (loadConfig.getReportPath().isPresent()) {
+        Files.writeString(Path.of(loadConfig.getReportPath().get()), reportJson);
+      }
+    } catch (IOException e) {
+      logger.error("Failed to write load generator report", e);
+      System.exit(1);
+    }
+  }
+}
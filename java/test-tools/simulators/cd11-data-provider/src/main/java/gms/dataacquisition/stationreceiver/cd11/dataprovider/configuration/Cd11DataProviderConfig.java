@@ -17,6 +17,8 @@ public abstract class Cd11DataProviderConfig {
 
   public abstract Optional<KafkaRsdfSourceConfig> getKafkaConfig();
 
+  public abstract Optional<LoadGeneratorConfig> getLoadConfig();
+
   public abstract String getConnectionFrameCreator();
 
   public abstract String getConnectionFrameDestination();
@@ -26,10 +28,11 @@ public abstract class Cd11DataProviderConfig {
     @JsonProperty("providerInputMode") String providerInputMode,
     @JsonProperty("fileConfig") Optional<FileRsdfSourceConfig> fileConfig,
     @JsonProperty("autoOffsetResetConfig") Optional<KafkaRsdfSourceConfig> kafkaConfig,
+    @JsonProperty("loadConfig") Optional<LoadGeneratorConfig> loadConfig,
     @JsonProperty("connectionFrameCreator") String connectionFrameCreator,
     @JsonProperty("connectionFrameDestination") String connectionFrameDestination
   ) {
     return new AutoValue_Cd11DataProviderConfig(providerInputMode, fileConfig,
-      kafkaConfig, connectionFrameCreator, connectionFrameDestination);
+      kafkaConfig, loadConfig, connectionFrameCreator, connectionFrameDestination);
   }
 }
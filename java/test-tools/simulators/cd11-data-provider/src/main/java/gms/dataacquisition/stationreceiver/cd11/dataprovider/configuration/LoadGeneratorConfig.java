@@ -0,0 +1,48 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.configuration;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.auto.value.AutoValue;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+@AutoValue
+public abstract class LoadGeneratorConfig {
+
+  public abstract String getSeedDataLocation();
+
+  public abstract int getStationCount();
+
+  public abstract double getFramesPerSecondPerStation();
+
+  public abstract int getFramesPerStation();
+
+  public abstract Optional<Long> getKafkaAckLatencyMillis();
+
+  public abstract Optional<Integer> getBackpressureBufferSize();
+
+  public abstract Optional<String> getReportPath();
+
+  @JsonCreator
+  public static LoadGeneratorConfig from(
+    @JsonProperty("seedDataLocation") String seedDataLocation,
+    @JsonProperty("stationCount") int stationCount,
+    @JsonProperty("framesPerSecondPerStation") double framesPerSecondPerStation,
+    @JsonProperty("framesPerStation") int framesPerStation,
+    @JsonProperty("kafkaAckLatencyMillis") Optional<Long> kafkaAckLatencyMillis,
+    @JsonProperty("backpressureBufferSize") Optional<Integer> backpressureBufferSize,
+    @JsonProperty("reportPath") Optional<String> reportPath) {
+
+    checkArgument(stationCount > 0, "Station count must be positive");
+    checkArgument(framesPerSecondPerStation > 0, "Frames per second per station must be positive");
+    checkArgument(framesPerStation > 0, "Frames per station must be positive");
+    kafkaAckLatencyMillis.ifPresent(latency -> checkArgument(latency >= 0,
+      "Kafka acknowledgement latency cannot be negative"));
+    backpressureBufferSize.ifPresent(size -> checkArgument(size > 0, "Backpressure buffer size must be positive"));
+
+    return new AutoValue_LoadGeneratorConfig(seedDataLocation, stationCount, framesPerSecondPerStation,
+      framesPerStation, kafkaAckLatencyMillis, backpressureBufferSize, reportPath);
+  }
+}
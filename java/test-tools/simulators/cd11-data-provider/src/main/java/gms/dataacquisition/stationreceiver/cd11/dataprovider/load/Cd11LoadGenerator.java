@@ -0,0 +1,153 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import gms.dataacquisition.stationreceiver.cd11.common.Cd11FrameReader;
+import gms.dataacquisition.stationreceiver.cd11.common.Cd11OrMalformedFrame;
+import gms.dataacquisition.stationreceiver.cd11.common.gaps.Cd11GapList;
+import gms.dataacquisition.stationreceiver.cd11.dataman.processors.SequencedRsdfKafkaProcessor;
+import gms.dataacquisition.stationreceiver.cd11.dataprovider.configuration.LoadGeneratorConfig;
+import gms.dataacquisition.stationreceiver.cd11.parser.Cd11RawStationDataFrameUtility;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import gms.shared.utilities.reactor.EmitFailureHandlerUtility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+import reactor.util.retry.Retry;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Replays synthetic CD 1.1 data frames for a configurable number of stations at a fixed rate through the data
+ * manager's frame handling, and reports the latency of each stage and the throughput achieved.
+ * <p>
+ * Frames are decoded, sent and recorded in gap lists by the same components the data manager uses, but in process:
+ * frames are handed over in memory rather than over TCP, and the Kafka producer is a stand-in that acknowledges each
+ * record after a configured latency. Every run with the same configuration and seed data produces the same frames.
+ */
+public class Cd11LoadGenerator {
+
+  private static final Logger logger = LoggerFactory.getLogger(Cd11LoadGenerator.class);
+
+  private static final String RSDF_TOPIC = "load-generator.rsdf";
+  private static final Retry GAP_LIST_RETRY = Retry.backoff(3, Duration.ofMillis(100));
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final LoadGeneratorConfig config;
+  private final SyntheticCd11Frames frames;
+
+  private Cd11LoadGenerator(LoadGeneratorConfig config, SyntheticCd11Frames frames) {
+    this.config = config;
+    this.frames = frames;
+  }
+
+  public static Cd11LoadGenerator create(LoadGeneratorConfig config) {
+    return new Cd11LoadGenerator(config, SyntheticCd11Frames.fromSeedDirectory(config.getSeedDataLocation()));
+  }
+
+  /**
+   * Runs the configured load to completion.
+   *
+   * @return the report of the run
+   */
+  public LoadReport run() {
+    int stationCount = config.getStationCount();
+    int bufferSize = config.getBackpressureBufferSize().orElse(Integer.MAX_VALUE);
+    var timings = new FrameTimings(System.nanoTime());
+
+    var producer = new StandInKafkaProducer(Duration.ofMillis(config.getKafkaAckLatencyMillis().orElse(0L)),
+      timings);
+    KafkaSender<String, RawStationDataFrame> sender = KafkaSender.create(producer.asFactory(),
+      SenderOptions.<String, RawStationDataFrame>create(Map.of())
+        .scheduler(Schedulers.boundedElastic())
+        .stopOnError(false));
+
+    Map<String, Cd11GapList> gapListsByStation = IntStream.range(0, stationCount)
+      .mapToObj(SyntheticCd11Frames::stationName)
+      .collect(toMap(Function.identity(), stationName -> new Cd11GapList()));
+
+    var processor = new SequencedRsdfKafkaProcessor(sender, gapListsByStation,
+      new SequencedRsdfKafkaProcessor.Configuration(RSDF_TOPIC, bufferSize, GAP_LIST_RETRY));
+
+    Sinks.Many<Tuple2<RawStationDataFrame, Long>> sequencedRsdfSink = Sinks.many().multicast()
+      .onBackpressureBuffer(bufferSize, false);
+
+    logger.info("Generating {} frames per second for each of {} stations, {} frames per station",
+      config.getFramesPerSecondPerStation(), stationCount, config.getFramesPerStation());
+
+    Mono<Void> processing = processor.process(sequencedRsdfSink.asFlux())
+      .doOnNext(timings::processed)
+      .then();
+
+    Mono<Void> generation = Flux.range(0, stationCount)
+      .flatMap(station -> generate(station, timings, sequencedRsdfSink), stationCount)
+      .then(Mono.fromRunnable(() -> sequencedRsdfSink.emitComplete(EmitFailureHandlerUtility.getInstance())));
+
+    try {
+      Mono.when(processing, generation).block();
+    } finally {
+      processor.shutdown();
+    }
+
+    var report = timings.report(stationCount, config.getFramesPerSecondPerStation(), System.nanoTime());
+    logger.info("Sent {} of {} frames in {} seconds ({} frames per second)", report.getFramesSent(),
+      report.getFramesGenerated(), report.getElapsedSeconds(), report.getFramesSentPerSecond());
+    return report;
+  }
+
+  /**
+   * Generates the frames of one station, spreading the stations evenly over each frame period so they do not all
+   * arrive at once.
+   */
+  private Mono<Void> generate(int station, FrameTimings timings,
+    Sinks.Many<Tuple2<RawStationDataFrame, Long>> sequencedRsdfSink) {
+
+    long periodNanos = Math.round(NANOS_PER_SECOND / config.getFramesPerSecondPerStation());
+    long offsetNanos = periodNanos * station / config.getStationCount();
+    long firstFrameNanos = timings.getStartNanos() + offsetNanos;
+    String stationName = SyntheticCd11Frames.stationName(station);
+
+    return Flux.interval(Duration.ofNanos(offsetNanos), Duration.ofNanos(periodNanos))
+      .onBackpressureBuffer()
+      .take(config.getFramesPerStation())
+      .publishOn(Schedulers.boundedElastic())
+      .doOnNext(index -> handleFrame(station, stationName, index,
+        // measure from when the frame was due, so a generator falling behind shows up as latency
+        timings.scheduled(firstFrameNanos + index * periodNanos), timings, sequencedRsdfSink))
+      .then();
+  }
+
+  private void handleFrame(int station, String stationName, long index, FrameTiming timing, FrameTimings timings,
+    Sinks.Many<Tuple2<RawStationDataFrame, Long>> sequencedRsdfSink) {
+
+    byte[] frameBytes = frames.frame(station, index);
+    timing.generated();
+
+    Cd11OrMalformedFrame frame = Cd11FrameReader.readFrame(ByteBuffer.wrap(frameBytes));
+    if (frame.getKind() == Cd11OrMalformedFrame.Kind.MALFORMED) {
+      timings.malformed();
+      return;
+    }
+
+    var cd11Frame = frame.cd11();
+    RawStationDataFrame rsdf = Cd11RawStationDataFrameUtility.parseAcquiredDataFrame(cd11Frame, stationName,
+      Instant.now(), Optional::of);
+    long sequenceNumber = cd11Frame.getHeader().getSequenceNumber();
+    timings.decoded(timing, rsdf, sequenceNumber);
+
+    sequencedRsdfSink.emitNext(Tuples.of(rsdf, sequenceNumber), EmitFailureHandlerUtility.getInstance());
+  }
+}
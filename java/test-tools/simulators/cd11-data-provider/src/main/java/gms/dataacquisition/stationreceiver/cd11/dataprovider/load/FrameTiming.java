@@ -0,0 +1,72 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+/**
+ * {@link System#nanoTime()} at which one frame reached each point of the pipeline. Each point is recorded once, by
+ * whichever thread the frame is on at the time.
+ */
+final class FrameTiming {
+
+  private final long scheduledNanos;
+  private volatile long generatedNanos;
+  private volatile long decodedNanos;
+  private volatile long sendStartedNanos;
+  private volatile long sentNanos;
+  private volatile long acknowledgedNanos;
+  private volatile long processedNanos;
+
+  FrameTiming(long scheduledNanos) {
+    this.scheduledNanos = scheduledNanos;
+  }
+
+  long getScheduledNanos() {
+    return scheduledNanos;
+  }
+
+  long getGeneratedNanos() {
+    return generatedNanos;
+  }
+
+  void generated() {
+    generatedNanos = System.nanoTime();
+  }
+
+  long getDecodedNanos() {
+    return decodedNanos;
+  }
+
+  void decoded() {
+    decodedNanos = System.nanoTime();
+  }
+
+  long getSendStartedNanos() {
+    return sendStartedNanos;
+  }
+
+  void sendStarted() {
+    sendStartedNanos = System.nanoTime();
+  }
+
+  long getSentNanos() {
+    return sentNanos;
+  }
+
+  void sent() {
+    sentNanos = System.nanoTime();
+  }
+
+  long getAcknowledgedNanos() {
+    return acknowledgedNanos;
+  }
+
+  void acknowledged() {
+    acknowledgedNanos = System.nanoTime();
+  }
+
+  long getProcessedNanos() {
+    return processedNanos;
+  }
+
+  void processed() {
+    processedNanos = System.nanoTime();
+  }
+}
@@ -0,0 +1,92 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import gms.dataacquisition.stationreceiver.cd11.dataman.processors.SequencedRsdfKafkaProcessor;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Follows frames through the pipeline of a load run, by raw station data frame id until they reach the Kafka
+ * producer and by station and sequence number until their processing result arrives.
+ */
+final class FrameTimings {
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final long startNanos;
+  private final Map<UUID, FrameTiming> awaitingSend = new ConcurrentHashMap<>();
+  private final Map<String, FrameTiming> awaitingResult = new ConcurrentHashMap<>();
+  private final Map<Stage, StageLatencies> latenciesByStage = new EnumMap<>(Stage.class);
+  private final AtomicLong generated = new AtomicLong();
+  private final AtomicLong malformed = new AtomicLong();
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong notSent = new AtomicLong();
+
+  FrameTimings(long startNanos) {
+    this.startNanos = startNanos;
+    for (Stage stage : Stage.values()) {
+      latenciesByStage.put(stage, new StageLatencies());
+    }
+  }
+
+  long getStartNanos() {
+    return startNanos;
+  }
+
+  FrameTiming scheduled(long scheduledNanos) {
+    generated.incrementAndGet();
+    return new FrameTiming(scheduledNanos);
+  }
+
+  void malformed() {
+    malformed.incrementAndGet();
+  }
+
+  /**
+   * Marks a frame decoded. Must be called before the frame is handed on.
+   */
+  void decoded(FrameTiming timing, RawStationDataFrame rsdf, long sequenceNumber) {
+    timing.decoded();
+    awaitingSend.put(rsdf.getId(), timing);
+    awaitingResult.put(key(rsdf.getMetadata().getStationName(), sequenceNumber), timing);
+  }
+
+  Optional<FrameTiming> sending(RawStationDataFrame rsdf) {
+    return Optional.ofNullable(awaitingSend.remove(rsdf.getId()));
+  }
+
+  void processed(SequencedRsdfKafkaProcessor.Result result) {
+    var timing = awaitingResult.remove(key(result.getStationName(), result.getSequenceNumber()));
+    if (timing == null) {
+      return;
+    }
+
+    if (!result.isRecordSent()) {
+      notSent.incrementAndGet();
+      return;
+    }
+
+    timing.processed();
+    sent.incrementAndGet();
+    latenciesByStage.forEach((stage, latencies) -> latencies.record(
+      stage.endNanos(timing) - stage.startNanos(timing), stage.endNanos(timing) - startNanos));
+  }
+
+  LoadReport report(int stationCount, double framesPerSecondPerStation, long endNanos) {
+    Map<String, StageSummary> stages = new LinkedHashMap<>();
+    latenciesByStage.forEach((stage, latencies) -> stages.put(stage.getReportName(), latencies.summarize()));
+
+    return LoadReport.from(stationCount, framesPerSecondPerStation, generated.get(), malformed.get(), sent.get(),
+      notSent.get(), awaitingResult.size(), (endNanos - startNanos) / NANOS_PER_SECOND, stages);
+  }
+
+  private static String key(String stationName, long sequenceNumber) {
+    return stationName + '#' + sequenceNumber;
+  }
+}
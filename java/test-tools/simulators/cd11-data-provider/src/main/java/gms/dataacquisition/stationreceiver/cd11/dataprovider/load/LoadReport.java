@@ -0,0 +1,46 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import com.google.auto.value.AutoValue;
+
+import java.util.Map;
+
+/**
+ * Outcome of a {@link Cd11LoadGenerator} run.
+ */
+@AutoValue
+public abstract class LoadReport {
+
+  public abstract int getStationCount();
+
+  public abstract double getFramesPerSecondPerStation();
+
+  public abstract long getFramesGenerated();
+
+  public abstract long getFramesMalformed();
+
+  public abstract long getFramesSent();
+
+  public abstract long getFramesNotSent();
+
+  /**
+   * Frames decoded but never sent, e.g. dropped when a backpressure buffer overflowed.
+   */
+  public abstract long getFramesLost();
+
+  public abstract double getElapsedSeconds();
+
+  public abstract double getFramesSentPerSecond();
+
+  /**
+   * Summaries of the frames sent, in pipeline order, keyed by stage name.
+   */
+  public abstract Map<String, StageSummary> getStages();
+
+  static LoadReport from(int stationCount, double framesPerSecondPerStation, long framesGenerated,
+    long framesMalformed, long framesSent, long framesNotSent, long framesLost, double elapsedSeconds,
+    Map<String, StageSummary> stages) {
+    return new AutoValue_LoadReport(stationCount, framesPerSecondPerStation, framesGenerated, framesMalformed,
+      framesSent, framesNotSent, framesLost, elapsedSeconds, elapsedSeconds > 0 ? framesSent / elapsedSeconds : 0,
+      stages);
+  }
+}
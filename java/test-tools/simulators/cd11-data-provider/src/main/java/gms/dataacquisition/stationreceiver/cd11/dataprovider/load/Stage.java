@@ -0,0 +1,66 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Stages of the data manager pipeline a frame passes through, each measured from the end of the previous stage.
+ */
+enum Stage {
+
+  /**
+   * From the time the frame was due until its bytes were synthesised
+   */
+  GENERATE("generate", FrameTiming::getScheduledNanos, FrameTiming::getGeneratedNanos),
+
+  /**
+   * Reading the CD 1.1 frame and parsing it into a raw station data frame
+   */
+  DECODE("decode", FrameTiming::getGeneratedNanos, FrameTiming::getDecodedNanos),
+
+  /**
+   * Waiting in the data manager's buffers for the Kafka sender
+   */
+  QUEUE("queue", FrameTiming::getDecodedNanos, FrameTiming::getSendStartedNanos),
+
+  /**
+   * Serializing and handing the record to the producer
+   */
+  KAFKA_SEND("kafkaSend", FrameTiming::getSendStartedNanos, FrameTiming::getSentNanos),
+
+  /**
+   * Waiting for the broker to acknowledge the record
+   */
+  KAFKA_ACK("kafkaAck", FrameTiming::getSentNanos, FrameTiming::getAcknowledgedNanos),
+
+  /**
+   * Delivering the send result and recording the sequence number in the station's gap list
+   */
+  GAP_LIST("gapList", FrameTiming::getAcknowledgedNanos, FrameTiming::getProcessedNanos),
+
+  /**
+   * From the time the frame was due until its gap list was updated
+   */
+  END_TO_END("endToEnd", FrameTiming::getScheduledNanos, FrameTiming::getProcessedNanos);
+
+  private final String reportName;
+  private final ToLongFunction<FrameTiming> start;
+  private final ToLongFunction<FrameTiming> end;
+
+  Stage(String reportName, ToLongFunction<FrameTiming> start, ToLongFunction<FrameTiming> end) {
+    this.reportName = reportName;
+    this.start = start;
+    this.end = end;
+  }
+
+  String getReportName() {
+    return reportName;
+  }
+
+  long startNanos(FrameTiming timing) {
+    return start.applyAsLong(timing);
+  }
+
+  long endNanos(FrameTiming timing) {
+    return end.applyAsLong(timing);
+  }
+}
@@ -0,0 +1,86 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Records the latency of every frame through one stage, and when it completed, for summarizing after a run.
+ */
+final class StageLatencies {
+
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  private static final long FIRST_BUCKET_NANOS = 1_000L;
+
+  private long[] latencyNanos = new long[1024];
+  private long[] completedNanos = new long[1024];
+  private int count;
+
+  /**
+   * Records one frame.
+   *
+   * @param latency nanoseconds the frame spent in the stage
+   * @param completedSinceStart nanoseconds from the start of the run until the frame left the stage
+   */
+  synchronized void record(long latency, long completedSinceStart) {
+    if (count == latencyNanos.length) {
+      latencyNanos = Arrays.copyOf(latencyNanos, count * 2);
+      completedNanos = Arrays.copyOf(completedNanos, count * 2);
+    }
+    latencyNanos[count] = latency;
+    completedNanos[count] = completedSinceStart;
+    count++;
+  }
+
+  synchronized StageSummary summarize() {
+    var sorted = Arrays.copyOf(latencyNanos, count);
+    Arrays.sort(sorted);
+
+    SortedMap<Double, Long> histogram = new TreeMap<>();
+    var bucketBound = FIRST_BUCKET_NANOS;
+    var bucketCount = 0L;
+    for (long latency : sorted) {
+      while (latency > bucketBound) {
+        if (bucketCount > 0) {
+          histogram.put(bucketBound / NANOS_PER_MILLI, bucketCount);
+          bucketCount = 0;
+        }
+        bucketBound *= 2;
+      }
+      bucketCount++;
+    }
+    if (bucketCount > 0) {
+      histogram.put(bucketBound / NANOS_PER_MILLI, bucketCount);
+    }
+
+    List<Long> framesPerSecond = new ArrayList<>();
+    for (var i = 0; i < count; i++) {
+      var second = (int) (Math.max(0, completedNanos[i]) / NANOS_PER_SECOND);
+      while (framesPerSecond.size() <= second) {
+        framesPerSecond.add(0L);
+      }
+      framesPerSecond.set(second, framesPerSecond.get(second) + 1);
+    }
+
+    return StageSummary.from(count,
+      count == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / NANOS_PER_MILLI,
+      percentileMillis(sorted, 0.50),
+      percentileMillis(sorted, 0.90),
+      percentileMillis(sorted, 0.99),
+      count == 0 ? 0 : sorted[count - 1] / NANOS_PER_MILLI,
+      Collections.unmodifiableSortedMap(histogram),
+      Collections.unmodifiableList(framesPerSecond));
+  }
+
+  private static double percentileMillis(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    var index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / NANOS_PER_MILLI;
+  }
+}
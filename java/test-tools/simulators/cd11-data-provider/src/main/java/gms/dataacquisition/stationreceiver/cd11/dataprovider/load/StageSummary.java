@@ -0,0 +1,42 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import com.google.auto.value.AutoValue;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Latency and throughput of one pipeline stage over a load run.
+ */
+@AutoValue
+public abstract class StageSummary {
+
+  public abstract long getCount();
+
+  public abstract double getMeanMillis();
+
+  public abstract double getP50Millis();
+
+  public abstract double getP90Millis();
+
+  public abstract double getP99Millis();
+
+  public abstract double getMaxMillis();
+
+  /**
+   * Number of frames by latency, keyed by the inclusive upper bound of each bucket in milliseconds. Bucket bounds
+   * double from one microsecond; empty buckets are left out.
+   */
+  public abstract SortedMap<Double, Long> getLatencyHistogram();
+
+  /**
+   * Number of frames completing the stage in each second of the run.
+   */
+  public abstract List<Long> getFramesPerSecond();
+
+  static StageSummary from(long count, double meanMillis, double p50Millis, double p90Millis, double p99Millis,
+    double maxMillis, SortedMap<Double, Long> latencyHistogram, List<Long> framesPerSecond) {
+    return new AutoValue_StageSummary(count, meanMillis, p50Millis, p90Millis, p99Millis, maxMillis,
+      latencyHistogram, framesPerSecond);
+  }
+}
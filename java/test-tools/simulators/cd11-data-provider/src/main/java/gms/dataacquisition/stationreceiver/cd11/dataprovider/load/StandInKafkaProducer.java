@@ -0,0 +1,93 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiSerializer;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.StringSerializer;
+import reactor.kafka.sender.SenderOptions;
+import reactor.kafka.sender.internals.ProducerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process stand-in for the Kafka producer of the data manager. Records are serialized as by a real producer, and
+ * each is acknowledged a fixed latency after it was sent, in the order sent.
+ */
+class StandInKafkaProducer extends MockProducer<String, RawStationDataFrame> {
+
+  private final long ackLatencyNanos;
+  private final FrameTimings timings;
+  private final ScheduledExecutorService acknowledger;
+  private final Deque<Optional<FrameTiming>> unacknowledged = new ArrayDeque<>();
+
+  StandInKafkaProducer(Duration ackLatency, FrameTimings timings) {
+    super(false, new StringSerializer(), new CoiSerializer<>());
+    this.ackLatencyNanos = ackLatency.toNanos();
+    this.timings = timings;
+    this.acknowledger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, "stand-in-kafka-ack");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Creates a factory that gives a {@link reactor.kafka.sender.KafkaSender} this producer.
+   */
+  ProducerFactory asFactory() {
+    var producer = this;
+    return new ProducerFactory() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <K, V> Producer<K, V> createProducer(SenderOptions<K, V> senderOptions) {
+        return (Producer<K, V>) producer;
+      }
+    };
+  }
+
+  @Override
+  public synchronized Future<RecordMetadata> send(ProducerRecord<String, RawStationDataFrame> producerRecord,
+    Callback callback) {
+
+    var timing = timings.sending(producerRecord.value());
+    timing.ifPresent(FrameTiming::sendStarted);
+    var future = super.send(producerRecord, callback);
+    timing.ifPresent(FrameTiming::sent);
+
+    unacknowledged.add(timing);
+    acknowledger.schedule(this::acknowledgeNext, ackLatencyNanos, TimeUnit.NANOSECONDS);
+    return future;
+  }
+
+  private synchronized void acknowledgeNext() {
+    unacknowledged.remove().ifPresent(FrameTiming::acknowledged);
+    completeNext();
+    if (unacknowledged.isEmpty()) {
+      // MockProducer keeps every record it was sent; drop them whenever nothing is outstanding
+      clear();
+    }
+  }
+
+  @Override
+  public void close() {
+    acknowledger.shutdown();
+    super.close();
+  }
+
+  @Override
+  public void close(Duration timeout) {
+    acknowledger.shutdown();
+    super.close(timeout);
+  }
+}
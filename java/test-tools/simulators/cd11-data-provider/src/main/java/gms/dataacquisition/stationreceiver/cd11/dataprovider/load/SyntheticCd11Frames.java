@@ -0,0 +1,115 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gms.dataacquisition.stationreceiver.cd11.common.FrameUtilities;
+import gms.dataacquisition.stationreceiver.cd11.common.enums.FrameType;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Data;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Frame;
+import gms.dataacquisition.stationreceiver.cd11.dataprovider.rsdfsource.ProviderUtils;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Deterministically synthesises CD 1.1 data frames for any number of stations from a small set of seed frames.
+ * <p>
+ * Station {@code i} repeats seed frame {@code i % seeds}, with the sequence number and the channel subframe times
+ * advanced by one frame length for every frame sent. Frames keep the frame creator and channels of their seed;
+ * only the station name they are received under differs.
+ */
+class SyntheticCd11Frames {
+
+  private final List<Cd11Frame> seedFrames;
+
+  SyntheticCd11Frames(List<Cd11Frame> seedFrames) {
+    checkArgument(!seedFrames.isEmpty(), "At least one seed frame is required");
+    this.seedFrames = List.copyOf(seedFrames);
+  }
+
+  /**
+   * Reads the first frame of every seed file from a directory laid out like the
+   * {@link gms.dataacquisition.stationreceiver.cd11.dataprovider.rsdfsource.file.FileRsdfSource} data sets, in
+   * station directory and file name order.
+   *
+   * @param dataLocation directory containing a subdirectory of RSDF JSON files for each station
+   * @return the synthetic frames
+   */
+  static SyntheticCd11Frames fromSeedDirectory(String dataLocation) {
+    var seedDataDirectory = new File(dataLocation);
+    checkArgument(seedDataDirectory.isDirectory(), "Directory of seed files could not be found: %s", dataLocation);
+
+    ObjectMapper objectMapper = CoiObjectMapperFactory.getJsonObjectMapper();
+    List<Cd11Frame> seedFrames = Stream.of(seedDataDirectory.listFiles(File::isDirectory))
+      .sorted(Comparator.comparing(File::getName))
+      .flatMap(directory -> Stream.of(directory.listFiles(
+        file -> file.isFile() && file.getName().toLowerCase(Locale.ENGLISH).endsWith(".json"))))
+      .sorted(Comparator.comparing(File::getPath))
+      .map(file -> readFirstFrame(objectMapper, file))
+      .collect(toList());
+
+    return new SyntheticCd11Frames(seedFrames);
+  }
+
+  private static Cd11Frame readFirstFrame(ObjectMapper objectMapper, File file) {
+    try {
+      List<RawStationDataFrame> rsdfs = objectMapper.readValue(file, objectMapper.getTypeFactory()
+        .constructCollectionType(List.class, RawStationDataFrame.class));
+      return rsdfs.stream()
+        .min(Comparator.comparing(rsdf -> rsdf.getMetadata().getReceptionTime()))
+        .map(ProviderUtils::readCd11Rsdf)
+        .orElseThrow(() -> new IllegalArgumentException("Seed file contains no frames: " + file));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the name frames of a synthetic station are received under.
+   *
+   * @param station index of the station
+   * @return the station name
+   */
+  static String stationName(int station) {
+    return String.format("LOAD%04d", station);
+  }
+
+  /**
+   * Synthesises a frame of a station.
+   *
+   * @param station index of the station
+   * @param index index of the frame in the station's stream
+   * @return the frame's bytes
+   */
+  byte[] frame(int station, long index) {
+    Cd11Frame seedFrame = seedFrames.get(station % seedFrames.size());
+    Cd11Data seedData = FrameUtilities.asPayloadType(seedFrame.getPayload(), FrameType.DATA);
+    var subframeHeader = seedData.getChanSubframeHeader();
+    Instant nominalTime = subframeHeader.nominalTime.plusMillis(index * subframeHeader.frameTimeLength);
+
+    var data = Cd11Data.builder()
+      .setChanSubframeHeader(ProviderUtils.cloneAndModifyChannelSubframeHeader(subframeHeader, nominalTime))
+      .setChannelSubframes(seedData.getChannelSubframes().stream()
+        .map(subframe -> ProviderUtils.cloneAndModifyChannelSubframe(subframe, nominalTime))
+        .collect(toList()))
+      .build();
+
+    return seedFrame.toBuilder()
+      .setHeader(seedFrame.getHeader().toBuilder()
+        .setSequenceNumber(seedFrame.getHeader().getSequenceNumber() + index)
+        .build())
+      .setPayload(data)
+      .build()
+      .toBytes();
+  }
+}
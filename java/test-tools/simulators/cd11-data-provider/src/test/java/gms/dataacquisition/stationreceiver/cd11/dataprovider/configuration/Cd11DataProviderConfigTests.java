@@ -29,4 +29,12 @@ class Cd11DataProviderConfigTests {
     assertDoesNotThrow(
       () -> mapper.writeValueAsString(mapper.readValue(config, Cd11DataProviderConfig.class)));
   }
-}
\ No newline at end of file
+
+  @Test
+  void testLoadConfig() {
+    File config = new File(CONFIG_PATH + "load-config.json");
+
+    assertDoesNotThrow(
+      () -> mapper.writeValueAsString(mapper.readValue(config, Cd11DataProviderConfig.class)));
+  }
+}
@@ -0,0 +1,47 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import gms.dataacquisition.stationreceiver.cd11.dataprovider.configuration.LoadGeneratorConfig;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Cd11LoadGeneratorTest {
+
+  private static final String DATA_SET_3_FOR_1 = "./src/test/resources/dataprovider/rsdfsource/file/3for1min";
+
+  @Test
+  void testRunSendsEveryFrame() {
+    var config = LoadGeneratorConfig.from(DATA_SET_3_FOR_1, 4, 20, 10, Optional.of(1L), Optional.empty(),
+      Optional.empty());
+
+    LoadReport report = Cd11LoadGenerator.create(config).run();
+
+    assertAll(
+      () -> assertEquals(40, report.getFramesGenerated()),
+      () -> assertEquals(0, report.getFramesMalformed()),
+      () -> assertEquals(40, report.getFramesSent()),
+      () -> assertEquals(0, report.getFramesNotSent()),
+      () -> assertEquals(0, report.getFramesLost()),
+      () -> assertTrue(report.getFramesSentPerSecond() > 0));
+
+    assertEquals(Arrays.stream(Stage.values()).map(Stage::getReportName).collect(Collectors.toList()),
+      report.getStages().keySet().stream().collect(Collectors.toList()));
+    report.getStages().forEach((stage, summary) -> assertAll(stage,
+      () -> assertEquals(40, summary.getCount()),
+      () -> assertEquals(40, summary.getLatencyHistogram().values().stream().mapToLong(Long::longValue).sum()),
+      () -> assertEquals(40, summary.getFramesPerSecond().stream().mapToLong(Long::longValue).sum()),
+      () -> assertTrue(summary.getP50Millis() <= summary.getP99Millis()),
+      () -> assertTrue(summary.getP99Millis() <= summary.getMaxMillis())));
+
+    assertTrue(report.getStages().get("kafkaAck").getP50Millis() >= 1);
+    assertDoesNotThrow(() -> CoiObjectMapperFactory.getJsonObjectMapper().writeValueAsString(report));
+  }
+}
@@ -0,0 +1,62 @@
+package gms.dataacquisition.stationreceiver.cd11.dataprovider.load;
+
+import gms.dataacquisition.stationreceiver.cd11.common.Cd11FrameReader;
+import gms.dataacquisition.stationreceiver.cd11.common.FrameUtilities;
+import gms.dataacquisition.stationreceiver.cd11.common.enums.FrameType;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Data;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Frame;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SyntheticCd11FramesTest {
+
+  private static final String DATA_SET_3_FOR_1 = "./src/test/resources/dataprovider/rsdfsource/file/3for1min";
+
+  private static SyntheticCd11Frames frames;
+
+  @BeforeAll
+  static void setUp() {
+    frames = SyntheticCd11Frames.fromSeedDirectory(DATA_SET_3_FOR_1);
+  }
+
+  @Test
+  void testFrameAdvancesSequenceNumberAndTime() {
+    Cd11Frame first = read(frames.frame(1, 0));
+    Cd11Frame later = read(frames.frame(1, 5));
+    Cd11Data firstData = FrameUtilities.asPayloadType(first.getPayload(), FrameType.DATA);
+    Cd11Data laterData = FrameUtilities.asPayloadType(later.getPayload(), FrameType.DATA);
+
+    assertEquals(first.getHeader().getSequenceNumber() + 5, later.getHeader().getSequenceNumber());
+    assertEquals(firstData.getChanSubframeHeader().nominalTime
+        .plus(Duration.ofMillis(5L * firstData.getChanSubframeHeader().frameTimeLength)),
+      laterData.getChanSubframeHeader().nominalTime);
+    assertEquals(firstData.getChannelSubframes().size(), laterData.getChannelSubframes().size());
+  }
+
+  @Test
+  void testFramesAreDeterministic() {
+    assertArrayEquals(frames.frame(7, 3), frames.frame(7, 3));
+    assertArrayEquals(frames.frame(1, 3), frames.frame(4, 3));
+  }
+
+  @Test
+  void testStationName() {
+    assertEquals("LOAD0042", SyntheticCd11Frames.stationName(42));
+  }
+
+  @Test
+  void testMissingSeedDirectory() {
+    assertThrows(IllegalArgumentException.class, () -> SyntheticCd11Frames.fromSeedDirectory("./no-such-dir"));
+  }
+
+  private static Cd11Frame read(byte[] bytes) {
+    return Cd11FrameReader.readFrame(ByteBuffer.wrap(bytes)).cd11();
+  }
+}
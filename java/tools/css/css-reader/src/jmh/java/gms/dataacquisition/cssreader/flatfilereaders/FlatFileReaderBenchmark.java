@@ -0,0 +1,102 @@
+package gms.dataacquisition.cssreader.flatfilereaders;
+
+import com.github.ffpojo.FFPojoHelper;
+import com.github.ffpojo.exception.FFPojoException;
+import gms.dataacquisition.cssreader.data.WfdiscRecord32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks decoding wfdisc files with FFPojo, as {@link GenericFlatFileReader} used to, against
+ * {@link FixedWidthRecordCodec} and sequential and parallel {@link FixedWidthFlatFileReader} streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlatFileReaderBenchmark {
+
+  private static final String WFDISC_LINE = "DAVOX  HHN             1274313600  %8d     4247  2010140  "
+    + "1274313732.99167    15960         120            0.253                1 STS-2  o s4 -        "
+    + "                           src/test/resources/css/WFS4/   DAVOX0.w                            "
+    + "3897184        -1 20150408 12:00:00";
+
+  @Param({"1000", "100000"})
+  private int lineCount;
+
+  private List<String> lines;
+  private Path file;
+  private FFPojoHelper ffpojo;
+
+  @Setup
+  public void setUp() throws IOException, FFPojoException {
+    lines = new ArrayList<>(lineCount);
+    for (var i = 0; i < lineCount; i++) {
+      lines.add(String.format(WFDISC_LINE, i));
+    }
+    file = Files.createTempFile("wfdisc", ".txt");
+    Files.write(file, lines, StandardCharsets.ISO_8859_1);
+
+    ffpojo = FFPojoHelper.getInstance();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public List<WfdiscRecord32> decodeWithFFPojo() throws FFPojoException {
+    List<WfdiscRecord32> records = new ArrayList<>(lines.size());
+    for (String line : lines) {
+      records.add(ffpojo.createFromText(WfdiscRecord32.class, line));
+    }
+    return records;
+  }
+
+  @Benchmark
+  public List<WfdiscRecord32> decodeWithCodec() {
+    var codec = FixedWidthRecordCodec.forType(WfdiscRecord32.class);
+    List<WfdiscRecord32> records = new ArrayList<>(lines.size());
+    for (String line : lines) {
+      records.add(codec.decode(line));
+    }
+    return records;
+  }
+
+  @Benchmark
+  public List<WfdiscRecord32> streamFile() throws IOException {
+    try (var records = FixedWidthFlatFileReader.stream(file, WfdiscRecord32.class, false)) {
+      return records.collect(Collectors.toList());
+    }
+  }
+
+  @Benchmark
+  public List<WfdiscRecord32> streamFileInParallel() throws IOException {
+    try (var records = FixedWidthFlatFileReader.stream(file, WfdiscRecord32.class, true)) {
+      return records.collect(Collectors.toList());
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package gms.dataacquisition.cssreader.flatfilereaders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams the records of fixed-width CSS flat files (wfdisc, arrival, site, sitechan, ...) through
+ * {@link FixedWidthRecordCodec}s, reading lines as the stream is consumed rather than reading the whole file first.
+ * <p>
+ * Lines that cannot be decoded are logged and skipped, as with {@link GenericFlatFileReader}. Streams may be
+ * parallel, in which case the file is split into byte ranges that are read and decoded concurrently and the records
+ * are not necessarily encountered in file order unless the stream is collected in encounter order. Streams hold the
+ * file open and must be closed, e.g. with try-with-resources.
+ */
+public final class FixedWidthFlatFileReader {
+
+  private static final Logger logger = LoggerFactory.getLogger(FixedWidthFlatFileReader.class);
+
+  private FixedWidthFlatFileReader() {
+    // Hiding the implicit public constructor
+  }
+
+  /**
+   * Streams the records of a file holding one record type. Empty lines are skipped.
+   *
+   * @param path the file to read
+   * @param type the record class, annotated for FFPojo positional parsing
+   * @param parallel whether to read and decode the file in parallel chunks
+   * @param <T> the record type
+   * @return the records of the file, to be closed by the caller
+   * @throws IOException if the file cannot be opened
+   */
+  public static <T> Stream<T> stream(Path path, Class<T> type, boolean parallel) throws IOException {
+    var codec = FixedWidthRecordCodec.forType(type);
+    return decode(path, parallel, line -> line.isEmpty() ? null : codec);
+  }
+
+  /**
+   * Streams the records of a file whose record type is determined by the length of each line.
+   *
+   * @param path the file to read
+   * @param lineLengthToType the record class for each line length
+   * @param parallel whether to read and decode the file in parallel chunks
+   * @param <T> the supertype of the record types
+   * @return the records of the file, to be closed by the caller. Consuming it throws an
+   * {@link IllegalArgumentException} if a line's length has no record class.
+   * @throws IOException if the file cannot be opened
+   */
+  public static <T> Stream<T> stream(Path path, Map<Integer, Class<? extends T>> lineLengthToType, boolean parallel)
+    throws IOException {
+    Map<Integer, FixedWidthRecordCodec<? extends T>> codecsByLength = new HashMap<>();
+    lineLengthToType.forEach((length, type) -> codecsByLength.put(length, FixedWidthRecordCodec.forType(type)));
+
+    return decode(path, parallel, line -> {
+      var codec = codecsByLength.get(line.length());
+      if (codec == null) {
+        throw new IllegalArgumentException("Line of length " + line.length()
+          + " does not have a known type; known types: " + lineLengthToType);
+      }
+      return codec;
+    });
+  }
+
+  /**
+   * @param codecForLine the codec to decode each line with, or null to skip the line
+   */
+  private static <T> Stream<T> decode(Path path, boolean parallel,
+    Function<String, FixedWidthRecordCodec<? extends T>> codecForLine) throws IOException {
+    // CSS flat files are ASCII, which lets Files.lines split the file by byte ranges for parallel streams
+    Stream<String> lines = Files.lines(path, StandardCharsets.ISO_8859_1);
+    if (parallel) {
+      lines = lines.parallel();
+    }
+
+    return lines.<T>map(line -> {
+      FixedWidthRecordCodec<? extends T> codec = codecForLine.apply(line);
+      return codec == null ? null : decodeOrSkip(codec, line, path);
+    }).filter(Objects::nonNull);
+  }
+
+  private static <T> T decodeOrSkip(FixedWidthRecordCodec<T> codec, String line, Path path) {
+    try {
+      return codec.decode(line);
+    } catch (IllegalArgumentException e) {
+      logger.error("Encountered error ({}) decoding {} from line \"{}\" of file: {}",
+        e.getMessage(), codec.getType().getSimpleName(), line, path);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package gms.dataacquisition.cssreader.flatfilereaders;
+
+import com.github.ffpojo.metadata.positional.annotation.PositionalField;
+import com.github.ffpojo.metadata.positional.annotation.PositionalRecord;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Decodes fixed-width CSS flat file lines into records annotated with FFPojo's {@link PositionalRecord}
+ * and {@link PositionalField}, without going through FFPojo for every line.
+ * <p>
+ * A codec is compiled once per record class: the column range of every annotated getter is paired with the
+ * record's {@code set<Name>(String)} setter as a {@link MethodHandle}, so decoding a line only locates each column,
+ * trims the surrounding whitespace by index and passes the trimmed column to the setter. Columns that extend past the
+ * end of a short line are read up to the end of the line, and columns entirely past it are read as empty strings.
+ * Codecs are thread safe.
+ *
+ * @param <T> the record type
+ */
+public final class FixedWidthRecordCodec<T> {
+
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, String.class);
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+  private static final ClassValue<FixedWidthRecordCodec<?>> codecs = new ClassValue<>() {
+    @Override
+    protected FixedWidthRecordCodec<?> computeValue(Class<?> type) {
+      return compile(type);
+    }
+  };
+
+  private final Class<T> type;
+  private final MethodHandle constructor;
+  private final Column[] columns;
+  private final int recordLength;
+
+  private FixedWidthRecordCodec(Class<T> type, MethodHandle constructor, List<Column> columns) {
+    this.type = type;
+    this.constructor = constructor;
+    this.columns = columns.toArray(new Column[0]);
+    this.recordLength = columns.stream().mapToInt(column -> column.end).max().orElse(0);
+  }
+
+  /**
+   * @param type the record class, annotated with {@link PositionalRecord}
+   * @param <T> the record type
+   * @return the codec for the record class, compiled on first use
+   * @throws IllegalArgumentException if the class is not a positional record, has no public no-argument constructor,
+   * or an annotated field has no public {@code set<Name>(String)} setter
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> FixedWidthRecordCodec<T> forType(Class<T> type) {
+    return (FixedWidthRecordCodec<T>) codecs.get(type);
+  }
+
+  /**
+   * @return the record class decoded by this codec
+   */
+  public Class<T> getType() {
+    return type;
+  }
+
+  /**
+   * @return the length of a complete line, i.e. the last position of the last column
+   */
+  public int getRecordLength() {
+    return recordLength;
+  }
+
+  /**
+   * Decodes one line into a new record.
+   *
+   * @param line the line to decode, not null
+   * @return the decoded record
+   * @throws IllegalArgumentException if a setter rejects its column, with the setter's exception as the cause
+   */
+  public T decode(String line) {
+    final Object record;
+    try {
+      record = (Object) constructor.invokeExact();
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException("Could not create " + type.getSimpleName(), e);
+    }
+
+    for (Column column : columns) {
+      column.set(record, line);
+    }
+    return type.cast(record);
+  }
+
+  private static <T> FixedWidthRecordCodec<T> compile(Class<T> type) {
+    if (!type.isAnnotationPresent(PositionalRecord.class)) {
+      throw new IllegalArgumentException(type.getName() + " is not annotated with @PositionalRecord");
+    }
+
+    var lookup = MethodHandles.publicLookup();
+    MethodHandle constructor;
+    try {
+      constructor = lookup.findConstructor(type, MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException(type.getName() + " has no public no-argument constructor", e);
+    }
+
+    List<Column> columns = new ArrayList<>();
+    for (Method getter : type.getMethods()) {
+      var field = getter.getAnnotation(PositionalField.class);
+      if (field == null || Modifier.isStatic(getter.getModifiers())) {
+        continue;
+      }
+
+      var setterName = "set" + propertyName(getter);
+      try {
+        var setter = lookup.findVirtual(type, setterName, MethodType.methodType(void.class, String.class))
+          .asType(SETTER_TYPE);
+        columns.add(new Column(setterName, field.initialPosition() - 1, field.finalPosition(), setter));
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalArgumentException(type.getName() + " has no public " + setterName + "(String) setter", e);
+      }
+    }
+    columns.sort(Comparator.comparingInt(column -> column.start));
+
+    return new FixedWidthRecordCodec<>(type, constructor, columns);
+  }
+
+  private static String propertyName(Method getter) {
+    var name = getter.getName();
+    if (name.startsWith("get")) {
+      return name.substring(3);
+    } else if (name.startsWith("is")) {
+      return name.substring(2);
+    }
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /**
+   * One column of a record: its zero-based, end-exclusive position in the line and the setter it is passed to
+   */
+  private static final class Column {
+
+    private final String setterName;
+    private final int start;
+    private final int end;
+    private final MethodHandle setter;
+
+    private Column(String setterName, int start, int end, MethodHandle setter) {
+      this.setterName = setterName;
+      this.start = start;
+      this.end = end;
+      this.setter = setter;
+    }
+
+    private void set(Object record, String line) {
+      var from = Math.min(start, line.length());
+      var to = Math.min(end, line.length());
+      while (from < to && Character.isWhitespace(line.charAt(from))) {
+        from++;
+      }
+      while (to > from && Character.isWhitespace(line.charAt(to - 1))) {
+        to--;
+      }
+
+      try {
+        setter.invokeExact(record, line.substring(from, to));
+      } catch (RuntimeException e) {
+        throw new IllegalArgumentException(String.format("Could not decode columns %d-%d with %s: %s",
+          start + 1, end, setterName, e.getMessage()), e);
+      } catch (Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException("Could not invoke " + setterName, e);
+      }
+    }
+  }
+}
@@ -1,7 +1,5 @@
 package gms.dataacquisition.cssreader.flatfilereaders;
 
-import com.github.ffpojo.FFPojoHelper;
-import com.github.ffpojo.exception.FFPojoException;
 import gms.dataacquisition.cssreader.data.WfdiscRecord;
 import gms.dataacquisition.cssreader.data.WfdiscRecord32;
 import gms.dataacquisition.cssreader.data.WfdiscRecord64;
@@ -10,12 +8,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,6 +28,11 @@ public class FlatFileWfdiscReader implements WfdiscReaderInterface {
 
   private static final int WFDISC64_LINE_LENGTH = 289;
 
+  private static final FixedWidthRecordCodec<WfdiscRecord32> WFDISC32_CODEC =
+    FixedWidthRecordCodec.forType(WfdiscRecord32.class);
+  private static final FixedWidthRecordCodec<WfdiscRecord64> WFDISC64_CODEC =
+    FixedWidthRecordCodec.forType(WfdiscRecord64.class);
+
   private List<String> stations;
   private List<String> channels;
   private Instant time;
@@ -70,72 +75,59 @@ public class FlatFileWfdiscReader implements WfdiscReaderInterface {
     if (!Files.exists(path)) {
       throw new IllegalArgumentException("Path " + wfdiscPath + " doesn't exist in file system.");
     }
-
-    // read the lines out of the file
-    List<String> fileLines = Files.readAllLines(path);
-    int numLines = fileLines.size();
-    logger.debug("Wfdisc has {} entries in file: {}", numLines, path);
-    if (numLines <= 0) {
+    if (Files.size(path) == 0) {
       logger.error("Provided flatfilereaders file {} is empty", wfdiscPath);
       return new ArrayList<>();
     }
 
-    // convert the file into WfdiscRecord's
-    FFPojoHelper ffpojo;
-    try {
-      ffpojo = FFPojoHelper.getInstance();
-    } catch (FFPojoException e) {
-      throw new IOException(e);
-    }
-
-    List<WfdiscRecord> wfDiscRecords = new ArrayList<>();
-    for (String line : fileLines) {
-      try {
-        var wfdiscRecord = readAsWfdisc(ffpojo, line);
-        wfDiscRecords.add(wfdiscRecord);
-      } catch (Exception ex) {
-        logger.error(
-          "Encountered error at line {} of file: {}", line, ex.getMessage());
-      }
-    }
-
-    // Apply filters on station, channel, start time, endtime.
-    Stream<WfdiscRecord> wfdiscStream = wfDiscRecords.stream()
-      .filter(wfdisc -> stations == null || stations.contains(wfdisc.getSta()))
-      .filter(wfdisc -> channels == null || channels.contains(wfdisc.getChan()))
-      .filter(wfdisc -> time == null || (time.compareTo(wfdisc.getTime()) <= 0))
-      .filter(wfdisc -> endtime == null || (endtime.compareTo(wfdisc.getEndtime()) >= 0));
-
     // Generate the list of Wfdisc Records.
     // Sort the Wfdisc stream by directory, filename, and file-offset.
     Comparator<WfdiscRecord> wfdiscRecordComparator = Comparator.comparing(WfdiscRecord::getDir)
       .thenComparing(WfdiscRecord::getDfile)
       .thenComparing(WfdiscRecord::getFoff);
-    wfDiscRecords = wfdiscStream.sorted(wfdiscRecordComparator)
-      .collect(Collectors.toList());
+
+    // convert the file into WfdiscRecord's as it is read, and apply filters on station, channel,
+    // start time, endtime.
+    List<WfdiscRecord> wfDiscRecords;
+    try (Stream<String> lines = Files.lines(path, StandardCharsets.ISO_8859_1)) {
+      wfDiscRecords = lines
+        .map(FlatFileWfdiscReader::readAsWfdisc)
+        .filter(Objects::nonNull)
+        .filter(wfdisc -> stations == null || stations.contains(wfdisc.getSta()))
+        .filter(wfdisc -> channels == null || channels.contains(wfdisc.getChan()))
+        .filter(wfdisc -> time == null || (time.compareTo(wfdisc.getTime()) <= 0))
+        .filter(wfdisc -> endtime == null || (endtime.compareTo(wfdisc.getEndtime()) >= 0))
+        .sorted(wfdiscRecordComparator)
+        .collect(Collectors.toList());
+    }
 
     logger.debug("{} wfdisc records retrieved.", wfDiscRecords.size());
     return wfDiscRecords;
   }
 
   /**
-   * Helper method to read a String into a WfdiscRecord using a FFPojoHelper.
+   * Helper method to read a String into a WfdiscRecord using the precompiled record codecs.
    *
-   * @param ffpojo used to parse the input string into a WfdiscRecord
    * @param l the line to parse
    * @return the parsed WfdiscRecord, or null if an error occurs.
    */
-  private static WfdiscRecord readAsWfdisc(FFPojoHelper ffpojo, String l) throws FFPojoException {
-    WfdiscRecord wfdisc;
-    if (l.length() == WFDISC64_LINE_LENGTH) {
-      wfdisc = ffpojo.createFromText(WfdiscRecord64.class, l);
-    } else {
-      wfdisc = ffpojo.createFromText(WfdiscRecord32.class, l);
-    }
+  private static WfdiscRecord readAsWfdisc(String l) {
+    try {
+      WfdiscRecord wfdisc;
+      if (l.length() == WFDISC64_LINE_LENGTH) {
+        wfdisc = WFDISC64_CODEC.decode(l);
+      } else {
+        wfdisc = WFDISC32_CODEC.decode(l);
+      }
 
-    logger.debug("Read WFDISC line: {}", wfdisc);
+      logger.debug("Read WFDISC line: {}", wfdisc);
 
-    wfdisc.validate();
-    return wfdisc;
+      wfdisc.validate();
+      return wfdisc;
+    } catch (Exception ex) {
+      logger.error(
+        "Encountered error at line {} of file: {}", l, ex.getMessage());
+      return null;
+    }
   }
 }
@@ -0,0 +1,269 @@
+package gms.dataacquisition.css.converters.flatfilereaders;
+
+import com.github.ffpojo.FFPojoHelper;
+import com.github.ffpojo.metadata.positional.annotation.PositionalField;
+import gms.dataacquisition.cssreader.data.AffiliationRecordCss30;
+import gms.dataacquisition.cssreader.data.AffiliationRecordNnsaKbCore;
+import gms.dataacquisition.cssreader.data.AmplitudeRecordP3;
+import gms.dataacquisition.cssreader.data.ArrivalRecordP3;
+import gms.dataacquisition.cssreader.data.AssocRecordP3;
+import gms.dataacquisition.cssreader.data.EventRecordP3;
+import gms.dataacquisition.cssreader.data.InstrumentRecord;
+import gms.dataacquisition.cssreader.data.NetmagRecordP3;
+import gms.dataacquisition.cssreader.data.NetworkRecordCss30;
+import gms.dataacquisition.cssreader.data.NetworkRecordNnsaKbCore;
+import gms.dataacquisition.cssreader.data.NetworkRecordP3;
+import gms.dataacquisition.cssreader.data.OrigErrRecordP3;
+import gms.dataacquisition.cssreader.data.OriginRecordP3;
+import gms.dataacquisition.cssreader.data.SensorRecordCss30;
+import gms.dataacquisition.cssreader.data.SensorRecordNnsaKbCore;
+import gms.dataacquisition.cssreader.data.SiteChannelRecord;
+import gms.dataacquisition.cssreader.data.SiteRecordCss30;
+import gms.dataacquisition.cssreader.data.SiteRecordNnsaKbCore;
+import gms.dataacquisition.cssreader.data.StamagRecordP3;
+import gms.dataacquisition.cssreader.data.WfdiscRecord;
+import gms.dataacquisition.cssreader.data.WfdiscRecord32;
+import gms.dataacquisition.cssreader.data.WfdiscRecord64;
+import gms.dataacquisition.cssreader.flatfilereaders.FixedWidthFlatFileReader;
+import gms.dataacquisition.cssreader.flatfilereaders.FixedWidthRecordCodec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link FixedWidthRecordCodec} and {@link FixedWidthFlatFileReader}, against FFPojo, which they replace.
+ */
+class FixedWidthRecordCodecTest {
+
+  private static final Path WFDISC_FILE = Paths.get("src/test/resources/css/WFS4/wfdisc_gms_s4.txt");
+
+  // dates, julian dates, numbers and flags, tried in order for each column
+  private static final List<String> COLUMN_VALUES = List.of("20150408 12:00:00", "2010140", "1", "y");
+
+  private static String wfdisc32Line;
+
+  @BeforeAll
+  static void readLine() throws IOException {
+    wfdisc32Line = Files.readAllLines(WFDISC_FILE).get(0);
+  }
+
+  @Test
+  void testDecodeWfdisc32() {
+    var codec = FixedWidthRecordCodec.forType(WfdiscRecord32.class);
+    assertEquals(wfdisc32Line.length(), codec.getRecordLength());
+
+    WfdiscRecord32 wfdisc = codec.decode(wfdisc32Line);
+
+    assertEquals("DAVOX", wfdisc.getSta());
+    assertEquals("HHN", wfdisc.getChan());
+    assertEquals(Instant.ofEpochSecond(1274313600), wfdisc.getTime());
+    assertEquals(64583333, wfdisc.getWfid());
+    assertEquals(4247, wfdisc.getChanid());
+    assertEquals(2010140, wfdisc.getJdate());
+    assertEquals(Instant.ofEpochMilli(1274313732991L), wfdisc.getEndtime());
+    assertEquals(15960, wfdisc.getNsamp());
+    assertEquals(120, wfdisc.getSamprate());
+    assertEquals(0.253, wfdisc.getCalib());
+    assertEquals(1, wfdisc.getCalper());
+    assertEquals("STS-2", wfdisc.getInstype());
+    assertEquals("o", wfdisc.getSegtype());
+    assertEquals("s4", wfdisc.getDatatype());
+    assertFalse(wfdisc.getClip());
+    assertEquals("src/test/resources/css/WFS4/", wfdisc.getDir());
+    assertEquals("DAVOX0.w", wfdisc.getDfile());
+    assertEquals(3897184, wfdisc.getFoff());
+    assertEquals(-1, wfdisc.getCommid());
+    assertEquals("20150408 12:00:00", wfdisc.getLddate());
+  }
+
+  @Test
+  void testCodecIsCompiledOnce() {
+    assertTrue(FixedWidthRecordCodec.forType(WfdiscRecord64.class)
+      == FixedWidthRecordCodec.forType(WfdiscRecord64.class));
+  }
+
+  @Test
+  void testDecodeInvalidColumnThrows() {
+    var badWfid = wfdisc32Line.substring(0, 34) + "notanumbr" + wfdisc32Line.substring(43);
+    var codec = FixedWidthRecordCodec.forType(WfdiscRecord32.class);
+
+    var exception = assertThrows(IllegalArgumentException.class, () -> codec.decode(badWfid));
+    assertTrue(exception.getMessage().contains("setWfid"));
+  }
+
+  @Test
+  void testDecodeShortLineReadsMissingColumnsAsEmpty() {
+    var codec = FixedWidthRecordCodec.forType(WfdiscRecord32.class);
+
+    // Unlike FFPojo, which rejected lines shorter than the record, the codec decodes them. lddate is the last column,
+    // so cutting it off leaves the other columns intact
+    var withoutLddate = wfdisc32Line.substring(0, 267);
+    var cutInLddate = wfdisc32Line.substring(0, 275);
+
+    WfdiscRecord32 wfdisc = codec.decode(withoutLddate);
+    assertEquals(-1, wfdisc.getCommid());
+    assertEquals("", wfdisc.getLddate());
+
+    // a column cut off part way is read up to the end of the line
+    assertEquals("20150408", codec.decode(cutInLddate).getLddate());
+  }
+
+  @Test
+  void testUnannotatedTypeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthRecordCodec.forType(String.class));
+  }
+
+  @Test
+  void testDecodeMatchesFFPojo() throws Exception {
+    var ffpojo = FFPojoHelper.getInstance();
+    var codec = FixedWidthRecordCodec.forType(WfdiscRecord32.class);
+
+    var lines = Files.readAllLines(WFDISC_FILE);
+    assertEquals(76, lines.size());
+    for (String line : lines) {
+      assertEquals(ffpojo.createFromText(WfdiscRecord32.class, line).toString(), codec.decode(line).toString());
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("recordTypes")
+  void testDecodeMatchesFFPojoForRecordType(Class<?> type) throws Exception {
+    var line = completeLine(type);
+    var codec = FixedWidthRecordCodec.forType(type);
+    assertEquals(codec.getRecordLength(), line.length());
+
+    var expected = FFPojoHelper.getInstance().createFromText(type, line);
+    var decoded = codec.decode(line);
+
+    for (Method getter : positionalGetters(type)) {
+      assertEquals(getter.invoke(expected), getter.invoke(decoded), type.getSimpleName() + "." + getter.getName());
+    }
+  }
+
+  private static Stream<Class<?>> recordTypes() {
+    return Stream.of(AffiliationRecordCss30.class, AffiliationRecordNnsaKbCore.class, AmplitudeRecordP3.class,
+      ArrivalRecordP3.class, AssocRecordP3.class, EventRecordP3.class, InstrumentRecord.class, NetmagRecordP3.class,
+      NetworkRecordCss30.class, NetworkRecordNnsaKbCore.class, NetworkRecordP3.class, OrigErrRecordP3.class,
+      OriginRecordP3.class, SensorRecordCss30.class, SensorRecordNnsaKbCore.class, SiteChannelRecord.class,
+      SiteRecordCss30.class, SiteRecordNnsaKbCore.class, StamagRecordP3.class, WfdiscRecord32.class,
+      WfdiscRecord64.class);
+  }
+
+  /**
+   * Builds a line with every column of the record type filled, each with the first of {@link #COLUMN_VALUES} that
+   * fits the column and that its setter accepts
+   */
+  private static String completeLine(Class<?> type) throws ReflectiveOperationException {
+    var line = new StringBuilder();
+    for (Method getter : positionalGetters(type)) {
+      var field = getter.getAnnotation(PositionalField.class);
+      var width = field.finalPosition() - field.initialPosition() + 1;
+      var setter = type.getMethod("set" + propertyName(getter), String.class);
+
+      var value = COLUMN_VALUES.stream()
+        .filter(candidate -> candidate.length() <= width && accepts(type, setter, candidate))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No test value for " + type.getSimpleName() + "." + setter.getName()));
+
+      line.append(" ".repeat(field.initialPosition() - 1 - line.length()))
+        .append(value)
+        .append(" ".repeat(width - value.length()));
+    }
+    return line.toString();
+  }
+
+  private static boolean accepts(Class<?> type, Method setter, String value) {
+    try {
+      setter.invoke(type.getConstructor().newInstance(), value);
+      return true;
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+
+  private static String propertyName(Method getter) {
+    var name = getter.getName();
+    if (name.startsWith("get")) {
+      return name.substring(3);
+    } else if (name.startsWith("is")) {
+      return name.substring(2);
+    }
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private static List<Method> positionalGetters(Class<?> type) {
+    return Arrays.stream(type.getMethods())
+      .filter(method -> method.isAnnotationPresent(PositionalField.class))
+      .sorted(Comparator.comparingInt(method -> method.getAnnotation(PositionalField.class).initialPosition()))
+      .collect(Collectors.toList());
+  }
+
+  @Test
+  void testParallelStreamMatchesSequential(@TempDir Path tempDir) throws IOException {
+    List<String> lines = new ArrayList<>();
+    for (var i = 0; i < 20_000; i++) {
+      var wfid = String.format("%9d", i);
+      lines.add(wfdisc32Line.substring(0, 34) + wfid + wfdisc32Line.substring(43));
+    }
+    var file = Files.write(tempDir.resolve("wfdisc"), lines);
+
+    List<WfdiscRecord32> sequential;
+    try (var records = FixedWidthFlatFileReader.stream(file, WfdiscRecord32.class, false)) {
+      sequential = records.collect(Collectors.toList());
+    }
+    List<WfdiscRecord32> parallel;
+    try (var records = FixedWidthFlatFileReader.stream(file, WfdiscRecord32.class, true)) {
+      parallel = records.collect(Collectors.toList());
+    }
+
+    assertEquals(lines.size(), parallel.size());
+    assertEquals(describe(sequential), describe(parallel));
+    assertEquals(lines.size() - 1, parallel.get(lines.size() - 1).getWfid());
+  }
+
+  @Test
+  void testStreamSkipsUndecodableLines(@TempDir Path tempDir) throws IOException {
+    var badWfid = wfdisc32Line.substring(0, 34) + "notanumbr" + wfdisc32Line.substring(43);
+    var file = Files.write(tempDir.resolve("wfdisc"), List.of(wfdisc32Line, badWfid, "", wfdisc32Line));
+
+    try (var records = FixedWidthFlatFileReader.stream(file, WfdiscRecord32.class, false)) {
+      assertEquals(2, records.count());
+    }
+  }
+
+  @Test
+  void testStreamByLineLengthRejectsUnknownLength(@TempDir Path tempDir) throws IOException {
+    var file = Files.write(tempDir.resolve("wfdisc"), List.of(wfdisc32Line, "short line"));
+    Map<Integer, Class<? extends WfdiscRecord>> lineLengthToType = Map.of(
+      wfdisc32Line.length(), WfdiscRecord32.class);
+
+    try (var records = FixedWidthFlatFileReader.stream(file, lineLengthToType, false)) {
+      assertThrows(IllegalArgumentException.class, () -> records.collect(Collectors.toList()));
+    }
+  }
+
+  private static List<String> describe(List<? extends WfdiscRecord> records) {
+    return records.stream().map(WfdiscRecord::toString).collect(Collectors.toList());
+  }
+}